@@ -0,0 +1,150 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.jmh;
+
+import com.google.gson.JsonElement;
+import org.jenkinsci.plugins.benchmark.parsers.JsonToPlugin.MapJsonToPlugin;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the history operations of the mapper: loading, merge, thresholds and rendering
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    // Variables
+
+    @Param({"100", "1000", "10000"})
+    public int results;
+
+    @Param({"10", "50"})
+    public int builds;
+
+    @Param({"DOUBLE", "INTEGER", "BOOLEAN"})
+    public HistoryGenerator.ValueKind kind;
+
+    private File root;
+    private HistoryGenerator generator;
+    private File currentFile;
+    private JsonElement schema;
+
+    private MapperBase history;
+    private MapperBase base;
+    private MapperBase current;
+
+    /**
+     * Merge moves the history into the build mapper, each merge needs a fresh one
+     */
+    @State(Scope.Thread)
+    public static class MergeState {
+
+        private MapperBase mapper;
+
+        @Setup(Level.Invocation)
+        public void mapCurrentBuild(MapperBenchmark benchmark) throws Exception {
+            mapper = new MapJsonToPlugin(benchmark.builds + 1, benchmark.currentFile, benchmark.schema, false);
+        }
+    }
+
+    // Functions
+
+    @Setup(Level.Trial)
+    public void createHistory() throws Exception {
+        root = Files.createTempDirectory("benchmark-jmh").toFile();
+        generator = new HistoryGenerator(root, results, builds);
+        generator.setKind(kind);
+        generator.generate();
+        currentFile = HistoryGenerator.write(new File(root, "current.json"), generator.getJsonContent(builds + 1));
+        schema = HistoryGenerator.getJsonSchema();
+
+        history = generator.loadHistory(builds);
+        base = new MapperBase(builds + 1, false);
+        base.importCondensedFromFile(generator.getCondensedFile().getAbsolutePath());
+        current = new MapJsonToPlugin(builds + 1, currentFile, schema, false);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteHistory() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Benchmark
+    public MapperBase importFromFile() throws Exception {
+        return generator.loadHistory(builds);
+    }
+
+    @Benchmark
+    public MapperBase importCondensedFromFile() throws Exception {
+        MapperBase mapper = new MapperBase(builds + 1, false);
+        mapper.importCondensedFromFile(generator.getCondensedFile().getAbsolutePath());
+        return mapper;
+    }
+
+    @Benchmark
+    public MapperBase mergeWith(MergeState state) throws Exception {
+        state.mapper.mergeWith(history);
+        return state.mapper;
+    }
+
+    @Benchmark
+    public boolean checkThresholds() {
+        return current.checkThresholds(base);
+    }
+
+    @Benchmark
+    public String getHTMLTable() {
+        return history.getHTMLTable();
+    }
+
+    @Benchmark
+    public void getCondensedJsonObject(Blackhole blackhole) {
+        for (Map.Entry<Integer, TestValue> result : history.getResults().entrySet()) {
+            blackhole.consume(result.getValue().getCondensedJsonObject(builds, result.getKey()));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.jmh;
+
+import com.google.gson.JsonElement;
+import org.jenkinsci.plugins.benchmark.parsers.JUnitJenkins;
+import org.jenkinsci.plugins.benchmark.parsers.JsonToPlugin.MapJsonToPlugin;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.parsers.XmlToPlugin.MapXmlToPlugin;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the mapping of the result files of a build: JSON, XML and Jenkins jUnit
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    // Variables
+
+    @Param({"100", "1000", "10000"})
+    public int results;
+
+    @Param({"DOUBLE", "INTEGER", "BOOLEAN"})
+    public HistoryGenerator.ValueKind kind;
+
+    private File root;
+    private File jsonFile;
+    private File xmlFile;
+    private File junitFile;
+    private JsonElement jsonSchema;
+    private Document xmlSchema;
+
+    // Functions
+
+    @Setup(Level.Trial)
+    public void createFiles() throws Exception {
+        root = Files.createTempDirectory("benchmark-jmh").toFile();
+        HistoryGenerator generator = new HistoryGenerator(root, results, 1);
+        generator.setKind(kind);
+        jsonFile = HistoryGenerator.write(new File(root, "results.json"), generator.getJsonContent(1));
+        xmlFile = HistoryGenerator.write(new File(root, "results.xml"), generator.getXmlContent(1));
+        junitFile = HistoryGenerator.write(new File(root, "junitResult.xml"), generator.getJUnitContent(1));
+        jsonSchema = HistoryGenerator.getJsonSchema();
+        xmlSchema = HistoryGenerator.getXmlSchema();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Benchmark
+    public MapperBase mapJson() throws Exception {
+        return new MapJsonToPlugin(1, jsonFile, jsonSchema, false);
+    }
+
+    @Benchmark
+    public MapperBase mapXml() throws Exception {
+        return new MapXmlToPlugin(1, xmlFile, xmlSchema, false);
+    }
+
+    @Benchmark
+    public MapperBase importJUnit() throws Exception {
+        JUnitJenkins mapper = new JUnitJenkins(1, false);
+        mapper.importFromFile(1, junitFile);
+        return mapper;
+    }
+}
@@ -38,6 +38,8 @@ public class DoubleCondensed extends DoubleValue {
     private final Double        maximum;
     private final Double        average;
     private final Double        std_deviation;
+    private final Double        sample_std_deviation;
+    private final Double        confidence;
 
     private final int           passed;
     private final int           failed;
@@ -45,12 +47,18 @@ public class DoubleCondensed extends DoubleValue {
     // Constructor
 
     public DoubleCondensed(TestGroup parent, String group, String name, String description, String unit, Double previous, Double minimum, Double maximum, Double average, Double std_deviation, int passed, int failed) {
+        this(parent, group, name, description, unit, previous, minimum, maximum, average, std_deviation, null, null, passed, failed);
+    }
+
+    public DoubleCondensed(TestGroup parent, String group, String name, String description, String unit, Double previous, Double minimum, Double maximum, Double average, Double std_deviation, Double sample_std_deviation, Double confidence, int passed, int failed) {
         super(parent, group, name, description, unit);
         this.previous = previous;
         this.minimum = minimum;
         this.maximum = maximum;
         this.average = average;
         this.std_deviation = std_deviation;
+        this.sample_std_deviation = sample_std_deviation;
+        this.confidence = confidence;
         this.passed = passed;
         this.failed = failed;
     }
@@ -105,6 +113,13 @@ public class DoubleCondensed extends DoubleValue {
             content.append("</td><td>");
             content.append(String.format("%f", this.std_deviation));
             content.append("</td><td>");
+            for (double percentile : CONDENSED_PERCENTILES) {
+                Double value = this.getPercentile(percentile);
+                content.append((value == null) ? "-" : String.format("%f", value));
+                content.append("</td><td>");
+            }
+            content.append(this.getLastChangeAsText(decimalSeparator));
+            content.append("</td><td>");
         }
         content.append(Integer.toString(this.passed));
         content.append("</td><td>");
@@ -140,6 +155,39 @@ public class DoubleCondensed extends DoubleValue {
             content.append("</td><td>");
             content.append(String.format("%6g", this.std_deviation));
             content.append("</td></tr>");
+            for (double percentile : CONDENSED_PERCENTILES) {
+                Double value = this.getPercentile(percentile);
+                if (value != null) {
+                    content.append("<tr><td>");
+                    content.append(Messages.Percentile(String.format("%.0f", percentile)));
+                    content.append("</td><td>");
+                    content.append(String.format("%6g", value));
+                    content.append("</td></tr>");
+                }
+            }
+            if (this.detector != null && this.detector.getLastChange() != null) {
+                content.append("<tr><td>");
+                content.append(Messages.LastChangePoint());
+                content.append("</td><td>");
+                content.append(this.getLastChangeAsText(decimalSeparator));
+                content.append("</td></tr>");
+            }
+            if (this.sample_std_deviation != null) {
+                content.append("<tr><td>");
+                content.append(Messages.SampleStdDeviation());
+                content.append("</td><td>");
+                content.append(String.format("%6g", this.sample_std_deviation));
+                content.append("</td></tr>");
+            }
+            if (this.confidence != null && this.previous != null) {
+                content.append("<tr><td>");
+                content.append(Messages.Confidence95());
+                content.append("</td><td>");
+                content.append(String.format("%6g", this.previous - this.confidence));
+                content.append(" - ");
+                content.append(String.format("%6g", this.previous + this.confidence));
+                content.append("</td></tr>");
+            }
         }
         content.append("<tr><td>");
         content.append(Messages.NumberOFPassedTests());
@@ -195,6 +243,13 @@ public class DoubleCondensed extends DoubleValue {
             content.append(this.average.toString());
             content.append(',');
             content.append(this.std_deviation.toString());
+            for (double percentile : CONDENSED_PERCENTILES) {
+                Double value = this.getPercentile(percentile);
+                content.append(',');
+                content.append((value == null) ? "-" : value.toString());
+            }
+            content.append(',');
+            content.append(this.getLastChangeAsText('.'));
         }
         content.append(',');
         content.append( Integer.toString(this.passed));
@@ -208,6 +263,8 @@ public class DoubleCondensed extends DoubleValue {
     public Double getPrevious() { return previous; }
     public Double getAverage() { return average; }
     public Double getStdDeviation() { return std_deviation; }
+    public Double getSampleStdDeviation() { return sample_std_deviation; }
+    public Double getConfidence() { return confidence; }
     @Override
     public Double getMinimum() { return minimum; }
     @Override
@@ -107,6 +107,13 @@ public class IntegerCondensed extends IntegerValue {
             content.append("</td><td>");
             content.append(String.format("%f", this.std_deviation));
             content.append("</td><td>");
+            for (double percentile : CONDENSED_PERCENTILES) {
+                Double value = this.getPercentile(percentile);
+                content.append((value == null) ? "-" : String.format("%f", value));
+                content.append("</td><td>");
+            }
+            content.append(this.getLastChangeAsText(decimalSeparator));
+            content.append("</td><td>");
         }
         content.append(Integer.toString(this.passed));
         content.append("</td><td>");
@@ -142,6 +149,23 @@ public class IntegerCondensed extends IntegerValue {
             content.append("</td><td>");
             content.append(String.format("%6g", this.std_deviation));
             content.append("</td></tr>");
+            for (double percentile : CONDENSED_PERCENTILES) {
+                Double value = this.getPercentile(percentile);
+                if (value != null) {
+                    content.append("<tr><td>");
+                    content.append(Messages.Percentile(String.format("%.0f", percentile)));
+                    content.append("</td><td>");
+                    content.append(String.format("%6g", value));
+                    content.append("</td></tr>");
+                }
+            }
+            if (this.detector != null && this.detector.getLastChange() != null) {
+                content.append("<tr><td>");
+                content.append(Messages.LastChangePoint());
+                content.append("</td><td>");
+                content.append(this.getLastChangeAsText(decimalSeparator));
+                content.append("</td></tr>");
+            }
         }
         content.append("<tr><td>");
         content.append(Messages.NumberOFPassedTests());
@@ -197,6 +221,13 @@ public class IntegerCondensed extends IntegerValue {
             content.append(this.average.toString());
             content.append(',');
             content.append(this.std_deviation.toString());
+            for (double percentile : CONDENSED_PERCENTILES) {
+                Double value = this.getPercentile(percentile);
+                content.append(',');
+                content.append((value == null) ? "-" : value.toString());
+            }
+            content.append(',');
+            content.append(this.getLastChangeAsText('.'));
         }
         content.append(',');
         content.append( Integer.toString(this.passed));
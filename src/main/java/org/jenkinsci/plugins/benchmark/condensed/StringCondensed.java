@@ -88,7 +88,7 @@ public class StringCondensed extends StringValue {
         content.append(key.toString());
         content.append("</td><td>");
         if (detected.isNumeralDetected()) {
-            content.append("</td><td></td><td></td><td></td><td>");
+            content.append("</td><td></td><td></td><td></td><td></td><td></td><td></td><td></td><td>");
         }
         content.append(Integer.toString(this.passed));
         content.append("</td><td>");
@@ -152,7 +152,7 @@ public class StringCondensed extends StringValue {
             }
         }
         if (detected.isNumeralDetected()) {
-            content.append(",-,-,-,-");
+            content.append(",-,-,-,-,-,-,-,-");
         }
         content.append(',');
         content.append( Integer.toString(this.passed));
@@ -0,0 +1,240 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import hudson.Extension;
+import hudson.model.AbstractProject;
+import hudson.model.Action;
+import hudson.model.Job;
+import hudson.model.Run;
+import jenkins.model.TransientActionFactory;
+import org.jenkinsci.plugins.benchmark.utilities.AtomicFile;
+
+import javax.annotation.Nonnull;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Contribute the table and result pages to the jobs that published benchmark results
+ *
+ * <p>
+ * The last build that published results and the settings to read the history back are recorded in the job directory,
+ * and kept in memory, so that contributing the pages loads no build. Jobs published by older versions have no record
+ * yet, their condensed file tells whether they published results.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+@Extension
+public class BenchmarkActionFactory extends TransientActionFactory<Job> {
+
+    /**
+     * Last build of a job that published results, with the settings to read its history
+     */
+    static class Record {
+
+        private final int       build;
+        private final String    inputLocation;
+        private final Boolean   truncateStrings;
+        private final Boolean   hideEmptyBuilds;
+        private BenchmarkPublisher reader;
+
+        Record(int build, String inputLocation, Boolean truncateStrings, Boolean hideEmptyBuilds) {
+            this.build = build;
+            this.inputLocation = inputLocation;
+            this.truncateStrings = truncateStrings;
+            this.hideEmptyBuilds = hideEmptyBuilds;
+        }
+
+        synchronized BenchmarkPublisher getCore() {
+            if (reader == null) {
+                reader = new BenchmarkPublisher(inputLocation, null, truncateStrings, null, null);
+                reader.setHideEmptyBuilds(hideEmptyBuilds);
+            }
+            return reader;
+        }
+
+        int getBuild() { return build; }
+    }
+
+    // Variables
+
+    private static final Logger log = Logger.getLogger(BenchmarkActionFactory.class.getName());
+
+    public static final String  RECORD_FILENAME = "BenchmarkPublishing.json";
+
+    // Records by job directory, NONE for the jobs that never published results
+    private static final Record NONE = new Record(0, null, null, null);
+    private static final Map<String, Record> records = new ConcurrentHashMap<String, Record>();
+
+    // Functions
+
+    @Override
+    public Class<Job> type() {
+        return Job.class;
+    }
+
+    @Nonnull
+    @Override
+    public Collection<? extends Action> createFor(@Nonnull Job target) {
+        Record record = getRecord(target);
+        if (record == null) {
+            return Collections.emptyList();
+        }
+        BenchmarkPublisher core = record.getCore();
+        List<Action> actions = new ArrayList<Action>();
+        actions.add(new BenchmarkProjectAction(target, core));
+        actions.add(new BenchmarkResultAction(target, core));
+        return actions;
+    }
+
+    /**
+     * Record the last build of the job that published results [PUBLISH]
+     * Builds that ended in error and builds older than the one recorded leave the record unchanged.
+     * @param run Build that published results
+     * @param core Publisher of the build
+     * @param summary Summary of the build
+     */
+    public static void record(Run<?, ?> run, BenchmarkPublisher core, BenchmarkBuildAction summary) {
+        if (summary.getVerdict() == BenchmarkBuildAction.Verdict.ERROR) {
+            return;
+        }
+        Job<?, ?> project = run.getParent();
+        ReentrantLock lock = BenchmarkCondensedCoordinator.getLock(project);
+        lock.lock();
+        try {
+            Record existing = getRecord(project);
+            if (existing != null && existing.getBuild() >= run.getNumber()) {
+                return;
+            }
+            Record record = new Record(run.getNumber(), core.getInputLocation(), core.getTruncateStrings(), core.getHideEmptyBuilds());
+            records.put(project.getRootDir().getAbsolutePath(), record);
+
+            File file = new File(project.getRootDir(), RECORD_FILENAME);
+            JsonObject object = new JsonObject();
+            object.addProperty("build", record.build);
+            object.addProperty("input_location", record.inputLocation);
+            object.addProperty("truncate_strings", record.truncateStrings);
+            object.addProperty("hide_empty_builds", record.hideEmptyBuilds);
+            try {
+                File temporary = AtomicFile.createTemporary(file);
+                try (Writer writer = new OutputStreamWriter(new FileOutputStream(temporary), StandardCharsets.UTF_8)) {
+                    writer.write(object.toString());
+                }
+                AtomicFile.replace(temporary, file);
+            } catch (IOException e) {
+                log.info(Messages.BenchmarkActionFactory_RecordErrorMessage(project.getFullName(), e.getMessage()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the summary of the last build that published results
+     * @param project Jenkins job
+     * @return Summary or null if the job never published results or the build was deleted
+     */
+    public static BenchmarkBuildAction getLastSummary(Job<?, ?> project) {
+        Record record = getRecord(project);
+        if (record == null) {
+            return null;
+        }
+        // Without record of the build, published by an older version, the last completed build
+        Run<?, ?> run = (record.getBuild() == 0) ? project.getLastCompletedBuild() : project.getBuildByNumber(record.getBuild());
+        return (run == null) ? null : run.getAction(BenchmarkBuildAction.class);
+    }
+
+    /**
+     * Get the record of the last build that published results, read once per job
+     * @param project Jenkins job
+     * @return Record or null if the job never published results
+     */
+    static Record getRecord(Job<?, ?> project) {
+        File root = project.getRootDir();
+        String key = root.getAbsolutePath();
+        Record record = records.get(key);
+        if (record == null) {
+            record = readRecord(project);
+            Record concurrent = records.putIfAbsent(key, record);
+            if (concurrent != null) {
+                record = concurrent;
+            }
+        }
+        return (record == NONE) ? null : record;
+    }
+
+    static Record readRecord(Job<?, ?> project) {
+        File file = new File(project.getRootDir(), RECORD_FILENAME);
+        if (file.exists()) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                JsonObject object = new JsonParser().parse(reader).getAsJsonObject();
+                return new Record(object.get("build").getAsInt(), getString(object.get("input_location")),
+                        getBoolean(object.get("truncate_strings")), getBoolean(object.get("hide_empty_builds")));
+            } catch (IOException | RuntimeException e) {
+                log.info(Messages.BenchmarkActionFactory_RecordErrorMessage(project.getFullName(), e.getMessage()));
+            }
+        }
+
+        // Published by an older version, before the record
+        if (!new File(project.getRootDir(), BenchmarkCondensedCoordinator.CONDENSED_FILENAME).exists()) {
+            return NONE;
+        }
+        if (project instanceof AbstractProject) {
+            BenchmarkPublisher configured = ((AbstractProject<?, ?>) project).getPublishersList().get(BenchmarkPublisher.class);
+            if (configured != null) {
+                return new Record(0, configured.getInputLocation(), configured.getTruncateStrings(), configured.getHideEmptyBuilds());
+            }
+        }
+        Run<?, ?> last = project.getLastCompletedBuild();
+        if (last == null) {
+            return NONE;
+        }
+        // Only raw result files of the plugin format are read with an input location
+        String inputLocation = new File(last.getRootDir(), "BenchmarkResult.json").exists() ? "BenchmarkResult.json" : null;
+        return new Record(0, inputLocation, false, false);
+    }
+
+    private static String getString(JsonElement element) {
+        return (element == null || element.isJsonNull()) ? null : element.getAsString();
+    }
+
+    private static Boolean getBoolean(JsonElement element) {
+        return (element == null || element.isJsonNull()) ? null : element.getAsBoolean();
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import hudson.model.Run;
+import jenkins.model.RunAction2;
+import org.jenkinsci.plugins.benchmark.condensed.DoubleCondensed;
+import org.jenkinsci.plugins.benchmark.condensed.IntegerCondensed;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Build action = summary of the results published by a build
+ *
+ * <p>
+ * Only the counts, the verdict, the top regressions and the settings needed to read the history back are saved in
+ * build.xml. The pages of the job are contributed by {@link BenchmarkActionFactory} from the record of the last build
+ * that published results, and the trend of the job is drawn from the summaries alone, without loading the history.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkBuildAction implements RunAction2 {
+
+    // Public enumeration
+
+    public enum Verdict {
+        PASSED,     // No threshold failed
+        FAILED,     // At least one threshold failed
+        ERROR       // Results could not be collected
+    }
+
+    /**
+     * Result that failed its thresholds, with its change from the average of the history
+     */
+    public static class Regression {
+
+        private final Integer   key;
+        private final String    name;
+        private final Double    change;
+
+        Regression(Integer key, String name, Double change) {
+            this.key = key;
+            this.name = name;
+            this.change = change;
+        }
+
+        public Integer getKey() { return key; }
+        public String getName() { return name; }
+        public Double getChange() { return change; }
+        public String getChangeAsText() { return (change == null) ? "" : String.format(Locale.ROOT, "%+.1f%%", change); }
+    }
+
+    // Variables
+
+    public static final int MAX_REGRESSIONS = 5;
+
+    private final Verdict   verdict;
+    private final Integer   numberOfResults;
+    private final Integer   numberOfPassed;
+    private final Integer   numberOfFailed;
+    private final List<Regression> regressions;
+
+    // Settings to read the history
+    private final String    inputLocation;
+    private final Boolean   truncateStrings;
+    private final Boolean   hideEmptyBuilds;
+
+    private transient BenchmarkPublisher reader;
+    private transient Run<?, ?> run;
+
+    // Constructor
+
+    /**
+     * Summarize the results of a build
+     * @param core Publisher that collected the results
+     * @param mapper Results, null if not loaded
+     * @param build Build of the results in the mapper, 0 for the results being published
+     * @param base Condensed statistics of the previous builds, null if not loaded
+     * @param verdict Verdict of the thresholds
+     */
+    BenchmarkBuildAction(BenchmarkPublisher core, MapperBase mapper, int build, MapperBase base, Verdict verdict) {
+        this.verdict = verdict;
+        this.inputLocation = core.getInputLocation();
+        this.truncateStrings = core.getTruncateStrings();
+        this.hideEmptyBuilds = core.getHideEmptyBuilds();
+        if (mapper == null) {
+            this.numberOfResults = null;
+            this.numberOfPassed = null;
+            this.numberOfFailed = null;
+            this.regressions = null;
+        } else {
+            int results = 0;
+            int passed = 0;
+            int failed = 0;
+            List<Regression> regressions = new ArrayList<Regression>();
+            for (Map.Entry<Integer, TestValue> entry : mapper.getResults().entrySet()) {
+                TestValue result = entry.getValue();
+                if (result.getValueAsString(build).isEmpty()) {
+                    continue;
+                }
+                results++;
+                Boolean state = result.getFailedState(build);
+                if (state != null) {
+                    if (state) {
+                        failed++;
+                        regressions.add(new Regression(entry.getKey(), result.getFullName(), getChange(result, build, base == null ? null : base.getResults().get(entry.getKey()))));
+                    } else {
+                        passed++;
+                    }
+                }
+            }
+            this.numberOfResults = results;
+            this.numberOfPassed = passed;
+            this.numberOfFailed = failed;
+
+            // Largest changes first, failures without history last
+            Collections.sort(regressions, new Comparator<Regression>() {
+                @Override
+                public int compare(Regression first, Regression second) {
+                    double firstChange = (first.change == null) ? -1.0 : Math.abs(first.change);
+                    double secondChange = (second.change == null) ? -1.0 : Math.abs(second.change);
+                    return Double.compare(secondChange, firstChange);
+                }
+            });
+            this.regressions = (regressions.size() > MAX_REGRESSIONS) ? new ArrayList<Regression>(regressions.subList(0, MAX_REGRESSIONS)) : regressions;
+        }
+    }
+
+    // Function overrides
+
+    @Override
+    public String getIconFileName() {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+        return null;
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        this.run = run;
+    }
+
+    // Functions
+
+    /**
+     * Get the percentage of change of a result from the average of its history
+     * @param result Result of the build
+     * @param build Build of the result
+     * @param baseResult Condensed statistics of the result
+     * @return Percentage or null if not numeral or without history
+     */
+    private static Double getChange(TestValue result, int build, TestValue baseResult) {
+        if (!(result instanceof NumeralValue)) {
+            return null;
+        }
+        Double value = ((NumeralValue) result).getNumericValue(build);
+        Double average = null;
+        if (baseResult instanceof DoubleCondensed) {
+            average = ((DoubleCondensed) baseResult).getAverage();
+        } else if (baseResult instanceof IntegerCondensed) {
+            average = ((IntegerCondensed) baseResult).getAverage();
+        }
+        if (value == null || average == null || average == 0.0) {
+            return null;
+        }
+        return (value - average) / Math.abs(average) * 100.0;
+    }
+
+    /**
+     * Get the share of passed results, for the trend of the job
+     * @return Percentage of the results with a threshold
+     */
+    public int getPassedPercentage() {
+        if (numberOfPassed == null || numberOfFailed == null || numberOfPassed + numberOfFailed == 0) {
+            return 0;
+        }
+        return (int) Math.round(100.0 * numberOfPassed / (numberOfPassed + numberOfFailed));
+    }
+
+    /**
+     * Get the share of failed results, for the trend of the job
+     * @return Percentage of the results with a threshold
+     */
+    public int getFailedPercentage() {
+        if (numberOfPassed == null || numberOfFailed == null || numberOfPassed + numberOfFailed == 0) {
+            return 0;
+        }
+        return 100 - getPassedPercentage();
+    }
+
+    /**
+     * Get a publisher able to read the history back, without the schema and the thresholds of the job
+     * @return Publisher
+     */
+    public synchronized BenchmarkPublisher getCore() {
+        if (reader == null) {
+            reader = new BenchmarkPublisher(inputLocation, null, truncateStrings, null, null);
+            reader.setHideEmptyBuilds(hideEmptyBuilds);
+        }
+        return reader;
+    }
+
+    // Getters
+
+    public Verdict getVerdict() { return verdict; }
+    public Integer getNumberOfResults() { return numberOfResults; }
+    public Integer getNumberOfPassed() { return numberOfPassed; }
+    public Integer getNumberOfFailed() { return numberOfFailed; }
+    public List<Regression> getRegressions() { return (regressions == null) ? Collections.<Regression>emptyList() : regressions; }
+    public Run<?, ?> getRun() { return run; }
+}
@@ -0,0 +1,378 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import hudson.model.Job;
+import hudson.model.Run;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+import org.jenkinsci.plugins.benchmark.utilities.ResetMemoryTask;
+
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.Timer;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Histories loaded in memory, shared by all the pages and users of a job
+ *
+ * <p>
+ * A history is loaded once per job and last build, then read without modification by every request.
+ * Rendered HTML fragments are kept next to the history, keyed by (job, last build number, view, locale).
+ * Histories not accessed for {@link BenchmarkPublisher#TIME_DELAY_MS} are released with their fragments,
+ * except histories pre-warmed after a build that are kept for {@link #PREWARM_RETENTION_MS}.
+ * All the histories share the memory budget of {@link BenchmarkMemory}. Before a load, the least recently accessed
+ * histories of other jobs are released until half of the budget is available, the loaded history then drops
+ * messages, parameters and older builds to fit in what is left.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkCache {
+
+    // Variables
+
+    // Maximum number of rendered fragments kept per job
+    public static final int MAX_FRAGMENTS = 64;
+    // Time a history loaded in the background after a build is kept, whether accessed or not
+    public static final long PREWARM_RETENTION_MS = 12L * 60L * 60L * 1000L;
+    // Request parameters that do not select the content (DataTables draw counter, jQuery cache buster)
+    private static final Set<String> IGNORED_PARAMETERS = new HashSet<String>(Arrays.asList("draw", "_"));
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private static Timer timer;
+
+    private static class Entry {
+        private volatile MapperBase mapper;
+        private int             build;
+        private volatile long   lastAccess;
+        private volatile long   retainedUntil;
+        private final Map<String, String> fragments = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MAX_FRAGMENTS;
+            }
+        });
+    }
+
+    // Functions
+
+    /**
+     * Get the history of a job up to a run, loading it if necessary
+     * Concurrent requests for the same job wait for a single load.
+     * @param core Publisher that defines how results are collected
+     * @param run Jenkins run instance, usually the last build
+     * @return History of results
+     * @throws NullPointerException If null pointer detected
+     * @throws InterruptedException Interrupted Exception
+     * @throws ValidationException Validation exception
+     * @throws IOException If file not found
+     * @throws JsonIOException If I/O errors occur
+     * @throws JsonSyntaxException If JSON syntax invalid
+     */
+    public static MapperBase getMapper(BenchmarkPublisher core, Run<?, ?> run) throws NullPointerException, InterruptedException, ValidationException, IOException, JsonIOException, JsonSyntaxException {
+        Entry entry = getEntry(run.getParent());
+        synchronized (entry) {
+            entry.lastAccess = System.currentTimeMillis();
+            if (entry.mapper == null || entry.build != run.getNumber()) {
+                entry.fragments.clear();
+                entry.mapper = null;
+                entry.mapper = core.getRawResults(run, new HeapFootprint(reserve(run.getParent()), true));
+                entry.build = run.getNumber();
+            }
+            return entry.mapper;
+        }
+    }
+
+    /**
+     * Load the history of a job ahead of the first page view, usually right after a build
+     * @param core Publisher that defines how results are collected
+     * @param run Jenkins run instance, the last build
+     * @throws NullPointerException If null pointer detected
+     * @throws InterruptedException Interrupted Exception
+     * @throws ValidationException Validation exception
+     * @throws IOException If file not found
+     * @throws JsonIOException If I/O errors occur
+     * @throws JsonSyntaxException If JSON syntax invalid
+     */
+    public static void prewarm(BenchmarkPublisher core, Run<?, ?> run) throws NullPointerException, InterruptedException, ValidationException, IOException, JsonIOException, JsonSyntaxException {
+        getMapper(core, run);
+        Entry entry = entries.get(run.getParent().getFullName());
+        if (entry != null) {
+            entry.retainedUntil = System.currentTimeMillis() + PREWARM_RETENTION_MS;
+        }
+    }
+
+    /**
+     * Get the history of a job if already loaded
+     * @param project Jenkins job
+     * @return History of results or null
+     */
+    public static MapperBase getLoadedMapper(Job<?, ?> project) {
+        Entry entry = entries.get(project.getFullName());
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return entry.mapper;
+    }
+
+    /**
+     * Get a rendered fragment of a page
+     * @param project Jenkins job
+     * @param mapper History the fragment was rendered from, loaded for the last build
+     * @param view Name of the view, including any parameter that changes its content
+     * @return Rendered content or null if not cached
+     */
+    public static String getFragment(Job<?, ?> project, MapperBase mapper, String view) {
+        Entry entry = entries.get(project.getFullName());
+        if (entry == null || entry.mapper == null || entry.mapper != mapper) {
+            return null;
+        }
+        return entry.fragments.get(view + '|' + entry.build + '|' + getRequestLocale());
+    }
+
+    /**
+     * Keep a rendered fragment of a page as long as the history of the job is loaded
+     * @param project Jenkins job
+     * @param mapper History the fragment was rendered from, loaded for the last build
+     * @param view Name of the view, including any parameter that changes its content
+     * @param content Rendered content
+     */
+    public static void putFragment(Job<?, ?> project, MapperBase mapper, String view, String content) {
+        Entry entry = entries.get(project.getFullName());
+        if (entry != null && entry.mapper == mapper && content != null) {
+            entry.fragments.put(view + '|' + entry.build + '|' + getRequestLocale(), content);
+        }
+    }
+
+    /**
+     * Get the locale of the current request, fragments are rendered with localized messages
+     * @return Locale of the request or the default locale outside of a request
+     */
+    public static Locale getRequestLocale() {
+        StaplerRequest req = Stapler.getCurrentRequest();
+        if (req == null) {
+            return Locale.getDefault();
+        }
+        return req.getLocale();
+    }
+
+    /**
+     * Answer conditional requests of a view with 304 when the history has not changed
+     * Sets a strong ETag derived from (job, last build number, view, locale, parameters) and a Last-Modified
+     * derived from the condensed file written by the last publishing build and from the job configuration.
+     * The draw counter of DataTables and the cache buster of jQuery are not part of the ETag.
+     * @param project Jenkins job
+     * @param view Name of the view
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @return Whether a 304 response was sent
+     */
+    public static boolean checkNotModified(Job<?, ?> project, String view, StaplerRequest req, StaplerResponse rsp) {
+        Run run = project.getLastBuild();
+        File condensedFile = new File(project.getRootDir(), "BenchmarkCondensed.json");
+        long lastModified = condensedFile.lastModified();
+        if (run == null || lastModified == 0L) {
+            return false;
+        }
+        // Display options are part of the job configuration
+        lastModified = Math.max(lastModified, project.getConfigFile().getFile().lastModified());
+        // HTTP dates have a resolution of one second
+        lastModified = lastModified - lastModified % 1000;
+        StringBuffer tag = new StringBuffer();
+        tag.append(project.getFullName());
+        tag.append('|');
+        tag.append(run.getNumber());
+        tag.append('|');
+        tag.append(view);
+        tag.append('|');
+        tag.append(req.getLocale());
+        tag.append('|');
+        tag.append(getParameters(req.getParameterMap()));
+        tag.append('|');
+        tag.append(lastModified);
+        String etag = "\"" + Integer.toHexString(tag.toString().hashCode()) + Long.toHexString(lastModified) + "\"";
+        rsp.setHeader("ETag", etag);
+        rsp.setDateHeader("Last-Modified", lastModified);
+        rsp.setHeader("Cache-Control", "private, no-cache");
+        if (isNotModified(etag, lastModified, req.getHeader("If-None-Match"), req.getDateHeader("If-Modified-Since"))) {
+            rsp.setStatus(StaplerResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Evaluate the conditional headers of a request (RFC 7232, section 6)
+     * If-Modified-Since is ignored when If-None-Match is present, a new build changes the ETag before the
+     * condensed file is rewritten.
+     * @param etag Current ETag
+     * @param lastModified Current Last-Modified, in milliseconds
+     * @param ifNoneMatch If-None-Match header, null if absent
+     * @param ifModifiedSince If-Modified-Since header in milliseconds, negative if absent
+     * @return Whether the client copy is up to date
+     */
+    static boolean isNotModified(String etag, long lastModified, String ifNoneMatch, long ifModifiedSince) {
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * Get the request parameters that select the content, in a stable order
+     * @param parameters Parameters of the request
+     * @return Parameters as text
+     */
+    static String getParameters(Map<String, String[]> parameters) {
+        StringBuffer content = new StringBuffer();
+        for (Map.Entry<String, String[]> parameter : new TreeMap<String, String[]>(parameters).entrySet()) {
+            if (IGNORED_PARAMETERS.contains(parameter.getKey())) {
+                continue;
+            }
+            content.append(parameter.getKey());
+            content.append('=');
+            content.append(Arrays.toString(parameter.getValue()));
+            content.append('&');
+        }
+        return content.toString();
+    }
+
+    /**
+     * Reset clock that keeps the history of a job loaded in memory
+     * @param project Jenkins job
+     */
+    public static void resetClock(Job<?, ?> project) {
+        Entry entry = entries.get(project.getFullName());
+        if (entry != null) {
+            entry.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Release the history of a job
+     * @param project Jenkins job
+     */
+    public static void resetMemory(Job<?, ?> project) {
+        entries.remove(project.getFullName());
+    }
+
+    /**
+     * Release the histories that have not been accessed within the time delay and are not pre-warmed
+     */
+    public static void resetExpiredMemory() {
+        long now = System.currentTimeMillis();
+        long limit = now - BenchmarkPublisher.TIME_DELAY_MS;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().lastAccess < limit && entry.getValue().retainedUntil < now) {
+                entries.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Get the footprint of the loaded histories
+     * @return Footprint per job full name
+     */
+    public static Map<String, HeapFootprint> getFootprints() {
+        Map<String, HeapFootprint> footprints = new TreeMap<String, HeapFootprint>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            MapperBase mapper = entry.getValue().mapper;
+            if (mapper != null) {
+                footprints.put(entry.getKey(), mapper.getFootprint());
+            }
+        }
+        return footprints;
+    }
+
+    /**
+     * Release the least recently accessed histories of other jobs until half of the memory budget is available
+     * @param project Jenkins job whose history is about to load
+     * @return Memory available to the history of the job in bytes
+     */
+    private static long reserve(Job<?, ?> project) {
+        BenchmarkMemory.get();
+        long budget = BenchmarkMemory.getBudget();
+        String name = project.getFullName();
+        while (true) {
+            long used = 0;
+            Map.Entry<String, Entry> eldest = null;
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                MapperBase mapper = entry.getValue().mapper;
+                if (mapper == null || entry.getKey().equals(name)) {
+                    continue;
+                }
+                used += mapper.getFootprint().getTotal();
+                if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null || budget - used >= budget / 2) {
+                return budget - used;
+            }
+            entries.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static Entry getEntry(Job<?, ?> project) {
+        startClock();
+        Entry entry = entries.get(project.getFullName());
+        if (entry == null) {
+            Entry newEntry = new Entry();
+            entry = entries.putIfAbsent(project.getFullName(), newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        return entry;
+    }
+
+    private static synchronized void startClock() {
+        if (timer == null) {
+            timer = new Timer("Benchmark history cache", true);
+            timer.schedule(new ResetMemoryTask(), BenchmarkPublisher.TIME_DELAY_MS / 4, BenchmarkPublisher.TIME_DELAY_MS / 4);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import hudson.model.Job;
+import hudson.model.Run;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.utilities.AtomicFile;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Coordinates the updates of the condensed file of a job between concurrent builds
+ *
+ * <p>
+ * Publishers append their build number to a journal, BenchmarkCondensed.journal, once their build file is written.
+ * Without concurrent build, the publisher writes its merged results right away. Otherwise a single compaction per
+ * job at a time rebuilds the condensed file from the builds on disk in the background, then removes the builds it
+ * covered from the journal. Publishers never wait for a compaction, the running one loops until the journal is empty.
+ * The condensed file is always replaced in one step and the journal is guarded by an in-process lock striped by job.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkCondensedCoordinator {
+
+    // Variables
+
+    private static final Logger log = Logger.getLogger(BenchmarkCondensedCoordinator.class.getName());
+
+    public static final String CONDENSED_FILENAME = "BenchmarkCondensed.json";
+    public static final String JOURNAL_FILENAME = "BenchmarkCondensed.journal";
+
+    private static final int STRIPES = 64;
+    private static final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    static {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    private static final Set<String> compacting = ConcurrentHashMap.newKeySet();
+
+    // EWMA spans requested by the thresholds of the builds not condensed yet, by job then result hash
+    private static final Map<String, Map<Integer, Set<Integer>>> ewmaSpans = new ConcurrentHashMap<String, Map<Integer, Set<Integer>>>();
+
+    // Functions
+
+    /**
+     * Get a stamp of the condensed file, to detect whether it changed since a history was loaded
+     * @param project Jenkins job
+     * @return Stamp, 0 if the file does not exist
+     */
+    public static long getStamp(Job<?, ?> project) {
+        File condensedFile = new File(project.getRootDir(), CONDENSED_FILENAME);
+        return condensedFile.lastModified() * 31 + condensedFile.length();
+    }
+
+    /**
+     * Keep the EWMA spans requested by the thresholds of a build, until they are written to the condensed file
+     * In asynchronous mode the thresholds are checked against a copy of the condensed file, the spans are kept here
+     * so that the next compaction exports them and updates them with each build from then on.
+     * @param project Jenkins job
+     * @param spans Spans by result hash
+     */
+    public static void requireEwmaSpans(Job<?, ?> project, Map<Integer, Set<Integer>> spans) {
+        if (spans.isEmpty()) {
+            return;
+        }
+        synchronized (ewmaSpans) {
+            Map<Integer, Set<Integer>> required = ewmaSpans.get(project.getFullName());
+            if (required == null) {
+                required = new HashMap<Integer, Set<Integer>>();
+                ewmaSpans.put(project.getFullName(), required);
+            }
+            for (Map.Entry<Integer, Set<Integer>> entry : spans.entrySet()) {
+                Set<Integer> resultSpans = required.get(entry.getKey());
+                if (resultSpans == null) {
+                    resultSpans = new TreeSet<Integer>();
+                    required.put(entry.getKey(), resultSpans);
+                }
+                resultSpans.addAll(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Add a published build to the journal of the job
+     * @param run Jenkins run instance whose build file is written
+     * @throws IOException If the journal cannot be written
+     */
+    public static void record(Run<?, ?> run) throws IOException {
+        Job<?, ?> project = run.getParent();
+        ReentrantLock lock = getLock(project);
+        lock.lock();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(getJournal(project), true), StandardCharsets.UTF_8)) {
+            writer.write(Integer.toString(run.getNumber()));
+            writer.write('\n');
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Publish a build to the condensed file of its job
+     * The build is added to the journal. When the journal only holds this build, the build is not older than the
+     * condensed file and the condensed file has not changed since the history of the merged results was loaded,
+     * the merged results are written right away. Otherwise, or when another build of the job is compacting, the
+     * journal is compacted in the background.
+     * @param core Publisher that defines how results are collected
+     * @param run Jenkins run instance whose build file is written
+     * @param merged Results of the build merged with its history, may be null
+     * @param stamp Stamp of the condensed file before the history of the merged results was loaded
+     * @throws IOException If a file cannot be read or written
+     */
+    public static void publish(BenchmarkPublisher core, Run<?, ?> run, MapperBase merged, long stamp) throws IOException {
+        Job<?, ?> project = run.getParent();
+        String name = project.getFullName();
+        record(run);
+        if (merged != null && compacting.add(name)) {
+            try {
+                TreeSet<Integer> pending = readJournal(project);
+                Integer condensedBuild = merged.getCondensedBuild();
+                boolean newest = condensedBuild == null || run.getNumber() >= condensedBuild;
+                if (newest && pending.size() == 1 && pending.first() == run.getNumber() && getStamp(project) == stamp) {
+                    File condensedFile = new File(project.getRootDir(), CONDENSED_FILENAME);
+                    Map<Integer, Set<Integer>> required = ewmaSpans.remove(name);
+                    if (required != null) {
+                        merged.requestEwmaSpans(required);
+                    }
+                    if (!merged.exportCondensedToFile(condensedFile.getAbsolutePath(), project.getName(), run.getNumber())) {
+                        if (required != null) {
+                            requireEwmaSpans(project, required);
+                        }
+                        throw new IOException(Messages.BenchmarkCondensedCoordinator_WriteFailed(condensedFile.getAbsolutePath()));
+                    }
+                    removeFromJournal(project, pending);
+                    BenchmarkCache.resetMemory(project);
+                }
+            } finally {
+                compacting.remove(name);
+            }
+        }
+        if (!readJournal(project).isEmpty()) {
+            compactInBackground(core, project);
+        }
+    }
+
+    /**
+     * Rebuild the condensed file from the builds on disk until the journal is empty
+     * Returns right away when another compaction of the job is running, that compaction loops over the journal.
+     * @param core Publisher that defines how results are collected
+     * @param project Jenkins job
+     * @throws InterruptedException Interrupted Exception
+     * @throws ValidationException Validation exception
+     * @throws IOException If a file cannot be read or written
+     * @throws JsonIOException If I/O errors occur
+     * @throws JsonSyntaxException If JSON syntax invalid
+     */
+    public static void compact(BenchmarkPublisher core, Job<?, ?> project) throws InterruptedException, ValidationException, IOException, JsonIOException, JsonSyntaxException {
+        String name = project.getFullName();
+        File condensedFile = new File(project.getRootDir(), CONDENSED_FILENAME);
+        do {
+            if (!compacting.add(name)) {
+                return;
+            }
+            try {
+                TreeSet<Integer> pending = readJournal(project);
+                Run<?, ?> last = project.getLastBuild();
+                if (last == null) {
+                    return;
+                }
+                if (!pending.isEmpty()) {
+
+                    // Most recent build covered, the condensed file never moves back
+                    int target = pending.last();
+                    int condensedBuild = 0;
+                    MapperBase condensed = core.getCondensedResults(last);
+                    if (condensed != null && condensed.getCondensedBuild() != null) {
+                        condensedBuild = condensed.getCondensedBuild();
+                        if (condensedBuild > target) {
+                            target = condensedBuild;
+                        }
+                    }
+                    Run<?, ?> run = project.getBuildByNumber(target);
+                    if (run == null) {
+                        run = last;
+                    }
+
+                    MapperBase history = core.getRawResults(run);
+                    if (history != null) {
+                        // Builds that finished after a later build was condensed are not part of its statistics
+                        NavigableSet<Integer> late = pending.headSet(condensedBuild, false);
+                        if (!late.isEmpty()) {
+                            history.includeLateBuilds(late);
+                        }
+                    }
+                    Map<Integer, Set<Integer>> required = ewmaSpans.remove(name);
+                    if (history != null && required != null) {
+                        history.requestEwmaSpans(required);
+                    }
+                    if (history == null || !history.exportCondensedToFile(condensedFile.getAbsolutePath(), project.getName(), target)) {
+                        if (required != null) {
+                            requireEwmaSpans(project, required);
+                        }
+                        throw new IOException(Messages.BenchmarkCondensedCoordinator_WriteFailed(condensedFile.getAbsolutePath()));
+                    }
+                    removeFromJournal(project, pending);
+                    BenchmarkCache.resetMemory(project);
+                }
+            } finally {
+                compacting.remove(name);
+            }
+        } while (!readJournal(project).isEmpty());
+    }
+
+    /**
+     * Compact the journal on the background queue of the job
+     * @param core Publisher that defines how results are collected
+     * @param project Jenkins job
+     */
+    public static void compactInBackground(final BenchmarkPublisher core, final Job<?, ?> project) {
+        BenchmarkQueue.submit(project, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    compact(core, project);
+                } catch (Exception e) {
+                    log.warning(Messages.BenchmarkCondensedCoordinator_CompactionErrorMessage(project.getFullName(), e.getMessage()));
+                }
+            }
+        });
+    }
+
+    /**
+     * Read the builds waiting in the journal of the job
+     * @param project Jenkins job
+     * @return Build numbers
+     * @throws IOException If the journal cannot be read
+     */
+    public static TreeSet<Integer> readJournal(Job<?, ?> project) throws IOException {
+        ReentrantLock lock = getLock(project);
+        lock.lock();
+        try {
+            return readJournal(getJournal(project));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static TreeSet<Integer> readJournal(File journal) throws IOException {
+        TreeSet<Integer> builds = new TreeSet<Integer>();
+        if (!journal.exists()) {
+            return builds;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(journal), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    if (!line.trim().isEmpty()) {
+                        builds.add(Integer.valueOf(line.trim()));
+                    }
+                } catch (NumberFormatException e) {
+                    // Partial line of an interrupted append
+                }
+            }
+        }
+        return builds;
+    }
+
+    private static void removeFromJournal(Job<?, ?> project, TreeSet<Integer> compacted) throws IOException {
+        ReentrantLock lock = getLock(project);
+        lock.lock();
+        try {
+            File journal = getJournal(project);
+            TreeSet<Integer> remaining = readJournal(journal);
+            remaining.removeAll(compacted);
+            if (remaining.isEmpty()) {
+                if (journal.exists() && !journal.delete()) {
+                    throw new IOException(Messages.BenchmarkCondensedCoordinator_WriteFailed(journal.getAbsolutePath()));
+                }
+                return;
+            }
+            File temporary = AtomicFile.createTemporary(journal);
+            try (Writer writer = new OutputStreamWriter(new FileOutputStream(temporary), StandardCharsets.UTF_8)) {
+                for (Integer build : remaining) {
+                    writer.write(build.toString());
+                    writer.write('\n');
+                }
+            }
+            AtomicFile.replace(temporary, journal);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static File getJournal(Job<?, ?> project) {
+        return new File(project.getRootDir(), JOURNAL_FILENAME);
+    }
+
+    /**
+     * Get the lock of the files written per job, shared by the jobs of a stripe
+     * @param project Jenkins job
+     * @return Lock of the job
+     */
+    static ReentrantLock getLock(Job<?, ?> project) {
+        return locks[(project.getFullName().hashCode() & 0x7fffffff) % STRIPES];
+    }
+}
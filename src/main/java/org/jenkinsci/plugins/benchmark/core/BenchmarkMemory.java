@@ -0,0 +1,131 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Memory budget of the histories loaded in memory, with their estimated footprint exposed through JMX
+ *
+ * <p>
+ * The budget is set in the global configuration, by default a quarter of the maximum heap. Registered on the platform
+ * MBean server as org.jenkinsci.plugins.benchmark:type=HistoryMemory when the first history is loaded.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkMemory implements BenchmarkMemoryMBean {
+
+    // Variables
+
+    private static final Logger log = Logger.getLogger(BenchmarkMemory.class.getName());
+
+    public static final String OBJECT_NAME = "org.jenkinsci.plugins.benchmark:type=HistoryMemory";
+
+    private static BenchmarkMemory instance = null;
+
+    // Constructor
+
+    private BenchmarkMemory() { }
+
+    // Functions
+
+    /**
+     * Get the memory view, registered on the platform MBean server on first use
+     * @return Memory view
+     */
+    public static synchronized BenchmarkMemory get() {
+        if (instance == null) {
+            instance = new BenchmarkMemory();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+            } catch (Exception e) {
+                log.info(Messages.BenchmarkMemory_RegistrationErrorMessage(e.getMessage()));
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the memory budget of all the loaded histories
+     * @return Budget in bytes
+     */
+    public static long getBudget() {
+        int megabytes = 0;
+        Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins != null) {
+            BenchmarkPublisher.DescriptorImpl descriptor = jenkins.getDescriptorByType(BenchmarkPublisher.DescriptorImpl.class);
+            if (descriptor != null) {
+                megabytes = descriptor.getHistoryMemoryBudget();
+            }
+        }
+        if (megabytes > 0) {
+            return megabytes * 1024L * 1024L;
+        }
+        return Runtime.getRuntime().maxMemory() / 4;
+    }
+
+    public String getSummary() {
+        StringBuffer summary = new StringBuffer();
+        summary.append(String.format(Locale.ROOT, "%-40s %12s %8s %8s %8s%n", "job", "bytes", "builds", "skipped", "details"));
+        for (Map.Entry<String, HeapFootprint> entry : BenchmarkCache.getFootprints().entrySet()) {
+            HeapFootprint footprint = entry.getValue();
+            summary.append(String.format(Locale.ROOT, "%-40s %12d %8d %8d %8s%n",
+                    entry.getKey(), footprint.getTotal(), footprint.getNumberOfBuilds(), footprint.getNumberOfSkippedBuilds(),
+                    footprint.isDetailsDropped() ? "dropped" : "kept"));
+        }
+        return summary.toString();
+    }
+
+    // Getters
+
+    public long getBudgetBytes() { return getBudget(); }
+    public int getLoadedHistories() { return BenchmarkCache.getFootprints().size(); }
+
+    public long getRetainedBytes() {
+        long bytes = 0;
+        for (HeapFootprint footprint : BenchmarkCache.getFootprints().values()) {
+            bytes += footprint.getTotal();
+        }
+        return bytes;
+    }
+
+    public long getRetainedBytes(String job) {
+        HeapFootprint footprint = BenchmarkCache.getFootprints().get(job);
+        return footprint == null ? 0L : footprint.getTotal();
+    }
+
+    public int getDegradedHistories() {
+        int count = 0;
+        for (HeapFootprint footprint : BenchmarkCache.getFootprints().values()) {
+            if (footprint.isDegraded()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
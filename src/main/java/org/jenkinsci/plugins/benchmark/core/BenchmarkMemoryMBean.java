@@ -0,0 +1,49 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+/**
+ * JMX interface of the memory taken by the histories loaded in memory
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public interface BenchmarkMemoryMBean {
+
+    /** @return Memory budget of all the loaded histories in bytes */
+    long getBudgetBytes();
+
+    /** @return Estimated memory retained by the loaded histories in bytes */
+    long getRetainedBytes();
+
+    /** @return Number of histories loaded in memory */
+    int getLoadedHistories();
+
+    /** @return Number of loaded histories whose messages, parameters or builds were dropped to fit the budget */
+    int getDegradedHistories();
+
+    /** @return Per job estimated size, builds, skipped builds and whether details were dropped */
+    String getSummary();
+
+    /**
+     * @param job Full name of the job
+     * @return Estimated memory retained by the history of the job in bytes, 0 if not loaded
+     */
+    long getRetainedBytes(String job);
+}
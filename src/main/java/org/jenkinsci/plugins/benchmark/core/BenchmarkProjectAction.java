@@ -18,28 +18,38 @@
  */
 package org.jenkinsci.plugins.benchmark.core;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import hudson.model.Action;
 import hudson.model.Api;
 import hudson.model.Job;
 import hudson.model.Run;
 import jenkins.model.Jenkins;
-import jenkins.tasks.SimpleBuildStep;
+import jenkins.model.RunAction2;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
 import org.jenkinsci.plugins.benchmark.utilities.*;
 import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
 import org.kohsuke.stapler.bind.JavaScriptMethod;
 import org.kohsuke.stapler.export.Exported;
 import org.kohsuke.stapler.export.ExportedBean;
 
+import javax.servlet.ServletException;
 import java.awt.*;
-import java.io.FileNotFoundException;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.TreeSet;
 import java.util.logging.Logger;
 
 /**
@@ -49,14 +59,21 @@ import java.util.logging.Logger;
  * @since 5/16/2017.
  */
 @ExportedBean
-public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuildAction {
+public class BenchmarkProjectAction implements Action, RunAction2 {
 
     // Variables
 
     private static final Logger log = Logger.getLogger(BenchmarkProjectAction.class.getName());
 
-    private final Job<?, ?>                 project;
-    private final BenchmarkPublisher        core;
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+
+    public static final int TREND_BUILDS = 20;
+
+    private enum CsvTable { RAW, RAW_STATE, CONDENSED }
+
+    // Contributed by BenchmarkActionFactory, the actions saved with the builds of older versions are dropped on load
+    private final transient Job<?, ?>                 project;
+    private final transient BenchmarkPublisher        core;
 
     // Constructor
 
@@ -82,8 +99,36 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
         return "BenchmarkTable";
     }
 
+    /**
+     * Drop the action saved with the builds of older versions, its job and publisher are no longer saved
+     * @param run Build loaded
+     */
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        run.removeAction(this);
+    }
+
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        // Contributed to the job only
+    }
+
     // Functions
 
+    /**
+     * Render the tables page, or answer 304 when the history has not changed since the client copy
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     * @throws ServletException If the view cannot be rendered
+     */
+    public void doIndex(StaplerRequest req, StaplerResponse rsp) throws IOException, ServletException {
+        if (BenchmarkCache.checkNotModified(project, "table", req, rsp)) {
+            return;
+        }
+        req.getView(this, "table.jelly").forward(req, rsp);
+    }
+
     /**
      * Get text direction (left to right/right to left)
      * @return rtl or ltr
@@ -119,6 +164,27 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
         return  Messages.BenchmarkProjectAction_DownloadTablesAt();
     }
 
+    /**
+     * Get the estimated memory taken by the loaded history, and what was dropped to fit the memory budget
+     * @return Memory message, empty if the history is not loaded
+     */
+    @FrontendMethod
+    public String getMemoryMessage() {
+        MapperBase base = BenchmarkCache.getLoadedMapper(project);
+        if (base == null) {
+            return "";
+        }
+        HeapFootprint footprint = base.getFootprint();
+        String size = String.format(Locale.ROOT, "%.1f", footprint.getTotal() / (1024.0 * 1024.0));
+        String budget = String.format(Locale.ROOT, "%.0f", footprint.getBudget() / (1024.0 * 1024.0));
+        if (footprint.getLastSkippedBuild() != null) {
+            return Messages.BenchmarkProjectAction_MemoryBuildsDropped(size, budget, footprint.getLastSkippedBuild().toString());
+        } else if (footprint.isDetailsDropped()) {
+            return Messages.BenchmarkProjectAction_MemoryDetailsDropped(size, budget);
+        }
+        return Messages.BenchmarkProjectAction_Memory(size);
+    }
+
     /**
      * Get the absolute address
      * @return Absolute address
@@ -137,6 +203,42 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
         return  Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkResult";
     }
 
+    /**
+     * Get the address of the paginated raw table content
+     * @return Absolute address
+     */
+    @FrontendMethod
+    public String getRawTableDataURL(){
+        return  Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkTable/rawTableData";
+    }
+
+    /**
+     * Get the base address of the CSV downloads
+     * @return Absolute address
+     */
+    @FrontendMethod
+    public String getExportURL(){
+        return  Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkTable/";
+    }
+
+    /**
+     * Get the number of builds skipped from the most recent one in the raw table
+     * @return Build offset from the page request
+     */
+    @FrontendMethod
+    public int getBuildOffset(){
+        return getIntParameter(Stapler.getCurrentRequest(), "buildOffset", 0);
+    }
+
+    /**
+     * Get the number of builds displayed in the raw table
+     * @return Build count from the page request, zero for all builds
+     */
+    @FrontendMethod
+    public int getBuildCount(){
+        return getIntParameter(Stapler.getCurrentRequest(), "buildCount", 0);
+    }
+
     /**
      * Get the API address
      * @return Api address
@@ -147,25 +249,39 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
     }
 
     /**
-     * Identify whether results are available
+     * Identify whether results are available, from the record of the last build that published results
      * @return Whether content is available
      */
     @FrontendMethod
     public Boolean getContentAvailable() {
-        try {
-            Run run = this.project.getLastBuild();
-            if (run != null) {
-                if (this.core.hasResults(run)) {
-                    return true;
-                } else {
-                    return false;
-                }
-            } else {
-                return false;
+        return BenchmarkActionFactory.getRecord(project) != null;
+    }
+
+    /**
+     * Get the summaries of the last builds that published results, oldest first, without loading the history
+     * @return Build summaries
+     */
+    public List<BenchmarkBuildAction> getTrend() {
+        List<BenchmarkBuildAction> trend = new ArrayList<BenchmarkBuildAction>();
+        Run<?, ?> run = project.getLastBuild();
+        int i = 0;
+        while (run != null && i < TREND_BUILDS) {
+            BenchmarkBuildAction summary = run.getAction(BenchmarkBuildAction.class);
+            if (summary != null) {
+                trend.add(0, summary);
             }
-        } catch (NullPointerException | FileNotFoundException | JsonIOException | JsonSyntaxException e) {
-            return false;
+            run = run.getPreviousBuild();
+            i++;
         }
+        return trend;
+    }
+
+    /**
+     * Get the summary of the last build that published results
+     * @return Build summary or null
+     */
+    public BenchmarkBuildAction getLastSummary() {
+        return BenchmarkActionFactory.getLastSummary(project);
     }
 
     /**
@@ -181,15 +297,7 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
                 MapperBase base = this.core.getMapper(run);
                 ContentDetected detected = base.getDetected();
                 if (detected != null) {
-                    if (detected.isFileDetected()) {
-                        ++i;
-                    }
-                    if (detected.isGroupDetected()) {
-                        ++i;
-                    }
-                    if (detected.isUnitsDetected()) {
-                        ++i;
-                    }
+                    i = detected.getNumberOfHeads();
                 }
             }
             return i;
@@ -199,8 +307,8 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
     }
 
     /**
-     * Get the HTML raw content
-     * @return HTML raw content
+     * Get the HTML raw table header, the rows are loaded page by page from doRawTableData()
+     * @return HTML raw table header
      */
     @FrontendMethod
     public String getRawTable() {
@@ -209,7 +317,13 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
             Run run = project.getLastBuild();
             if (run != null) {
                 MapperBase base = this.core.getMapper(run);
-                return base.getHTMLTable();
+                String view = "rawTable|" + getBuildOffset() + '|' + getBuildCount();
+                String content = BenchmarkCache.getFragment(project, base, view);
+                if (content == null) {
+                    content = base.getHTMLTableHeader(base.getBuildWindow(getBuildOffset(), getBuildCount()));
+                    BenchmarkCache.putFragment(project, base, view, content);
+                }
+                return content;
             } else {
                 return "";
             }
@@ -230,7 +344,12 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
             Run run = project.getLastBuild();
             if (run != null) {
                 MapperBase base = this.core.getMapper(run);
-                return base.getHTMLCondensedTable();
+                String content = BenchmarkCache.getFragment(project, base, "condensedTable");
+                if (content == null) {
+                    content = base.getHTMLCondensedTable();
+                    BenchmarkCache.putFragment(project, base, "condensedTable", content);
+                }
+                return content;
             } else {
                 return "";
             }
@@ -241,6 +360,147 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
         }
     }
 
+    /**
+     * Serve one page of the raw table to DataTables in server-side mode
+     * Request parameters: draw, start, length, search, orderColumn, orderDir, buildOffset and buildCount
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     */
+    public void doRawTableData(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        if (BenchmarkCache.checkNotModified(project, "rawTableData", req, rsp)) {
+            return;
+        }
+        JsonObject object;
+        try {
+            resetClock();
+            Run run = project.getLastBuild();
+            MapperBase base = (run == null) ? null : this.core.getMapper(run);
+            if (base != null) {
+                TreeSet<Integer> window = base.getBuildWindow(getIntParameter(req, "buildOffset", 0), getIntParameter(req, "buildCount", 0));
+                object = base.getTableData(
+                        getIntParameter(req, "draw", 0),
+                        getIntParameter(req, "start", 0),
+                        getIntParameter(req, "length", 10),
+                        req.getParameter("search"),
+                        getIntParameter(req, "orderColumn", 0),
+                        !"desc".equalsIgnoreCase(req.getParameter("orderDir")),
+                        window);
+            } else {
+                object = new JsonObject();
+                object.addProperty("draw", getIntParameter(req, "draw", 0));
+                object.addProperty("recordsTotal", 0);
+                object.addProperty("recordsFiltered", 0);
+                object.add("data", new JsonArray());
+            }
+        } catch (Exception e) {
+            log.info(Messages.BenchmarkProjectAction_RawTableErrorDetected());
+            log.info(Messages.BenchmarkProjectAction_RawTableErrorMessage(e.getMessage()));
+            object = new JsonObject();
+            object.addProperty("draw", getIntParameter(req, "draw", 0));
+            object.addProperty("error", Messages.BenchmarkProjectAction_RawTableErrorDetected());
+        }
+        rsp.setContentType("application/json;charset=UTF-8");
+        Writer writer = rsp.getWriter();
+        new Gson().toJson(object, writer);
+        writer.flush();
+    }
+
+    /**
+     * Download the raw table as a CSV file
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     */
+    public void doExportRawCsv(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        exportCsv(req, rsp, "benchmark-raw.csv", CsvTable.RAW);
+    }
+
+    /**
+     * Download the raw state table as a CSV file
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     */
+    public void doExportRawStateCsv(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        exportCsv(req, rsp, "benchmark-raw-state.csv", CsvTable.RAW_STATE);
+    }
+
+    /**
+     * Download the condensed table as a CSV file
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     */
+    public void doExportCondensedCsv(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        exportCsv(req, rsp, "benchmark-condensed.csv", CsvTable.CONDENSED);
+    }
+
+    /**
+     * Stream a CSV table to the response, compressed when the client accepts gzip
+     * Rows go through a fixed size buffer so the export memory does not depend on the table size.
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @param filename Name of the downloaded file
+     * @param table Table to export
+     * @throws IOException If the response cannot be written
+     */
+    private void exportCsv(StaplerRequest req, StaplerResponse rsp, String filename, CsvTable table) throws IOException {
+        if (BenchmarkCache.checkNotModified(project, filename, req, rsp)) {
+            return;
+        }
+        MapperBase base;
+        try {
+            resetClock();
+            Run run = project.getLastBuild();
+            base = (run == null) ? null : this.core.getMapper(run);
+        } catch (Exception e) {
+            log.info(Messages.BenchmarkProjectAction_CsvRawTableErrorDetected());
+            log.info(Messages.BenchmarkProjectAction_CsvRawTableErrorMessage(e.getMessage()));
+            rsp.sendError(StaplerResponse.SC_INTERNAL_SERVER_ERROR);
+            return;
+        }
+        if (base == null) {
+            rsp.sendError(StaplerResponse.SC_NOT_FOUND);
+            return;
+        }
+        rsp.setContentType("text/csv;charset=UTF-8");
+        rsp.setHeader("Content-Disposition", "attachment; filename=" + filename);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(rsp.getCompressedOutputStream(req), StandardCharsets.UTF_8), CSV_BUFFER_SIZE)) {
+            switch (table) {
+                case RAW:
+                    base.writeCSVTable(writer, false);
+                    break;
+                case RAW_STATE:
+                    base.writeCSVTable(writer, true);
+                    break;
+                case CONDENSED:
+                    base.writeCSVCondensedTable(writer);
+                    break;
+                default:
+            }
+        }
+    }
+
+    /**
+     * Read an integer request parameter
+     * @param req Stapler request
+     * @param name Parameter name
+     * @param defaultValue Value used when absent or invalid
+     * @return Parameter value
+     */
+    private static int getIntParameter(StaplerRequest req, String name, int defaultValue){
+        if (req == null) {
+            return defaultValue;
+        }
+        try {
+            String value = req.getParameter(name);
+            return (value == null) ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     @FrontendMethod
     public String getEmptyTableWord(){
         return Messages.BenchmarkProjectAction_DatatablesEmptyTable();
@@ -271,18 +531,12 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
         return Messages.BenchmarkProjectAction_DatatablesLast();
     }
 
-    @JavaScriptMethod
-    public void setResultSelected(Integer result){
-        this.core.setSelectedResult(result);
-        this.core.setSelectedBuild(null);
-    }
-
     /**
      * Reset clock that keeps the result loaded in memory
      */
     @JavaScriptMethod
     public void resetClock(){
-        this.core.resetClock();
+        BenchmarkCache.resetClock(project);
     }
 
     /**
@@ -442,11 +696,13 @@ public class BenchmarkProjectAction implements Action, SimpleBuildStep.LastBuild
         }
     }
 
-    @Override
-    public Collection<? extends Action> getProjectActions() {
-        List<BenchmarkProjectAction> projectActions = new ArrayList<>();
-        projectActions.add(new BenchmarkProjectAction(project, core));
-        return projectActions;
+
+    /**
+     * Read-only JSON queries over the history, BenchmarkTable/query/[results|series|condensed]
+     * @return Query API
+     */
+    public BenchmarkQuery getQuery() {
+        return new BenchmarkQuery(project, core);
     }
 
     /**
@@ -41,10 +41,12 @@ import org.jenkinsci.Symbol;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
 import org.jenkinsci.plugins.benchmark.parsers.FormatSelector;
 import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.parsers.ResultFormat;
 import org.jenkinsci.plugins.benchmark.parsers.JUnitJenkins;
 import org.jenkinsci.plugins.benchmark.schemas.Schema;
 import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
-import org.jenkinsci.plugins.benchmark.utilities.ResetMemoryTask;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
 import org.jenkinsci.plugins.benchmark.utilities.RunnableJenkinsReader;
 import org.jenkinsci.plugins.benchmark.utilities.RunnableReader;
 import org.kohsuke.stapler.DataBoundConstructor;
@@ -81,11 +83,15 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
         schemaResources = new HashMap<String, Schema>();
         schemaResources.put("defaultSchema",  new Schema(Messages.BenchmarkPublisher_Default(),  "schemas/default",  Messages.BenchmarkPublisher_DefaultSchemaDescription(), Schema.Json_format | Schema.Xml_format ));
         schemaResources.put("simplestSchema", new Schema(Messages.BenchmarkPublisher_Simplest(), "schemas/simplest", Messages.BenchmarkPublisher_SimplestSchemaDescription(), Schema.Json_format | Schema.Xml_format ));
+        schemaResources.put("csvSchema",      new Schema(Messages.BenchmarkPublisher_Csv(),      "schemas/csv",      Messages.BenchmarkPublisher_CsvSchemaDescription(),      Schema.Csv_format ));
+        schemaResources.put("jmhSchema",      new Schema(Messages.BenchmarkPublisher_Jmh(),      null,               Messages.BenchmarkPublisher_JmhSchemaDescription(),      Schema.Json_format ));
     }
 
     // Variables
 
     public static final int                 TIME_DELAY_MS = 120000;
+    // Maximum time a build waits for the condensation of the previous builds in asynchronous mode
+    public static final long                CONDENSED_WAIT_MS = 5000L;
 
     private static final Logger log = Logger.getLogger(BenchmarkPublisher.class.getName());
 
@@ -94,15 +100,12 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
     private final Boolean                     truncateStrings;
     private final String                      altInputSchema;
     private final String                      altInputSchemaLocation;
+    private Boolean                           hideEmptyBuilds;
+    private Boolean                           asyncCondensation;
 
     // Information from the threshold fields
     private List<? extends Threshold>   altThresholds;
 
-    private transient MapperBase map;
-    private transient Timer      timer;
-    private transient Integer    selectedResult;
-    private transient Integer    selectedBuild;
-
     // Constructor
 
     @DataBoundConstructor
@@ -124,12 +127,11 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
     public void perform(@Nonnull Run<?, ?> run, @Nonnull FilePath filePath, @Nonnull Launcher launcher, @Nonnull TaskListener taskListener) throws InterruptedException, IOException {
         Job project = run.getParent();
 
-        run.addAction(new BenchmarkProjectAction(project, this));
-        run.addAction(new BenchmarkResultAction(project, this));
-
         boolean failed = false;
+        BenchmarkBuildAction summary = null;
 
         taskListener.getLogger().println(Messages.BenchmarkPublisher_CollectionOfResultsStarted());
+        PhaseTimer timer = PhaseTimer.start();
         try {
 
             Integer buildNumber = run.getNumber();
@@ -139,18 +141,38 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
             // If not, check for existing Jenkins Test Report inside the previous builds
             if (inputLocation == null || inputLocation.isEmpty()){
 
-                MapperBase mapper = getRawResults(run);
-                if (mapper != null) {
-                    // Update file with condensed results
-                    String oFilename = run.getParent().getRootDir().getAbsolutePath() + File.separator + "BenchmarkCondensed.json";
-                    mapper.exportCondensedToFile(oFilename, projectName, buildNumber);
+                if (getAsyncCondensation()) {
+                    condenseInBackground(run);
+                    taskListener.getLogger().println(Messages.BenchmarkPublisher_CondensationQueued());
+                    summary = new BenchmarkBuildAction(this, null, buildNumber, null, BenchmarkBuildAction.Verdict.PASSED);
+                } else {
+                    long stamp = BenchmarkCondensedCoordinator.getStamp(project);
+                    PhaseTimer.begin(PhaseTimer.Phase.HISTORY);
+                    MapperBase mapper = getRawResults(run);
+                    PhaseTimer.end(PhaseTimer.Phase.HISTORY);
+                    summary = new BenchmarkBuildAction(this, mapper, buildNumber, null, BenchmarkBuildAction.Verdict.PASSED);
+                    if (mapper != null) {
+                        // Update file with condensed results
+                        PhaseTimer.begin(PhaseTimer.Phase.CONDENSED_EXPORT);
+                        BenchmarkCondensedCoordinator.publish(this, run, mapper, stamp);
+                        PhaseTimer.end(PhaseTimer.Phase.CONDENSED_EXPORT);
+                    }
                 }
 
             } else {
 
                 // Load the schema
+                PhaseTimer.begin(PhaseTimer.Phase.SCHEMA);
                 String schemaText;
-                if (schemaSelection.contains("customSchema")) {
+                ResultFormat format = null;
+                if (schemaSelection.startsWith(ResultFormat.PREFIX)) {
+                    format = ResultFormat.get(schemaSelection);
+                    if (format == null) {
+                        taskListener.getLogger().println(Messages.BenchmarkPublisher_SelectedSchemaDoesNotExist());
+                        throw new IOException(Messages.BenchmarkPublisher_SelectedSchemaDoesNotExist());
+                    }
+                    schemaText = null;
+                } else if (schemaSelection.contains("customSchema")) {
                     if (altInputSchema == null || altInputSchema.isEmpty()) {
                         if (altInputSchemaLocation == null || altInputSchemaLocation.isEmpty()) {
                             taskListener.getLogger().println(Messages.BenchmarkPublisher_CustomSchemaEmpty());
@@ -175,6 +197,9 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
                     if (schema == null) {
                         taskListener.getLogger().println(Messages.BenchmarkPublisher_SelectedSchemaDoesNotExist());
                         throw new IOException(Messages.BenchmarkPublisher_SelectedSchemaDoesNotExist());
+                    } else if (schema.getLocation() == null) {
+                        // Native format, mapped without schema
+                        schemaText = null;
                     } else {
                         String schemaAddress = schema.getLocation();
                         if (inputLocation.contains(".xml")) {
@@ -189,8 +214,17 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
                     }
                 }
 
+                PhaseTimer.end(PhaseTimer.Phase.SCHEMA);
+
                 // Map results
-                FormatSelector selector = new FormatSelector(run, filePath, inputLocation, schemaText, truncateStrings, taskListener);
+                FormatSelector selector;
+                if (format != null) {
+                    selector = new FormatSelector(run, filePath, inputLocation, format, truncateStrings, taskListener);
+                } else if (schemaText == null) {
+                    selector = new FormatSelector(run, filePath, inputLocation, truncateStrings, taskListener);
+                } else {
+                    selector = new FormatSelector(run, filePath, inputLocation, schemaText, truncateStrings, taskListener);
+                }
                 MapperBase mapper = selector.getMapper();
 
                 // Load additional Thresholds
@@ -198,29 +232,87 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
                     mapper.addAllThresholds(altThresholds);
                 }
 
-                MapperBase base = getRawResults(run);
-                failed = mapper.checkThresholds(base);
+                if (getAsyncCondensation()) {
 
-                // Log mapper core information
-                mapper.logKeyData(taskListener, altThresholds.size());
+                    // Verdict from the condensed statistics only, without holding the executor for a long condensation
+                    PhaseTimer.begin(PhaseTimer.Phase.HISTORY);
+                    if (!BenchmarkQueue.await(project, CONDENSED_WAIT_MS)) {
+                        taskListener.getLogger().println(Messages.BenchmarkPublisher_CondensationPending());
+                    }
+                    MapperBase condensed = getCondensedResults(run);
+                    PhaseTimer.end(PhaseTimer.Phase.HISTORY);
+                    PhaseTimer.begin(PhaseTimer.Phase.THRESHOLDS);
+                    failed = mapper.checkThresholds(condensed);
+                    PhaseTimer.end(PhaseTimer.Phase.THRESHOLDS);
+                    if (condensed != null) {
+                        BenchmarkCondensedCoordinator.requireEwmaSpans(project, condensed.getEwmaSpans());
+                    }
+                    summary = new BenchmarkBuildAction(this, mapper, 0, condensed, failed ? BenchmarkBuildAction.Verdict.FAILED : BenchmarkBuildAction.Verdict.PASSED);
 
-                // Export build file
-                String outputFilename = run.getRootDir().getAbsolutePath() + File.separator + "BenchmarkResult.json";
-                mapper.exportToFile(outputFilename, projectName, buildNumber);
+                    // Log mapper core information
+                    mapper.logKeyData(taskListener, altThresholds.size());
 
-                // Merge content
-                mapper.mergeWith(base);
+                    // Export build file
+                    String outputFilename = run.getRootDir().getAbsolutePath() + File.separator + "BenchmarkResult.json";
+                    PhaseTimer.begin(PhaseTimer.Phase.EXPORT);
+                    mapper.exportToFile(outputFilename, projectName, buildNumber);
+                    PhaseTimer.end(PhaseTimer.Phase.EXPORT);
 
-                // Update file with condensed results
-                String oFilename = run.getParent().getRootDir().getAbsolutePath() + File.separator + "BenchmarkCondensed.json";
-                mapper.exportCondensedToFile(oFilename, projectName, buildNumber);
+                    // Merge content and update file with condensed results in the background
+                    condenseInBackground(run);
+                    taskListener.getLogger().println(Messages.BenchmarkPublisher_CondensationQueued());
+
+                } else {
+
+                    long stamp = BenchmarkCondensedCoordinator.getStamp(project);
+                    PhaseTimer.begin(PhaseTimer.Phase.HISTORY);
+                    MapperBase base = getRawResults(run);
+                    PhaseTimer.end(PhaseTimer.Phase.HISTORY);
+                    PhaseTimer.begin(PhaseTimer.Phase.THRESHOLDS);
+                    failed = mapper.checkThresholds(base);
+                    PhaseTimer.end(PhaseTimer.Phase.THRESHOLDS);
+                    if (base != null) {
+                        BenchmarkCondensedCoordinator.requireEwmaSpans(project, base.getEwmaSpans());
+                    }
+                    summary = new BenchmarkBuildAction(this, mapper, 0, base, failed ? BenchmarkBuildAction.Verdict.FAILED : BenchmarkBuildAction.Verdict.PASSED);
+
+                    // Log mapper core information
+                    mapper.logKeyData(taskListener, altThresholds.size());
+
+                    // Export build file
+                    String outputFilename = run.getRootDir().getAbsolutePath() + File.separator + "BenchmarkResult.json";
+                    PhaseTimer.begin(PhaseTimer.Phase.EXPORT);
+                    mapper.exportToFile(outputFilename, projectName, buildNumber);
+                    PhaseTimer.end(PhaseTimer.Phase.EXPORT);
+
+                    // Merge content
+                    PhaseTimer.begin(PhaseTimer.Phase.MERGE);
+                    mapper.mergeWith(base);
+                    PhaseTimer.end(PhaseTimer.Phase.MERGE);
+
+                    // Update file with condensed results, in the background if other builds of the job are publishing
+                    PhaseTimer.begin(PhaseTimer.Phase.CONDENSED_EXPORT);
+                    BenchmarkCondensedCoordinator.publish(this, run, mapper, stamp);
+                    PhaseTimer.end(PhaseTimer.Phase.CONDENSED_EXPORT);
+                }
             }
 
         } catch(ValidationException e) {
+            summary = new BenchmarkBuildAction(this, null, 0, null, BenchmarkBuildAction.Verdict.ERROR);
             taskListener.getLogger().println(e.getMessage());
             taskListener.getLogger().println(Messages.BenchmarkPublisher_ErrorDetectedDuringPostBuild());
             run.setResult(Result.FAILURE);
             return;
+        } finally {
+            // Summary of the build, also contributes the pages of the job
+            if (summary == null) {
+                summary = new BenchmarkBuildAction(this, null, 0, null, BenchmarkBuildAction.Verdict.ERROR);
+            }
+            run.addOrReplaceAction(summary);
+            BenchmarkActionFactory.record(run, this, summary);
+            timer.stop();
+            BenchmarkStatistics.get().record(timer);
+            timer.printSummary(taskListener.getLogger(), Messages.BenchmarkPublisher_PhaseSummary());
         }
         if (failed) {
             taskListener.getLogger().println(Messages.BenchmarkPublisher_CollectionSuccessButValidationFailure());
@@ -230,6 +322,37 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
         taskListener.getLogger().println(Messages.BenchmarkPublisher_PluginSuccessfull());
     }
 
+    /**
+     * Merge the build with the full history and re-export the condensed file on the background queue of the job
+     * @param run Jenkins run instance whose build file is written
+     * @throws IOException If the journal cannot be written
+     */
+    private void condenseInBackground(Run<?, ?> run) throws IOException {
+        BenchmarkCondensedCoordinator.record(run);
+        BenchmarkCondensedCoordinator.compactInBackground(this, run.getParent());
+    }
+
+    /**
+     * Load the condensed statistics of the previous builds only, enough to check thresholds
+     * @param run Jenkins run instance
+     * @return Condensed results or null if no condensed file exists yet
+     * @throws NullPointerException If null pointer detected
+     * @throws ValidationException Validation exception
+     * @throws IOException If file not found
+     * @throws JsonIOException If I/O errors occur
+     * @throws JsonSyntaxException If JSON syntax invalid
+     */
+    public MapperBase getCondensedResults(Run<?, ?> run) throws NullPointerException, ValidationException, IOException, JsonIOException, JsonSyntaxException {
+        MapperBase mapper = new MapperBase(run.getNumber(), truncateStrings);
+        StringBuffer condensedFilename = new StringBuffer(run.getParent().getRootDir().getAbsolutePath());
+        condensedFilename.append(File.separator);
+        condensedFilename.append("BenchmarkCondensed.json");
+        if (!mapper.importCondensedFromFile(condensedFilename.toString())) {
+            return null;
+        }
+        return mapper;
+    }
+
     /**
      * Return whether result files are present
      * @param run Jenkins run instance
@@ -247,6 +370,8 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
 
     /**
      * Retrieved and assemble all the build results into the mapper construct
+     * Over the global memory budget, messages and parameters are dropped but all the builds are kept,
+     * the history is used to update the condensed statistics.
      * @param run Jenkins run instance
      * @return Class to raw results
      * @throws NullPointerException If null pointer detected
@@ -257,20 +382,40 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
      * @throws JsonSyntaxException If JSON syntax invalid
      */
     public MapperBase getRawResults(Run<?, ?> run) throws NullPointerException, InterruptedException, ValidationException, IOException,  JsonIOException, JsonSyntaxException {
+        return getRawResults(run, new HeapFootprint(BenchmarkMemory.getBudget(), false));
+    }
+
+    /**
+     * Retrieved and assemble the build results into the mapper construct, within a memory budget
+     * @param run Jenkins run instance
+     * @param footprint Footprint accounting and memory budget of the history
+     * @return Class to raw results
+     * @throws NullPointerException If null pointer detected
+     * @throws InterruptedException Interrupted Exception
+     * @throws ValidationException Validation exception
+     * @throws IOException If file not found
+     * @throws JsonIOException If I/O errors occur
+     * @throws JsonSyntaxException If JSON syntax invalid
+     */
+    public MapperBase getRawResults(Run<?, ?> run, HeapFootprint footprint) throws NullPointerException, InterruptedException, ValidationException, IOException,  JsonIOException, JsonSyntaxException {
         Job project = run.getParent();
 
         if (inputLocation == null || inputLocation.isEmpty()){
 
             JUnitJenkins mapper = new JUnitJenkins(run.getNumber(), truncateStrings);
+            mapper.setFootprint(footprint);
 
             // Load condensed file if present
             StringBuffer condensedFilename = new StringBuffer();
             condensedFilename.append(run.getParent().getRootDir().getAbsolutePath());
             condensedFilename.append(File.separator);
             condensedFilename.append("BenchmarkCondensed.json");
+            PhaseTimer.begin(PhaseTimer.Phase.HISTORY_CONDENSED);
             mapper.importCondensedFromFile(condensedFilename.toString());
+            PhaseTimer.end(PhaseTimer.Phase.HISTORY_CONDENSED);
 
             // Load the files between the current build and the condensed one sequentially
+            PhaseTimer.begin(PhaseTimer.Phase.HISTORY_RECENT);
             while (run != null && run.getNumber() != mapper.getBuild()){
 
                 StringBuffer rawFilename = new StringBuffer();
@@ -280,6 +425,7 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
                 mapper.importFromFile(run.getNumber(), rawFilename.toString());
                 run = run.getPreviousBuild();
             }
+            PhaseTimer.end(PhaseTimer.Phase.HISTORY_RECENT);
 
             if (run == null) {
                 return mapper;
@@ -295,6 +441,7 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
                 runsPerSegment = numberOfRuns / cores;
             }
 
+            PhaseTimer.begin(PhaseTimer.Phase.HISTORY_PARALLEL);
             ExecutorService server = Executors.newFixedThreadPool(cores);
 
             // Launch parallel threads
@@ -314,25 +461,39 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
 
             // Blocks until all tasks have completed execution after a shutdown request
             server.awaitTermination(5, TimeUnit.MINUTES);
+            PhaseTimer.end(PhaseTimer.Phase.HISTORY_PARALLEL);
 
+            mapper.trimSkippedBuilds();
             return mapper;
 
         } else {
 
             MapperBase mapper = new MapperBase(run.getNumber(), truncateStrings);
+            mapper.setFootprint(footprint);
 
             // Load condensed file if present
             StringBuffer condensedFilename = new StringBuffer(run.getParent().getRootDir().getAbsolutePath());
             condensedFilename.append(File.separator);
             condensedFilename.append("BenchmarkCondensed.json");
+            PhaseTimer.begin(PhaseTimer.Phase.HISTORY_CONDENSED);
             if (!mapper.importCondensedFromFile(condensedFilename.toString())) {
+                PhaseTimer.end(PhaseTimer.Phase.HISTORY_CONDENSED);
                 return null;
             }
+            PhaseTimer.end(PhaseTimer.Phase.HISTORY_CONDENSED);
 
             // Load the files between the current build and the condensed one sequentially
-            while (run != null && run.getNumber() != mapper.getBuild()){
+            // Builds published after the condensed file, concurrent or not compacted yet, are part of the history
+            int condensedBuild = mapper.getBuild();
+            PhaseTimer.begin(PhaseTimer.Phase.HISTORY_RECENT);
+            while (run != null && run.getNumber() != condensedBuild){
+                File rawFile = new File(run.getRootDir(), "BenchmarkResult.json");
+                if (rawFile.exists()) {
+                    mapper.importFromFile(rawFile.getAbsolutePath());
+                }
                 run = run.getPreviousBuild();
             }
+            PhaseTimer.end(PhaseTimer.Phase.HISTORY_RECENT);
 
             if (run == null) {
                 return mapper;
@@ -348,6 +509,7 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
                 runsPerSegment = numberOfRuns / cores;
             }
 
+            PhaseTimer.begin(PhaseTimer.Phase.HISTORY_PARALLEL);
             ExecutorService server = Executors.newFixedThreadPool(cores);
 
             // Launch parallel threads
@@ -367,60 +529,21 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
 
             // Blocks until all tasks have completed execution after a shutdown request
             server.awaitTermination(5, TimeUnit.MINUTES);
+            PhaseTimer.end(PhaseTimer.Phase.HISTORY_PARALLEL);
 
+            mapper.trimSkippedBuilds();
             return mapper;
         }
     }
 
-    /**
-     * fill All Results from files
-     * @param project Job being executed
-     */
-    public void fillAllResults(Job project){
-        try {
-            resetClock();
-            Run run = project.getLastBuild();
-            if (run != null) {
-                MapperBase base = this.getMapper(run);
-                base.setBuild(run.getNumber());
-            }
-        } catch (Exception e) {
-            log.info(Messages.BenchmarkPublisher_ResultCollectionErrorDetected());
-            log.info(Messages.BenchmarkPublisher_ResultCollectionErrorMessage(e.getMessage()));
-        }
-    }
-
-    public void resetClock(){
-        Timer timer = getTimer();
-        if (timer != null) {
-            timer.cancel();
-        }
-        timer = new Timer();
-        setTimer(timer);
-
-        ResetMemoryTask task = new ResetMemoryTask(this);
-        timer.schedule(task, BenchmarkPublisher.TIME_DELAY_MS);
-    }
-
-    public void resetMemory(){
-        this.map = null;
-        Timer timer = getTimer();
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
-        }
-        System.gc();
-    }
-
     // Setters
 
     @DataBoundSetter
     public void setThresholds(List<? extends Threshold> thresholds) { this.altThresholds = thresholds; }
-
-    public void setTimer(Timer timer) { this.timer = timer; }
-    public void setSelectedResult(Integer selectedResult) { this.selectedResult = selectedResult; }
-    public void setSelectedBuild(Integer selectedBuild) { this.selectedBuild = selectedBuild; }
-    public void setMapper(MapperBase mapper){ this.map = mapper;}
+    @DataBoundSetter
+    public void setHideEmptyBuilds(Boolean hideEmptyBuilds) { this.hideEmptyBuilds = hideEmptyBuilds; }
+    @DataBoundSetter
+    public void setAsyncCondensation(Boolean asyncCondensation) { this.asyncCondensation = asyncCondensation; }
 
     // Getters
 
@@ -429,19 +552,12 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
     public Boolean getTruncateStrings() { return truncateStrings; }
     public String getAltInputSchema() { return altInputSchema; }
     public String getAltInputSchemaLocation() { return altInputSchemaLocation; }
+    public Boolean getHideEmptyBuilds() { return hideEmptyBuilds != null && hideEmptyBuilds; }
+    public Boolean getAsyncCondensation() { return asyncCondensation != null && asyncCondensation; }
 
     public List<? extends Threshold> getThresholds() { return altThresholds; }
-    public Timer getTimer() { return timer; }
-    public Integer getSelectedResult() { return selectedResult; }
-    public Integer getSelectedBuild() { return selectedBuild; }
-    public MapperBase getMapper(){ return map; }
     public MapperBase getMapper(Run run) throws NullPointerException, InterruptedException, ValidationException, IOException,  JsonIOException, JsonSyntaxException {
-        MapperBase base = this.map;
-        if (base == null || run.getNumber() != base.getBuild()) {
-            base = this.getRawResults(run);
-            this.map = base;
-        }
-        return base;
+        return BenchmarkCache.getMapper(this, run);
     }
 
     /**
@@ -461,6 +577,9 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
          * If you don't want fields to be persisted, use <code>transient</code>.
          */
 
+        // Memory budget of the histories loaded in memory in MB, 0 for a quarter of the maximum heap
+        private int historyMemoryBudget = 0;
+
         /** In order to load the persisted global configuration, you have to call load() in the constructor. */
         public DescriptorImpl () {
             load();
@@ -472,12 +591,14 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
         }
 
         public List<ThresholdDescriptor> getThresholdDescriptors() {return ThresholdDescriptor.all();}
+        public int getHistoryMemoryBudget() { return historyMemoryBudget; }
 
         /** Indicates that this builder can be used with all kinds of project types */
         public boolean isApplicable (Class<? extends AbstractProject> aClass) { return true; }
 
         @Override /** To persist global configuration information, set that to properties and call save().*/
         public boolean configure (StaplerRequest req, JSONObject formData) throws FormException {
+            historyMemoryBudget = Math.max(0, formData.optInt("historyMemoryBudget", 0));
             save();
             return super.configure (req, formData);
         }
@@ -492,6 +613,13 @@ public class BenchmarkPublisher extends Recorder implements SimpleBuildStep {
             for (Map.Entry<String, Schema> schema:schemaResources.entrySet()){
                 items.add(schema.getValue().getDisplayName(), schema.getKey());
             }
+            for (ResultFormat format : ResultFormat.all()) {
+                if (format.getDescription() == null || format.getDescription().isEmpty()) {
+                    items.add(format.getDisplayName(), ResultFormat.PREFIX + format.getId());
+                } else {
+                    items.add(format.getDisplayName() + " - " + format.getDescription(), ResultFormat.PREFIX + format.getId());
+                }
+            }
             items.add(Messages.BenchmarkPublisher_Custom(), "customSchema");
             return items;
         }
@@ -0,0 +1,319 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import hudson.model.Job;
+import hudson.model.Run;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Read-only JSON API over the loaded history, addressed as BenchmarkTable/query/[results|series|condensed]
+ *
+ * <p>
+ * results   - list results, filtered with the 'file', 'group' and 'name' (regular expression) parameters
+ * series    - values of the results listed in 'keys' (comma separated) for builds 'from' to 'to', most recent first
+ * condensed - condensed statistics of the results, same filters as 'results' plus optional 'keys'
+ * All responses are paginated with 'start' and 'limit', over results or over builds for series.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkQuery {
+
+    // Variables
+
+    private static final Logger log = Logger.getLogger(BenchmarkQuery.class.getName());
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+    public static final int MAX_KEYS = 100;
+
+    private final Job<?, ?>             project;
+    private final BenchmarkPublisher    core;
+
+    // Constructor
+
+    BenchmarkQuery(Job<?, ?> project, BenchmarkPublisher core) {
+        this.project = project;
+        this.core = core;
+    }
+
+    // Functions
+
+    /**
+     * List results
+     * Request parameters: file, group, name, start and limit
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     */
+    public void doResults(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        if (BenchmarkCache.checkNotModified(project, "query/results", req, rsp)) {
+            return;
+        }
+        MapperBase base = getMapper(rsp);
+        if (base == null) {
+            return;
+        }
+        List<Map.Entry<Integer, TestValue>> selected = getSelectedResults(base, req, rsp);
+        if (selected == null) {
+            return;
+        }
+        int start = getStart(req);
+        int limit = getLimit(req);
+        JsonArray array = new JsonArray();
+        for (Map.Entry<Integer, TestValue> result : page(selected, start, limit)) {
+            array.add(result.getValue().getJsonDescription(result.getKey()));
+        }
+        JsonObject object = new JsonObject();
+        object.addProperty("total", selected.size());
+        object.addProperty("start", start);
+        object.addProperty("limit", limit);
+        object.add("results", array);
+        write(rsp, object);
+    }
+
+    /**
+     * Get the series of values of a set of results over a range of builds
+     * Request parameters: keys, from, to, start and limit
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     */
+    public void doSeries(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        if (BenchmarkCache.checkNotModified(project, "query/series", req, rsp)) {
+            return;
+        }
+        MapperBase base = getMapper(rsp);
+        if (base == null) {
+            return;
+        }
+        List<Integer> keys = getKeys(req, rsp);
+        if (keys == null) {
+            return;
+        }
+        if (keys.isEmpty()) {
+            rsp.sendError(StaplerResponse.SC_BAD_REQUEST, Messages.BenchmarkQuery_InvalidKeys(""));
+            return;
+        }
+
+        // Build range, from the index of builds
+        TreeSet<Integer> builds = base.getBuilds();
+        NavigableSet<Integer> range = new TreeSet<Integer>();
+        if (!builds.isEmpty()) {
+            int from = getIntParameter(req, "from", builds.first());
+            int to = getIntParameter(req, "to", builds.last());
+            if (from <= to) {
+                range = builds.subSet(from, true, to, true).descendingSet();
+            }
+        }
+        int start = getStart(req);
+        int limit = getLimit(req);
+        List<Integer> window = page(new ArrayList<Integer>(range), start, limit);
+
+        JsonArray array = new JsonArray();
+        for (Integer key : keys) {
+            TestValue result = base.getResults().get(key);
+            if (result != null) {
+                array.add(result.getJsonSeries(key, window));
+            }
+        }
+        JsonObject object = new JsonObject();
+        object.addProperty("total", range.size());
+        object.addProperty("start", start);
+        object.addProperty("limit", limit);
+        object.add("series", array);
+        write(rsp, object);
+    }
+
+    /**
+     * Get the condensed statistics of results
+     * Request parameters: keys, file, group, name, start and limit
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     */
+    public void doCondensed(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        if (BenchmarkCache.checkNotModified(project, "query/condensed", req, rsp)) {
+            return;
+        }
+        MapperBase base = getMapper(rsp);
+        if (base == null) {
+            return;
+        }
+        List<Map.Entry<Integer, TestValue>> selected = getSelectedResults(base, req, rsp);
+        if (selected == null) {
+            return;
+        }
+        List<Integer> keys = getKeys(req, rsp);
+        if (keys == null) {
+            return;
+        }
+        if (!keys.isEmpty()) {
+            List<Map.Entry<Integer, TestValue>> filtered = new ArrayList<Map.Entry<Integer, TestValue>>();
+            for (Map.Entry<Integer, TestValue> result : selected) {
+                if (keys.contains(result.getKey())) {
+                    filtered.add(result);
+                }
+            }
+            selected = filtered;
+        }
+        int start = getStart(req);
+        int limit = getLimit(req);
+        int build = base.getBuilds().isEmpty() ? 0 : base.getBuilds().last();
+        JsonArray array = new JsonArray();
+        for (Map.Entry<Integer, TestValue> result : page(selected, start, limit)) {
+            JsonObject condensed = result.getValue().getCondensedJsonObject(build, result.getKey());
+            if (condensed != null) {
+                array.add(condensed);
+            }
+        }
+        JsonObject object = new JsonObject();
+        object.addProperty("total", selected.size());
+        object.addProperty("start", start);
+        object.addProperty("limit", limit);
+        object.add("results", array);
+        write(rsp, object);
+    }
+
+    /**
+     * Get the shared history of the job, sends an error when not available
+     * @param rsp Stapler response
+     * @return History or null if an error was sent
+     * @throws IOException If the response cannot be written
+     */
+    private MapperBase getMapper(StaplerResponse rsp) throws IOException {
+        try {
+            BenchmarkCache.resetClock(project);
+            Run run = project.getLastBuild();
+            MapperBase base = (run == null) ? null : this.core.getMapper(run);
+            if (base == null) {
+                rsp.sendError(StaplerResponse.SC_NOT_FOUND);
+            }
+            return base;
+        } catch (Exception e) {
+            log.info(Messages.BenchmarkQuery_ErrorMessage(e.getMessage()));
+            rsp.sendError(StaplerResponse.SC_INTERNAL_SERVER_ERROR);
+            return null;
+        }
+    }
+
+    /**
+     * Select results from the file, group and name parameters, sends an error when the name pattern is invalid
+     * @param base History
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @return Selected results or null if an error was sent
+     * @throws IOException If the response cannot be written
+     */
+    private List<Map.Entry<Integer, TestValue>> getSelectedResults(MapperBase base, StaplerRequest req, StaplerResponse rsp) throws IOException {
+        Pattern name = null;
+        String pattern = req.getParameter("name");
+        if (pattern != null && !pattern.isEmpty()) {
+            try {
+                name = Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                rsp.sendError(StaplerResponse.SC_BAD_REQUEST, Messages.BenchmarkQuery_InvalidPattern(pattern));
+                return null;
+            }
+        }
+        return base.getFilteredResults(req.getParameter("file"), req.getParameter("group"), name);
+    }
+
+    /**
+     * Read the comma separated result keys, sends an error when invalid
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @return Result keys, empty if absent, or null if an error was sent
+     * @throws IOException If the response cannot be written
+     */
+    private List<Integer> getKeys(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        List<Integer> keys = new ArrayList<Integer>();
+        String value = req.getParameter("keys");
+        if (value == null || value.trim().isEmpty()) {
+            return keys;
+        }
+        try {
+            for (String key : value.split(",")) {
+                if (!key.trim().isEmpty()) {
+                    keys.add(Integer.valueOf(key.trim()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            rsp.sendError(StaplerResponse.SC_BAD_REQUEST, Messages.BenchmarkQuery_InvalidKeys(value));
+            return null;
+        }
+        if (keys.size() > MAX_KEYS) {
+            rsp.sendError(StaplerResponse.SC_BAD_REQUEST, Messages.BenchmarkQuery_TooManyKeys(MAX_KEYS));
+            return null;
+        }
+        return keys;
+    }
+
+    private static <T> List<T> page(List<T> list, int start, int limit) {
+        int first = Math.min(start, list.size());
+        return list.subList(first, Math.min(list.size(), first + limit));
+    }
+
+    private static int getStart(StaplerRequest req) {
+        return Math.max(0, getIntParameter(req, "start", 0));
+    }
+
+    private static int getLimit(StaplerRequest req) {
+        return Math.max(1, Math.min(MAX_LIMIT, getIntParameter(req, "limit", DEFAULT_LIMIT)));
+    }
+
+    private static int getIntParameter(StaplerRequest req, String name, int defaultValue) {
+        try {
+            String value = req.getParameter(name);
+            return (value == null) ? defaultValue : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static void write(StaplerResponse rsp, JsonObject object) throws IOException {
+        rsp.setContentType("application/json;charset=UTF-8");
+        Writer writer = rsp.getWriter();
+        new Gson().toJson(object, writer);
+        writer.flush();
+    }
+
+    // Getters
+
+    public Job<?, ?> getProject() { return project; }
+}
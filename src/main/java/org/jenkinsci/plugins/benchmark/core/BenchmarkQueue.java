@@ -0,0 +1,174 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import hudson.init.Terminator;
+import hudson.model.Job;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+/**
+ * Background queue of history updates, serialized per job
+ *
+ * <p>
+ * Tasks of the same job run one after the other in submission order, tasks of different jobs run in parallel
+ * on a bounded pool owned by the plugin, shut down with Jenkins. A failing task is logged and does not block the
+ * following ones.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkQueue {
+
+    // Variables
+
+    private static final Logger log = Logger.getLogger(BenchmarkQueue.class.getName());
+
+    private static final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<String, CompletableFuture<Void>>();
+
+    // Threads of the pool, idle threads end after a minute
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+    private static final long TERMINATION_TIMEOUT_MS = 10000L;
+    private static ExecutorService executor = null;
+
+    // Functions
+
+    /**
+     * Queue a task after the pending tasks of a job
+     * @param project Jenkins job
+     * @param task Task to run
+     * @return Completion of the task
+     */
+    public static CompletableFuture<Void> submit(Job<?, ?> project, final Runnable task) {
+        final String name = project.getFullName();
+        synchronized (tails) {
+            CompletableFuture<Void> tail = tails.get(name);
+            if (tail == null) {
+                tail = CompletableFuture.completedFuture(null);
+            }
+            final CompletableFuture<Void> next = tail.thenRunAsync(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        log.warning(Messages.BenchmarkQueue_TaskErrorMessage(name, e.getMessage()));
+                    }
+                }
+            }, getExecutor());
+            tails.put(name, next);
+            next.thenRun(new Runnable() {
+                @Override
+                public void run() {
+                    tails.remove(name, next);
+                }
+            });
+            return next;
+        }
+    }
+
+    /**
+     * Run a read-only task once the tasks of a job queued so far are done
+     * The task is not part of the queue, later tasks and {@link #await(Job, long)} do not wait for it.
+     * @param project Jenkins job
+     * @param task Task to run
+     * @return Completion of the task
+     */
+    public static CompletableFuture<Void> runAfter(Job<?, ?> project, final Runnable task) {
+        final String name = project.getFullName();
+        CompletableFuture<Void> tail = tails.get(name);
+        if (tail == null) {
+            tail = CompletableFuture.completedFuture(null);
+        }
+        return tail.thenRunAsync(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warning(Messages.BenchmarkQueue_TaskErrorMessage(name, e.getMessage()));
+                }
+            }
+        }, getExecutor());
+    }
+
+    /**
+     * Stop the pool when Jenkins stops, the running tasks get a few seconds to complete
+     * Builds whose compaction did not run stay in the journal of their job.
+     * @throws InterruptedException If interrupted while waiting
+     */
+    @Terminator
+    public static void shutdown() throws InterruptedException {
+        ExecutorService pool;
+        synchronized (BenchmarkQueue.class) {
+            pool = executor;
+            executor = null;
+        }
+        if (pool != null) {
+            pool.shutdown();
+            if (!pool.awaitTermination(TERMINATION_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                log.warning(Messages.BenchmarkQueue_TerminationTimeout(Long.toString(TERMINATION_TIMEOUT_MS)));
+            }
+        }
+    }
+
+    /**
+     * Wait for the tasks of a job queued so far, at most for a given time
+     * @param project Jenkins job
+     * @param timeoutMs Maximum wait in milliseconds
+     * @return Whether the tasks are done
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public static boolean await(Job<?, ?> project, long timeoutMs) throws InterruptedException {
+        CompletableFuture<Void> tail = tails.get(project.getFullName());
+        if (tail == null) {
+            return true;
+        }
+        try {
+            tail.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Failures are logged by the task itself
+        } catch (TimeoutException e) {
+            return false;
+        }
+        return true;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(THREADS, THREADS, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new NamingThreadFactory(new DaemonThreadFactory(), "BenchmarkQueue"));
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+}
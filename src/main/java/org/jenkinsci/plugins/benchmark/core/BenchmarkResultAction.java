@@ -18,42 +18,42 @@
  */
 package org.jenkinsci.plugins.benchmark.core;
 
-import com.google.gson.JsonArray;
-import hudson.model.AbstractProject;
 import hudson.model.Action;
 import hudson.model.Job;
+import hudson.model.Run;
 import jenkins.model.Jenkins;
-import jenkins.tasks.SimpleBuildStep;
+import jenkins.model.RunAction2;
 import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
-import org.jenkinsci.plugins.benchmark.results.NumeralValue;
-import org.jenkinsci.plugins.benchmark.results.TestValue;
-import org.jenkinsci.plugins.benchmark.utilities.FrontendMethod;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
 import org.kohsuke.stapler.bind.JavaScriptMethod;
+import org.kohsuke.stapler.bind.WithWellKnownURL;
 
-import java.awt.*;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Locale;
+import java.io.IOException;
 import java.util.TreeSet;
 import java.util.logging.Logger;
 
 /**
+ * Job action giving access to the result pages, BenchmarkResult/[result key]/[build number]
+ *
+ * <p>
+ * The scripts of the result pages are bound to this action by its address, so that no page, and no history it
+ * holds, is kept in the HTTP session. The result is passed with each call.
+ * <p>
  *
  * @author Daniel Mercier
  * @since 5/16/2017
  */
-public class BenchmarkResultAction implements Action, SimpleBuildStep.LastBuildAction {
+public class BenchmarkResultAction implements Action, RunAction2, WithWellKnownURL {
 
     // Variables
 
     private static final Logger log = Logger.getLogger(BenchmarkResultAction.class.getName());
 
-    private final Job<?, ?> project;
-    private final BenchmarkPublisher    core;
-
-    private transient TreeSet<Integer>  builds;
-    private transient TestValue         result;
+    // Contributed by BenchmarkActionFactory, the actions saved with the builds of older versions are dropped on load
+    private final transient Job<?, ?> project;
+    private final transient BenchmarkPublisher    core;
 
     // Constructor
 
@@ -74,296 +74,148 @@ public class BenchmarkResultAction implements Action, SimpleBuildStep.LastBuildA
         return "BenchmarkResult";
     }
 
-    @Override
-    public String getDisplayName() {
-        return Messages.BenchmarkResultAction_DisplayName();
-    }
-
     /**
-     * Get text direction (left to right/right to left)
-     * @return rtl or ltr
+     * Drop the action saved with the builds of older versions, its job and publisher are no longer saved
+     * @param run Build loaded
      */
-    @FrontendMethod
-    public String getTextDirection() {
-        if (ComponentOrientation.getOrientation(Locale.getDefault()).isLeftToRight()){
-            return "ltr";
-        } else {
-            return "rtl";
-        }
-    }
-
-    /**
-     * Get box position from text direction (left to right/right to left)
-     * @return right or left
-     */
-    @FrontendMethod
-    public String getRightBoxPosition() {
-        if (ComponentOrientation.getOrientation(Locale.getDefault()).isLeftToRight()){
-            return "right";
-        } else {
-            return "left";
-        }
-    }
-
-    @FrontendMethod
-    public Boolean getHasResult(){
-        if (this.core.getSelectedResult() == null){
-            return false;
-        } else {
-            return true;
-        }
-    }
-
-    @FrontendMethod
-    public String getResultName() {
-        this.result = null;
-        try {
-            Integer resultID = this.core.getSelectedResult();
-            if (resultID != null) {
-                this.core.fillAllResults(project);
-                MapperBase mapper = this.core.getMapper();
-                result = mapper.getResults().get(resultID);
-                builds = mapper.getBuilds();
-                return Messages.BenchmarkResultAction_ResultName(result.getName());
-            } else {
-                return "none";
-            }
-        } catch (Exception e){
-            return "none";
-        }
-    }
-
-    @FrontendMethod
-    public String  getGroupName() {
-        try {
-            MapperBase base = this.core.getMapper();
-            if (base != null && base.getDetected().isGroupDetected()) {
-                if (result.getGroup() == null) {
-                    return Messages.BenchmarkResultAction_NoGroup();
-                } else {
-                    return Messages.BenchmarkResultAction_GroupName(result.getGroup());
-                }
-            } else {
-                return "none";
-            }
-        } catch (Exception e) {
-            return "none";
-        }
-    }
-
-    @FrontendMethod
-    public String  getFileName(){
-        try {
-            MapperBase base = this.core.getMapper();
-            if (base != null && base.getDetected().isFileDetected()) {
-                return Messages.BenchmarkResultAction_FileName(result.getParent().getDescription());
-            } else {
-                return "none";
-            }
-        } catch (Exception e) {
-            return "none";
-        }
-    }
-
-    @FrontendMethod
-    public Boolean getIsNumeral(){
-        try{
-            return result.isNumeral();
-        } catch (Exception e) {
-            return false;
-        }
-    }
-
-    @FrontendMethod
-    public String getGraphTitle(){
-        try {
-            NumeralValue value = (NumeralValue)this.result;
-            return value.getUnit();
-        } catch (Exception e) {
-            return "none";
-        }
-    }
-
-    @FrontendMethod
-    public JsonArray getChartLabels() {
-        JsonArray array = new JsonArray();
-        if (ComponentOrientation.getOrientation(Locale.getDefault()).isLeftToRight()) {
-            for (Integer build = builds.last(); build >= builds.first(); build--) {
-                array.add(build);
-            }
-        } else {
-            for (Integer build = builds.first(); build <= builds.last(); build++) {
-                array.add(build);
-            }
-        }
-        return array;
+    @Override
+    public void onLoad(Run<?, ?> run) {
+        run.removeAction(this);
     }
 
-    @FrontendMethod
-    public JsonArray getChartData(){
-        try {
-            return result.getDataAsJsonArray(builds);
-        } catch (Exception e) {
-            return new JsonArray();
-        }
+    @Override
+    public void onAttached(Run<?, ?> run) {
+        // Contributed to the job only
     }
 
-    @FrontendMethod
-    public String getTablePageURL(){
-        return  Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkTable";
+    @Override
+    public String getDisplayName() {
+        return Messages.BenchmarkResultAction_DisplayName();
     }
 
-    @FrontendMethod
-    public String getRawTable(){
+    /**
+     * Select a result from the URL, BenchmarkResult/[result key]
+     * @param token Result key
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @return Page of the result, 304 response when the history has not changed, or null if the result does not exist
+     */
+    public Object getDynamic(String token, StaplerRequest req, StaplerResponse rsp) {
+        Integer resultKey;
         try {
-            TestValue result = this.result;
-            MapperBase base = this.core.getMapper();
-            if (base != null && result != null) {
-                StringBuffer output = new StringBuffer();
-                output.append("<thead><tr><th>");
-                output.append(Messages.Build());
-                for (Integer build = builds.last(); build >= builds.first(); build--) {
-                    output.append("</th><th>");
-                    output.append(build.toString());
+            resultKey = Integer.valueOf(token);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        // Conditional requests of a page, BenchmarkResult/[result key]/[build number]/, are answered before the
+        // history is loaded
+        String rest = req.getRestOfPath();
+        rest = (rest == null) ? "" : rest.replaceAll("^/+|/+$", "");
+        if (!rest.contains("/")) {
+            try {
+                Integer selectedBuild = rest.isEmpty() ? null : Integer.valueOf(rest);
+                String view = BenchmarkResultPage.getPageView(resultKey, selectedBuild);
+                if (BenchmarkCache.checkNotModified(project, view, req, rsp)) {
+                    return HttpResponses.status(StaplerResponse.SC_NOT_MODIFIED);
                 }
-                output.append("</th></tr></thead><tbody><tr><td style=\"text-align:center;\"><b>");
-                output.append(Messages.Value());
-                output.append("</b></td>");
-                output.append(result.getHTMLResult(builds, base.getDecimalSeparator()));
-                output.append("</tr></tbody>");
-                return output.toString();
-            } else {
-                return "";
+            } catch (NumberFormatException e) {
+                // Not a page
             }
-        } catch (Exception e) {
-            return "";
         }
+        return getPage(resultKey);
     }
 
-    @FrontendMethod
-    public String getCondensedTable(){
+    /**
+     * Get the page of a result from the shared history of the job
+     * @param resultKey Result key
+     * @return Page of the result or null if the result does not exist
+     */
+    private BenchmarkResultPage getPage(Integer resultKey) {
         try {
-            TestValue result = this.result;
-            MapperBase base = this.core.getMapper();
-            if (base != null && result != null) {
-                return result.getHTMLCondensedDetail(base.getDetected(), base.getDecimalSeparator());
-            } else {
-                return "";
+            Run run = project.getLastBuild();
+            if (run == null) {
+                return null;
             }
-        } catch (Exception e){
-            return "";
-        }
-    }
-
-    @FrontendMethod
-    public String getGraphYMinimum(){
-        try {
-            MapperBase base = this.core.getMapper();
-            NumeralValue value =  (NumeralValue)base.getResults().get(this.core.getSelectedResult());
-            if (value.getMaximum() > value.getMinimum()) {
-                return String.format(Locale.US, "%6g", value.getMinimum() - 0.2 * (value.getMaximum() - value.getMinimum()));
-            } else {
-                return String.format(Locale.US, "%6g", value.getMaximum() - 0.2 * value.getMaximum());
+            MapperBase mapper = this.core.getMapper(run);
+            if (mapper == null || !mapper.getResults().containsKey(resultKey)) {
+                return null;
             }
-        } catch (Exception e){
-            return "0";
-        }
-    }
-
-    @FrontendMethod
-    public String getGraphYMaximum(){
-        try {
-            MapperBase base = this.core.getMapper();
-            NumeralValue value =  (NumeralValue)base.getResults().get(this.core.getSelectedResult());
-            if (value.getMaximum() > value.getMinimum()) {
-                return String.format(Locale.US, "%6g", value.getMaximum() + 0.2 * (value.getMaximum() - value.getMinimum()));
+            TreeSet<Integer> builds;
+            if (this.core.getHideEmptyBuilds()) {
+                builds = mapper.getResults().get(resultKey).getBuildsWithValue(mapper.getBuilds());
             } else {
-                return String.format(Locale.US, "%6g", value.getMaximum() + 0.2 * value.getMaximum());
-            }
-        } catch (Exception e){
-            return "10";
-        }
-    }
-
-    @JavaScriptMethod
-    public String getResultDetails(){
-        try {
-            TestValue result = this.result;
-            MapperBase base = this.core.getMapper();
-            if (base != null && result != null) {
-                return result.getHTMLDetails(getBuildNumber(), base.getDecimalSeparator());
-            } else {
-                return "";
+                builds = mapper.getBuilds();
             }
+            return new BenchmarkResultPage(this, project, mapper, resultKey, builds, null);
         } catch (Exception e) {
-            return "";
+            log.info(Messages.BenchmarkPublisher_ResultCollectionErrorDetected());
+            log.info(Messages.BenchmarkPublisher_ResultCollectionErrorMessage(e.getMessage()));
+            return null;
         }
     }
 
+    /**
+     * Get the chart points of a result for a window of builds [ZOOM]
+     * @param resultKey Result key
+     * @param firstBuild First build of the window
+     * @param lastBuild Last build of the window
+     * @param width Width of the chart in pixels
+     * @return Json array of {x, y} points as text
+     */
     @JavaScriptMethod
-    public String getParameters(){
-        try {
-            TestValue result = this.result;
-            MapperBase base = this.core.getMapper();
-            if (base != null && result != null) {
-                return result.getHTMLParameters(getBuildNumber(), base.getDecimalSeparator());
-            } else {
-                return "";
-            }
-        } catch (Exception e) {
-            return "";
-        }
+    public String getChartWindow(int resultKey, int firstBuild, int lastBuild, int width) {
+        BenchmarkResultPage page = getPage(resultKey);
+        return (page == null) ? "[]" : page.getChartWindow(firstBuild, lastBuild, width);
     }
 
     /**
-     * Get the absolute address
-     * @return Absolute address
+     * Get the details of a result for a build
+     * @param resultKey Result key
+     * @param build Build number
+     * @return HTML details
      */
-    @FrontendMethod
-    public String getResultPageURL(){
-        return  Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkResult";
-    }
-
     @JavaScriptMethod
-    public int getBuildSelected(){
-        Integer build = this.core.getSelectedBuild();
-        if (build == null){
-            return 1;
-        } else {
-            return this.core.getSelectedBuild();
-        }
+    public String getResultDetails(int resultKey, int build) {
+        BenchmarkResultPage page = getPage(resultKey);
+        return (page == null) ? "" : page.getResultDetails(build);
     }
 
+    /**
+     * Get the parameters of a result for a build
+     * @param resultKey Result key
+     * @param build Build number
+     * @return HTML parameters
+     */
     @JavaScriptMethod
-    public int getBuildNumber(){
-        Integer build = this.core.getSelectedBuild();
-        if (build == null){
-            return builds.last();
-        } else {
-            return builds.last() - build + 1;
-        }
+    public String getParameters(int resultKey, int build) {
+        BenchmarkResultPage page = getPage(resultKey);
+        return (page == null) ? "" : page.getParameters(build);
     }
 
     /**
-     * Reset clock that keeps the result loaded in memory
+     * Reset clock that keeps the history loaded in memory
      */
     @JavaScriptMethod
-    public void resetClock(){
-        this.core.resetClock();
+    public void resetClock() {
+        BenchmarkCache.resetClock(project);
     }
 
-    @JavaScriptMethod
-    public void setBuildSelected(Integer build){
-        this.core.setSelectedBuild(build);
+    @Override
+    public String getWellKnownUrl() {
+        return "/" + project.getUrl() + getUrlName();
     }
 
-    @Override
-    public Collection<? extends Action> getProjectActions() {
-        List<BenchmarkResultAction> projectActions = new ArrayList<>();
-        projectActions.add(new BenchmarkResultAction(project, core));
-        return projectActions;
+    /**
+     * Without a result in the URL, go back to the tables
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the redirection fails
+     */
+    public void doIndex(StaplerRequest req, StaplerResponse rsp) throws IOException {
+        rsp.sendRedirect2(Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkTable");
     }
 
+
     // Getters
 
     public Job<?, ?> getProject() { return project; }
@@ -0,0 +1,404 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import hudson.model.Job;
+import jenkins.model.Jenkins;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.ChangeDetector;
+import org.jenkinsci.plugins.benchmark.utilities.FrontendMethod;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import javax.servlet.ServletException;
+import java.awt.*;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Page of one result, addressed by URL as BenchmarkResult/[result key]/[build number]
+ *
+ * <p>
+ * Created for each request from the shared history, the page holds the selection and never modifies the history.
+ * The page is never bound to scripts, they call {@link BenchmarkResultAction} with the result key.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkResultPage {
+
+    // Variables
+
+    // Maximum number of chart points, matches the maximum width of the chart canvas in pixels
+    public static final int CHART_MAX_POINTS = 1000;
+
+    private final Job<?, ?>         project;
+    private final BenchmarkResultAction action;
+    private final MapperBase        mapper;
+    private final Integer           resultKey;
+    private final TestValue         result;
+    private final TreeSet<Integer>  builds;
+    private final Integer           selectedBuild;
+
+    // Constructor
+
+    BenchmarkResultPage(BenchmarkResultAction action, Job<?, ?> project, MapperBase mapper, Integer resultKey, TreeSet<Integer> builds, Integer selectedBuild) {
+        this.action = action;
+        this.project = project;
+        this.mapper = mapper;
+        this.resultKey = resultKey;
+        this.result = mapper.getResults().get(resultKey);
+        this.builds = builds;
+        this.selectedBuild = selectedBuild;
+    }
+
+    // Functions
+
+    /**
+     * Select a build from the URL, BenchmarkResult/[result key]/[build number]
+     * @param token Build number
+     * @return Page with the build selected or null if the build is not part of the history
+     */
+    public BenchmarkResultPage getDynamic(String token) {
+        try {
+            Integer build = Integer.valueOf(token);
+            if (builds.contains(build)) {
+                return new BenchmarkResultPage(action, project, mapper, resultKey, builds, build);
+            }
+        } catch (NumberFormatException e) {
+            // Not a build number
+        }
+        return null;
+    }
+
+    /**
+     * Render the result page, or answer 304 when the history has not changed since the client copy
+     * @param req Stapler request
+     * @param rsp Stapler response
+     * @throws IOException If the response cannot be written
+     * @throws ServletException If the view cannot be rendered
+     */
+    public void doIndex(StaplerRequest req, StaplerResponse rsp) throws IOException, ServletException {
+        if (BenchmarkCache.checkNotModified(project, getPageView(resultKey, selectedBuild), req, rsp)) {
+            return;
+        }
+        req.getView(this, "result.jelly").forward(req, rsp);
+    }
+
+    /**
+     * Name of the page view in the ETag, known without loading the history
+     * @param resultKey Result key
+     * @param selectedBuild Selected build, null if none
+     * @return View name
+     */
+    static String getPageView(Integer resultKey, Integer selectedBuild) {
+        return "result|" + resultKey + "|page|" + selectedBuild;
+    }
+
+    /**
+     * Prefix of the cached fragments of this result, the builds differ when builds without value are hidden
+     * @return Fragment name prefix
+     */
+    private String getFragmentPrefix() {
+        return "result|" + resultKey + '|' + builds.size() + '|';
+    }
+
+    public String getDisplayName() {
+        return Messages.BenchmarkResultAction_DisplayName();
+    }
+
+    /**
+     * Get text direction (left to right/right to left)
+     * @return rtl or ltr
+     */
+    @FrontendMethod
+    public String getTextDirection() {
+        if (ComponentOrientation.getOrientation(Locale.getDefault()).isLeftToRight()){
+            return "ltr";
+        } else {
+            return "rtl";
+        }
+    }
+
+    /**
+     * Get box position from text direction (left to right/right to left)
+     * @return right or left
+     */
+    @FrontendMethod
+    public String getRightBoxPosition() {
+        if (ComponentOrientation.getOrientation(Locale.getDefault()).isLeftToRight()){
+            return "right";
+        } else {
+            return "left";
+        }
+    }
+
+    @FrontendMethod
+    public String getResultName() {
+        return Messages.BenchmarkResultAction_ResultName(result.getName());
+    }
+
+    @FrontendMethod
+    public String  getGroupName() {
+        if (mapper.getDetected().isGroupDetected()) {
+            if (result.getGroup() == null) {
+                return Messages.BenchmarkResultAction_NoGroup();
+            } else {
+                return Messages.BenchmarkResultAction_GroupName(result.getGroup());
+            }
+        } else {
+            return "none";
+        }
+    }
+
+    @FrontendMethod
+    public String  getFileName(){
+        try {
+            if (mapper.getDetected().isFileDetected()) {
+                return Messages.BenchmarkResultAction_FileName(result.getParent().getDescription());
+            } else {
+                return "none";
+            }
+        } catch (Exception e) {
+            return "none";
+        }
+    }
+
+    @FrontendMethod
+    public Boolean getIsNumeral(){
+        return result.isNumeral();
+    }
+
+    @FrontendMethod
+    public String getGraphTitle(){
+        return result.getUnit();
+    }
+
+    /**
+     * Get the chart points over all builds, downsampled to the chart width
+     * @return Json array of {x, y} points as text
+     */
+    @FrontendMethod
+    public String getChartData(){
+        String view = getFragmentPrefix() + "chart";
+        String content = BenchmarkCache.getFragment(project, mapper, view);
+        if (content == null) {
+            try {
+                content = ((NumeralValue) result).getDataAsJsonArray(builds, builds.first(), builds.last(), CHART_MAX_POINTS).toString();
+            } catch (Exception e) {
+                return "[]";
+            }
+            BenchmarkCache.putFragment(project, mapper, view, content);
+        }
+        return content;
+    }
+
+    /**
+     * Get the chart points for a window of builds [ZOOM]
+     * Full resolution is returned as long as the window holds fewer points than the chart width.
+     * @param firstBuild First build of the window
+     * @param lastBuild Last build of the window
+     * @param width Width of the chart in pixels
+     * @return Json array of {x, y} points as text
+     */
+    public String getChartWindow(int firstBuild, int lastBuild, int width){
+        try {
+            int maxPoints = (width > 0) ? width : CHART_MAX_POINTS;
+            return ((NumeralValue) result).getDataAsJsonArray(builds, Math.min(firstBuild, lastBuild), Math.max(firstBuild, lastBuild), maxPoints).toString();
+        } catch (Exception e) {
+            return "[]";
+        }
+    }
+
+    /**
+     * Get the change points of the history for the chart
+     * @return Json array of {x, before, after} change points as text
+     */
+    @FrontendMethod
+    public String getChangePointData(){
+        String view = getFragmentPrefix() + "changes";
+        String content = BenchmarkCache.getFragment(project, mapper, view);
+        if (content == null) {
+            try {
+                JsonArray array = new JsonArray();
+                for (ChangeDetector.ChangePoint change : ((NumeralValue) result).calculateChanges().getChanges()) {
+                    JsonObject object = new JsonObject();
+                    object.addProperty("x", change.getBuild());
+                    object.addProperty("before", change.getBefore());
+                    object.addProperty("after", change.getAfter());
+                    array.add(object);
+                }
+                content = array.toString();
+            } catch (Exception e) {
+                return "[]";
+            }
+            BenchmarkCache.putFragment(project, mapper, view, content);
+        }
+        return content;
+    }
+
+    /**
+     * Whether the build axis of the chart runs from the most recent build
+     * @return true for left to right languages
+     */
+    @FrontendMethod
+    public Boolean getChartReversed() {
+        return ComponentOrientation.getOrientation(Locale.getDefault()).isLeftToRight();
+    }
+
+    @FrontendMethod
+    public String getTablePageURL(){
+        return  Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkTable";
+    }
+
+    /**
+     * Get the absolute address of this result, without build selection
+     * @return Absolute address
+     */
+    @FrontendMethod
+    public String getResultPageURL(){
+        return  Jenkins.get().getRootUrl() + project.getUrl() + "BenchmarkResult/" + resultKey;
+    }
+
+    @FrontendMethod
+    public String getRawTable(){
+        if (builds.isEmpty()) {
+            return "";
+        }
+        String view = getFragmentPrefix() + "rawTable";
+        String content = BenchmarkCache.getFragment(project, mapper, view);
+        if (content == null) {
+            content = getHTMLRawTable();
+            BenchmarkCache.putFragment(project, mapper, view, content);
+        }
+        return content;
+    }
+
+    private String getHTMLRawTable(){
+        StringBuffer output = new StringBuffer();
+        output.append("<thead><tr><th>");
+        output.append(Messages.Build());
+        for (Integer build : builds.descendingSet()) {
+            output.append("</th><th>");
+            output.append(build.toString());
+        }
+        output.append("</th></tr></thead><tbody><tr><td style=\"text-align:center;\"><b>");
+        output.append(Messages.Value());
+        output.append("</b></td>");
+        output.append(result.getHTMLResult(builds, mapper.getDecimalSeparator()));
+        output.append("</tr></tbody>");
+        return output.toString();
+    }
+
+    @FrontendMethod
+    public String getCondensedTable(){
+        String view = getFragmentPrefix() + "condensedTable";
+        String content = BenchmarkCache.getFragment(project, mapper, view);
+        if (content == null) {
+            content = result.getHTMLCondensedDetail(mapper.getDetected(), mapper.getDecimalSeparator());
+            BenchmarkCache.putFragment(project, mapper, view, content);
+        }
+        return content;
+    }
+
+    @FrontendMethod
+    public String getGraphYMinimum(){
+        try {
+            NumeralValue value = (NumeralValue) result;
+            if (value.getMaximum() > value.getMinimum()) {
+                return String.format(Locale.US, "%6g", value.getMinimum() - 0.2 * (value.getMaximum() - value.getMinimum()));
+            } else {
+                return String.format(Locale.US, "%6g", value.getMaximum() - 0.2 * value.getMaximum());
+            }
+        } catch (Exception e){
+            return "0";
+        }
+    }
+
+    @FrontendMethod
+    public String getGraphYMaximum(){
+        try {
+            NumeralValue value = (NumeralValue) result;
+            if (value.getMaximum() > value.getMinimum()) {
+                return String.format(Locale.US, "%6g", value.getMaximum() + 0.2 * (value.getMaximum() - value.getMinimum()));
+            } else {
+                return String.format(Locale.US, "%6g", value.getMaximum() + 0.2 * value.getMaximum());
+            }
+        } catch (Exception e){
+            return "10";
+        }
+    }
+
+    /**
+     * Get the selected build, the most recent one when none is selected in the URL
+     * @return Build number
+     */
+    @FrontendMethod
+    public int getBuildNumber(){
+        if (selectedBuild != null) {
+            return selectedBuild;
+        } else if (builds.isEmpty()) {
+            return 0;
+        } else {
+            return builds.last();
+        }
+    }
+
+    /**
+     * Get the raw table column of the selected build
+     * @return Column index, 1 being the most recent build
+     */
+    @FrontendMethod
+    public int getSelectedColumn(){
+        if (builds.isEmpty()) {
+            return 1;
+        }
+        return builds.tailSet(getBuildNumber(), true).size();
+    }
+
+    public String getResultDetails(int build){
+        try {
+            return result.getHTMLDetails(build, mapper.getDecimalSeparator());
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    public String getParameters(int build){
+        try {
+            return result.getHTMLParameters(build, mapper.getDecimalSeparator());
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    // Getters
+
+    public Job<?, ?> getProject() { return project; }
+    public BenchmarkResultAction getAction() { return action; }
+    public TestValue getResult() { return result; }
+    public Integer getResultKey() { return resultKey; }
+    public Integer getSelectedBuild() { return selectedBuild; }
+}
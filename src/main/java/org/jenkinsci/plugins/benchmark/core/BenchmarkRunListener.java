@@ -0,0 +1,71 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.model.listeners.RunListener;
+
+import java.util.logging.Logger;
+
+/**
+ * Pre-warm the history cache once a build that published benchmark results is completed
+ *
+ * <p>
+ * The history is loaded in the background on the pool of {@link BenchmarkQueue}, after any pending condensation of the job,
+ * so that the first page view after a build is served warm.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+@Extension
+public class BenchmarkRunListener extends RunListener<Run<?, ?>> {
+
+    // Variables
+
+    private static final Logger log = Logger.getLogger(BenchmarkRunListener.class.getName());
+
+    // Functions
+
+    @Override
+    public void onCompleted(Run<?, ?> run, TaskListener listener) {
+        BenchmarkBuildAction summary = run.getAction(BenchmarkBuildAction.class);
+        if (summary == null) {
+            return;
+        }
+        final BenchmarkPublisher core = summary.getCore();
+        final Run<?, ?> last = run.getParent().getLastBuild();
+        if (core == null || last == null) {
+            return;
+        }
+        // Run on the plugin pool after the background condensation of the build, if any
+        BenchmarkQueue.runAfter(last.getParent(), new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    BenchmarkCache.prewarm(core, last);
+                } catch (Exception e) {
+                    log.info(Messages.BenchmarkRunListener_PrewarmErrorMessage(last.getParent().getFullName(), e.getMessage()));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Aggregated statistics of the publish phases, exposed through JMX
+ *
+ * <p>
+ * Registered on the platform MBean server as org.jenkinsci.plugins.benchmark:type=PublishStatistics at the first
+ * publish. Each phase keeps a histogram of its wall time and the totals of its CPU time, allocated bytes and files read.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkStatistics implements BenchmarkStatisticsMBean {
+
+    // Variables
+
+    private static final Logger log = Logger.getLogger(BenchmarkStatistics.class.getName());
+
+    public static final String OBJECT_NAME = "org.jenkinsci.plugins.benchmark:type=PublishStatistics";
+
+    private static final long[] BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000, 300000};
+
+    private static BenchmarkStatistics instance = null;
+
+    private final AtomicLong publishCount = new AtomicLong();
+    private final Map<PhaseTimer.Phase, Histogram> histograms = new EnumMap<PhaseTimer.Phase, Histogram>(PhaseTimer.Phase.class);
+
+    // Constructor
+
+    private BenchmarkStatistics() {
+        for (PhaseTimer.Phase phase : PhaseTimer.Phase.values()) {
+            histograms.put(phase, new Histogram());
+        }
+    }
+
+    // Functions
+
+    /**
+     * Get the statistics, registered on the platform MBean server on first use
+     * @return Statistics
+     */
+    public static synchronized BenchmarkStatistics get() {
+        if (instance == null) {
+            instance = new BenchmarkStatistics();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+            } catch (Exception e) {
+                log.info(Messages.BenchmarkStatistics_RegistrationErrorMessage(e.getMessage()));
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Add the measures of a publish
+     * @param timer Stopped timer of the publish
+     */
+    public void record(PhaseTimer timer) {
+        publishCount.incrementAndGet();
+        for (Map.Entry<PhaseTimer.Phase, PhaseTimer.Measure> entry : timer.getMeasures().entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                histograms.get(entry.getKey()).add(entry.getValue());
+            }
+        }
+    }
+
+    public String getSummary() {
+        StringBuffer summary = new StringBuffer();
+        summary.append(String.format(Locale.ROOT, "%-20s %8s %10s %10s %10s %14s %8s %14s%n", "phase", "count", "mean ms", "max ms", "cpu ms", "alloc bytes", "files", "read bytes"));
+        for (Map.Entry<PhaseTimer.Phase, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.count.get() == 0) {
+                continue;
+            }
+            summary.append(String.format(Locale.ROOT, "%-20s %8d %10.1f %10d %10d %14d %8d %14d%n",
+                    entry.getKey().name(), histogram.count.get(), histogram.getMeanMs(), histogram.maxMs.get(),
+                    histogram.cpuNanos.get() / 1000000L, histogram.allocatedBytes.get(), histogram.filesRead.get(), histogram.bytesRead.get()));
+        }
+        return summary.toString();
+    }
+
+    public long[] getWallTimeHistogram(String phase) {
+        Histogram histogram = getHistogram(phase);
+        long[] buckets = new long[BOUNDS_MS.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = histogram.buckets[i].get();
+        }
+        return buckets;
+    }
+
+    public void reset() {
+        publishCount.set(0);
+        for (Histogram histogram : histograms.values()) {
+            histogram.clear();
+        }
+    }
+
+    private Histogram getHistogram(String phase) {
+        try {
+            return histograms.get(PhaseTimer.Phase.valueOf(phase.toUpperCase(Locale.ROOT)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException(Messages.BenchmarkStatistics_UnknownPhase(phase));
+        }
+    }
+
+    /**
+     * Wall time histogram and totals of a phase
+     */
+    private static class Histogram {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong wallNanos = new AtomicLong();
+        private final AtomicLong maxMs = new AtomicLong();
+        private final AtomicLong cpuNanos = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+        private final AtomicLong filesRead = new AtomicLong();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private final AtomicLong[] buckets = new AtomicLong[BOUNDS_MS.length + 1];
+
+        private Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new AtomicLong();
+            }
+        }
+
+        private void add(PhaseTimer.Measure measure) {
+            long ms = measure.getWallNanos() / 1000000L;
+            int bucket = 0;
+            while (bucket < BOUNDS_MS.length && ms > BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].incrementAndGet();
+            count.incrementAndGet();
+            wallNanos.addAndGet(measure.getWallNanos());
+            cpuNanos.addAndGet(measure.getCpuNanos());
+            allocatedBytes.addAndGet(measure.getAllocatedBytes());
+            filesRead.addAndGet(measure.getFilesRead());
+            bytesRead.addAndGet(measure.getBytesRead());
+            long max = maxMs.get();
+            while (ms > max && !maxMs.compareAndSet(max, ms)) {
+                max = maxMs.get();
+            }
+        }
+
+        private void clear() {
+            for (AtomicLong value : new AtomicLong[]{count, wallNanos, maxMs, cpuNanos, allocatedBytes, filesRead, bytesRead}) {
+                value.set(0);
+            }
+            for (AtomicLong bucket : buckets) {
+                bucket.set(0);
+            }
+        }
+
+        private double getMeanMs() {
+            long n = count.get();
+            return n == 0 ? 0.0 : wallNanos.get() / 1000000.0 / n;
+        }
+    }
+
+    // Getters
+
+    public long getPublishCount() { return publishCount.get(); }
+    public long[] getHistogramBoundsMs() { return BOUNDS_MS.clone(); }
+    public double getMeanWallTimeMs(String phase) { return getHistogram(phase).getMeanMs(); }
+    public long getMaxWallTimeMs(String phase) { return getHistogram(phase).maxMs.get(); }
+    public long getTotalCpuTimeMs(String phase) { return getHistogram(phase).cpuNanos.get() / 1000000L; }
+    public long getTotalAllocatedBytes(String phase) { return getHistogram(phase).allocatedBytes.get(); }
+    public long getTotalFilesRead(String phase) { return getHistogram(phase).filesRead.get(); }
+    public long getTotalBytesRead(String phase) { return getHistogram(phase).bytesRead.get(); }
+
+    public String[] getPhaseNames() {
+        PhaseTimer.Phase[] phases = PhaseTimer.Phase.values();
+        String[] names = new String[phases.length];
+        for (int i = 0; i < phases.length; i++) {
+            names[i] = phases[i].name();
+        }
+        return names;
+    }
+}
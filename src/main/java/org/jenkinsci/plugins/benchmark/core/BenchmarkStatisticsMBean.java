@@ -0,0 +1,85 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+/**
+ * JMX interface of the publish statistics, aggregated over all the publishes since Jenkins started
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public interface BenchmarkStatisticsMBean {
+
+    /** @return Number of publishes measured */
+    long getPublishCount();
+
+    /** @return Names of the measured phases */
+    String[] getPhaseNames();
+
+    /** @return Upper bounds of the wall time histogram buckets in milliseconds, the last bucket is unbounded */
+    long[] getHistogramBoundsMs();
+
+    /** @return Per phase count, mean and maximum wall time, CPU time, allocated bytes, files and bytes read */
+    String getSummary();
+
+    /**
+     * @param phase Phase name
+     * @return Number of publishes per wall time bucket
+     */
+    long[] getWallTimeHistogram(String phase);
+
+    /**
+     * @param phase Phase name
+     * @return Mean wall time in milliseconds
+     */
+    double getMeanWallTimeMs(String phase);
+
+    /**
+     * @param phase Phase name
+     * @return Maximum wall time in milliseconds
+     */
+    long getMaxWallTimeMs(String phase);
+
+    /**
+     * @param phase Phase name
+     * @return Total CPU time in milliseconds
+     */
+    long getTotalCpuTimeMs(String phase);
+
+    /**
+     * @param phase Phase name
+     * @return Total allocated bytes
+     */
+    long getTotalAllocatedBytes(String phase);
+
+    /**
+     * @param phase Phase name
+     * @return Total number of files read
+     */
+    long getTotalFilesRead(String phase);
+
+    /**
+     * @param phase Phase name
+     * @return Total number of bytes read
+     */
+    long getTotalBytesRead(String phase);
+
+    /** Clear the statistics */
+    void reset();
+}
@@ -0,0 +1,464 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers.CsvToPlugin;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.DoubleValue;
+import org.jenkinsci.plugins.benchmark.results.IntegerValue;
+import org.jenkinsci.plugins.benchmark.results.TestGroup;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.thresholds.AbsoluteThreshold;
+import org.jenkinsci.plugins.benchmark.thresholds.DeltaAverageThreshold;
+import org.jenkinsci.plugins.benchmark.thresholds.DeltaThreshold;
+import org.jenkinsci.plugins.benchmark.thresholds.PercentageAverageThreshold;
+import org.jenkinsci.plugins.benchmark.thresholds.PercentageThreshold;
+import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser from CSV and TSV files to the Jenkins plugin data construct
+ *
+ * <p>
+ * Files hold one result per row. The schema maps columns to the name, group, unit, value, type and thresholds of the
+ * result, by header name or by position. Rows are read one at a time into the same field list and turned into
+ * DoubleValue or IntegerValue results right away, nothing else is kept per row. Results are integer only when their
+ * type says so, a result without type is decimal.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapCsvToPlugin extends MapperBase {
+
+    // Enumeration
+
+    private enum Column {
+        name,
+        group,
+        unit,
+        value,
+        type,
+        minimum,
+        maximum,
+        delta,
+        percentage,
+        deltaAverage,
+        percentageAverage
+    }
+
+    // Variables
+
+    private final JsonObject columns;
+    private final String separator;
+    private final boolean header;
+
+    // Last group, consecutive rows usually share it
+    private String lastGroupName;
+    private TestGroup lastGroup;
+
+    // Constructors
+
+    public MapCsvToPlugin(Integer build, File content, JsonElement schema, boolean truncateStrings) throws IOException, ValidationException {
+        super(build, truncateStrings);
+        JsonObject oSchema = getSchema(schema);
+        columns = oSchema.getAsJsonObject("columns");
+        separator = getString(oSchema, "separator");
+        header = !oSchema.has("header") || oSchema.get("header").getAsBoolean();
+
+        PhaseTimer.recordFile(content.length());
+        try (InputStream stream = new FileInputStream(content)) {
+            InitiateLoading(rootGroup, stream, content.getName());
+        }
+    }
+
+    public MapCsvToPlugin(Integer build, FilePath content, JsonElement schema, boolean truncateStrings) throws IOException, InterruptedException, ValidationException {
+        super(build, truncateStrings);
+        JsonObject oSchema = getSchema(schema);
+        columns = oSchema.getAsJsonObject("columns");
+        separator = getString(oSchema, "separator");
+        header = !oSchema.has("header") || oSchema.get("header").getAsBoolean();
+
+        try (InputStream stream = PhaseTimer.countFile(content.read())) {
+            InitiateLoading(rootGroup, stream, content.getName());
+        }
+    }
+
+    public MapCsvToPlugin(Integer build, Map<String, FilePath> content, JsonElement schema, boolean truncateStrings, TaskListener listener) throws IOException, ValidationException {
+        super(build, truncateStrings);
+        JsonObject oSchema = getSchema(schema);
+        columns = oSchema.getAsJsonObject("columns");
+        separator = getString(oSchema, "separator");
+        header = !oSchema.has("header") || oSchema.get("header").getAsBoolean();
+
+        listener.getLogger().println(Messages.MapCsvToPlugin_ListOfFilesDetected());
+
+        int files_processed = 0;
+        for (Map.Entry<String, FilePath> entry : content.entrySet()) {
+
+            String relativePath = FilePathToString(entry.getValue());
+            TestGroup group = new TestGroup(rootGroup, entry.getKey(), relativePath, TestValue.ClassType.ct_fileGrp);
+            try (InputStream stream = PhaseTimer.countFile(entry.getValue().read())) {
+                files.put(group.getGroupHash(), group);
+                groups.put(group.getGroupHash(), group);
+                rootGroup.addGroup(group);
+
+                InitiateLoading(group, stream, entry.getValue().getName());
+                listener.getLogger().println("   - " + relativePath);
+                files_processed++;
+            } catch (Exception e) {
+                listener.getLogger().println("   - " + Messages.MapCsvToPlugin_PrintFailedToLoadFile(relativePath, e.getMessage()));
+            }
+        }
+        if (files_processed == 0) {
+            throw new ValidationException(Messages.MapCsvToPlugin_NoValidFileFound());
+        }
+    }
+
+    // Functions
+
+    /**
+     * Whether the schema is a CSV column mapping
+     * @param schema Schema
+     * @return True for a CSV column mapping
+     */
+    public static boolean isCsvSchema(JsonElement schema) {
+        if (schema == null || !schema.isJsonObject()) {
+            return false;
+        }
+        JsonElement format = schema.getAsJsonObject().get("format");
+        return format != null && format.isJsonPrimitive() && format.getAsString().equalsIgnoreCase("csv");
+    }
+
+    /**
+     * Read the rows of a file
+     * @param parent Group of the file
+     * @param stream Content of the file
+     * @param fileName Name of the file, selects the default separator
+     * @throws IOException If a row cannot be read
+     * @throws ValidationException If the column mapping does not match the file
+     */
+    private void InitiateLoading(TestGroup parent, InputStream stream, String fileName) throws IOException, ValidationException {
+        char cSeparator;
+        if (separator != null && !separator.isEmpty()) {
+            cSeparator = separator.charAt(0);
+        } else if (fileName.toLowerCase().endsWith(".tsv")) {
+            cSeparator = '\t';
+        } else {
+            cSeparator = ',';
+        }
+
+        lastGroupName = null;
+        lastGroup = null;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        List<String> fields = new ArrayList<String>();
+        int[] indexes = null;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty() || line.charAt(0) == '#') {
+                continue;
+            }
+            split(line, cSeparator, fields);
+            if (indexes == null) {
+                indexes = getIndexes(header ? fields : null);
+                if (header) {
+                    continue;
+                }
+            }
+            ProcessRow(parent, fields, indexes, lineNumber);
+        }
+    }
+
+    /**
+     * Map one row to a result
+     * @param parent Group of the file
+     * @param fields Fields of the row
+     * @param indexes Position of each column, -1 when not mapped
+     * @param lineNumber Line of the row, for error messages
+     * @throws ValidationException If the value does not match its type
+     */
+    private void ProcessRow(TestGroup parent, List<String> fields, int[] indexes, int lineNumber) throws ValidationException {
+        String name = getField(fields, indexes, Column.name);
+        String value = getField(fields, indexes, Column.value);
+        if (name == null || value == null) {
+            return;
+        }
+        String unit = getField(fields, indexes, Column.unit);
+        String type = getField(fields, indexes, Column.type);
+
+        TestGroup group = getGroup(parent, getField(fields, indexes, Column.group));
+
+        // Without type the result is decimal, whatever the value of the build, so that it keeps its class across builds
+        boolean integer;
+        if (type == null) {
+            integer = false;
+        } else if (type.equalsIgnoreCase("integer") || type.equalsIgnoreCase("int")) {
+            integer = true;
+        } else if (type.equalsIgnoreCase("long") || type.equalsIgnoreCase("double") || type.equalsIgnoreCase("float") || type.equalsIgnoreCase("decimal")) {
+            // Long values exceed the range of integer results and are kept as decimal values
+            integer = false;
+        } else {
+            throw new ValidationException(Messages.MapCsvToPlugin_UnknownType(Integer.toString(lineNumber), type));
+        }
+
+        TestValue result;
+        try {
+            if (integer) {
+                IntegerValue typed = new IntegerValue(group, null, name, unit);
+                typed.setValue(Integer.parseInt(value));
+                result = typed;
+            } else {
+                DoubleValue typed = new DoubleValue(group, null, name, unit);
+                typed.setValue(Double.parseDouble(value));
+                result = typed;
+            }
+        } catch (NumberFormatException e) {
+            throw new ValidationException(Messages.MapCsvToPlugin_WrongValueFormat(Integer.toString(lineNumber), value));
+        }
+
+        // Later rows of the same result replace its value
+        TestValue existing = results.get(result.getGroupHash());
+        if (existing != null) {
+            if (existing instanceof IntegerValue && result instanceof IntegerValue) {
+                ((IntegerValue) existing).setValue(((IntegerValue) result).getValue());
+            } else if (existing instanceof DoubleValue && result instanceof DoubleValue) {
+                ((DoubleValue) existing).setValue(((DoubleValue) result).getValue());
+            } else {
+                throw new ValidationException(Messages.MapCsvToPlugin_TypeChanged(Integer.toString(lineNumber), existing.getFullName()));
+            }
+            return;
+        }
+        group.addGroup(result);
+        checkResult(result);
+        groups.put(result.getGroupHash(), result);
+        results.put(result.getGroupHash(), result);
+
+        addThresholds(result, fields, indexes, lineNumber);
+    }
+
+    /**
+     * Add the thresholds of the row to its result
+     * @param result Result of the row
+     * @param fields Fields of the row
+     * @param indexes Position of each column, -1 when not mapped
+     * @param lineNumber Line of the row, for error messages
+     * @throws ValidationException If a threshold value is not a number
+     */
+    private void addThresholds(TestValue result, List<String> fields, int[] indexes, int lineNumber) throws ValidationException {
+        Double minimum = getNumber(fields, indexes, Column.minimum, lineNumber);
+        Double maximum = getNumber(fields, indexes, Column.maximum, lineNumber);
+        if (minimum != null || maximum != null) {
+            addThreshold(result, new AbsoluteThreshold(minimum, maximum));
+        }
+        Double delta = getNumber(fields, indexes, Column.delta, lineNumber);
+        if (delta != null) {
+            addThreshold(result, new DeltaThreshold(delta));
+        }
+        Double percentage = getNumber(fields, indexes, Column.percentage, lineNumber);
+        if (percentage != null) {
+            addThreshold(result, new PercentageThreshold(percentage));
+        }
+        Double deltaAverage = getNumber(fields, indexes, Column.deltaAverage, lineNumber);
+        if (deltaAverage != null) {
+            addThreshold(result, new DeltaAverageThreshold(deltaAverage));
+        }
+        Double percentageAverage = getNumber(fields, indexes, Column.percentageAverage, lineNumber);
+        if (percentageAverage != null) {
+            addThreshold(result, new PercentageAverageThreshold(percentageAverage));
+        }
+    }
+
+    private void addThreshold(TestValue result, Threshold threshold) {
+        result.addThreshold(threshold);
+        checkThresholdType(threshold);
+    }
+
+    /**
+     * Resolve the position of each mapped column
+     * @param names Names of the header row, null without header
+     * @return Position of each column, -1 when not mapped
+     * @throws ValidationException If a mapped column is not in the header or a required column is not mapped
+     */
+    private int[] getIndexes(List<String> names) throws ValidationException {
+        int[] indexes = new int[Column.values().length];
+        for (Column column : Column.values()) {
+            int index = -1;
+            JsonElement eColumn = columns.get(column.name());
+            if (eColumn != null && eColumn.isJsonPrimitive()) {
+                JsonPrimitive pColumn = eColumn.getAsJsonPrimitive();
+                if (pColumn.isNumber()) {
+                    index = pColumn.getAsInt() - 1;
+                } else if (names != null) {
+                    index = names.indexOf(pColumn.getAsString());
+                    if (index < 0 && (column == Column.name || column == Column.value)) {
+                        throw new ValidationException(Messages.MapCsvToPlugin_ColumnNotFound(pColumn.getAsString()));
+                    }
+                } else {
+                    throw new ValidationException(Messages.MapCsvToPlugin_ColumnPositionRequired(column.name()));
+                }
+            }
+            indexes[column.ordinal()] = index;
+        }
+        if (indexes[Column.name.ordinal()] < 0 || indexes[Column.value.ordinal()] < 0) {
+            throw new ValidationException(Messages.MapCsvToPlugin_NameAndValueRequired());
+        }
+        return indexes;
+    }
+
+    /**
+     * Split a row into the field list, quoted fields may hold the separator and doubled quotes
+     * @param line Row
+     * @param separator Column separator
+     * @param fields Field list, cleared first
+     */
+    private static void split(String line, char separator, List<String> fields) {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+    }
+
+    private static String getField(List<String> fields, int[] indexes, Column column) {
+        int index = indexes[column.ordinal()];
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String field = fields.get(index);
+        return field.isEmpty() ? null : field;
+    }
+
+    private static Double getNumber(List<String> fields, int[] indexes, Column column, int lineNumber) throws ValidationException {
+        String field = getField(fields, indexes, column);
+        if (field == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(field);
+        } catch (NumberFormatException e) {
+            throw new ValidationException(Messages.MapCsvToPlugin_WrongValueFormat(Integer.toString(lineNumber), field));
+        }
+    }
+
+    /**
+     * Get the group of a row, created if it does not exist yet
+     * @param parent Group of the file
+     * @param name Name of the group, null for results of the file
+     * @return Group
+     */
+    private TestGroup getGroup(TestGroup parent, String name) {
+        if (name == null) {
+            return parent;
+        }
+        if (name.equals(lastGroupName)) {
+            return lastGroup;
+        }
+        TestGroup group = new TestGroup(parent, name);
+        TestGroup existing = groups.get(group.getGroupHash());
+        if (existing == null) {
+            parent.addGroup(group);
+            groups.put(group.getGroupHash(), group);
+        } else {
+            group = existing;
+        }
+        lastGroupName = name;
+        lastGroup = group;
+        return group;
+    }
+
+    private static JsonObject getSchema(JsonElement schema) throws ValidationException {
+        if (!isCsvSchema(schema) || !schema.getAsJsonObject().has("columns") || !schema.getAsJsonObject().get("columns").isJsonObject()) {
+            throw new ValidationException(Messages.MapCsvToPlugin_SchemaNotRecognisedAsCsv());
+        }
+        return schema.getAsJsonObject();
+    }
+
+    private static String getString(JsonObject object, String key) {
+        JsonElement element = object.get(key);
+        if (element == null || !element.isJsonPrimitive()) {
+            return null;
+        }
+        return element.getAsString();
+    }
+
+    /**
+     * Convert the file path into a path relative to the workspace
+     * @param path File path
+     * @return Relative path
+     */
+    private String FilePathToString(FilePath path) {
+        String relativePath = null;
+        String nextChunk = null;
+        while (path != null && !path.getName().equalsIgnoreCase("workspace")) {
+            if (relativePath == null) {
+                if (nextChunk != null) {
+                    relativePath = nextChunk;
+                }
+            } else {
+                relativePath = nextChunk + "/" + relativePath;
+            }
+            nextChunk = path.getName();
+            path = path.getParent();
+        }
+        if (nextChunk != null) {
+            relativePath = nextChunk + "/" + relativePath;
+        }
+        return relativePath;
+    }
+}
@@ -27,8 +27,12 @@ import hudson.model.Run;
 import hudson.model.TaskListener;
 import org.apache.commons.io.IOUtils;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.CsvToPlugin.MapCsvToPlugin;
+import org.jenkinsci.plugins.benchmark.parsers.FormatToPlugin.MapFormatToPlugin;
+import org.jenkinsci.plugins.benchmark.parsers.JmhToPlugin.MapJmhToPlugin;
 import org.jenkinsci.plugins.benchmark.parsers.JsonToPlugin.MapJsonToPlugin;
 import org.jenkinsci.plugins.benchmark.parsers.XmlToPlugin.MapXmlToPlugin;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -69,6 +73,7 @@ public class FormatSelector {
 
         JsonElement jSchema = null;
         Document xSchema = null;
+        PhaseTimer.begin(PhaseTimer.Phase.SCHEMA);
         try {
             jSchema = getJSON(schema);
         } catch (Exception e) {
@@ -77,6 +82,8 @@ public class FormatSelector {
             } catch (Exception e2) {
                 throw new IOException(Messages.FormatSelector_NoCompatibleSchemaFromatRecognised());
             }
+        } finally {
+            PhaseTimer.end(PhaseTimer.Phase.SCHEMA);
         }
 
         // Execute the mapping
@@ -87,26 +94,68 @@ public class FormatSelector {
 
         int buildNumber = run.getNumber();
 
+        // CSV, the schema maps the columns
+        if (MapCsvToPlugin.isCsvSchema(jSchema)) {
+            Map<String, FilePath> files;
+            try {
+                listener.getLogger().println(Messages.FormatSelector_FilePattern(searchFilePattern));
+                PhaseTimer.begin(PhaseTimer.Phase.IDENTIFY_FILES);
+                files = IdentifyFiles(filePath, searchFilePattern, "csv");
+                files.putAll(IdentifyFiles(filePath, searchFilePattern, "tsv"));
+            } catch (Exception e) {
+                throw new ValidationException(Messages.FormatSelector_FilePatternCannotBeParsed(searchFilePattern));
+            } finally {
+                PhaseTimer.end(PhaseTimer.Phase.IDENTIFY_FILES);
+            }
+            if (files.size() == 0) {
+                throw new IOException(Messages.FormatSelector_NoFileDetectedInFilePattern("CSV", searchFilePattern));
+            }
+            MapCsvToPlugin plugin = null;
+            PhaseTimer.begin(PhaseTimer.Phase.MAPPING);
+            try {
+                if (files.size() == 1) {
+                    for (Map.Entry<String, FilePath> file : files.entrySet()) {
+                        plugin = new MapCsvToPlugin(buildNumber, file.getValue(), jSchema, truncateStrings);
+                        break;
+                    }
+                } else {
+                    plugin = new MapCsvToPlugin(buildNumber, files, jSchema, truncateStrings, listener);
+                }
+            } finally {
+                PhaseTimer.end(PhaseTimer.Phase.MAPPING);
+            }
+            mapper = (MapperBase) plugin;
+            return;
+        }
+
         // JSON
         if (jSchema != null) {
             Map<String, FilePath> files;
             try {
                 listener.getLogger().println(Messages.FormatSelector_FilePattern(searchFilePattern));
+                PhaseTimer.begin(PhaseTimer.Phase.IDENTIFY_FILES);
                 files = IdentifyFiles(filePath, searchFilePattern, "json");
             } catch (Exception e) {
                 throw new ValidationException(Messages.FormatSelector_FilePatternCannotBeParsed(searchFilePattern));
+            } finally {
+                PhaseTimer.end(PhaseTimer.Phase.IDENTIFY_FILES);
             }
             if (files.size() == 0) {
                 throw new IOException(Messages.FormatSelector_NoJsonDetectedInFilePattern(searchFilePattern));
             }
             MapJsonToPlugin plugin = null;
-            if (files.size() == 1) {
-                for (Map.Entry<String, FilePath> file : files.entrySet()) {
-                    plugin = new MapJsonToPlugin(buildNumber, file.getValue(), jSchema, truncateStrings);
-                    break;
+            PhaseTimer.begin(PhaseTimer.Phase.MAPPING);
+            try {
+                if (files.size() == 1) {
+                    for (Map.Entry<String, FilePath> file : files.entrySet()) {
+                        plugin = new MapJsonToPlugin(buildNumber, file.getValue(), jSchema, truncateStrings);
+                        break;
+                    }
+                } else {
+                    plugin = new MapJsonToPlugin(buildNumber, files, jSchema, truncateStrings, listener);
                 }
-            } else {
-                plugin = new MapJsonToPlugin(buildNumber, files, jSchema, truncateStrings, listener);
+            } finally {
+                PhaseTimer.end(PhaseTimer.Phase.MAPPING);
             }
             mapper = (MapperBase) plugin;
             return;
@@ -117,24 +166,135 @@ public class FormatSelector {
             Map<String, FilePath> files;
             try {
                 listener.getLogger().println(Messages.FormatSelector_FilePattern(searchFilePattern));
+                PhaseTimer.begin(PhaseTimer.Phase.IDENTIFY_FILES);
                 files = IdentifyFiles(filePath, searchFilePattern, "xml");
             } catch (Exception e) {
                 throw new ValidationException(Messages.FormatSelector_FilePatternCannotBeParsed(searchFilePattern));
+            } finally {
+                PhaseTimer.end(PhaseTimer.Phase.IDENTIFY_FILES);
             }
             if (files.size() == 0) {
                 throw new IOException(Messages.FormatSelector_NoXmlDetectedInFilePattern(searchFilePattern));
             }
             MapXmlToPlugin plugin = null;
+            PhaseTimer.begin(PhaseTimer.Phase.MAPPING);
+            try {
+                if (files.size() == 1) {
+                    for (Map.Entry<String, FilePath> file : files.entrySet()) {
+                        plugin = new MapXmlToPlugin(buildNumber, file.getValue(), xSchema, truncateStrings);
+                        break;
+                    }
+                } else {
+                    plugin = new MapXmlToPlugin(buildNumber, files, xSchema, truncateStrings, listener);
+                }
+            } finally {
+                PhaseTimer.end(PhaseTimer.Phase.MAPPING);
+            }
+            mapper = (MapperBase) plugin;
+        }
+    }
+
+    /**
+     * Map JMH result files (-rf json), the format of the file is fixed and does not need a schema
+     * @param run Jenkins run
+     * @param filePath Build workspace address
+     * @param searchFilePattern File search pattern to identify result files
+     * @param truncateStrings Whether to truncate long strings
+     * @param listener Build listener
+     * @throws InterruptedException Interrupted exception
+     * @throws ValidationException Validation exception
+     * @throws IOException I/O exception
+     */
+    public FormatSelector(Run<?, ?> run, FilePath filePath, String searchFilePattern, boolean truncateStrings, TaskListener listener) throws InterruptedException, ValidationException, IOException {
+
+        if (searchFilePattern == null || searchFilePattern.length() == 0) {
+            throw new IOException(Messages.FormatSelector_FileSearchPatternIsEmpty());
+        }
+        if (!filePath.isDirectory()) {
+            listener.getLogger().println(Messages.FormatSelector_WorkspaceNotDetected());
+            throw new IOException(Messages.FormatSelector_WorkspaceNotDetected());
+        }
+
+        Map<String, FilePath> files;
+        try {
+            listener.getLogger().println(Messages.FormatSelector_FilePattern(searchFilePattern));
+            PhaseTimer.begin(PhaseTimer.Phase.IDENTIFY_FILES);
+            files = IdentifyFiles(filePath, searchFilePattern, "json");
+        } catch (Exception e) {
+            throw new ValidationException(Messages.FormatSelector_FilePatternCannotBeParsed(searchFilePattern));
+        } finally {
+            PhaseTimer.end(PhaseTimer.Phase.IDENTIFY_FILES);
+        }
+        if (files.size() == 0) {
+            throw new IOException(Messages.FormatSelector_NoJsonDetectedInFilePattern(searchFilePattern));
+        }
+        MapJmhToPlugin plugin = null;
+        PhaseTimer.begin(PhaseTimer.Phase.MAPPING);
+        try {
             if (files.size() == 1) {
                 for (Map.Entry<String, FilePath> file : files.entrySet()) {
-                    plugin = new MapXmlToPlugin(buildNumber, file.getValue(), xSchema, truncateStrings);
+                    plugin = new MapJmhToPlugin(run.getNumber(), file.getValue(), truncateStrings);
                     break;
                 }
             } else {
-                plugin = new MapXmlToPlugin(buildNumber, files, xSchema, truncateStrings, listener);
+                plugin = new MapJmhToPlugin(run.getNumber(), files, truncateStrings, listener);
             }
-            mapper = (MapperBase) plugin;
+        } finally {
+            PhaseTimer.end(PhaseTimer.Phase.MAPPING);
+        }
+        mapper = (MapperBase) plugin;
+    }
+
+    /**
+     * Map result files with a registered result format, the format reads the files without schema
+     * @param run Jenkins run
+     * @param filePath Build workspace address
+     * @param searchFilePattern File search pattern to identify result files
+     * @param format Result format
+     * @param truncateStrings Whether to truncate long strings
+     * @param listener Build listener
+     * @throws InterruptedException Interrupted exception
+     * @throws ValidationException Validation exception
+     * @throws IOException I/O exception
+     */
+    public FormatSelector(Run<?, ?> run, FilePath filePath, String searchFilePattern, ResultFormat format, boolean truncateStrings, TaskListener listener) throws InterruptedException, ValidationException, IOException {
+
+        if (searchFilePattern == null || searchFilePattern.length() == 0) {
+            throw new IOException(Messages.FormatSelector_FileSearchPatternIsEmpty());
+        }
+        if (!filePath.isDirectory()) {
+            listener.getLogger().println(Messages.FormatSelector_WorkspaceNotDetected());
+            throw new IOException(Messages.FormatSelector_WorkspaceNotDetected());
+        }
+
+        Map<String, FilePath> files;
+        try {
+            listener.getLogger().println(Messages.FormatSelector_FilePattern(searchFilePattern));
+            PhaseTimer.begin(PhaseTimer.Phase.IDENTIFY_FILES);
+            files = IdentifyFiles(filePath, searchFilePattern, format.getExtension());
+        } catch (Exception e) {
+            throw new ValidationException(Messages.FormatSelector_FilePatternCannotBeParsed(searchFilePattern));
+        } finally {
+            PhaseTimer.end(PhaseTimer.Phase.IDENTIFY_FILES);
+        }
+        if (files.size() == 0) {
+            throw new IOException(Messages.FormatSelector_NoFileDetectedInFilePattern(format.getExtension(), searchFilePattern));
+        }
+        MapFormatToPlugin plugin = null;
+        PhaseTimer.begin(PhaseTimer.Phase.MAPPING);
+        try {
+            if (files.size() == 1) {
+                for (Map.Entry<String, FilePath> file : files.entrySet()) {
+                    plugin = new MapFormatToPlugin(run.getNumber(), format, file.getValue(), truncateStrings);
+                    break;
+                }
+            } else {
+                plugin = new MapFormatToPlugin(run.getNumber(), format, files, truncateStrings, listener);
+            }
+        } finally {
+            PhaseTimer.end(PhaseTimer.Phase.MAPPING);
         }
+        mapper = (MapperBase) plugin;
     }
 
     // Functions
@@ -0,0 +1,445 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers.FormatToPlugin;
+
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.parsers.ResultFormat;
+import org.jenkinsci.plugins.benchmark.parsers.ResultSink;
+import org.jenkinsci.plugins.benchmark.results.BooleanValue;
+import org.jenkinsci.plugins.benchmark.results.DoubleValue;
+import org.jenkinsci.plugins.benchmark.results.IntegerValue;
+import org.jenkinsci.plugins.benchmark.results.Samples;
+import org.jenkinsci.plugins.benchmark.results.StringValue;
+import org.jenkinsci.plugins.benchmark.results.TestGroup;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapper of the content pushed by a result format to the Jenkins plugin data construct
+ *
+ * <p>
+ * Files are read where the format asks for it. On the controller, the content goes straight from the reader to the
+ * mapper. For agent-side formats of a remote workspace, the content is recorded on the agent, sent back and replayed.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapFormatToPlugin extends MapperBase implements ResultSink {
+
+    // Variables
+
+    private TestGroup fileGroup;
+
+    // Content of the file being read, attached to the mapper once the whole file is read
+    private final Map<Integer, TestGroup> fileGroups = new HashMap<Integer, TestGroup>();
+    private final Map<Integer, TestValue> fileResults = new LinkedHashMap<Integer, TestValue>();
+    private final Map<Integer, TestValue> fileParameters = new LinkedHashMap<Integer, TestValue>();
+
+    // Constructors
+
+    public MapFormatToPlugin(Integer build, ResultFormat format, File content, boolean truncateStrings) throws IOException, ValidationException {
+        super(build, truncateStrings);
+        fileGroup = rootGroup;
+        PhaseTimer.recordFile(content.length());
+        try (InputStream stream = new FileInputStream(content)) {
+            format.read(stream, content.getName(), this);
+        }
+        attachFile();
+    }
+
+    public MapFormatToPlugin(Integer build, ResultFormat format, FilePath content, boolean truncateStrings) throws IOException, InterruptedException, ValidationException {
+        super(build, truncateStrings);
+        fileGroup = rootGroup;
+        InitiateLoading(format, content);
+        attachFile();
+    }
+
+    public MapFormatToPlugin(Integer build, RecordingSink content, boolean truncateStrings) throws IOException, ValidationException {
+        super(build, truncateStrings);
+        fileGroup = rootGroup;
+        PhaseTimer.recordFile(content.getBytes());
+        content.replay(this);
+        attachFile();
+    }
+
+    public MapFormatToPlugin(Integer build, ResultFormat format, Map<String, FilePath> content, boolean truncateStrings, TaskListener listener) throws IOException, ValidationException {
+        super(build, truncateStrings);
+
+        listener.getLogger().println(Messages.MapFormatToPlugin_ListOfFilesDetected());
+
+        int files_processed = 0;
+        for (Map.Entry<String, FilePath> entry : content.entrySet()) {
+
+            String relativePath = FilePathToString(entry.getValue());
+            TestGroup group = new TestGroup(rootGroup, entry.getKey(), relativePath, TestValue.ClassType.ct_fileGrp);
+            try {
+                // The file group is attached only once the whole file is read
+                fileGroup = group;
+                InitiateLoading(format, entry.getValue());
+                files.put(group.getGroupHash(), group);
+                groups.put(group.getGroupHash(), group);
+                rootGroup.addGroup(group);
+                attachFile();
+                listener.getLogger().println("   - " + relativePath);
+                files_processed++;
+            } catch (Exception e) {
+                clearFile();
+                listener.getLogger().println("   - " + Messages.MapFormatToPlugin_PrintFailedToLoadFile(relativePath, e.getMessage()));
+            }
+        }
+        if (files_processed == 0) {
+            throw new ValidationException(Messages.MapFormatToPlugin_NoValidFileFound());
+        }
+    }
+
+    // Functions
+
+    /**
+     * Read a file on the controller, or on the agent for agent-side formats
+     * @param format Result format
+     * @param content File
+     * @throws IOException If the file cannot be read
+     * @throws InterruptedException If interrupted while reading on the agent
+     */
+    private void InitiateLoading(ResultFormat format, FilePath content) throws IOException, InterruptedException {
+        if (format.isAgentSide() && content.isRemote()) {
+            RecordingSink recording = content.act(new AgentReader(format));
+            PhaseTimer.recordFile(recording.getBytes());
+            recording.replay(this);
+        } else {
+            try (InputStream stream = PhaseTimer.countFile(content.read())) {
+                format.read(stream, content.getName(), this);
+            }
+        }
+    }
+
+    /**
+     * Add the content of the file read to the mapper
+     */
+    private void attachFile() {
+        groups.putAll(fileGroups);
+        for (TestValue result : fileResults.values()) {
+            checkResult(result);
+        }
+        results.putAll(fileResults);
+        parameters.putAll(fileParameters);
+        clearFile();
+    }
+
+    /**
+     * Drop the content of the file read
+     */
+    private void clearFile() {
+        fileGroups.clear();
+        fileResults.clear();
+        fileParameters.clear();
+    }
+
+    @Override
+    public void beginFile(String fileName) {
+    }
+
+    @Override
+    public void result(String[] groups, String name, String unit, Object value) throws IOException {
+        TestGroup parent = getGroup(groups);
+        TestValue result;
+        if (value instanceof Double || value instanceof Float) {
+            DoubleValue typed = new DoubleValue(parent, null, name, unit);
+            typed.setValue(((Number) value).doubleValue());
+            result = typed;
+        } else if (value instanceof double[] && ((double[]) value).length > 0) {
+            Samples samples = new Samples(((double[]) value).clone());
+            DoubleValue typed = new DoubleValue(parent, null, name, unit);
+            typed.setValue(samples.getMean());
+            typed.setSamples(samples);
+            result = typed;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            IntegerValue typed = new IntegerValue(parent, null, name, unit);
+            typed.setValue(toInt(name, (Number) value));
+            result = typed;
+        } else if (value instanceof Boolean) {
+            BooleanValue typed = new BooleanValue(parent, null, name, unit);
+            typed.setValue((Boolean) value);
+            result = typed;
+        } else if (value instanceof String) {
+            StringValue typed = new StringValue(parent, null, name, unit);
+            typed.setValue(truncate((String) value));
+            result = typed;
+        } else {
+            throw new IOException(Messages.MapFormatToPlugin_UnsupportedValueType(name, value == null ? "null" : value.getClass().getSimpleName()));
+        }
+        if (results.containsKey(result.getGroupHash()) || fileResults.containsKey(result.getGroupHash())) {
+            throw new IOException(Messages.MapFormatToPlugin_DuplicateResult(result.getFullName()));
+        }
+        parent.addGroup(result);
+        fileGroups.put(result.getGroupHash(), result);
+        fileResults.put(result.getGroupHash(), result);
+    }
+
+    @Override
+    public void parameter(String[] groups, String name, Object value) throws IOException {
+        TestGroup parent = getGroup(groups);
+        TestValue parameter;
+        if (value instanceof Double || value instanceof Float) {
+            DoubleValue typed = new DoubleValue(parent, null, name, TestValue.ClassType.ct_parameter);
+            typed.setValue(((Number) value).doubleValue());
+            parameter = typed;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            IntegerValue typed = new IntegerValue(parent, name, TestValue.ClassType.ct_parameter);
+            typed.setValue(toInt(name, (Number) value));
+            parameter = typed;
+        } else if (value instanceof Boolean) {
+            BooleanValue typed = new BooleanValue(parent, null, name, TestValue.ClassType.ct_parameter);
+            typed.setValue((Boolean) value);
+            parameter = typed;
+        } else if (value instanceof String) {
+            StringValue typed = new StringValue(parent, name, null, TestValue.ClassType.ct_parameter);
+            typed.setValue(truncate((String) value));
+            parameter = typed;
+        } else {
+            throw new IOException(Messages.MapFormatToPlugin_UnsupportedValueType(name, value == null ? "null" : value.getClass().getSimpleName()));
+        }
+        parent.addGroup(parameter);
+        fileGroups.put(parameter.getGroupHash(), parameter);
+        fileParameters.put(parameter.getGroupHash(), parameter);
+    }
+
+    @Override
+    public void message(String[] groups, String name, String title, String message) throws IOException {
+        getResult(groups, name).setMessage(title, truncate(message));
+    }
+
+    @Override
+    public void failed(String[] groups, String name) throws IOException {
+        getResult(groups, name).setFailedState(true);
+    }
+
+    @Override
+    public void endFile() {
+    }
+
+    /**
+     * Get the group at the given path under the current file, groups are created on first use
+     * @param names Names of the groups
+     * @return Group
+     */
+    private TestGroup getGroup(String[] names) {
+        TestGroup group = fileGroup;
+        if (names == null) {
+            return group;
+        }
+        for (String name : names) {
+            TestGroup child = new TestGroup(group, name);
+            TestGroup existing = fileGroups.get(child.getGroupHash());
+            if (existing == null) {
+                existing = groups.get(child.getGroupHash());
+            }
+            if (existing == null) {
+                group.addGroup(child);
+                fileGroups.put(child.getGroupHash(), child);
+                group = child;
+            } else {
+                group = existing;
+            }
+        }
+        return group;
+    }
+
+    private TestValue getResult(String[] groups, String name) throws IOException {
+        TestGroup key = new TestGroup(getGroup(groups), name);
+        TestValue result = fileResults.get(key.getGroupHash());
+        if (result == null) {
+            throw new IOException(Messages.MapFormatToPlugin_ResultNotFound(key.getFullName()));
+        }
+        return result;
+    }
+
+    /**
+     * Convert an integer value, values out of the range of integer results are rejected
+     * @param name Name of the value
+     * @param value Value
+     * @return Value as int
+     * @throws IOException If the value is out of range
+     */
+    private static int toInt(String name, Number value) throws IOException {
+        long number = value.longValue();
+        if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IOException(Messages.MapFormatToPlugin_IntegerOutOfRange(name, Long.toString(number)));
+        }
+        return (int) number;
+    }
+
+    private String truncate(String value) {
+        if (truncateStrings && value != null && value.length() > 512) {
+            return value.substring(0, 512) + "...";
+        }
+        return value;
+    }
+
+    /**
+     * Convert the file path into a path relative to the workspace
+     * @param path File path
+     * @return Relative path
+     */
+    private String FilePathToString(FilePath path) {
+        String relativePath = null;
+        String nextChunk = null;
+        while (path != null && !path.getName().equalsIgnoreCase("workspace")) {
+            if (relativePath == null) {
+                if (nextChunk != null) {
+                    relativePath = nextChunk;
+                }
+            } else {
+                relativePath = nextChunk + "/" + relativePath;
+            }
+            nextChunk = path.getName();
+            path = path.getParent();
+        }
+        if (nextChunk != null) {
+            relativePath = nextChunk + "/" + relativePath;
+        }
+        return relativePath;
+    }
+
+    /**
+     * Reads a file on the agent that holds it
+     */
+    private static class AgentReader extends MasterToSlaveFileCallable<RecordingSink> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ResultFormat format;
+
+        AgentReader(ResultFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public RecordingSink invoke(File file, VirtualChannel channel) throws IOException {
+            RecordingSink recording = new RecordingSink(file.length());
+            try (InputStream stream = new FileInputStream(file)) {
+                format.read(stream, file.getName(), recording);
+            }
+            return recording;
+        }
+    }
+
+    /**
+     * Records the content pushed by a format, to send it from the agent to the controller
+     */
+    public static class RecordingSink implements ResultSink, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final byte BEGIN = 0;
+        private static final byte RESULT = 1;
+        private static final byte PARAMETER = 2;
+        private static final byte MESSAGE = 3;
+        private static final byte FAILED = 4;
+        private static final byte END = 5;
+
+        private final long bytes;
+        private final List<Event> events = new ArrayList<Event>();
+
+        public RecordingSink(long bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void beginFile(String fileName) { events.add(new Event(BEGIN, null, fileName, null, null)); }
+        @Override
+        public void result(String[] groups, String name, String unit, Object value) { events.add(new Event(RESULT, groups, name, unit, value)); }
+        @Override
+        public void parameter(String[] groups, String name, Object value) { events.add(new Event(PARAMETER, groups, name, null, value)); }
+        @Override
+        public void message(String[] groups, String name, String title, String message) { events.add(new Event(MESSAGE, groups, name, title, message)); }
+        @Override
+        public void failed(String[] groups, String name) { events.add(new Event(FAILED, groups, name, null, null)); }
+        @Override
+        public void endFile() { events.add(new Event(END, null, null, null, null)); }
+
+        /**
+         * Push the recorded content to another sink
+         * @param sink Receiver of the content
+         * @throws IOException If the receiver rejects the content
+         */
+        public void replay(ResultSink sink) throws IOException {
+            for (Event event : events) {
+                switch (event.type) {
+                    case BEGIN:
+                        sink.beginFile(event.name);
+                        break;
+                    case RESULT:
+                        sink.result(event.groups, event.name, event.text, event.value);
+                        break;
+                    case PARAMETER:
+                        sink.parameter(event.groups, event.name, event.value);
+                        break;
+                    case MESSAGE:
+                        sink.message(event.groups, event.name, event.text, (String) event.value);
+                        break;
+                    case FAILED:
+                        sink.failed(event.groups, event.name);
+                        break;
+                    default:
+                        sink.endFile();
+                }
+            }
+        }
+
+        public long getBytes() { return bytes; }
+        public int getNumberOfEvents() { return events.size(); }
+    }
+
+    private static class Event implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte type;
+        private final String[] groups;
+        private final String name;
+        private final String text;
+        private final Object value;
+
+        Event(byte type, String[] groups, String name, String text, Object value) {
+            this.type = type;
+            this.groups = groups == null ? null : groups.clone();
+            this.name = name;
+            this.text = text;
+            this.value = (value instanceof double[]) ? ((double[]) value).clone() : value;
+        }
+    }
+}
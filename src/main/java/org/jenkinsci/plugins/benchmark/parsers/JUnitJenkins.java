@@ -21,6 +21,7 @@ package org.jenkinsci.plugins.benchmark.parsers;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
 import org.jenkinsci.plugins.benchmark.results.*;
 import org.jenkinsci.plugins.benchmark.utilities.FilePathGroup;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -73,6 +74,13 @@ public class JUnitJenkins extends MapperBase {
      */
     public void importFromFile(Integer build, File filename) throws IOException, InterruptedException {
 
+        // Over the memory budget, the build is not loaded
+        if (footprint.skipBuild(build)) {
+            return;
+        }
+
+        clearStateCounts();
+        PhaseTimer.recordFile(filename.length());
         this.builds.add(build);
 
         Document document;
@@ -151,6 +159,7 @@ public class JUnitJenkins extends MapperBase {
                 }
             }
         }
+        accountBuild(build);
     }
 
     /**
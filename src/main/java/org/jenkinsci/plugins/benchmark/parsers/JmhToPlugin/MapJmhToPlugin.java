@@ -0,0 +1,473 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers.JmhToPlugin;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import hudson.FilePath;
+import hudson.model.TaskListener;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.DoubleValue;
+import org.jenkinsci.plugins.benchmark.results.IntegerValue;
+import org.jenkinsci.plugins.benchmark.results.Samples;
+import org.jenkinsci.plugins.benchmark.results.StringValue;
+import org.jenkinsci.plugins.benchmark.results.TestGroup;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parser from the JMH result file (-rf json) to the Jenkins plugin data construct
+ *
+ * <p>
+ * The file is streamed, one benchmark at a time. Each benchmark and mode is a group, like "parse (thrpt)", with a
+ * sub-group per combination of parameters that holds the mode, threads, forks and parameters as TestValue parameters. The primary metric maps
+ * to the score, its error, the bounds of its confidence interval and its percentiles, with the raw iteration data
+ * as a message and as the samples of the score. Each secondary metric, like gc.alloc.rate.norm, is a sub-group with
+ * its score and error.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapJmhToPlugin extends MapperBase {
+
+    // Variables
+
+    public static final String RAW_DATA = "rawData";
+
+    // Percentiles of the primary metric kept as results
+    private static final String[] PERCENTILES = {"0.0", "50.0", "90.0", "95.0", "99.0", "99.9", "100.0"};
+
+    // Constructors
+
+    public MapJmhToPlugin(Integer build, File content, boolean truncateStrings) throws IOException, ValidationException {
+        super(build, truncateStrings);
+        PhaseTimer.recordFile(content.length());
+        try (InputStream stream = new FileInputStream(content)) {
+            InitiateLoading(rootGroup, stream, content.getName());
+        }
+    }
+
+    public MapJmhToPlugin(Integer build, FilePath content, boolean truncateStrings) throws IOException, InterruptedException, ValidationException {
+        super(build, truncateStrings);
+        try (InputStream stream = PhaseTimer.countFile(content.read())) {
+            InitiateLoading(rootGroup, stream, content.getName());
+        }
+    }
+
+    public MapJmhToPlugin(Integer build, Map<String, FilePath> content, boolean truncateStrings, TaskListener listener) throws IOException, ValidationException {
+        super(build, truncateStrings);
+
+        listener.getLogger().println(Messages.MapJmhToPlugin_ListOfFilesDetected());
+
+        int files_processed = 0;
+        for (Map.Entry<String, FilePath> entry : content.entrySet()) {
+
+            String relativePath = FilePathToString(entry.getValue());
+            TestGroup group = new TestGroup(rootGroup, entry.getKey(), relativePath, TestValue.ClassType.ct_fileGrp);
+            try (InputStream stream = PhaseTimer.countFile(entry.getValue().read())) {
+                files.put(group.getGroupHash(), group);
+                groups.put(group.getGroupHash(), group);
+                rootGroup.addGroup(group);
+
+                InitiateLoading(group, stream, entry.getValue().getName());
+                listener.getLogger().println("   - " + relativePath);
+                files_processed++;
+            } catch (Exception e) {
+                listener.getLogger().println("   - " + Messages.MapJmhToPlugin_PrintFailedToLoadFile(relativePath));
+            }
+        }
+        if (files_processed == 0) {
+            throw new ValidationException(Messages.MapJmhToPlugin_NoValidFileFound());
+        }
+    }
+
+    // Functions
+
+    /**
+     * Stream the benchmarks of a result file
+     * @param parent Group of the file
+     * @param stream Content of the file
+     * @param name Name of the file, for error messages
+     * @throws IOException If the file is not a JMH result file
+     */
+    private void InitiateLoading(TestGroup parent, InputStream stream, String name) throws IOException {
+        try {
+            JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            reader.beginArray();
+            while (reader.hasNext()) {
+                ProcessBenchmark(parent, reader);
+            }
+            reader.endArray();
+        } catch (IllegalStateException | NumberFormatException | JsonParseException e) {
+            throw new IOException(Messages.MapJmhToPlugin_FileFormatNotRecognisedAsJmh(name), e);
+        }
+    }
+
+    /**
+     * Read one benchmark and map its content
+     * @param parent Group of the file
+     * @param reader Reader positioned on the benchmark object
+     * @throws IOException If the content cannot be read
+     */
+    private void ProcessBenchmark(TestGroup parent, JsonReader reader) throws IOException {
+        String benchmark = null;
+        String mode = null;
+        Integer threads = null;
+        Integer forks = null;
+        Map<String, String> params = new LinkedHashMap<String, String>();
+        Metric primary = null;
+        Map<String, Metric> secondaries = new LinkedHashMap<String, Metric>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (key.equals("benchmark")) {
+                benchmark = reader.nextString();
+            } else if (key.equals("mode")) {
+                mode = reader.nextString();
+            } else if (key.equals("threads")) {
+                threads = reader.nextInt();
+            } else if (key.equals("forks")) {
+                forks = reader.nextInt();
+            } else if (key.equals("params") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    params.put(reader.nextName(), readString(reader));
+                }
+                reader.endObject();
+            } else if (key.equals("primaryMetric")) {
+                primary = readMetric(reader);
+            } else if (key.equals("secondaryMetrics") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    secondaries.put(getMetricName(reader.nextName()), readMetric(reader));
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (benchmark == null || primary == null) {
+            return;
+        }
+
+        // Group of the benchmark per mode, sub-group per combination of parameters
+        TestGroup group = getGroup(parent, (mode == null) ? benchmark : benchmark + " (" + mode + ")");
+        if (!params.isEmpty()) {
+            StringBuffer name = new StringBuffer();
+            for (Map.Entry<String, String> param : params.entrySet()) {
+                if (name.length() > 0) {
+                    name.append(", ");
+                }
+                name.append(param.getKey());
+                name.append('=');
+                name.append(param.getValue());
+            }
+            group = getGroup(group, name.toString());
+        }
+
+        // Run parameters
+        if (mode != null) {
+            StringValue parameter = new StringValue(group, "mode", null, TestValue.ClassType.ct_parameter);
+            parameter.setValue(mode);
+            addParameter(group, parameter);
+        }
+        if (threads != null) {
+            IntegerValue parameter = new IntegerValue(group, "threads", TestValue.ClassType.ct_parameter);
+            parameter.setValue(threads);
+            addParameter(group, parameter);
+        }
+        if (forks != null) {
+            IntegerValue parameter = new IntegerValue(group, "forks", TestValue.ClassType.ct_parameter);
+            parameter.setValue(forks);
+            addParameter(group, parameter);
+        }
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            StringValue parameter = new StringValue(group, param.getKey(), null, TestValue.ClassType.ct_parameter);
+            parameter.setValue(param.getValue());
+            addParameter(group, parameter);
+        }
+
+        // Primary metric
+        DoubleValue score = addMetric(group, primary);
+        if (score != null && primary.rawData.length() > 0) {
+            score.setMessage(RAW_DATA, primary.rawData.toString());
+        }
+        if (score != null && primary.sampleCount > 0) {
+            score.setSamples(new Samples(Arrays.copyOf(primary.samples, primary.sampleCount)));
+        }
+        addResult(group, "score_lower", "Lower bound of the score confidence interval", primary.unit, primary.lower);
+        addResult(group, "score_upper", "Upper bound of the score confidence interval", primary.unit, primary.upper);
+        for (String percentile : PERCENTILES) {
+            addResult(group, "p" + percentile, "Percentile " + percentile + " of the score", primary.unit, primary.percentiles.get(percentile));
+        }
+
+        // Secondary metrics
+        for (Map.Entry<String, Metric> secondary : secondaries.entrySet()) {
+            addMetric(getGroup(group, secondary.getKey()), secondary.getValue());
+        }
+    }
+
+    /**
+     * Read a metric object
+     * @param reader Reader positioned on the metric object
+     * @return Metric
+     * @throws IOException If the content cannot be read
+     */
+    private Metric readMetric(JsonReader reader) throws IOException {
+        Metric metric = new Metric();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            if (key.equals("score")) {
+                metric.score = readDouble(reader);
+            } else if (key.equals("scoreError")) {
+                metric.error = readDouble(reader);
+            } else if (key.equals("scoreUnit")) {
+                metric.unit = reader.nextString();
+            } else if (key.equals("scoreConfidence") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                if (reader.hasNext()) {
+                    metric.lower = readDouble(reader);
+                }
+                if (reader.hasNext()) {
+                    metric.upper = readDouble(reader);
+                }
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+            } else if (key.equals("scorePercentiles") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    metric.percentiles.put(reader.nextName(), readDouble(reader));
+                }
+                reader.endObject();
+            } else if (key.equals("rawData") && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                readRawData(reader, metric);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return metric;
+    }
+
+    /**
+     * Read the iterations of each fork, one line per fork, and keep them as the samples of the metric
+     * @param reader Reader positioned on the array of forks
+     * @param metric Metric of the raw data
+     * @throws IOException If the content cannot be read
+     */
+    private void readRawData(JsonReader reader, Metric metric) throws IOException {
+        StringBuffer rawData = metric.rawData;
+        int fork = 0;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            fork++;
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            boolean text = !truncateStrings || rawData.length() <= 512;
+            if (text) {
+                rawData.append("Fork ");
+                rawData.append(fork);
+                rawData.append(':');
+            }
+            boolean first = true;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Double value = readDouble(reader);
+                if (value != null) {
+                    metric.addSample(value);
+                }
+                if (text) {
+                    rawData.append(first ? " " : ", ");
+                    rawData.append(value == null ? "NaN" : value.toString());
+                }
+                first = false;
+            }
+            reader.endArray();
+            if (text) {
+                rawData.append('\n');
+            }
+        }
+        reader.endArray();
+        if (truncateStrings && rawData.length() > 512) {
+            rawData.setLength(512);
+            rawData.append("...");
+        }
+    }
+
+    /**
+     * Read a number, JMH writes undefined values like the error of a single iteration as the string "NaN"
+     * @param reader Reader positioned on the value
+     * @return Value or null if undefined
+     * @throws IOException If the content cannot be read
+     */
+    private static Double readDouble(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            try {
+                double value = Double.parseDouble(reader.nextString());
+                if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // Not a number
+            }
+            return null;
+        }
+        reader.skipValue();
+        return null;
+    }
+
+    private static String readString(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN) {
+            return token == JsonToken.BOOLEAN ? Boolean.toString(reader.nextBoolean()) : reader.nextString();
+        }
+        reader.skipValue();
+        return "";
+    }
+
+    /**
+     * Secondary metric names are prefixed with a middle dot, and a colon in older JMH versions
+     * @param name Name of the metric in the file
+     * @return Name without prefix
+     */
+    private static String getMetricName(String name) {
+        int start = 0;
+        while (start < name.length() && (name.charAt(start) == ':' || name.charAt(start) == '\u00B7')) {
+            start++;
+        }
+        return name.substring(start);
+    }
+
+    /**
+     * Get a group, created if it does not exist yet
+     * @param parent Parent group
+     * @param name Name of the group
+     * @return Group
+     */
+    private TestGroup getGroup(TestGroup parent, String name) {
+        TestGroup group = new TestGroup(parent, name);
+        TestGroup existing = groups.get(group.getGroupHash());
+        if (existing != null) {
+            return existing;
+        }
+        parent.addGroup(group);
+        groups.put(group.getGroupHash(), group);
+        return group;
+    }
+
+    private void addParameter(TestGroup parent, TestValue parameter) {
+        parent.addGroup(parameter);
+        groups.put(parameter.getGroupHash(), parameter);
+        parameters.put(parameter.getGroupHash(), parameter);
+    }
+
+    /**
+     * Add the score and error of a metric
+     * @param parent Group of the metric
+     * @param metric Metric
+     * @return Score or null if undefined
+     */
+    private DoubleValue addMetric(TestGroup parent, Metric metric) {
+        DoubleValue score = addResult(parent, "score", "Score", metric.unit, metric.score);
+        addResult(parent, "score_error", "Error of the score", metric.unit, metric.error);
+        return score;
+    }
+
+    private DoubleValue addResult(TestGroup parent, String name, String description, String unit, Double value) {
+        if (value == null) {
+            return null;
+        }
+        DoubleValue result = new DoubleValue(parent, null, name, description, unit);
+        result.setValue(value);
+        parent.addGroup(result);
+        checkResult(result);
+        groups.put(result.getGroupHash(), result);
+        results.put(result.getGroupHash(), result);
+        return result;
+    }
+
+    /**
+     * Convert the file path into a path relative to the workspace
+     * @param path File path
+     * @return Relative path
+     */
+    private String FilePathToString(FilePath path) {
+        String relativePath = null;
+        String nextChunk = null;
+        while (path != null && !path.getName().equalsIgnoreCase("workspace")) {
+            if (relativePath == null) {
+                if (nextChunk != null) {
+                    relativePath = nextChunk;
+                }
+            } else {
+                relativePath = nextChunk + "/" + relativePath;
+            }
+            nextChunk = path.getName();
+            path = path.getParent();
+        }
+        if (nextChunk != null) {
+            relativePath = nextChunk + "/" + relativePath;
+        }
+        return relativePath;
+    }
+
+    /**
+     * Content of a JMH metric
+     */
+    private static class Metric {
+        private Double score;
+        private Double error;
+        private Double lower;
+        private Double upper;
+        private String unit;
+        private final Map<String, Double> percentiles = new LinkedHashMap<String, Double>();
+        private final StringBuffer rawData = new StringBuffer();
+        private double[] samples = new double[16];
+        private int sampleCount = 0;
+
+        private void addSample(double value) {
+            if (sampleCount == samples.length) {
+                samples = Arrays.copyOf(samples, sampleCount * 2);
+            }
+            samples[sampleCount++] = value;
+        }
+    }
+}
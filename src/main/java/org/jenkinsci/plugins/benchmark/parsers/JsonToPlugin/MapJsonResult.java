@@ -18,11 +18,13 @@
  */
 package org.jenkinsci.plugins.benchmark.parsers.JsonToPlugin;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import org.jenkinsci.plugins.benchmark.results.*;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -49,7 +51,8 @@ public class MapJsonResult {
         rt_booleankey,
         rt_integer,
         rt_double,
-        rt_value
+        rt_value,
+        rt_samples
     }
 
     // Variables
@@ -59,6 +62,8 @@ public class MapJsonResult {
     private String              description = null;
     private String              unit = null;
     private Map<String, String> messages = new HashMap<String, String>();
+    private Samples             samples = null;
+    private String              samplesKey = null;
 
     private TestValue result;
 
@@ -173,6 +178,31 @@ public class MapJsonResult {
                                 }
                             }
                         break;
+
+                    case rt_samples:
+                        if (samples == null) {
+                            for (Map.Entry<String, JsonElement> enContent : oContent.entrySet()) {
+                                if (schemaKey.equals(enContent.getKey())) {
+                                    JsonElement value = enContent.getValue();
+                                    if (value.isJsonArray()) {
+                                        JsonArray array = value.getAsJsonArray();
+                                        double[] values = new double[array.size()];
+                                        int count = 0;
+                                        for (JsonElement element : array) {
+                                            if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()) {
+                                                values[count++] = element.getAsDouble();
+                                            }
+                                        }
+                                        if (count > 0) {
+                                            samples = new Samples(Arrays.copyOf(values, count));
+                                            samplesKey = schemaKey;
+                                        }
+                                        break;
+                                    }
+                                }
+                            }
+                        }
+                        break;
                 }
             }
         }
@@ -336,6 +366,20 @@ public class MapJsonResult {
             }
         }
 
+        // Samples without value, the result is their mean
+        if (samples != null && !resultDetected) {
+            if (name == null) {
+                name = Objects.requireNonNullElse(key, samplesKey);
+            }
+            DoubleValue res = new DoubleValue(parent, null, name, description, unit);
+            res.setValue(samples.getMean());
+            result = res;
+            resultDetected = true;
+        }
+        if (samples != null && result instanceof DoubleValue) {
+            ((DoubleValue) result).setSamples(samples);
+        }
+
         if (resultDetected)
             result.setMessages(messages);
     }
@@ -379,6 +423,8 @@ public class MapJsonResult {
                 return ResultTags.rt_double;
             case "value":
                 return ResultTags.rt_value;
+            case "samples":
+                return ResultTags.rt_samples;
             default:
                 return ResultTags.rt_unknown;
         }
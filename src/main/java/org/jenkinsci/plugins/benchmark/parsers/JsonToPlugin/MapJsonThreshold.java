@@ -43,7 +43,10 @@ public class MapJsonThreshold {
         tt_minimum,
         tt_maximum,
         tt_delta,
-        tt_percentage
+        tt_percentage,
+        tt_percentile,
+        tt_builds,
+        tt_confidence
     }
 
     // Variables
@@ -52,6 +55,9 @@ public class MapJsonThreshold {
     private Double maximum;
     private Double delta;
     private Double percentage;
+    private Double percentile;
+    private Double builds;
+    private Double confidence;
 
     private Threshold threshold;
 
@@ -145,6 +151,63 @@ public class MapJsonThreshold {
                             }
                         }
                         break;
+
+                    case tt_percentile:
+                        if (percentile == null) {
+                            for (Map.Entry<String, JsonElement> enContent : oContent.entrySet()) {
+                                if (schemaKey.equals(enContent.getKey())) {
+                                    JsonElement value = enContent.getValue();
+                                    if (value.isJsonPrimitive()) {
+                                        JsonPrimitive primitive = value.getAsJsonPrimitive();
+                                        if (primitive.isNumber()) {
+                                            percentile = primitive.getAsDouble();
+                                            break;
+                                        } else {
+                                            throw new ValidationException(Messages.MapJsonThreshold_WrongFormatForPercentile());
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                        break;
+
+                    case tt_builds:
+                        if (builds == null) {
+                            for (Map.Entry<String, JsonElement> enContent : oContent.entrySet()) {
+                                if (schemaKey.equals(enContent.getKey())) {
+                                    JsonElement value = enContent.getValue();
+                                    if (value.isJsonPrimitive()) {
+                                        JsonPrimitive primitive = value.getAsJsonPrimitive();
+                                        if (primitive.isNumber()) {
+                                            builds = primitive.getAsDouble();
+                                            break;
+                                        } else {
+                                            throw new ValidationException(Messages.MapJsonThreshold_WrongFormatForBuilds());
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                        break;
+
+                    case tt_confidence:
+                        if (confidence == null) {
+                            for (Map.Entry<String, JsonElement> enContent : oContent.entrySet()) {
+                                if (schemaKey.equals(enContent.getKey())) {
+                                    JsonElement value = enContent.getValue();
+                                    if (value.isJsonPrimitive()) {
+                                        JsonPrimitive primitive = value.getAsJsonPrimitive();
+                                        if (primitive.isNumber()) {
+                                            confidence = primitive.getAsDouble();
+                                            break;
+                                        } else {
+                                            throw new ValidationException(Messages.MapJsonThreshold_WrongFormatForConfidence());
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                        break;
                 }
             }
         }
@@ -198,6 +261,30 @@ public class MapJsonThreshold {
                                             thresholdDetected = true;
                                             break;
                                         }
+                                        case "percentile": {
+                                            PercentileThreshold thres = new PercentileThreshold(percentile, percentage);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
+                                        case "rollingaverage": {
+                                            RollingAverageThreshold thres = new RollingAverageThreshold(builds == null ? null : builds.intValue(), percentage);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
+                                        case "ewma": {
+                                            EwmaThreshold thres = new EwmaThreshold(builds == null ? null : builds.intValue(), percentage);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
+                                        case "significance": {
+                                            SignificanceThreshold thres = new SignificanceThreshold(builds == null ? null : builds.intValue(), confidence);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
                                     }
                                     break;
                                 }
@@ -239,6 +326,12 @@ public class MapJsonThreshold {
                 return ThresholdTags.tt_delta;
             case "percentage":
                 return ThresholdTags.tt_percentage;
+            case "percentile":
+                return ThresholdTags.tt_percentile;
+            case "builds":
+                return ThresholdTags.tt_builds;
+            case "confidence":
+                return ThresholdTags.tt_confidence;
             default:
                 return ThresholdTags.tt_unknown;
         }
@@ -27,6 +27,7 @@ import org.jenkinsci.plugins.benchmark.results.StringValue;
 import org.jenkinsci.plugins.benchmark.results.TestGroup;
 import org.jenkinsci.plugins.benchmark.results.TestValue;
 import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -204,7 +205,7 @@ public class MapJsonToPlugin extends MapperBase {
     private JsonElement getJSON(FilePath jsonFile) throws IOException, InterruptedException, JsonIOException, JsonSyntaxException {
         JsonElement content = null;
         JsonParser parser = new JsonParser();
-        try (InputStreamReader reader = new InputStreamReader(jsonFile.read(), StandardCharsets.UTF_8)) {
+        try (InputStreamReader reader = new InputStreamReader(PhaseTimer.countFile(jsonFile.read()), StandardCharsets.UTF_8)) {
             content = parser.parse(reader);
         }
         return content;
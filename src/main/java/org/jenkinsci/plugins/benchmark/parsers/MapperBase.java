@@ -25,7 +25,10 @@ import org.jenkinsci.plugins.benchmark.condensed.IntegerCondensed;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
 import org.jenkinsci.plugins.benchmark.results.*;
 import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
+import org.jenkinsci.plugins.benchmark.utilities.AtomicFile;
 import org.jenkinsci.plugins.benchmark.utilities.ContentDetected;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -33,6 +36,7 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 import static org.jenkinsci.plugins.benchmark.results.TestValue.FAILED_STATE_COLOR;
 import static org.jenkinsci.plugins.benchmark.results.TestValue.PASSED_STATE_COLOR;
@@ -63,9 +67,15 @@ public class MapperBase {
     protected boolean hasHistoryThreshold = false;
 
     private Integer                     build;
+    private Integer                     condensedBuild = null;
     protected ContentDetected           detected;
     protected final TreeSet<Integer>    builds;
 
+    protected HeapFootprint             footprint = new HeapFootprint(0, false);
+    private volatile int                accountedEntities = -1;
+
+    // Passed and failed results of each build, counted once per loaded history [TABLE PAGE]
+    private volatile Map<Integer, int[]> stateCounts = null;
 
     // Constructor
 
@@ -90,153 +100,146 @@ public class MapperBase {
      * @throws ValidationException Validation exception
      */
     public void mergeWith(MapperBase mapper) throws ValidationException {
+        clearStateCounts();
+        if (mapper != null && mapper.condensedBuild != null) {
+            condensedBuild = mapper.condensedBuild;
+        }
 
         if (mapper != null && mapper.results.size() != 0) {
+            // Keyed lookups, the merge stays linear in the number of results
             for (Map.Entry<Integer, TestValue> baseResult : mapper.getResults().entrySet()) {
-                boolean detectedResult = false;
-                for (Map.Entry<Integer,TestValue> result : results.entrySet()) {
-                    if (result.getKey().intValue() == baseResult.getKey().intValue()) {
-                        TestValue value = result.getValue();
-                        switch (value.getType()) {
-                            case rt_double:
-                                {
-                                    DoubleValue dblValue = (DoubleValue) value;
-                                    DoubleValue dblBaseValue = (DoubleValue) baseResult.getValue();
-                                    Double dblV = dblValue.getValues().get(0);
-                                    dblValue.getValues().clear();
-                                    dblValue.getValues().put(build, dblV);
-                                    dblValue.getValues().putAll(dblBaseValue.getValues());
-                                    if (dblValue.getProperties().size() > 0) {
-                                        TestProperty dblProperty = dblValue.getProperties().get(0);
-                                        dblValue.getProperties().clear();
-                                        dblValue.getProperties().put(build, dblProperty);
-                                    }
-                                    dblValue.getProperties().putAll(dblBaseValue.getProperties());
-                                }
-                                break;
-                            case rt_integer:
-                                {
-                                    IntegerValue intValue = (IntegerValue) value;
-                                    IntegerValue intBaseValue = (IntegerValue) baseResult.getValue();
-                                    Integer intV = intValue.getValues().get(0);
-                                    intValue.getValues().clear();
-                                    intValue.getValues().put(build, intV);
-                                    intValue.getValues().putAll(intBaseValue.getValues());
-                                    if (intValue.getProperties().size() > 0) {
-                                        TestProperty intProperty = intValue.getProperties().get(0);
-                                        intValue.getProperties().clear();
-                                        intValue.getProperties().put(build, intProperty);
-                                    }
-                                    intValue.getProperties().putAll(intBaseValue.getProperties());
-                                }
-                                break;
-                            case rt_boolean:
-                                {
-                                    BooleanValue boolValue = (BooleanValue) value;
-                                    BooleanValue boolBaseValue = (BooleanValue) baseResult.getValue();
-                                    Boolean boolV = boolValue.getValues().get(0);
-                                    boolValue.getValues().clear();
-                                    boolValue.getValues().put(build, boolV);
-                                    boolValue.getValues().putAll(boolBaseValue.getValues());
-                                    if (boolValue.getProperties().size() > 0) {
-                                        TestProperty boolProperty = boolValue.getProperties().get(0);
-                                        boolValue.getProperties().clear();
-                                        boolValue.getProperties().put(build, boolProperty);
-                                    }
-                                    boolValue.getProperties().putAll(boolBaseValue.getProperties());
-                                }
-                                break;
-                            case rt_string:
-                                {
-                                    StringValue strValue = (StringValue) value;
-                                    StringValue strBaseValue = (StringValue) baseResult.getValue();
-                                    String strV = strValue.getValues().get(0);
-                                    strValue.getValues().clear();
-                                    strValue.getValues().put(build, strV);
-                                    strValue.getValues().putAll(strBaseValue.getValues());
-                                    if (strValue.getProperties().size() > 0) {
-                                        TestProperty strProperty = strValue.getProperties().get(0);
-                                        strValue.getProperties().clear();
-                                        strValue.getProperties().put(build, strProperty);
-                                    }
-                                    strValue.getProperties().putAll(strBaseValue.getProperties());
-                                }
-                                break;
-                            default:
-                        }
-                        detectedResult = true;
-                        break;
-                    }
-                }
-                if (!detectedResult) {
+                TestValue value = results.get(baseResult.getKey());
+                if (value == null) {
                     results.put(baseResult.getKey(), baseResult.getValue());
-                }
-            }
-            for (Map.Entry<Integer, TestValue> baseParam : mapper.getParameters().entrySet()) {
-                boolean detectedParam = false;
-                for (Map.Entry<Integer,TestValue> param : parameters.entrySet()) {
-                    if (param.getKey().intValue() == baseParam.getKey().intValue()) {
-                        TestValue value = param.getValue();
-                        switch (value.getType()) {
-                            case rt_double:
+                } else {
+                    switch (value.getType()) {
+                        case rt_double:
                             {
                                 DoubleValue dblValue = (DoubleValue) value;
-                                DoubleValue dblBaseValue = (DoubleValue) baseParam.getValue();
+                                DoubleValue dblBaseValue = (DoubleValue) baseResult.getValue();
                                 Double dblV = dblValue.getValues().get(0);
                                 dblValue.getValues().clear();
                                 dblValue.getValues().put(build, dblV);
                                 dblValue.getValues().putAll(dblBaseValue.getValues());
+                                dblValue.mergeSamples(build, dblBaseValue);
+                                dblValue.setSketch(dblBaseValue.getSketch());
+                                dblValue.setRolling(dblBaseValue.getRolling());
+                                dblValue.setDetector(dblBaseValue.getDetector());
+                                if (dblValue.getProperties().size() > 0) {
+                                    TestProperty dblProperty = dblValue.getProperties().get(0);
+                                    dblValue.getProperties().clear();
+                                    dblValue.getProperties().put(build, dblProperty);
+                                }
+                                dblValue.getProperties().putAll(dblBaseValue.getProperties());
                             }
                             break;
-                            case rt_integer:
+                        case rt_integer:
                             {
                                 IntegerValue intValue = (IntegerValue) value;
-                                IntegerValue intBaseValue = (IntegerValue) baseParam.getValue();
+                                IntegerValue intBaseValue = (IntegerValue) baseResult.getValue();
                                 Integer intV = intValue.getValues().get(0);
                                 intValue.getValues().clear();
                                 intValue.getValues().put(build, intV);
                                 intValue.getValues().putAll(intBaseValue.getValues());
+                                intValue.setSketch(intBaseValue.getSketch());
+                                intValue.setRolling(intBaseValue.getRolling());
+                                intValue.setDetector(intBaseValue.getDetector());
+                                if (intValue.getProperties().size() > 0) {
+                                    TestProperty intProperty = intValue.getProperties().get(0);
+                                    intValue.getProperties().clear();
+                                    intValue.getProperties().put(build, intProperty);
+                                }
+                                intValue.getProperties().putAll(intBaseValue.getProperties());
                             }
                             break;
-                            case rt_boolean:
+                        case rt_boolean:
                             {
                                 BooleanValue boolValue = (BooleanValue) value;
-                                BooleanValue boolBaseValue = (BooleanValue) baseParam.getValue();
+                                BooleanValue boolBaseValue = (BooleanValue) baseResult.getValue();
                                 Boolean boolV = boolValue.getValues().get(0);
                                 boolValue.getValues().clear();
                                 boolValue.getValues().put(build, boolV);
                                 boolValue.getValues().putAll(boolBaseValue.getValues());
+                                if (boolValue.getProperties().size() > 0) {
+                                    TestProperty boolProperty = boolValue.getProperties().get(0);
+                                    boolValue.getProperties().clear();
+                                    boolValue.getProperties().put(build, boolProperty);
+                                }
+                                boolValue.getProperties().putAll(boolBaseValue.getProperties());
                             }
                             break;
-                            case rt_string:
+                        case rt_string:
                             {
                                 StringValue strValue = (StringValue) value;
-                                StringValue strBaseValue = (StringValue) baseParam.getValue();
+                                StringValue strBaseValue = (StringValue) baseResult.getValue();
                                 String strV = strValue.getValues().get(0);
                                 strValue.getValues().clear();
                                 strValue.getValues().put(build, strV);
                                 strValue.getValues().putAll(strBaseValue.getValues());
+                                if (strValue.getProperties().size() > 0) {
+                                    TestProperty strProperty = strValue.getProperties().get(0);
+                                    strValue.getProperties().clear();
+                                    strValue.getProperties().put(build, strProperty);
+                                }
+                                strValue.getProperties().putAll(strBaseValue.getProperties());
                             }
                             break;
-                            default:
-                        }
-                        detectedParam = true;
-                        break;
+                        default:
                     }
                 }
-                if (!detectedParam) {
-                    parameters.put(baseParam.getKey(), baseParam.getValue());
-                }
             }
-            for (Map.Entry<Integer, TestGroup> baseFile : mapper.getFiles().entrySet()) {
-                boolean detectedFile = false;
-                for (Map.Entry<Integer,TestGroup> file : files.entrySet()) {
-                    if (file.getKey().intValue() == baseFile.getKey().intValue()) {
-                        detectedFile = true;
+            for (Map.Entry<Integer, TestValue> baseParam : mapper.getParameters().entrySet()) {
+                TestValue value = parameters.get(baseParam.getKey());
+                if (value == null) {
+                    parameters.put(baseParam.getKey(), baseParam.getValue());
+                } else {
+                    switch (value.getType()) {
+                        case rt_double:
+                        {
+                            DoubleValue dblValue = (DoubleValue) value;
+                            DoubleValue dblBaseValue = (DoubleValue) baseParam.getValue();
+                            Double dblV = dblValue.getValues().get(0);
+                            dblValue.getValues().clear();
+                            dblValue.getValues().put(build, dblV);
+                            dblValue.getValues().putAll(dblBaseValue.getValues());
+                        }
+                        break;
+                        case rt_integer:
+                        {
+                            IntegerValue intValue = (IntegerValue) value;
+                            IntegerValue intBaseValue = (IntegerValue) baseParam.getValue();
+                            Integer intV = intValue.getValues().get(0);
+                            intValue.getValues().clear();
+                            intValue.getValues().put(build, intV);
+                            intValue.getValues().putAll(intBaseValue.getValues());
+                        }
+                        break;
+                        case rt_boolean:
+                        {
+                            BooleanValue boolValue = (BooleanValue) value;
+                            BooleanValue boolBaseValue = (BooleanValue) baseParam.getValue();
+                            Boolean boolV = boolValue.getValues().get(0);
+                            boolValue.getValues().clear();
+                            boolValue.getValues().put(build, boolV);
+                            boolValue.getValues().putAll(boolBaseValue.getValues());
+                        }
+                        break;
+                        case rt_string:
+                        {
+                            StringValue strValue = (StringValue) value;
+                            StringValue strBaseValue = (StringValue) baseParam.getValue();
+                            String strV = strValue.getValues().get(0);
+                            strValue.getValues().clear();
+                            strValue.getValues().put(build, strV);
+                            strValue.getValues().putAll(strBaseValue.getValues());
+                        }
                         break;
+                        default:
                     }
                 }
-                if (!detectedFile) {
+            }
+            for (Map.Entry<Integer, TestGroup> baseFile : mapper.getFiles().entrySet()) {
+                if (!files.containsKey(baseFile.getKey())) {
                     files.put(baseFile.getKey(), baseFile.getValue());
                 }
             }
@@ -298,24 +301,18 @@ public class MapperBase {
      * @return Boolean whether thresholds were crossed or not
      */
     public boolean checkThresholds(MapperBase base)  {
+        clearStateCounts();
         boolean failed = false;
         for (Map.Entry<Integer,TestValue> result : results.entrySet()) {
             if (base != null && base.results.size() != 0) {
-                if (result.getValue().getType() == TestValue.ValueType.rt_double) {
-                    for (Map.Entry<Integer, TestValue> baseResult : base.getResults().entrySet()) {
-                        if (result.getKey().intValue() == baseResult.getKey().intValue()) {
-                            DoubleCondensed value = (DoubleCondensed) baseResult.getValue();
-                            result.getValue().checkThresholdStatus(value.getPrevious(), value.getAverage());
-                            break;
-                        }
-                    }
-                } else if (result.getValue().getType() == TestValue.ValueType.rt_integer) {
-                    for (Map.Entry<Integer, TestValue> baseResult : base.getResults().entrySet()) {
-                        if (result.getKey().intValue() == baseResult.getKey().intValue()) {
-                            IntegerCondensed value = (IntegerCondensed) baseResult.getValue();
-                            result.getValue().checkThresholdStatus(value.getPrevious().doubleValue(), value.getAverage());
-                            break;
-                        }
+                TestValue baseResult = base.getResults().get(result.getKey());
+                if (baseResult != null) {
+                    if (result.getValue().getType() == TestValue.ValueType.rt_double) {
+                        DoubleCondensed value = (DoubleCondensed) baseResult;
+                        result.getValue().checkThresholdStatus(value.getPrevious(), value.getAverage(), value);
+                    } else if (result.getValue().getType() == TestValue.ValueType.rt_integer) {
+                        IntegerCondensed value = (IntegerCondensed) baseResult;
+                        result.getValue().checkThresholdStatus(value.getPrevious() == null ? null : value.getPrevious().doubleValue(), value.getAverage(), value);
                     }
                 }
             } else {
@@ -359,6 +356,8 @@ public class MapperBase {
      */
     public void importFromFile (File inputFile, ContentDetected detected) throws NullPointerException, IOException, JsonIOException, JsonSyntaxException {
 
+        clearStateCounts();
+        PhaseTimer.recordFile(inputFile.length());
         Integer build = null;
         JsonParser parser = new JsonParser();
         try (InputStreamReader reader = new InputStreamReader(new FileInputStream(inputFile), StandardCharsets.UTF_8)) {
@@ -375,15 +374,22 @@ public class MapperBase {
                             JsonPrimitive primitive = element.getAsJsonPrimitive();
                             if (primitive.isNumber()) {
                                 build = primitive.getAsInt();
-                                this.build = build;
-                                this.builds.add(build);
                             }
                         }
                         break;
                     }
                 }
 
+                // Over the memory budget, the build is not loaded
+                if (build != null && footprint.skipBuild(build)) {
+                    build = null;
+                }
+
                 if (build != null) {
+                    this.build = build;
+                    this.builds.add(build);
+                    boolean details = !footprint.isDetailsDropped();
+
                     // Load parameters
                     for (Map.Entry<String, JsonElement> enContent : jsonObject.entrySet()) {
                         if (enContent.getKey().equalsIgnoreCase("parameters")) {
@@ -409,6 +415,10 @@ public class MapperBase {
                                 for (JsonElement aElement : array) {
                                     if (aElement.isJsonObject()) {
                                         JsonObject aObject = aElement.getAsJsonObject();
+                                        if (!details) {
+                                            aObject.remove("messages");
+                                            aObject.remove("parameters");
+                                        }
                                         TestValue.convertResultJsonObject(build, aObject, rootGroup, files, results, parameters);
                                     }
                                 }
@@ -418,18 +428,156 @@ public class MapperBase {
                 }
             }
         }
+        if (build != null) {
+            accountBuild(build);
+        }
+    }
+
+    /**
+     * Account the footprint of an imported build and degrade the history over its memory budget
+     * The first time over budget, the messages and parameters of all the loaded builds are released,
+     * the builds imported afterwards are loaded without them.
+     * @param build Build number
+     */
+    protected void accountBuild(int build) {
+        if (footprint.isDetailsDropped()) {
+            removeDetails(build);
+        }
+        accountStructure();
+        footprint.addBuild(build, getBuildFootprint(build, !footprint.isDetailsDropped()));
+        if (footprint.isOverBudget() && footprint.dropDetails()) {
+            for (Integer loaded : footprint.getBuilds()) {
+                removeDetails(loaded);
+                footprint.addBuild(loaded, getBuildFootprint(loaded, false));
+            }
+        }
+    }
+
+    /**
+     * Account the footprint of the groups, files, results and parameters, when their number changed
+     */
+    protected void accountStructure() {
+        int entities = groups.size() + files.size() + results.size() + parameters.size();
+        if (entities == accountedEntities) {
+            return;
+        }
+        accountedEntities = entities;
+        long bytes = groups.size() * (HeapFootprint.MAP_ENTRY + HeapFootprint.GROUP);
+        for (TestGroup file : files.values()) {
+            bytes += HeapFootprint.MAP_ENTRY + file.getFootprint();
+        }
+        for (TestValue result : results.values()) {
+            bytes += HeapFootprint.MAP_ENTRY + result.getFootprint();
+        }
+        for (TestValue parameter : parameters.values()) {
+            bytes += HeapFootprint.MAP_ENTRY + parameter.getFootprint();
+        }
+        footprint.setStructure(bytes);
+    }
+
+    /**
+     * Estimate the footprint of the content of a build
+     * @param build Build number
+     * @param details Whether to include messages and parameters
+     * @return Size in bytes
+     */
+    public long getBuildFootprint(int build, boolean details) {
+        long bytes = HeapFootprint.BOXED;
+        for (TestValue result : results.values()) {
+            bytes += result.getFootprint(build, details);
+        }
+        for (TestValue parameter : parameters.values()) {
+            bytes += parameter.getFootprint(build, details);
+        }
+        return bytes;
+    }
+
+    private void removeDetails(int build) {
+        for (TestValue result : results.values()) {
+            result.removeDetails(build);
+        }
+        for (TestValue parameter : parameters.values()) {
+            parameter.removeDetails(build);
+        }
+    }
+
+    /**
+     * Release the builds up to the last one skipped over the memory budget
+     * Builds are loaded in parallel, this keeps a history of consecutive builds.
+     */
+    public void trimSkippedBuilds() {
+        clearStateCounts();
+        Integer lastSkipped = footprint.getLastSkippedBuild();
+        if (lastSkipped == null) {
+            return;
+        }
+        for (Integer build : new ArrayList<Integer>(builds.headSet(lastSkipped, true))) {
+            for (TestValue result : results.values()) {
+                result.removeBuild(build);
+            }
+            for (TestValue parameter : parameters.values()) {
+                parameter.removeBuild(build);
+            }
+            builds.remove(build);
+            footprint.removeBuild(build);
+        }
+    }
+
+    /**
+     * Get the EWMA spans kept by the recent history of each result, as requested by the thresholds
+     * @return Spans by result hash
+     */
+    public Map<Integer, Set<Integer>> getEwmaSpans() {
+        Map<Integer, Set<Integer>> spans = new HashMap<Integer, Set<Integer>>();
+        for (Map.Entry<Integer, TestValue> result : results.entrySet()) {
+            if (result.getValue() instanceof NumeralValue) {
+                Set<Integer> resultSpans = ((NumeralValue) result.getValue()).getEwmaSpans();
+                if (!resultSpans.isEmpty()) {
+                    spans.put(result.getKey(), resultSpans);
+                }
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * Keep EWMAs in the recent history of the results, so that they are exported with the condensed file
+     * @param spans Spans by result hash
+     */
+    public void requestEwmaSpans(Map<Integer, Set<Integer>> spans) {
+        for (Map.Entry<Integer, Set<Integer>> entry : spans.entrySet()) {
+            TestValue result = results.get(entry.getKey());
+            if (result instanceof NumeralValue) {
+                ((NumeralValue) result).requestEwmaSpans(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Include builds published before the build of the condensed file but condensed after it
+     * @param late Late builds
+     */
+    public void includeLateBuilds(NavigableSet<Integer> late) {
+        for (TestValue result : results.values()) {
+            if (result instanceof NumeralValue) {
+                ((NumeralValue) result).includeLateBuilds(late);
+            }
+        }
     }
 
     /**
-     * Export data to Jenkins stored file
+     * Export data to Jenkins stored file, replaced in one step through a temporary file
      * @param outputFile Output file
      * @param job Job name
      * @param build  Build number
      * @return Whether export succeeded or not
      */
     public boolean exportToFile (String outputFile, String job, int build) {
+        File temporary = null;
         try {
-            OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8);
+            File target = new File(outputFile);
+            temporary = AtomicFile.createTemporary(target);
+            OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(temporary), StandardCharsets.UTF_8);
 
             JsonObject rootObject = new JsonObject();
             rootObject.addProperty("job", job);
@@ -454,8 +602,12 @@ public class MapperBase {
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
             gson.toJson(rootObject, writer);
             writer.close();
+            AtomicFile.replace(temporary, target);
             return true;
         } catch (IOException e) {
+            if (temporary != null) {
+                temporary.delete();
+            }
             return false;
         }
     }
@@ -469,7 +621,7 @@ public class MapperBase {
             return "";
         }
 
-        int nBuilds = this.builds.last() - this.builds.first() + 1;
+        int nBuilds = this.builds.size();
         List<Integer> listNFailed = new ArrayList<Integer>(Collections.nCopies(nBuilds,0));
         List<Integer> listNPassed = new ArrayList<Integer>(Collections.nCopies(nBuilds,0));
 
@@ -481,6 +633,65 @@ public class MapperBase {
         }
         body.append("</tbody>");
 
+        // Final assembly
+        StringBuffer content = getHTMLTableHeader(this.builds, listNPassed, listNFailed);
+        content.append(body);
+        return content.toString();
+    }
+
+    /**
+     * Get the HTML header and footer of the raw table, without body [TABLE PAGE]
+     * The body is served page by page through getTableData()
+     * @param buildWindow Builds displayed as columns
+     * @return HTML header and footer of the raw table
+     */
+    public String getHTMLTableHeader(TreeSet<Integer> buildWindow){
+        if (results.size() == 0 || buildWindow.size() == 0) {
+            return "";
+        }
+
+        Map<Integer, int[]> counts = getStateCounts();
+        List<Integer> listNFailed = new ArrayList<Integer>(buildWindow.size());
+        List<Integer> listNPassed = new ArrayList<Integer>(buildWindow.size());
+        for (Integer build : buildWindow.descendingSet()) {
+            int[] count = counts.get(build);
+            listNPassed.add((count == null) ? 0 : count[0]);
+            listNFailed.add((count == null) ? 0 : count[1]);
+        }
+        return getHTMLTableHeader(buildWindow, listNPassed, listNFailed).toString();
+    }
+
+    /**
+     * Get the number of passed and failed results of each build, counted on first use [TABLE PAGE]
+     * @return Passed and failed results by build number
+     */
+    private Map<Integer, int[]> getStateCounts() {
+        Map<Integer, int[]> counts = stateCounts;
+        if (counts == null) {
+            counts = new HashMap<Integer, int[]>();
+            for (TestValue result : results.values()) {
+                result.countStates(counts);
+            }
+            stateCounts = counts;
+        }
+        return counts;
+    }
+
+    /**
+     * Forget the state counts, once results or states are changed
+     */
+    protected void clearStateCounts() {
+        stateCounts = null;
+    }
+
+    /**
+     * Assemble the HTML header and footer of the raw table [TABLE PAGE]
+     * @param buildWindow Builds displayed as columns
+     * @param listNPassed Number of passed result test for each build
+     * @param listNFailed Number of failed result test for each build
+     * @return HTML header and footer
+     */
+    private StringBuffer getHTMLTableHeader(TreeSet<Integer> buildWindow, List<Integer> listNPassed, List<Integer> listNFailed){
         // Headers
         StringBuffer header_top = new StringBuffer();
         StringBuffer header_bot = new StringBuffer();
@@ -534,7 +745,7 @@ public class MapperBase {
         } else {
             header_top.append(Messages.MapperBase_Result());
         }
-        for (Integer build = this.builds.last(); build >= this.builds.first(); build--) {
+        for (Integer build : buildWindow.descendingSet()) {
             header_top.append("</th><th>");
             header_top.append(build.toString());
         }
@@ -552,7 +763,7 @@ public class MapperBase {
         }
         header_bot.append("</th><th rowspan=\"3\">");
         header_bot.append(Messages.MapperBase_ResultKey());
-        for (Integer build = this.builds.last(); build >= this.builds.first(); build--) {
+        for (Integer build : buildWindow.descendingSet()) {
             header_bot.append("</th><th>");
             header_bot.append(build.toString());
         }
@@ -574,10 +785,151 @@ public class MapperBase {
         }
         header_bot.append("</th></tr></tfoot>");
 
-        // Final assembly
         header_top.append(header_bot);
-        header_top.append(body);
-        return header_top.toString();
+        return header_top;
+    }
+
+    /**
+     * Get the builds displayed as columns of the raw table, newest first [TABLE PAGE]
+     * @param offset Number of builds skipped from the most recent one
+     * @param count Maximum number of builds, all builds if zero or negative
+     * @return Builds inside the window
+     */
+    public TreeSet<Integer> getBuildWindow(int offset, int count){
+        TreeSet<Integer> window = new TreeSet<Integer>();
+        int index = 0;
+        for (Integer build : this.builds.descendingSet()) {
+            if (count > 0 && index >= offset + count) {
+                break;
+            }
+            if (index >= offset) {
+                window.add(build);
+            }
+            index++;
+        }
+        return window;
+    }
+
+    /**
+     * Get one page of the raw table in the DataTables server-side format [TABLE PAGE]
+     * Only the requested slice of rows and build columns is generated.
+     * @param draw Draw counter sent back to DataTables
+     * @param start Index of the first row
+     * @param length Number of rows, all rows if negative
+     * @param search Text searched in the location, group, name and unit of results
+     * @param orderColumn Index of the sorted column
+     * @param ascending Whether the order is ascending
+     * @param buildWindow Builds displayed as columns
+     * @return Json object with draw, recordsTotal, recordsFiltered and data
+     */
+    public JsonObject getTableData(int draw, int start, int length, String search, int orderColumn, boolean ascending, TreeSet<Integer> buildWindow){
+
+        // Filter
+        List<Map.Entry<Integer, TestValue>> rows = new ArrayList<Map.Entry<Integer, TestValue>>();
+        String pattern = (search == null) ? "" : search.trim().toLowerCase(Locale.ROOT);
+        for (Map.Entry<Integer, TestValue> result : results.entrySet()) {
+            if (pattern.isEmpty()) {
+                rows.add(result);
+            } else {
+                for (String head : result.getValue().getTableHeads(detected)) {
+                    if (head.toLowerCase(Locale.ROOT).contains(pattern)) {
+                        rows.add(result);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Sort
+        final int heads = detected.getNumberOfHeads();
+        if (orderColumn >= 0 && orderColumn < heads) {
+            // Sort keys built once per row, not per comparison
+            final Map<Integer, String> keys = new HashMap<Integer, String>(rows.size() * 2);
+            for (Map.Entry<Integer, TestValue> row : rows) {
+                keys.put(row.getKey(), row.getValue().getTableHeads(detected).get(orderColumn));
+            }
+            Collections.sort(rows, new Comparator<Map.Entry<Integer, TestValue>>() {
+                @Override
+                public int compare(Map.Entry<Integer, TestValue> o1, Map.Entry<Integer, TestValue> o2) {
+                    return keys.get(o1.getKey()).compareToIgnoreCase(keys.get(o2.getKey()));
+                }
+            });
+        } else if (orderColumn > heads && orderColumn <= heads + buildWindow.size()) {
+            int index = heads + 1;
+            int sortBuild = buildWindow.last();
+            for (Integer build : buildWindow.descendingSet()) {
+                if (index == orderColumn) {
+                    sortBuild = build;
+                    break;
+                }
+                index++;
+            }
+            final int build = sortBuild;
+            Collections.sort(rows, new Comparator<Map.Entry<Integer, TestValue>>() {
+                @Override
+                public int compare(Map.Entry<Integer, TestValue> o1, Map.Entry<Integer, TestValue> o2) {
+                    return TestValue.compareValues(o1.getValue(), o2.getValue(), build);
+                }
+            });
+        } else {
+            Collections.sort(rows, new Comparator<Map.Entry<Integer, TestValue>>() {
+                @Override
+                public int compare(Map.Entry<Integer, TestValue> o1, Map.Entry<Integer, TestValue> o2) {
+                    return o1.getKey().compareTo(o2.getKey());
+                }
+            });
+        }
+        if (!ascending) {
+            Collections.reverse(rows);
+        }
+
+        // Page
+        int first = Math.max(0, Math.min(start, rows.size()));
+        int last = (length < 0) ? rows.size() : Math.min(rows.size(), first + length);
+        JsonArray data = new JsonArray();
+        for (Map.Entry<Integer, TestValue> row : rows.subList(first, last)) {
+            data.add(row.getValue().getJsonTableRow(row.getKey(), detected, buildWindow, decimalSeparator));
+        }
+
+        JsonObject object = new JsonObject();
+        object.addProperty("draw", draw);
+        object.addProperty("recordsTotal", results.size());
+        object.addProperty("recordsFiltered", rows.size());
+        object.add("data", data);
+        return object;
+    }
+
+    /**
+     * Select results by file, group and name, ordered by key [QUERY API]
+     * @param file File name, any file if null
+     * @param group Group name, any group if null
+     * @param name Pattern searched in the result name, any name if null
+     * @return Selected results
+     */
+    public List<Map.Entry<Integer, TestValue>> getFilteredResults(String file, String group, Pattern name){
+        List<Map.Entry<Integer, TestValue>> selected = new ArrayList<Map.Entry<Integer, TestValue>>();
+        for (Map.Entry<Integer, TestValue> result : results.entrySet()) {
+            TestValue value = result.getValue();
+            if (file != null) {
+                if (value.getParent() == null || !file.equals(value.getParent().getName())) {
+                    continue;
+                }
+            }
+            if (group != null && !group.equals(value.getGroup())) {
+                continue;
+            }
+            if (name != null && (value.getName() == null || !name.matcher(value.getName()).find())) {
+                continue;
+            }
+            selected.add(result);
+        }
+        Collections.sort(selected, new Comparator<Map.Entry<Integer, TestValue>>() {
+            @Override
+            public int compare(Map.Entry<Integer, TestValue> o1, Map.Entry<Integer, TestValue> o2) {
+                return o1.getKey().compareTo(o2.getKey());
+            }
+        });
+        return selected;
     }
 
     /**
@@ -599,7 +951,7 @@ public class MapperBase {
             content.append(',');
         }
         content.append(Messages.MapperBase_Result());
-        for (Integer build = this.builds.last(); build >= this.builds.first(); build--) {
+        for (Integer build : this.builds.descendingSet()) {
             content.append(',');
             content.append(build.toString());
         }
@@ -640,6 +992,29 @@ public class MapperBase {
         return content.toString();
     }
 
+    /**
+     * Stream the raw table to a writer, one line per result [CSV EXPORT]
+     * Rows are generated one at a time so memory does not grow with the size of the table.
+     * @param writer Destination of the CSV content
+     * @param states Whether the result states are written instead of the result values
+     * @throws IOException If the content cannot be written
+     */
+    public void writeCSVTable(Writer writer, boolean states) throws IOException {
+        if (results.size() == 0) {
+            return;
+        }
+        writer.write(getCSVTableHeader());
+        writer.write('\n');
+        for (Map.Entry<Integer, TestValue> result:results.entrySet()){
+            if (states) {
+                writer.write(result.getValue().getCSVResultState(result.getKey(), detected, builds));
+            } else {
+                writer.write(result.getValue().getCSVResult(builds, detected));
+            }
+            writer.write('\n');
+        }
+    }
+
     // Condensed content
 
     /**
@@ -677,6 +1052,12 @@ public class MapperBase {
             header.append("</th><th>");
             header.append(Messages.MapperBase_StdDeviation());
             header.append("</th><th>");
+            for (double percentile : NumeralValue.CONDENSED_PERCENTILES) {
+                header.append(Messages.MapperBase_Percentile(String.format("%.0f", percentile)));
+                header.append("</th><th>");
+            }
+            header.append(Messages.MapperBase_LastChangePoint());
+            header.append("</th><th>");
         }
         header.append(Messages.MapperBase_Passed());
         header.append("</th><th>");
@@ -728,6 +1109,12 @@ public class MapperBase {
             content.append(Messages.MapperBase_Average());
             content.append(',');
             content.append(Messages.MapperBase_StdDeviation());
+            for (double percentile : NumeralValue.CONDENSED_PERCENTILES) {
+                content.append(',');
+                content.append(Messages.MapperBase_Percentile(String.format("%.0f", percentile)));
+            }
+            content.append(',');
+            content.append(Messages.MapperBase_LastChangePoint());
         }
         content.append(',');
         content.append(Messages.MapperBase_Failed());
@@ -752,6 +1139,23 @@ public class MapperBase {
         return content.toString();
     }
 
+    /**
+     * Stream the condensed table to a writer, one line per result [CSV EXPORT]
+     * @param writer Destination of the CSV content
+     * @throws IOException If the content cannot be written
+     */
+    public void writeCSVCondensedTable(Writer writer) throws IOException {
+        if (results.size() == 0) {
+            return;
+        }
+        writer.write(getCSVCondensedTableHeader());
+        writer.write('\n');
+        for (TestValue result:results.values()){
+            writer.write(result.getCSVCondensed(detected));
+            writer.write('\n');
+        }
+    }
+
     /**
      * Import condensed results from file
      * @param inputFilename File name
@@ -782,6 +1186,8 @@ public class MapperBase {
      */
     public void importCondensedFromFile (File inputFile) throws NullPointerException, IOException, JsonIOException, JsonSyntaxException, ValidationException {
 
+        clearStateCounts();
+        PhaseTimer.recordFile(inputFile.length());
         Integer build = null;
         JsonParser parser = new JsonParser();
         try (InputStreamReader reader = new InputStreamReader(new FileInputStream(inputFile), StandardCharsets.UTF_8)) {
@@ -805,6 +1211,8 @@ public class MapperBase {
                 }
 
                 if (build != null) {
+                    condensedBuild = build;
+
                     // Load file groups
                     for (Map.Entry<String, JsonElement> enContent : jsonObject.entrySet()) {
                         if (enContent.getKey().equalsIgnoreCase("files")) {
@@ -855,18 +1263,22 @@ public class MapperBase {
                 }
             }
         }
+        accountStructure();
     }
 
     /**
-     * Export condensed results to file
+     * Export condensed results to file, replaced in one step through a temporary file
      * @param outputFile    Output file
      * @param job           Job name
      * @param build         Build number
      * @return Whether export was successful
      */
     public boolean exportCondensedToFile(String outputFile, String job, int build) {
+        File temporary = null;
         try {
-            OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8);
+            File target = new File(outputFile);
+            temporary = AtomicFile.createTemporary(target);
+            OutputStreamWriter writer = new OutputStreamWriter(new FileOutputStream(temporary), StandardCharsets.UTF_8);
 
             JsonObject rootObject = new JsonObject();
             rootObject.addProperty("job", job);
@@ -903,8 +1315,12 @@ public class MapperBase {
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
             gson.toJson(rootObject, writer);
             writer.close();
+            AtomicFile.replace(temporary, target);
             return true;
         } catch (IOException e) {
+            if (temporary != null) {
+                temporary.delete();
+            }
             return false;
         }
     }
@@ -933,6 +1349,10 @@ public class MapperBase {
             case tt_percentage:
             case tt_deltaAverage:
             case tt_percentageAverage:
+            case tt_percentile:
+            case tt_rollingAverage:
+            case tt_ewma:
+            case tt_significance:
                 this.hasHistoryThreshold = true;
                 break;
             default:
@@ -970,6 +1390,7 @@ public class MapperBase {
     // Setter
 
     public void setBuild(Integer build) { this.build = build; }
+    public void setFootprint(HeapFootprint footprint) { this.footprint = footprint; }
 
     // Getter
 
@@ -993,4 +1414,6 @@ public class MapperBase {
     public char getDecimalSeparator() { return decimalSeparator; }
 
     public Integer getBuild() { return build; }
+    public Integer getCondensedBuild() { return condensedBuild; }
+    public HeapFootprint getFootprint() { return footprint; }
 }
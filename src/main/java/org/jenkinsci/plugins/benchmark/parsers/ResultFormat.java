@@ -0,0 +1,102 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers;
+
+import hudson.ExtensionList;
+import hudson.ExtensionPoint;
+import jenkins.model.Jenkins;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+
+/**
+ * Reader of a result file format, listed with the schemas of the configuration page
+ *
+ * <p>
+ * Extensions read a file as a stream and push its content to a ResultSink, without going through a schema.
+ * Agent-side formats are sent to the agent that holds the workspace and read the files there, only their content is
+ * sent back to the controller. Fields of agent-side formats must then be serializable.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public abstract class ResultFormat implements ExtensionPoint, Serializable {
+
+    // Variables
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String PREFIX = "format:";
+
+    // Functions
+
+    public static ExtensionList<ResultFormat> all() {
+        return Jenkins.get().getExtensionList(ResultFormat.class);
+    }
+
+    /**
+     * Get a registered format
+     * @param selection Identifier of the format, with or without prefix
+     * @return Format or null if not registered
+     */
+    public static ResultFormat get(String selection) {
+        String id = selection.startsWith(PREFIX) ? selection.substring(PREFIX.length()) : selection;
+        for (ResultFormat format : all()) {
+            if (format.getId().equals(id)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    // Abstract functions
+
+    /**
+     * Read a file and push its content to the sink, between sink.beginFile and sink.endFile
+     * @param stream Content of the file
+     * @param fileName Name of the file
+     * @param sink Receiver of the content
+     * @throws IOException If the file cannot be read or is not in the format
+     */
+    public abstract void read(InputStream stream, String fileName, ResultSink sink) throws IOException;
+
+    // Getters
+
+    /**
+     * Identifier of the format, stored in the job configuration
+     * @return Identifier
+     */
+    public abstract String getId();
+    public abstract String getDisplayName();
+    public String getDescription() { return ""; }
+
+    /**
+     * Extension of the files to read, used with the file search pattern
+     * @return Extension without dot
+     */
+    public abstract String getExtension();
+
+    /**
+     * Whether files are read on the agent that holds the workspace
+     * @return True to read on the agent
+     */
+    public boolean isAgentSide() { return false; }
+}
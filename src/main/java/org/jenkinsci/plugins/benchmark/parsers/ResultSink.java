@@ -0,0 +1,87 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers;
+
+import java.io.IOException;
+
+/**
+ * Receiver of the content read by a result format
+ *
+ * <p>
+ * Readers push the content of a file as they read it, between beginFile and endFile. Results and parameters are
+ * located by the names of their groups, from the file down, the groups are created on first use. Values are Double
+ * or Float for decimal results, Integer or Long for integer results, Boolean or String. A double[] holds the
+ * repeated measurements of a decimal result, whose value is their mean.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public interface ResultSink {
+
+    /**
+     * Start of a file
+     * @param fileName Name of the file
+     * @throws IOException If the content cannot be received
+     */
+    void beginFile(String fileName) throws IOException;
+
+    /**
+     * Result of the file
+     * @param groups Names of the groups of the result, may be empty
+     * @param name Name of the result
+     * @param unit Unit of the result, may be null
+     * @param value Value of the result
+     * @throws IOException If the value type is not supported or the result already exists
+     */
+    void result(String[] groups, String name, String unit, Object value) throws IOException;
+
+    /**
+     * Parameter of a group, applied to all the results of the group and its sub-groups
+     * @param groups Names of the groups of the parameter, may be empty
+     * @param name Name of the parameter
+     * @param value Value of the parameter
+     * @throws IOException If the value type is not supported
+     */
+    void parameter(String[] groups, String name, Object value) throws IOException;
+
+    /**
+     * Message attached to a result already received
+     * @param groups Names of the groups of the result
+     * @param name Name of the result
+     * @param title Title of the message
+     * @param message Content of the message
+     * @throws IOException If the result does not exist
+     */
+    void message(String[] groups, String name, String title, String message) throws IOException;
+
+    /**
+     * Failure of a result already received
+     * @param groups Names of the groups of the result
+     * @param name Name of the result
+     * @throws IOException If the result does not exist
+     */
+    void failed(String[] groups, String name) throws IOException;
+
+    /**
+     * End of the file
+     * @throws IOException If the content cannot be received
+     */
+    void endFile() throws IOException;
+}
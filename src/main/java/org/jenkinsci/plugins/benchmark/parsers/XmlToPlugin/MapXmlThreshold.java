@@ -42,6 +42,9 @@ public class MapXmlThreshold {
         tt_maximum,
         tt_delta,
         tt_percentage,
+        tt_percentile,
+        tt_builds,
+        tt_confidence,
         tt_name,
         tt_description;
     }
@@ -52,6 +55,9 @@ public class MapXmlThreshold {
     private Double maximum;
     private Double delta;
     private Double percentage;
+    private Double percentile;
+    private Double builds;
+    private Double confidence;
 
     private Threshold threshold = null;
 
@@ -137,6 +143,60 @@ public class MapXmlThreshold {
                             }
                         }
                         break;
+
+                    case tt_percentile:
+                        if (percentile == null) {
+                            attributes = nContent.getAttributes();
+                            nItem = attributes.getLength();
+                            for (int i = 0; i < nItem; ++i){
+                                Node node = attributes.item(i);
+                                if(attrName.equals(node.getNodeName())) {
+                                    try {
+                                        percentile = Double.parseDouble(node.getTextContent());
+                                    } catch (Exception e){
+                                        throw new ValidationException( Messages.IncorrectDoubleForPercentile(parent.getFullName()) );
+                                    }
+                                    break;
+                                }
+                            }
+                        }
+                        break;
+
+                    case tt_builds:
+                        if (builds == null) {
+                            attributes = nContent.getAttributes();
+                            nItem = attributes.getLength();
+                            for (int i = 0; i < nItem; ++i){
+                                Node node = attributes.item(i);
+                                if(attrName.equals(node.getNodeName())) {
+                                    try {
+                                        builds = Double.parseDouble(node.getTextContent());
+                                    } catch (Exception e){
+                                        throw new ValidationException( Messages.IncorrectDoubleForBuilds(parent.getFullName()) );
+                                    }
+                                    break;
+                                }
+                            }
+                        }
+                        break;
+
+                    case tt_confidence:
+                        if (confidence == null) {
+                            attributes = nContent.getAttributes();
+                            nItem = attributes.getLength();
+                            for (int i = 0; i < nItem; ++i){
+                                Node node = attributes.item(i);
+                                if(attrName.equals(node.getNodeName())) {
+                                    try {
+                                        confidence = Double.parseDouble(node.getTextContent());
+                                    } catch (Exception e){
+                                        throw new ValidationException( Messages.IncorrectDoubleForConfidence(parent.getFullName()) );
+                                    }
+                                    break;
+                                }
+                            }
+                        }
+                        break;
                 }
             }
         }
@@ -216,6 +276,51 @@ public class MapXmlThreshold {
                                 }
                             }
                             break;
+
+                        case tt_percentile:
+                            if (percentile == null) {
+                                for (Node nCNode = nContent.getFirstChild(); nCNode != null; nCNode = nCNode.getNextSibling()) {
+                                    if (attrName.equals(nCNode.getNodeName())) {
+                                        try {
+                                            percentile = Double.parseDouble(nCNode.getTextContent());
+                                        } catch (Exception e){
+                                            throw new ValidationException( Messages.IncorrectDoubleForPercentile(parent.getFullName()) );
+                                        }
+                                        break;
+                                    }
+                                }
+                            }
+                            break;
+
+                        case tt_builds:
+                            if (builds == null) {
+                                for (Node nCNode = nContent.getFirstChild(); nCNode != null; nCNode = nCNode.getNextSibling()) {
+                                    if (attrName.equals(nCNode.getNodeName())) {
+                                        try {
+                                            builds = Double.parseDouble(nCNode.getTextContent());
+                                        } catch (Exception e){
+                                            throw new ValidationException( Messages.IncorrectDoubleForBuilds(parent.getFullName()) );
+                                        }
+                                        break;
+                                    }
+                                }
+                            }
+                            break;
+
+                        case tt_confidence:
+                            if (confidence == null) {
+                                for (Node nCNode = nContent.getFirstChild(); nCNode != null; nCNode = nCNode.getNextSibling()) {
+                                    if (attrName.equals(nCNode.getNodeName())) {
+                                        try {
+                                            confidence = Double.parseDouble(nCNode.getTextContent());
+                                        } catch (Exception e){
+                                            throw new ValidationException( Messages.IncorrectDoubleForConfidence(parent.getFullName()) );
+                                        }
+                                        break;
+                                    }
+                                }
+                            }
+                            break;
                     }
                 }
             }
@@ -267,6 +372,30 @@ public class MapXmlThreshold {
                                         thresholdDetected = true;
                                         break;
                                     }
+                                    case "percentile": {
+                                        PercentileThreshold thres = new PercentileThreshold(percentile, percentage);
+                                        threshold = thres;
+                                        thresholdDetected = true;
+                                        break;
+                                    }
+                                    case "rollingaverage": {
+                                        RollingAverageThreshold thres = new RollingAverageThreshold(builds == null ? null : builds.intValue(), percentage);
+                                        threshold = thres;
+                                        thresholdDetected = true;
+                                        break;
+                                    }
+                                    case "ewma": {
+                                        EwmaThreshold thres = new EwmaThreshold(builds == null ? null : builds.intValue(), percentage);
+                                        threshold = thres;
+                                        thresholdDetected = true;
+                                        break;
+                                    }
+                                    case "significance": {
+                                        SignificanceThreshold thres = new SignificanceThreshold(builds == null ? null : builds.intValue(), confidence);
+                                        threshold = thres;
+                                        thresholdDetected = true;
+                                        break;
+                                    }
                                 }
                                 break;
                             }
@@ -322,6 +451,30 @@ public class MapXmlThreshold {
                                             thresholdDetected = true;
                                             break;
                                         }
+                                        case "percentile": {
+                                            PercentileThreshold thres = new PercentileThreshold(percentile, percentage);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
+                                        case "rollingaverage": {
+                                            RollingAverageThreshold thres = new RollingAverageThreshold(builds == null ? null : builds.intValue(), percentage);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
+                                        case "ewma": {
+                                            EwmaThreshold thres = new EwmaThreshold(builds == null ? null : builds.intValue(), percentage);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
+                                        case "significance": {
+                                            SignificanceThreshold thres = new SignificanceThreshold(builds == null ? null : builds.intValue(), confidence);
+                                            threshold = thres;
+                                            thresholdDetected = true;
+                                            break;
+                                        }
                                     }
                                     break;
                                 }
@@ -365,6 +518,26 @@ public class MapXmlThreshold {
                     threshold = thres;
                     break;
                 }
+                case "percentile": {
+                    PercentileThreshold thres = new PercentileThreshold(percentile, percentage);
+                    threshold = thres;
+                    break;
+                }
+                case "rollingaverage": {
+                    RollingAverageThreshold thres = new RollingAverageThreshold(builds == null ? null : builds.intValue(), percentage);
+                    threshold = thres;
+                    break;
+                }
+                case "ewma": {
+                    EwmaThreshold thres = new EwmaThreshold(builds == null ? null : builds.intValue(), percentage);
+                    threshold = thres;
+                    break;
+                }
+                case "significance": {
+                    SignificanceThreshold thres = new SignificanceThreshold(builds == null ? null : builds.intValue(), confidence);
+                    threshold = thres;
+                    break;
+                }
             }
         }
     }
@@ -410,6 +583,12 @@ public class MapXmlThreshold {
                         return ThresholdTags.tt_delta;
                     case "jbs:percentage":
                         return ThresholdTags.tt_percentage;
+                    case "jbs:percentile":
+                        return ThresholdTags.tt_percentile;
+                    case "jbs:builds":
+                        return ThresholdTags.tt_builds;
+                    case "jbs:confidence":
+                        return ThresholdTags.tt_confidence;
                     default:
                         return ThresholdTags.tt_unknown;
                 }
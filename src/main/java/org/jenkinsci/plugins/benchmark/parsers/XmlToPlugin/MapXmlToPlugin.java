@@ -24,6 +24,7 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,6 +35,7 @@ import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
 import org.jenkinsci.plugins.benchmark.results.TestGroup;
 import org.jenkinsci.plugins.benchmark.results.TestValue;
 import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
 import org.w3c.dom.*;
 import org.xml.sax.SAXException;
 
@@ -206,7 +208,9 @@ public class MapXmlToPlugin extends MapperBase {
      */
     private Document getXML(FilePath xmlFile) throws ParserConfigurationException, SAXException, IOException, InterruptedException {
         DocumentBuilder builder = createDocumentBuilder();
-        return builder.parse(xmlFile.read());
+        try (InputStream stream = PhaseTimer.countFile(xmlFile.read())) {
+            return builder.parse(stream);
+        }
     }
 
     /**
@@ -19,6 +19,7 @@
 package org.jenkinsci.plugins.benchmark.results;
 
 import com.google.gson.JsonObject;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -161,6 +162,21 @@ public class BooleanValue extends TestValue {
         }
     }
 
+    @Override
+    public long getFootprint(int build, boolean details) {
+        long bytes = super.getFootprint(build, details);
+        if (values.containsKey(build)) {
+            bytes += HeapFootprint.MAP_ENTRY + HeapFootprint.BOXED;
+        }
+        return bytes;
+    }
+
+    @Override
+    public void removeBuild(int build) {
+        super.removeBuild(build);
+        values.remove(build);
+    }
+
     // Setter
 
     public void setValue( boolean value ){ this.values.put(0, value); }
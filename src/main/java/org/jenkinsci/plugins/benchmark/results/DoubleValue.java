@@ -22,10 +22,11 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
 import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
 
 import java.io.InvalidClassException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import static java.lang.Math.sqrt;
 
@@ -39,38 +40,41 @@ public class DoubleValue extends NumeralValue {
 
     // Variables
 
-    protected final ConcurrentHashMap<Integer, Double> values;
+    protected final ConcurrentSkipListMap<Integer, Double> values;
+
+    // Repeated measurements by build, allocated by the first build with samples
+    private volatile ConcurrentSkipListMap<Integer, Samples> samples;
 
     // Constructor
 
     public DoubleValue(TestGroup parent, String group, String name) {
         super(parent, group, name, null, null, ValueType.rt_double);
-        this.values = new ConcurrentHashMap<Integer, Double>();
+        this.values = new ConcurrentSkipListMap<Integer, Double>();
     }
 
     public DoubleValue(TestGroup parent, String group, String name, String unit) {
         super(parent, group, name, null, unit, ValueType.rt_double);
-        this.values = new ConcurrentHashMap<Integer, Double>();
+        this.values = new ConcurrentSkipListMap<Integer, Double>();
     }
 
     public DoubleValue(TestGroup parent, String group, String name, String description, String unit) {
         super(parent, group, name, description, unit, ValueType.rt_double);
-        this.values = new ConcurrentHashMap<Integer, Double>();
+        this.values = new ConcurrentSkipListMap<Integer, Double>();
     }
 
     public DoubleValue(TestGroup parent, String group, String name, ClassType ctype) {
         super(parent, group, name, null, null, ValueType.rt_double, ctype);
-        this.values = new ConcurrentHashMap<Integer, Double>();
+        this.values = new ConcurrentSkipListMap<Integer, Double>();
     }
 
     public DoubleValue(TestGroup parent, String group, String name, String unit, ClassType ctype) {
         super(parent, group, name, null, unit, ValueType.rt_double, ctype);
-        this.values = new ConcurrentHashMap<Integer, Double>();
+        this.values = new ConcurrentSkipListMap<Integer, Double>();
     }
 
     public DoubleValue(TestGroup parent, String group, String name, String description, String unit, ClassType ctype) {
         super(parent, group, name, description, unit, ValueType.rt_double, ctype);
-        this.values = new ConcurrentHashMap<Integer, Double>();
+        this.values = new ConcurrentSkipListMap<Integer, Double>();
     }
 
     // Functions
@@ -81,14 +85,12 @@ public class DoubleValue extends NumeralValue {
      * @return previous
      */
     public Double getPreviousValue(int build) {
-        while (build > 0){
-            Double value = this.values.get(build);
-            if (value != null) {
-                return value;
-            }
-            build--;
+        // Key 0 holds the value of the current build before merge and is not part of the history
+        Map.Entry<Integer, Double> entry = this.values.floorEntry(build);
+        if (entry == null || entry.getKey() <= 0) {
+            return null;
         }
-        return null;
+        return entry.getValue();
     }
 
     /**
@@ -118,6 +120,44 @@ public class DoubleValue extends NumeralValue {
         }
     }
 
+    /**
+     * Get the samples of the previous build
+     * @param build Build number
+     * @return samples of the closest build at or before the given one, null if that build has none
+     */
+    public Samples getPreviousSamples(int build) {
+        Map.Entry<Integer, Double> entry = this.values.floorEntry(build);
+        if (entry == null || entry.getKey() <= 0) {
+            return null;
+        }
+        return getSamples(entry.getKey());
+    }
+
+    /**
+     * Calculate the average standard deviation of the samples within builds, excluding failed builds
+     * @return average, null if no build has samples
+     */
+    public Double calculateSampleStdDeviation() {
+        if (this.samples == null) {
+            return null;
+        }
+        int number = 0;
+        double sum = 0.0;
+        for (Map.Entry<Integer, Samples> entry : this.samples.entrySet()) {
+            TestProperty property = this.properties.get(entry.getKey());
+            Boolean failedState = (property == null) ? null : property.getFailedState();
+            if (failedState == null || failedState == false) {
+                sum += entry.getValue().getStdDeviation();
+                number++;
+            }
+        }
+        if (number == 0) {
+            return null;
+        } else {
+            return sum / number;
+        }
+    }
+
     /**
      * Create an JSON object with the condensed information of this result [EXPORT CONDENSED]
      * @param build Build Number
@@ -133,6 +173,7 @@ public class DoubleValue extends NumeralValue {
         Double minimum = null;
         Double maximum = null;
         Double std_deviation = null;
+        Double sample_std_deviation = null;
 
         // Calculate condensed values
         Double average = calculateAverage();
@@ -171,6 +212,7 @@ public class DoubleValue extends NumeralValue {
                 }
             }
             std_deviation = sqrt(std_deviation/number);
+            sample_std_deviation = calculateSampleStdDeviation();
         }
 
         // Assemble JSON object
@@ -202,9 +244,19 @@ public class DoubleValue extends NumeralValue {
             object.addProperty("std_deviation", std_deviation);
             object.addProperty("minimum", minimum);
             object.addProperty("maximum", maximum);
+            if (sample_std_deviation != null) {
+                object.addProperty("sample_std_deviation", sample_std_deviation);
+                Samples previous = this.getPreviousSamples(build);
+                if (previous != null) {
+                    object.addProperty("confidence", previous.getConfidence());
+                }
+            }
         }
         object.addProperty("failed", failed);
         object.addProperty("passed", passed);
+        object.add("sketch", this.calculateSketch(build).getJsonObject());
+        object.add("rolling", this.calculateRolling(build).getJsonObject());
+        object.add("change_points", this.calculateChanges(build).getJsonObject());
         return object;
     }
 
@@ -217,7 +269,7 @@ public class DoubleValue extends NumeralValue {
     @Override
     public JsonArray getDataAsJsonArray(TreeSet<Integer> buildNumbers) throws InvalidClassException {
         JsonArray array = new JsonArray();
-        for (Integer build = buildNumbers.last(); build >= buildNumbers.first(); build--) {
+        for (Integer build : buildNumbers.descendingSet()) {
             JsonObject object = new JsonObject();
             Double value = this.getValue(build);
             if (value == null) {
@@ -242,6 +294,14 @@ public class DoubleValue extends NumeralValue {
     public JsonObject getJsonObject(int hash) {
         JsonObject object = super.getJsonObject(hash);
         object.addProperty("value", this.getValue());
+        Samples current = this.getSamples(0);
+        if (current != null && current.getValues() != null) {
+            JsonArray array = new JsonArray();
+            for (double sample : current.getValues()) {
+                array.add(sample);
+            }
+            object.add("samples", array);
+        }
         return object;
     }
 
@@ -276,19 +336,61 @@ public class DoubleValue extends NumeralValue {
         }
     }
 
+    /**
+     * Generate the HTML detail content for this result and for a determined build [DETAIL PAGE]
+     * Adds the statistics of the samples when the build has some.
+     * @param build Build number
+     * @param decimalSeparator Decimal Separator
+     * @return HTML detail for this result
+     */
+    @Override
+    public String getHTMLDetails(Integer build, char decimalSeparator) {
+        StringBuffer content = new StringBuffer(super.getHTMLDetails(build, decimalSeparator));
+        Samples current = this.getSamples(build);
+        if (current != null) {
+            content.append("<tr><td>");
+            content.append(Messages.Samples());
+            content.append("</td><td>");
+            content.append(Integer.toString(current.getCount()));
+            content.append("</td></tr><tr><td>");
+            content.append(Messages.SampleStdDeviation());
+            content.append("</td><td>");
+            content.append(String.format("%6g", current.getStdDeviation()));
+            content.append("</td></tr><tr><td>");
+            content.append(Messages.Confidence95());
+            content.append("</td><td>");
+            content.append(String.format("%6g", current.getLower()));
+            content.append(" - ");
+            content.append(String.format("%6g", current.getUpper()));
+            content.append("</td></tr>");
+        }
+        return content.toString();
+    }
+
     /**
      * Check attached thresholds to verify result validity.
+     * With samples, a threshold fails only when the whole 95% confidence interval of the mean fails it, so that
+     * the noise of the measurements alone does not fail a build.
      * @param previous Previous value
      * @param average Calculated average
+     * @param baseline Same result in the history, may be null
      */
     @Override
-    public void checkThresholdStatus(Double previous, Double average) {
+    public void checkThresholdStatus(Double previous, Double average, NumeralValue baseline) {
         List<Threshold> list = getAllConnectedThresholds();
+        Samples current = this.getSamples(0);
         for (Threshold threshold : list) {
             try {
                 threshold.setAverageValue(average);
                 threshold.setPreviousValue(previous);
-                threshold.isValid(values.get(0));
+                threshold.setBaseline(baseline);
+                try {
+                    threshold.isValid(values.get(0));
+                } catch (ValidationException e) {
+                    if (current == null || current.getConfidence() == 0.0 || !(isValid(threshold, current.getLower()) || isValid(threshold, current.getUpper()))) {
+                        throw e;
+                    }
+                }
                 setFailedState(false);
             } catch (ValidationException e) {
                 setMessage(threshold.getName(), e.getMessage());
@@ -297,16 +399,106 @@ public class DoubleValue extends NumeralValue {
         }
     }
 
+    private static boolean isValid(Threshold threshold, double value) {
+        try {
+            return threshold.isValid(value);
+        } catch (ValidationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long getFootprint(int build, boolean details) {
+        long bytes = super.getFootprint(build, details);
+        if (values.containsKey(build)) {
+            bytes += HeapFootprint.SORTED_ENTRY + HeapFootprint.BOXED + HeapFootprint.BOXED;
+        }
+        Samples current = getSamples(build);
+        if (current != null) {
+            bytes += HeapFootprint.SORTED_ENTRY + HeapFootprint.BOXED + current.getFootprint();
+        }
+        return bytes;
+    }
+
+    /**
+     * Release the messages, parameters and measurements of a build, the statistics of the samples are kept
+     * @param build Build number
+     */
+    @Override
+    public void removeDetails(int build) {
+        super.removeDetails(build);
+        Samples current = getSamples(build);
+        if (current != null) {
+            this.samples.put(build, current.withoutValues());
+        }
+    }
+
+    @Override
+    public void removeBuild(int build) {
+        super.removeBuild(build);
+        values.remove(build);
+        if (samples != null) {
+            samples.remove(build);
+        }
+    }
+
+    /**
+     * Move the samples of the current build to its build number and add the samples of the history
+     * @param build Build number
+     * @param base Same result in the history
+     */
+    public void mergeSamples(int build, DoubleValue base) {
+        if (this.samples != null) {
+            Samples current = this.samples.remove(0);
+            if (current != null) {
+                this.samples.put(build, current);
+            }
+        }
+        if (base.samples != null) {
+            getSamplesMap().putAll(base.samples);
+        }
+    }
+
+    private ConcurrentSkipListMap<Integer, Samples> getSamplesMap() {
+        ConcurrentSkipListMap<Integer, Samples> map = this.samples;
+        if (map == null) {
+            synchronized (this) {
+                map = this.samples;
+                if (map == null) {
+                    map = new ConcurrentSkipListMap<Integer, Samples>();
+                    this.samples = map;
+                }
+            }
+        }
+        return map;
+    }
+
     // Setter
 
     public void setValue(double value) { this.values.put(0, value); }
     public void setValue(int build, double value) { this.values.put(build, value); }
+    public void setSamples(Samples samples) { getSamplesMap().put(0, samples); }
+    public void setSamples(int build, Samples samples) { getSamplesMap().put(build, samples); }
 
     // Getter
 
+    @Override
+    public Double getNumericValue(int build) {
+        return this.values.get(build);
+    }
+
+    @Override
+    protected NavigableSet<Integer> getNumericBuilds() { return this.values.navigableKeySet(); }
+
     public Map<Integer, Double> getValues() { return this.values; }
     public Double getValue() throws NullPointerException { return this.values.get(0); }
     public Double getValue(int build) throws NullPointerException { return this.values.get(build); }
 
+    @Override
+    public Samples getSamples(int build) {
+        ConcurrentSkipListMap<Integer, Samples> map = this.samples;
+        return (map == null) ? null : map.get(build);
+    }
+
 
 }
\ No newline at end of file
@@ -22,10 +22,11 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
 import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
 
 import java.io.InvalidClassException;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import static java.lang.Math.sqrt;
 
@@ -39,43 +40,43 @@ public class IntegerValue extends NumeralValue {
 
     // Variables
 
-    protected final ConcurrentHashMap<Integer, Integer> values;
+    protected final ConcurrentSkipListMap<Integer, Integer> values;
 
     // Constructor
 
     public IntegerValue(TestGroup parent, String group,  String name){
         super(parent, group, name, null, null, ValueType.rt_integer);
-        this.values = new ConcurrentHashMap<Integer, Integer>();
+        this.values = new ConcurrentSkipListMap<Integer, Integer>();
     }
 
     public IntegerValue(TestGroup parent, String group, String name, String unit){
         super(parent, group, name, null, unit, ValueType.rt_integer);
-        this.values = new ConcurrentHashMap<Integer, Integer>();
+        this.values = new ConcurrentSkipListMap<Integer, Integer>();
     }
 
     public IntegerValue(TestGroup parent, String group, String name, String description, String unit){
         super(parent, group, name, description, unit, ValueType.rt_integer);
-        this.values = new ConcurrentHashMap<Integer, Integer>();
+        this.values = new ConcurrentSkipListMap<Integer, Integer>();
     }
 
     public IntegerValue(TestGroup parent, String name, ClassType ctype){
         super(parent, null, name, null,null, ValueType.rt_integer, ctype);
-        this.values = new ConcurrentHashMap<Integer, Integer>();
+        this.values = new ConcurrentSkipListMap<Integer, Integer>();
     }
 
     public IntegerValue(TestGroup parent, String name, String unit, ClassType ctype){
         super(parent, null, name, null, unit, ValueType.rt_integer, ctype);
-        this.values = new ConcurrentHashMap<Integer, Integer>();
+        this.values = new ConcurrentSkipListMap<Integer, Integer>();
     }
 
     public IntegerValue(TestGroup parent, String group, String name, String unit, ClassType ctype){
         super(parent, group, name, null, unit, ValueType.rt_integer, ctype);
-        this.values = new ConcurrentHashMap<Integer, Integer>();
+        this.values = new ConcurrentSkipListMap<Integer, Integer>();
     }
 
     public IntegerValue(TestGroup parent, String group, String name, String description, String unit, ClassType ctype){
         super(parent, group, name, description, unit, ValueType.rt_integer, ctype);
-        this.values = new ConcurrentHashMap<Integer, Integer>();
+        this.values = new ConcurrentSkipListMap<Integer, Integer>();
     }
 
     // Functions
@@ -85,15 +86,13 @@ public class IntegerValue extends NumeralValue {
      * @param build Build number
      * @return previous
      */
-    public Double getPreviousValue(int build){
-        while (build > 0){
-            Integer value = this.values.get(build);
-            if (value != null) {
-                return value.doubleValue();
-            }
-            build--;
+    public Double getPreviousValue(int build) {
+        // Key 0 holds the value of the current build before merge and is not part of the history
+        Map.Entry<Integer, Integer> entry = this.values.floorEntry(build);
+        if (entry == null || entry.getKey() <= 0) {
+            return null;
         }
-        return null;
+        return entry.getValue().doubleValue();
     }
 
     /**
@@ -210,6 +209,9 @@ public class IntegerValue extends NumeralValue {
         }
         object.addProperty("failed", failed);
         object.addProperty("passed", passed);
+        object.add("sketch", this.calculateSketch(build).getJsonObject());
+        object.add("rolling", this.calculateRolling(build).getJsonObject());
+        object.add("change_points", this.calculateChanges(build).getJsonObject());
         return object;
     }
 
@@ -222,7 +224,7 @@ public class IntegerValue extends NumeralValue {
     @Override
     public JsonArray getDataAsJsonArray(TreeSet<Integer> buildNumbers) throws InvalidClassException {
         JsonArray array = new JsonArray();
-        for (Integer build = buildNumbers.last(); build >= buildNumbers.first(); build--) {
+        for (Integer build : buildNumbers.descendingSet()) {
             JsonObject object = new JsonObject();
             Integer value = this.getValue(build);
             if (value == null) {
@@ -285,14 +287,16 @@ public class IntegerValue extends NumeralValue {
      * Check attached thresholds to verify result validity.
      * @param previous Previous value
      * @param average Calculated average
+     * @param baseline Same result in the history, may be null
      */
     @Override
-    public void checkThresholdStatus(Double previous, Double average) {
+    public void checkThresholdStatus(Double previous, Double average, NumeralValue baseline) {
         List<Threshold> list = getAllConnectedThresholds();
         for (Threshold threshold : list) {
             try {
                 threshold.setAverageValue(average);
                 threshold.setPreviousValue(previous);
+                threshold.setBaseline(baseline);
                 threshold.isValid(values.get(0));
                 setFailedState(false);
             } catch (ValidationException e) {
@@ -302,6 +306,21 @@ public class IntegerValue extends NumeralValue {
         }
     }
 
+    @Override
+    public long getFootprint(int build, boolean details) {
+        long bytes = super.getFootprint(build, details);
+        if (values.containsKey(build)) {
+            bytes += HeapFootprint.SORTED_ENTRY + HeapFootprint.BOXED + HeapFootprint.BOXED;
+        }
+        return bytes;
+    }
+
+    @Override
+    public void removeBuild(int build) {
+        super.removeBuild(build);
+        values.remove(build);
+    }
+
     // Setter
 
     public void setValue( int value ){ this.values.put(0, value); }
@@ -309,6 +328,15 @@ public class IntegerValue extends NumeralValue {
 
     // Getter
 
+    @Override
+    public Double getNumericValue(int build) {
+        Integer value = this.values.get(build);
+        return (value == null) ? null : value.doubleValue();
+    }
+
+    @Override
+    protected NavigableSet<Integer> getNumericBuilds() { return this.values.navigableKeySet(); }
+
     public Map<Integer, Integer> getValues() { return this.values; }
     public Integer getValue() throws NullPointerException { return this.values.get(0); }
     public Integer getValue(int build) throws NullPointerException { return this.values.get(build); }
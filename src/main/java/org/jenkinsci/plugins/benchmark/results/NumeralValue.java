@@ -20,11 +20,20 @@ package org.jenkinsci.plugins.benchmark.results;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import org.jenkinsci.plugins.benchmark.utilities.ChangeDetector;
+import org.jenkinsci.plugins.benchmark.utilities.ChartDownsampler;
 import org.jenkinsci.plugins.benchmark.utilities.ContentDetected;
+import org.jenkinsci.plugins.benchmark.utilities.QuantileSketch;
+import org.jenkinsci.plugins.benchmark.utilities.RollingBaseline;
 import org.jenkinsci.plugins.benchmark.utilities.TextToHTML;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 
@@ -38,6 +47,17 @@ public class NumeralValue extends TestValue {
 
     // Variables
 
+    // Percentiles of the history listed in the condensed tables
+    public static final double[] CONDENSED_PERCENTILES = {50.0, 90.0, 99.0};
+
+    // Quantile sketch of the history, up to the build of the condensed file
+    protected volatile QuantileSketch sketch = null;
+
+    // Values of the last builds and moving averages, up to the build of the condensed file
+    protected volatile RollingBaseline rolling = null;
+
+    // Change-point detection over the history, up to the build of the condensed file
+    protected volatile ChangeDetector detector = null;
 
     // Constructor
 
@@ -57,8 +77,290 @@ public class NumeralValue extends TestValue {
         super(parent, group, name, description, unit, type, ctype);
     }
 
+    // Functions
+
+    /**
+     * Calculate the quantile sketch of the history up to a build [EXPORT CONDENSED]
+     * Starts from the sketch of the condensed file and only adds the builds published since, failed builds excluded.
+     * Without sketch, all loaded builds are added.
+     * @param build Last build of the history
+     * @return New sketch
+     */
+    public QuantileSketch calculateSketch(int build) {
+        QuantileSketch result = (this.sketch == null) ? new QuantileSketch() : this.sketch.copy();
+        int from = result.getBuild();
+        if (build > from) {
+            // Key 0 holds the value of the current build before merge and is not part of the history
+            for (Integer number : this.getNumericBuilds().subSet(from, false, build, true)) {
+                Boolean failedState = this.getFailedState(number);
+                if (failedState == null || failedState == false) {
+                    Double value = this.getNumericValue(number);
+                    if (value != null) {
+                        result.add(value);
+                    }
+                }
+            }
+            result.setBuild(build);
+        }
+        return result;
+    }
+
+    /**
+     * Calculate the quantile sketch of the whole loaded history [THRESHOLD]
+     * @return New sketch
+     */
+    public QuantileSketch calculateSketch() {
+        NavigableSet<Integer> builds = this.getNumericBuilds();
+        return calculateSketch(builds.isEmpty() ? 0 : builds.last());
+    }
+
+    /**
+     * Calculate the recent history up to a build [EXPORT CONDENSED]
+     * Starts from the recent history of the condensed file and only adds the builds published since, failed builds
+     * excluded. Without recent history, the last loaded builds are added.
+     * @param build Last build of the history
+     * @return New recent history
+     */
+    public RollingBaseline calculateRolling(int build) {
+        RollingBaseline result = (this.rolling == null) ? new RollingBaseline() : this.rolling.copy();
+        int from = result.getBuild();
+        if (build > from) {
+            for (Integer number : this.getNumericBuilds().subSet(from, false, build, true)) {
+                Boolean failedState = this.getFailedState(number);
+                if (failedState == null || failedState == false) {
+                    Double value = this.getNumericValue(number);
+                    if (value != null) {
+                        result.add(value);
+                    }
+                }
+            }
+            result.setBuild(build);
+        }
+        return result;
+    }
+
+    /**
+     * Get the recent history up to the last loaded build [THRESHOLD]
+     * The recent history is brought up to date once and kept, so that the windows and moving averages requested by
+     * the thresholds are kept with it when exported.
+     * @return Recent history
+     */
+    public synchronized RollingBaseline getRollingBaseline() {
+        NavigableSet<Integer> builds = this.getNumericBuilds();
+        int last = builds.isEmpty() ? 0 : builds.last();
+        if (this.rolling == null || this.rolling.getBuild() < last) {
+            this.rolling = calculateRolling(last);
+        }
+        return this.rolling;
+    }
+
+    /**
+     * Calculate the change points of the history up to a build [EXPORT CONDENSED][DETAIL PAGE]
+     * Starts from the detector of the condensed file and only adds the builds published since, failed builds
+     * excluded. Without detector, all loaded builds are added.
+     * @param build Last build of the history
+     * @return New detector
+     */
+    public ChangeDetector calculateChanges(int build) {
+        ChangeDetector result = (this.detector == null) ? new ChangeDetector() : this.detector.copy();
+        int from = result.getBuild();
+        if (build > from) {
+            for (Integer number : this.getNumericBuilds().subSet(from, false, build, true)) {
+                Boolean failedState = this.getFailedState(number);
+                if (failedState == null || failedState == false) {
+                    Double value = this.getNumericValue(number);
+                    if (value != null) {
+                        result.add(number, value);
+                    }
+                }
+            }
+            result.setBuild(build);
+        }
+        return result;
+    }
+
+    /**
+     * Calculate the change points of the whole loaded history [DETAIL PAGE]
+     * @return New detector
+     */
+    public ChangeDetector calculateChanges() {
+        NavigableSet<Integer> builds = this.getNumericBuilds();
+        return calculateChanges(builds.isEmpty() ? 0 : builds.last());
+    }
+
+    /**
+     * Include builds published before the build of the condensed file but condensed after it [COMPACTION]
+     * The values of the late builds are added to the sketch. The recent history and the change points depend on
+     * the order of the builds and are calculated again from the loaded history.
+     * @param late Late builds
+     */
+    public synchronized void includeLateBuilds(NavigableSet<Integer> late) {
+        Set<Integer> spans = getEwmaSpans();
+        QuantileSketch current = this.sketch;
+        if (current != null) {
+            QuantileSketch result = current.copy();
+            NavigableSet<Integer> builds = this.getNumericBuilds();
+            for (Integer number : late) {
+                if (number > current.getBuild() || !builds.contains(number)) {
+                    continue;
+                }
+                Boolean failedState = this.getFailedState(number);
+                if (failedState == null || failedState == false) {
+                    Double value = this.getNumericValue(number);
+                    if (value != null) {
+                        result.add(value);
+                    }
+                }
+            }
+            this.sketch = result;
+        }
+        this.rolling = null;
+        this.detector = null;
+        requestEwmaSpans(spans);
+    }
+
+    /**
+     * Get the EWMA spans kept by the recent history [EXPORT CONDENSED]
+     * @return Spans in number of builds
+     */
+    public Set<Integer> getEwmaSpans() {
+        RollingBaseline current = this.rolling;
+        return (current == null) ? Collections.<Integer>emptySet() : current.getEwmaSpans();
+    }
+
+    /**
+     * Keep EWMAs in the recent history, so that they are updated with each build once exported [EXPORT CONDENSED]
+     * @param spans Spans in number of builds
+     */
+    public synchronized void requestEwmaSpans(Set<Integer> spans) {
+        if (spans.isEmpty() || this.getNumericBuilds().isEmpty() && this.rolling == null) {
+            return;
+        }
+        RollingBaseline current = getRollingBaseline();
+        for (Integer span : spans) {
+            current.getEwma(span);
+        }
+    }
+
+    /**
+     * Get the last change point from the detector of the condensed file as text [TABLE PAGE][CSV EXPORT]
+     * @param decimalSeparator Decimal separator
+     * @return Build number and relative change of the mean, "-" if none
+     */
+    public String getLastChangeAsText(char decimalSeparator) {
+        ChangeDetector current = this.detector;
+        ChangeDetector.ChangePoint change = (current == null) ? null : current.getLastChange();
+        if (change == null) {
+            return "-";
+        }
+        Double percentage = change.getPercentage();
+        if (percentage == null) {
+            return "#" + change.getBuild();
+        }
+        return "#" + change.getBuild() + " (" + String.format(Locale.ROOT, "%+.1f%%", percentage).replace('.', decimalSeparator) + ")";
+    }
+
+    /**
+     * Get a percentile of the history from the sketch of the condensed file [TABLE PAGE][DETAIL PAGE]
+     * @param percentile Percentile between 0 and 100
+     * @return value if available
+     */
+    public Double getPercentile(double percentile) {
+        QuantileSketch current = this.sketch;
+        if (current == null) {
+            return null;
+        }
+        return current.quantile(percentile / 100.0);
+    }
+
+    @Override
+    public long getFootprint() {
+        QuantileSketch current = this.sketch;
+        RollingBaseline recent = this.rolling;
+        ChangeDetector changes = this.detector;
+        return super.getFootprint() + ((current == null) ? 0 : current.getFootprint()) + ((recent == null) ? 0 : recent.getFootprint())
+                + ((changes == null) ? 0 : changes.getFootprint());
+    }
+
+    /**
+     * Create JSON array of the chart points, reduced to the given number of points [DETAIL PAGE]
+     * Builds without value are skipped and the points are listed from the most recent build.
+     * Points of builds with samples carry the 95% confidence interval of their mean as yMin and yMax.
+     * @param buildNumbers List of builds
+     * @param firstBuild First build of the window (inclusive)
+     * @param lastBuild Last build of the window (inclusive)
+     * @param maxPoints Maximum number of points, usually the width of the chart in pixels
+     * @return Json array of {x, y, [yMin, yMax]} points
+     */
+    public JsonArray getDataAsJsonArray(TreeSet<Integer> buildNumbers, int firstBuild, int lastBuild, int maxPoints) {
+        List<Integer> windowBuilds = new ArrayList<Integer>();
+        List<Double> windowValues = new ArrayList<Double>();
+        if (!buildNumbers.isEmpty() && firstBuild <= lastBuild) {
+            for (Integer build : buildNumbers.subSet(firstBuild, true, lastBuild, true)) {
+                Double value = this.getNumericValue(build);
+                if (value != null) {
+                    windowBuilds.add(build);
+                    windowValues.add(value);
+                }
+            }
+        }
+
+        int length = windowBuilds.size();
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = windowBuilds.get(i);
+            y[i] = windowValues.get(i);
+        }
+        int[] indices = ChartDownsampler.largestTriangleThreeBuckets(x, y, maxPoints);
+
+        JsonArray array = new JsonArray();
+        for (int i = indices.length - 1; i >= 0; i--) {
+            JsonObject object = new JsonObject();
+            object.addProperty("x", windowBuilds.get(indices[i]));
+            object.addProperty("y", windowValues.get(indices[i]));
+            Samples samples = this.getSamples(windowBuilds.get(indices[i]));
+            if (samples != null && samples.getConfidence() > 0.0) {
+                object.addProperty("yMin", samples.getLower());
+                object.addProperty("yMax", samples.getUpper());
+            }
+            array.add(object);
+        }
+        return array;
+    }
+
+    // Setter
+
+    public void setSketch(QuantileSketch sketch) { this.sketch = sketch; }
+    public void setRolling(RollingBaseline rolling) { this.rolling = rolling; }
+    public void setDetector(ChangeDetector detector) { this.detector = detector; }
+
     // Getters
 
+    /**
+     * Get the value of a build as a double
+     * @param build Build number
+     * @return value if available
+     */
+    public Double getNumericValue(int build) { return null; }
+
+    /**
+     * Get the builds with a value
+     * @return build numbers in ascending order
+     */
+    protected NavigableSet<Integer> getNumericBuilds() { return Collections.emptyNavigableSet(); }
+
+    public QuantileSketch getSketch() { return sketch; }
+    public RollingBaseline getRolling() { return rolling; }
+    public ChangeDetector getDetector() { return detector; }
+
+    /**
+     * Get the repeated measurements of a build
+     * @param build Build number
+     * @return samples if available
+     */
+    public Samples getSamples(int build) { return null; }
+
     /**
      * Get minimum
      * @return minimum if available
@@ -0,0 +1,152 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.results;
+
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+
+import static java.lang.Math.sqrt;
+
+/**
+ * Holds the repeated measurements of a double result for one build, with their statistics
+ *
+ * <p>
+ * The statistics are calculated once, on creation. The confidence is the half-width of the 95% confidence interval
+ * of the mean, from the Student t distribution. Once the measurements are released to save memory, the statistics
+ * remain available.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public final class Samples {
+
+    // Variables
+
+    // Two-sided 95% quantiles of the Student t distribution for 1 to 30 degrees of freedom
+    private static final double[] STUDENT_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+    private static final double NORMAL_95 = 1.959963985;
+
+    private final double[] values;
+    private final int count;
+    private final double mean;
+    private final double stdDeviation;
+    private final double confidence;
+
+    // Constructor
+
+    /**
+     * @param values Measurements, at least one
+     * @throws IllegalArgumentException If no measurement
+     */
+    public Samples(double[] values) {
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException("No sample");
+        }
+        this.values = values;
+        this.count = values.length;
+
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        this.mean = sum / count;
+
+        if (count > 1) {
+            double squares = 0.0;
+            for (double value : values) {
+                squares += (value - mean) * (value - mean);
+            }
+            this.stdDeviation = sqrt(squares / (count - 1));
+            this.confidence = getStudentQuantile(count - 1) * stdDeviation / sqrt(count);
+        } else {
+            this.stdDeviation = 0.0;
+            this.confidence = 0.0;
+        }
+    }
+
+    private Samples(int count, double mean, double stdDeviation, double confidence) {
+        this.values = null;
+        this.count = count;
+        this.mean = mean;
+        this.stdDeviation = stdDeviation;
+        this.confidence = confidence;
+    }
+
+    // Functions
+
+    /**
+     * Get the two-sided 95% quantile of the Student t distribution
+     * Above 30 degrees, the Cornish-Fisher expansion around the normal quantile (Abramowitz and Stegun, 26.7.5)
+     * is within 1e-5 of the exact quantile and reaches the normal quantile smoothly.
+     * @param degrees Degrees of freedom
+     * @return Quantile
+     */
+    public static double getStudentQuantile(int degrees) {
+        if (degrees < 1) {
+            return Double.NaN;
+        }
+        if (degrees <= STUDENT_95.length) {
+            return STUDENT_95[degrees - 1];
+        }
+        double z = NORMAL_95;
+        double z2 = z * z;
+        double n = degrees;
+        double g1 = (z2 + 1.0) * z / 4.0;
+        double g2 = ((5.0 * z2 + 16.0) * z2 + 3.0) * z / 96.0;
+        double g3 = (((3.0 * z2 + 19.0) * z2 + 17.0) * z2 - 15.0) * z / 384.0;
+        double g4 = ((((79.0 * z2 + 776.0) * z2 + 1482.0) * z2 - 1920.0) * z2 - 945.0) * z / 92160.0;
+        return z + g1 / n + g2 / (n * n) + g3 / (n * n * n) + g4 / (n * n * n * n);
+    }
+
+    /**
+     * Get a copy that keeps the statistics only
+     * @return Samples without measurements
+     */
+    public Samples withoutValues() {
+        if (values == null) {
+            return this;
+        }
+        return new Samples(count, mean, stdDeviation, confidence);
+    }
+
+    /**
+     * Estimate the heap footprint, see {@link HeapFootprint}
+     * @return Size in bytes
+     */
+    public long getFootprint() {
+        long bytes = HeapFootprint.align(48);
+        if (values != null) {
+            bytes += HeapFootprint.align(16 + 8L * values.length);
+        }
+        return bytes;
+    }
+
+    // Getters
+
+    public double[] getValues() { return values; }
+    public int getCount() { return count; }
+    public double getMean() { return mean; }
+    public double getStdDeviation() { return stdDeviation; }
+    public double getConfidence() { return confidence; }
+    public double getLower() { return mean - confidence; }
+    public double getUpper() { return mean + confidence; }
+}
@@ -19,6 +19,7 @@
 package org.jenkinsci.plugins.benchmark.results;
 
 import com.google.gson.JsonObject;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -164,6 +165,22 @@ public class StringValue extends TestValue {
         }
     }
 
+    @Override
+    public long getFootprint(int build, boolean details) {
+        long bytes = super.getFootprint(build, details);
+        String value = values.get(build);
+        if (value != null) {
+            bytes += HeapFootprint.MAP_ENTRY + HeapFootprint.BOXED + HeapFootprint.ofString(value);
+        }
+        return bytes;
+    }
+
+    @Override
+    public void removeBuild(int build) {
+        super.removeBuild(build);
+        values.remove(build);
+    }
+
     // Setter
 
     public void setValue( String value ){ this.values.put(0, value); }
@@ -23,6 +23,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import org.jenkinsci.plugins.benchmark.thresholds.Threshold;
 import org.jenkinsci.plugins.benchmark.utilities.ContentDetected;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -289,6 +290,15 @@ public class TestGroup {
         return list;
     }
 
+    /**
+     * Estimate the heap footprint of the group itself, without the groups it holds, see {@link HeapFootprint}
+     * @return Size in bytes
+     */
+    public long getFootprint() {
+        return HeapFootprint.GROUP + HeapFootprint.ofString(name) + HeapFootprint.ofString(description)
+                + (groups.size() + thresholds.size()) * HeapFootprint.REFERENCE;
+    }
+
     // Getters
 
     public TestGroup getParent() { return parent; }
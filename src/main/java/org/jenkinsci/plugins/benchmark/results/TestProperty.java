@@ -18,6 +18,8 @@
  */
 package org.jenkinsci.plugins.benchmark.results;
 
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -47,6 +49,35 @@ public class TestProperty {
         parameters = new ArrayList<TestValue>();
     }
 
+    // Functions
+
+    /**
+     * Estimate the heap footprint of the property, see {@link HeapFootprint}
+     * @param details Whether to include messages and parameters
+     * @return Size in bytes
+     */
+    public long getFootprint(boolean details) {
+        long bytes = HeapFootprint.PROPERTY;
+        if (id != null) {
+            bytes += HeapFootprint.BOXED;
+        }
+        if (details) {
+            for (Map.Entry<String, String> message : messages.entrySet()) {
+                bytes += HeapFootprint.MAP_ENTRY + HeapFootprint.ofString(message.getKey()) + HeapFootprint.ofString(message.getValue());
+            }
+            bytes += parameters.size() * HeapFootprint.REFERENCE;
+        }
+        return bytes;
+    }
+
+    /**
+     * Release messages and parameters, the collections are replaced rather than cleared for concurrent writers
+     */
+    public void clearDetails() {
+        messages = new HashMap<String,String>();
+        parameters = new ArrayList<TestValue>();
+    }
+
     // Setters
 
     public void setId(Integer id) { this.id = id; }
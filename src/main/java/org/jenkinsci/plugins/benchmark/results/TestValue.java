@@ -26,7 +26,11 @@ import org.jenkinsci.plugins.benchmark.condensed.BooleanCondensed;
 import org.jenkinsci.plugins.benchmark.condensed.DoubleCondensed;
 import org.jenkinsci.plugins.benchmark.condensed.IntegerCondensed;
 import org.jenkinsci.plugins.benchmark.condensed.StringCondensed;
+import org.jenkinsci.plugins.benchmark.utilities.ChangeDetector;
 import org.jenkinsci.plugins.benchmark.utilities.ContentDetected;
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+import org.jenkinsci.plugins.benchmark.utilities.QuantileSketch;
+import org.jenkinsci.plugins.benchmark.utilities.RollingBaseline;
 import org.jenkinsci.plugins.benchmark.utilities.TextToHTML;
 
 import java.io.InvalidClassException;
@@ -107,6 +111,11 @@ public class TestValue extends TestGroup {
         Double          _minimum = null;
         Double          _average = null;
         Double          _std_deviation = null;
+        Double          _sample_std_deviation = null;
+        Double          _confidence = null;
+        QuantileSketch  _sketch = null;
+        RollingBaseline _rolling = null;
+        ChangeDetector  _detector = null;
         Integer         _passed = null;
         Integer         _failed = null;
         TestGroup       _file = rootGroup;
@@ -258,16 +267,63 @@ public class TestValue extends TestGroup {
                     }
                     break;
                 }
+                case "sample_std_deviation": {
+                    JsonElement enElement = enObject.getValue();
+                    if (enElement.isJsonPrimitive()) {
+                        JsonPrimitive primitive = enElement.getAsJsonPrimitive();
+                        if (primitive.isNumber()) {
+                            _sample_std_deviation = primitive.getAsDouble();
+                        }
+                    }
+                    break;
+                }
+                case "sketch": {
+                    JsonElement enElement = enObject.getValue();
+                    if (enElement.isJsonObject()) {
+                        _sketch = QuantileSketch.fromJsonObject(enElement.getAsJsonObject());
+                    }
+                    break;
+                }
+                case "rolling": {
+                    JsonElement enElement = enObject.getValue();
+                    if (enElement.isJsonObject()) {
+                        _rolling = RollingBaseline.fromJsonObject(enElement.getAsJsonObject());
+                    }
+                    break;
+                }
+                case "change_points": {
+                    JsonElement enElement = enObject.getValue();
+                    if (enElement.isJsonObject()) {
+                        _detector = ChangeDetector.fromJsonObject(enElement.getAsJsonObject());
+                    }
+                    break;
+                }
+                case "confidence": {
+                    JsonElement enElement = enObject.getValue();
+                    if (enElement.isJsonPrimitive()) {
+                        JsonPrimitive primitive = enElement.getAsJsonPrimitive();
+                        if (primitive.isNumber()) {
+                            _confidence = primitive.getAsDouble();
+                        }
+                    }
+                    break;
+                }
             }
         }
         switch(_type) {
             case rt_integer:
-                IntegerCondensed int_result = new IntegerCondensed(_file, _group,  _name, _description, _unit, _previous.intValue(), _minimum.intValue(), _maximum.intValue(), _average, _std_deviation, _passed, _failed);
+                IntegerCondensed int_result = new IntegerCondensed(_file, _group,  _name, _description, _unit, _previous == null ? null : _previous.intValue(), _minimum == null ? null : _minimum.intValue(), _maximum == null ? null : _maximum.intValue(), _average, _std_deviation, _passed, _failed);
+                int_result.setSketch(_sketch);
+                int_result.setRolling(_rolling);
+                int_result.setDetector(_detector);
                 entityList.put(_hash, int_result);
                 detected.setNumeralDetected(true);
                 break;
             case rt_double:
-                DoubleCondensed dbl_result = new DoubleCondensed(_file, _group,  _name, _description, _unit, _previous, _minimum, _maximum, _average, _std_deviation, _passed, _failed);
+                DoubleCondensed dbl_result = new DoubleCondensed(_file, _group,  _name, _description, _unit, _previous, _minimum, _maximum, _average, _std_deviation, _sample_std_deviation, _confidence, _passed, _failed);
+                dbl_result.setSketch(_sketch);
+                dbl_result.setRolling(_rolling);
+                dbl_result.setDetector(_detector);
                 entityList.put(_hash, dbl_result);
                 detected.setNumeralDetected(true);
                 break;
@@ -402,6 +458,7 @@ public class TestValue extends TestGroup {
         Integer             _id = null;
         Boolean             _failedState = null;
         JsonPrimitive       _value = null;
+        double[]            _samples = null;
         Map<String, String> _messages = new HashMap<String, String>();
         List<TestValue>     _parameters = new ArrayList<TestValue>();
 
@@ -426,6 +483,23 @@ public class TestValue extends TestGroup {
                     }
                     break;
                 }
+                case "samples": {
+                    JsonElement inElement = enObject.getValue();
+                    if (inElement.isJsonArray()) {
+                        JsonArray inArray = inElement.getAsJsonArray();
+                        double[] samples = new double[inArray.size()];
+                        int count = 0;
+                        for (JsonElement enArray : inArray) {
+                            if (enArray.isJsonPrimitive() && enArray.getAsJsonPrimitive().isNumber()) {
+                                samples[count++] = enArray.getAsDouble();
+                            }
+                        }
+                        if (count > 0) {
+                            _samples = Arrays.copyOf(samples, count);
+                        }
+                    }
+                    break;
+                }
                 case "id": {
                     JsonElement enElement = enObject.getValue();
                     if (enElement.isJsonPrimitive()) {
@@ -658,6 +732,9 @@ public class TestValue extends TestGroup {
                     default:
                 }
             }
+            if (_samples != null && res.getType() == ValueType.rt_double) {
+                ((DoubleValue) res).setSamples(build, new Samples(_samples));
+            }
             if (_failedState != null) {
                 res.setFailedState(build, _failedState);
             }
@@ -837,6 +914,22 @@ public class TestValue extends TestGroup {
         }
     }
 
+    /**
+     * Get the builds for which this result holds a value [DETAIL PAGE]
+     * @param builds List of build numbers
+     * @return List of build numbers with a value
+     */
+    public TreeSet<Integer> getBuildsWithValue(TreeSet<Integer> builds) {
+        TreeSet<Integer> buildsWithValue = new TreeSet<Integer>();
+        for (Integer build : builds) {
+            String value = this.getValueAsString(build);
+            if (value != null && !value.isEmpty()) {
+                buildsWithValue.add(build);
+            }
+        }
+        return buildsWithValue;
+    }
+
     /**
      * Generate the HTML table content for this result [DETAIL PAGE]
      * @param builds List of build numbers
@@ -845,7 +938,7 @@ public class TestValue extends TestGroup {
      */
     public String getHTMLResult(TreeSet<Integer> builds, char decimalSeparator) {
         StringBuffer content = new StringBuffer();
-        for (int build = builds.last(); build >= builds.first(); build--) {
+        for (int build : builds.descendingSet()) {
             String value = this.getValueAsLocaleString(build, decimalSeparator);
             if (value.isEmpty()) {
                 content.append("<td>-</td>");
@@ -1064,7 +1157,7 @@ public class TestValue extends TestGroup {
         }
         content.append(key.toString());
         int index = 0;
-        for (int build = builds.last(); build >= builds.first(); build--) {
+        for (int build : builds.descendingSet()) {
             String value = this.getValueAsLocaleString(build, decimalSeparator);
             if (value.isEmpty()) {
                 content.append("</td><td>");
@@ -1091,6 +1184,176 @@ public class TestValue extends TestGroup {
         return content.toString();
     }
 
+    /**
+     * Count the passed and failed states of this result for all its builds [TABLE PAGE]
+     * @param counts Number of passed and failed result tests by build, updated
+     */
+    public void countStates(Map<Integer, int[]> counts) {
+        for (Map.Entry<Integer, TestProperty> property : properties.entrySet()) {
+            int build = property.getKey();
+            Boolean failedState = property.getValue().getFailedState();
+            if (failedState != null && !this.getValueAsString(build).isEmpty()) {
+                int[] count = counts.get(build);
+                if (count == null) {
+                    count = new int[2];
+                    counts.put(build, count);
+                }
+                count[failedState ? 1 : 0]++;
+            }
+        }
+    }
+
+    /**
+     * Get the row heads of this result as displayed in the raw table [TABLE PAGE]
+     * @param detected Key characteristic of this set of results
+     * @return Location, group, name and unit when detected
+     */
+    public List<String> getTableHeads(ContentDetected detected) {
+        List<String> heads = new ArrayList<String>();
+        if (detected.isFileDetected()) {
+            if (this.getParent() == null || this.getParent().getName().equalsIgnoreCase("__root__")){
+                heads.add("");
+            } else {
+                heads.add(this.getParent().getName());
+            }
+        }
+        if (detected.isGroupDetected()) {
+            if (this.getGroup() == null){
+                heads.add("");
+            } else {
+                heads.add(this.getGroup());
+            }
+        }
+        heads.add(this.getName());
+        if (detected.isUnitsDetected()) {
+            if (this.unit != null && !this.unit.isEmpty()) {
+                heads.add(this.unit);
+            } else {
+                heads.add("-");
+            }
+        }
+        return heads;
+    }
+
+    /**
+     * Generate the raw table row for this result in the DataTables array format [TABLE PAGE]
+     * Cells with a state carry their color in a 'data-color' attribute.
+     * @param key Result hash value
+     * @param detected Key characteristic of this set of results
+     * @param builds List of build numbers
+     * @param decimalSeparator Decimal Separator
+     * @return Json array with heads, key and one cell per build
+     */
+    public JsonArray getJsonTableRow(Integer key, ContentDetected detected, TreeSet<Integer> builds, char decimalSeparator) {
+        JsonArray row = new JsonArray();
+        for (String head : this.getTableHeads(detected)) {
+            row.add(head);
+        }
+        row.add(key);
+        for (int build : builds.descendingSet()) {
+            String value = this.getValueAsLocaleString(build, decimalSeparator);
+            if (value.isEmpty()) {
+                row.add("");
+            } else {
+                if (value.equals("__boolean__")) {
+                    value = "";
+                }
+                Boolean failedState = this.getFailedState(build);
+                if (failedState == null) {
+                    row.add(value);
+                } else {
+                    StringBuffer content = new StringBuffer();
+                    content.append("<span data-color=\"");
+                    content.append(this.getColor(failedState));
+                    content.append("\">");
+                    content.append(value);
+                    content.append("</span>");
+                    row.add(content.toString());
+                }
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Compare two results on the value of a given build [TABLE PAGE]
+     * Numbers are compared numerically, missing values are placed last.
+     * @param first First result
+     * @param second Second result
+     * @param build Build number
+     * @return Comparison result
+     */
+    public static int compareValues(TestValue first, TestValue second, int build) {
+        String firstValue = first.getValueAsString(build);
+        String secondValue = second.getValueAsString(build);
+        if (firstValue.isEmpty() || secondValue.isEmpty()) {
+            return Boolean.compare(firstValue.isEmpty(), secondValue.isEmpty());
+        }
+        if (first.isNumeral() && second.isNumeral()) {
+            return Double.compare(Double.parseDouble(firstValue), Double.parseDouble(secondValue));
+        }
+        return firstValue.compareToIgnoreCase(secondValue);
+    }
+
+    /**
+     * Describe this result for the query API [QUERY API]
+     * @param key Result hash value
+     * @return Json object with key, file, group, name, unit and type
+     */
+    public JsonObject getJsonDescription(Integer key) {
+        JsonObject object = new JsonObject();
+        object.addProperty("key", key);
+        if (this.getParent() != null && !this.getParent().getName().equalsIgnoreCase("__root__")) {
+            object.addProperty("file", this.getParent().getName());
+        }
+        if (this.group != null && !this.group.isEmpty()) {
+            object.addProperty("group", this.group);
+        }
+        object.addProperty("name", this.name);
+        if (this.unit != null && !this.unit.isEmpty()) {
+            object.addProperty("unit", this.unit);
+        }
+        object.addProperty("type", outputType(this.type));
+        return object;
+    }
+
+    /**
+     * Generate the series of values of this result for a set of builds [QUERY API]
+     * Builds without value are skipped, numbers are exported as numbers.
+     * @param key Result hash value
+     * @param builds Build numbers, in the order of the series
+     * @return Json object with key, name, unit and data as {build, value, failed} points
+     */
+    public JsonObject getJsonSeries(Integer key, Collection<Integer> builds) {
+        JsonObject object = new JsonObject();
+        object.addProperty("key", key);
+        object.addProperty("name", this.name);
+        if (this.unit != null && !this.unit.isEmpty()) {
+            object.addProperty("unit", this.unit);
+        }
+        JsonArray data = new JsonArray();
+        for (Integer build : builds) {
+            String value = this.getValueAsString(build);
+            if (value.isEmpty()) {
+                continue;
+            }
+            JsonObject point = new JsonObject();
+            point.addProperty("build", build);
+            if (this.isNumeral()) {
+                point.addProperty("value", Double.parseDouble(value));
+            } else {
+                point.addProperty("value", value);
+            }
+            Boolean failedState = this.getFailedState(build);
+            if (failedState != null) {
+                point.addProperty("failed", failedState);
+            }
+            data.add(point);
+        }
+        object.add("data", data);
+        return object;
+    }
+
     /**
      * Generate the CSV table content for this result [CSV EXPORT]
      * @param builds List of build numbers
@@ -1129,7 +1392,7 @@ public class TestValue extends TestGroup {
                 content.append(this.unit);
             }
         }
-        for (int build = builds.last(); build >= builds.first(); build--) {
+        for (int build : builds.descendingSet()) {
             String value = this.getValueAsString(build);
             if (value == null || value.isEmpty()) {
                 content.append(",-");
@@ -1180,7 +1443,7 @@ public class TestValue extends TestGroup {
                 content.append(",-");
             }
         }
-        for (int build = builds.last(); build >= builds.first(); build--) {
+        for (int build : builds.descendingSet()) {
             Boolean state = this.getFailedState(build);
             if (state == null){
                 content.append(",-");
@@ -1312,7 +1575,55 @@ public class TestValue extends TestGroup {
      * @param previous Previous value
      * @param average Calculated average
      */
-    public void checkThresholdStatus(Double previous, Double average) { }
+    public void checkThresholdStatus(Double previous, Double average) { checkThresholdStatus(previous, average, null); }
+
+    /**
+     * Check attached thresholds to verify result validity.
+     * @param previous Previous value
+     * @param average Calculated average
+     * @param baseline Same result in the history, for thresholds based on more than the previous value and average
+     */
+    public void checkThresholdStatus(Double previous, Double average, NumeralValue baseline) { }
+
+    /**
+     * Estimate the heap footprint of the result itself, without its builds, see {@link HeapFootprint}
+     * @return Size in bytes
+     */
+    @Override
+    public long getFootprint() {
+        return super.getFootprint() + HeapFootprint.RESULT - HeapFootprint.GROUP + HeapFootprint.ofString(group) + HeapFootprint.ofString(unit);
+    }
+
+    /**
+     * Estimate the heap footprint of the content of a build, see {@link HeapFootprint}
+     * @param build Build number
+     * @param details Whether to include messages and parameters
+     * @return Size in bytes
+     */
+    public long getFootprint(int build, boolean details) {
+        TestProperty property = properties.get(build);
+        if (property == null) {
+            return 0;
+        }
+        return HeapFootprint.MAP_ENTRY + HeapFootprint.BOXED + property.getFootprint(details);
+    }
+
+    /**
+     * Release the messages and parameters of a build
+     * @param build Build number
+     */
+    public void removeDetails(int build) {
+        TestProperty property = properties.get(build);
+        if (property != null) {
+            property.clearDetails();
+        }
+    }
+
+    /**
+     * Release the content of a build
+     * @param build Build number
+     */
+    public void removeBuild(int build) { properties.remove(build); }
 
     // Setters
 
@@ -30,6 +30,7 @@ public class Schema {
     public static final int No_format   = 1 << 0;
     public static final int Xml_format  = 1 << 1;
     public static final int Json_format = 1 << 2;
+    public static final int Csv_format  = 1 << 3;
 
     // Variable
 
@@ -71,6 +72,12 @@ public class Schema {
             }
             value += "JSON";
         }
+        if ((format & Schema.Csv_format) == Schema.Csv_format) {
+            if (!value.isEmpty()) {
+                value += "|";
+            }
+            value += "CSV";
+        }
         return value;
     }
 }
@@ -0,0 +1,138 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.thresholds;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.util.FormValidation;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Percentage threshold compared to the exponentially weighted moving average (EWMA) of the history
+ * The smoothing factor is 2 / (builds + 1), so that recent builds weigh most. The EWMA is kept in the condensed file
+ * and updated with each build.
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class EwmaThreshold extends Threshold {
+
+    // Variables
+    private final Integer builds;
+    private final Double percentage;
+    private Double ewma;
+
+    // Constructor
+    @DataBoundConstructor
+    public EwmaThreshold(String testGroup, String testName, Integer builds, Double percentage){
+        super(testGroup, testName, ThresholdTypes.tt_ewma);
+        this.builds = builds;
+        this.percentage = percentage;
+        this.ewma = null;
+    }
+
+    public EwmaThreshold(Integer builds, Double percentage) throws ValidationException{
+        super(ThresholdTypes.tt_ewma);
+        if (builds == null){
+            throw new ValidationException(Messages.EwmaThreshold_MissingBuildsValue());
+        }
+        if (percentage == null){
+            throw new ValidationException(Messages.EwmaThreshold_MissingPercentageValue());
+        }
+        this.builds = builds;
+        this.percentage = percentage;
+        this.ewma = null;
+    }
+
+    // Functions
+    public boolean evaluate(List<? extends Run<?, ?>> builds) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException, AbortException, ParseException {
+        return true;
+    }
+
+    @Override
+    public boolean isValid(int value) throws NullPointerException, ValidationException {
+        return isValid((double) value, Integer.toString(value));
+    }
+
+    @Override
+    public boolean isValid(double value) throws NullPointerException, ValidationException {
+        return isValid(value, Double.toString(value));
+    }
+
+    private boolean isValid(double value, String text) throws ValidationException {
+        if (ewma == null || percentage == null)
+            return true;
+        double calculatedPercentage = Math.abs((value - ewma) / ewma) * 100;
+        if (calculatedPercentage > percentage) {
+            throw new ValidationException(Messages.EwmaThreshold_OutOfPercentageFromEwma(text, Double.toString(percentage), Double.toString(ewma), Integer.toString(builds)));
+        }
+        return true;
+    }
+
+    // Setter
+    @Override
+    public void setBaseline(NumeralValue baseline){
+        this.ewma = null;
+        if (baseline == null || builds == null) {
+            return;
+        }
+        this.ewma = baseline.getRollingBaseline().getEwma(builds);
+    }
+
+    // Getter
+    public Integer getBuilds() { return builds; }
+    public Double getPercentage() { return percentage; }
+    public Double getEwmaValue() { return ewma; }
+
+    // Descriptor (active interactor)
+    @Extension
+    public static class DescriptorImpl extends ThresholdDescriptor {
+
+        @Override
+        public String getDisplayName() {return Messages.EwmaThreshold_PercentageFromEwma();}
+
+        public FormValidation doCheckBuilds(@QueryParameter Integer builds) {
+            if (builds == null) {
+                return FormValidation.error(Messages.EwmaThreshold_BuildsCannotBeEmpty());
+            }
+            if (builds < 1){
+                return FormValidation.error(Messages.EwmaThreshold_BuildsAboveOrEqualTo1());
+            }
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckPercentage(@QueryParameter Double percentage) {
+            if (percentage == null) {
+                return FormValidation.error(Messages.EwmaThreshold_PercentageCannotBeEmpty());
+            }
+            if (100 < percentage || percentage < 0){
+                return FormValidation.error(Messages.EwmaThreshold_PercentageBetween0And100());
+            }
+            return FormValidation.ok();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.thresholds;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.util.FormValidation;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Threshold from a percentile of the history
+ * A percentile of 50 or above is an upper limit, below 50 a lower limit. The limit is widened by a percentage of the
+ * percentile. The percentile comes from the quantile sketch of the condensed file, whatever the length of the history.
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class PercentileThreshold extends Threshold {
+
+    // Variables
+    private final Double percentile;
+    private final Double percentage;
+    private Double limit;
+
+    // Constructor
+    @DataBoundConstructor
+    public PercentileThreshold(String testGroup, String testName, Double percentile, Double percentage){
+        super(testGroup, testName, ThresholdTypes.tt_percentile);
+        this.percentile = percentile;
+        this.percentage = percentage;
+        this.limit = null;
+    }
+
+    public PercentileThreshold(Double percentile, Double percentage) throws ValidationException{
+        super(ThresholdTypes.tt_percentile);
+        if (percentile == null){
+            throw new ValidationException(Messages.PercentileThreshold_MissingPercentileValue());
+        }
+        this.percentile = percentile;
+        this.percentage = percentage;
+        this.limit = null;
+    }
+
+    // Functions
+    public boolean evaluate(List<? extends Run<?, ?>> builds) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException, AbortException, ParseException {
+        return true;
+    }
+
+    @Override
+    public boolean isValid(int value) throws NullPointerException, ValidationException {
+        return isValid((double) value, Integer.toString(value));
+    }
+
+    @Override
+    public boolean isValid(double value) throws NullPointerException, ValidationException {
+        return isValid(value, Double.toString(value));
+    }
+
+    private boolean isValid(double value, String text) throws ValidationException {
+        if (limit == null || percentile == null)
+            return true;
+        if (percentile >= 50.0 && value > limit) {
+            throw new ValidationException(Messages.PercentileThreshold_AbovePercentile(text, Double.toString(limit), Double.toString(percentile)));
+        }
+        if (percentile < 50.0 && value < limit) {
+            throw new ValidationException(Messages.PercentileThreshold_BelowPercentile(text, Double.toString(limit), Double.toString(percentile)));
+        }
+        return true;
+    }
+
+    // Setter
+    @Override
+    public void setBaseline(NumeralValue baseline){
+        this.limit = null;
+        if (baseline == null || percentile == null) {
+            return;
+        }
+        Double value = baseline.calculateSketch().quantile(percentile / 100.0);
+        if (value == null) {
+            return;
+        }
+        double margin = (percentage == null) ? 0.0 : Math.abs(value) * percentage / 100.0;
+        this.limit = (percentile >= 50.0) ? value + margin : value - margin;
+    }
+
+    // Getter
+    public Double getPercentile() { return percentile; }
+    public Double getPercentage() { return percentage; }
+    public Double getLimit() { return limit; }
+
+    // Descriptor (active interactor)
+    @Extension
+    public static class DescriptorImpl extends ThresholdDescriptor {
+
+        @Override
+        public String getDisplayName() {return Messages.PercentileThreshold_PercentileOfHistory();}
+
+        public FormValidation doCheckPercentile(@QueryParameter Double percentile) {
+            if (percentile == null) {
+                return FormValidation.error(Messages.PercentileThreshold_PercentileCannotBeEmpty());
+            }
+            if (100 < percentile || percentile < 0){
+                return FormValidation.error(Messages.PercentileThreshold_PercentileBetween0And100());
+            }
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckPercentage(@QueryParameter Double percentage) {
+            if (percentage != null && percentage < 0){
+                return FormValidation.error(Messages.PercentileThreshold_PercentageAboveOrEqualTo0());
+            }
+            return FormValidation.ok();
+        }
+    }
+}
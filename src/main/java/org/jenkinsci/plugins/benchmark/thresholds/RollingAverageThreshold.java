@@ -0,0 +1,139 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.thresholds;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.util.FormValidation;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.jenkinsci.plugins.benchmark.utilities.RollingBaseline;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Percentage threshold compared to the average of the last builds
+ * The average comes from the values of the last builds kept in the condensed file, at most
+ * {@link RollingBaseline#CAPACITY} builds, so that old regimes of the history do not weigh on the check.
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class RollingAverageThreshold extends Threshold {
+
+    // Variables
+    private final Integer builds;
+    private final Double percentage;
+    private Double average;
+
+    // Constructor
+    @DataBoundConstructor
+    public RollingAverageThreshold(String testGroup, String testName, Integer builds, Double percentage){
+        super(testGroup, testName, ThresholdTypes.tt_rollingAverage);
+        this.builds = builds;
+        this.percentage = percentage;
+        this.average = null;
+    }
+
+    public RollingAverageThreshold(Integer builds, Double percentage) throws ValidationException{
+        super(ThresholdTypes.tt_rollingAverage);
+        if (builds == null){
+            throw new ValidationException(Messages.RollingAverageThreshold_MissingBuildsValue());
+        }
+        if (percentage == null){
+            throw new ValidationException(Messages.RollingAverageThreshold_MissingPercentageValue());
+        }
+        this.builds = builds;
+        this.percentage = percentage;
+        this.average = null;
+    }
+
+    // Functions
+    public boolean evaluate(List<? extends Run<?, ?>> builds) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException, AbortException, ParseException {
+        return true;
+    }
+
+    @Override
+    public boolean isValid(int value) throws NullPointerException, ValidationException {
+        return isValid((double) value, Integer.toString(value));
+    }
+
+    @Override
+    public boolean isValid(double value) throws NullPointerException, ValidationException {
+        return isValid(value, Double.toString(value));
+    }
+
+    private boolean isValid(double value, String text) throws ValidationException {
+        if (average == null || percentage == null)
+            return true;
+        double calculatedPercentage = Math.abs((value - average) / average) * 100;
+        if (calculatedPercentage > percentage) {
+            throw new ValidationException(Messages.RollingAverageThreshold_OutOfPercentageFromRollingAverage(text, Double.toString(percentage), Double.toString(average), Integer.toString(builds)));
+        }
+        return true;
+    }
+
+    // Setter
+    @Override
+    public void setBaseline(NumeralValue baseline){
+        this.average = null;
+        if (baseline == null || builds == null) {
+            return;
+        }
+        this.average = baseline.getRollingBaseline().getAverage(builds);
+    }
+
+    // Getter
+    public Integer getBuilds() { return builds; }
+    public Double getPercentage() { return percentage; }
+    public Double getAverageValue() { return average; }
+
+    // Descriptor (active interactor)
+    @Extension
+    public static class DescriptorImpl extends ThresholdDescriptor {
+
+        @Override
+        public String getDisplayName() {return Messages.RollingAverageThreshold_PercentageFromRollingAverage();}
+
+        public FormValidation doCheckBuilds(@QueryParameter Integer builds) {
+            if (builds == null) {
+                return FormValidation.error(Messages.RollingAverageThreshold_BuildsCannotBeEmpty());
+            }
+            if (builds < 1 || RollingBaseline.CAPACITY < builds){
+                return FormValidation.error(Messages.RollingAverageThreshold_BuildsBetween1AndCapacity(Integer.toString(RollingBaseline.CAPACITY)));
+            }
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckPercentage(@QueryParameter Double percentage) {
+            if (percentage == null) {
+                return FormValidation.error(Messages.RollingAverageThreshold_PercentageCannotBeEmpty());
+            }
+            if (100 < percentage || percentage < 0){
+                return FormValidation.error(Messages.RollingAverageThreshold_PercentageBetween0And100());
+            }
+            return FormValidation.ok();
+        }
+    }
+}
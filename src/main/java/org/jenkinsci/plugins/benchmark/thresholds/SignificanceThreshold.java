@@ -0,0 +1,167 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.thresholds;
+
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.model.Run;
+import hudson.util.FormValidation;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.jenkinsci.plugins.benchmark.utilities.RankTest;
+import org.jenkinsci.plugins.benchmark.utilities.RollingBaseline;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.text.ParseException;
+import java.util.List;
+
+/**
+ * Threshold of statistical significance against the last builds
+ * The value of the build with the values of the previous builds are compared to the values of the last builds kept in
+ * the condensed file with a Mann-Whitney U test, build values against build values. The number of builds compared is
+ * raised when too few of them could never reach the confidence. The ranks come from the sorted values of the
+ * condensed file, so that the test costs O(k log n) for k values against n builds.
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class SignificanceThreshold extends Threshold {
+
+    // Variables
+    public static final int MINIMUM_BASELINE = 5;     // Builds in the baseline before testing
+
+    private final Integer builds;
+    private final Double confidence;
+    private transient RollingBaseline window;
+
+    // Constructor
+    @DataBoundConstructor
+    public SignificanceThreshold(String testGroup, String testName, Integer builds, Double confidence){
+        super(testGroup, testName, ThresholdTypes.tt_significance);
+        this.builds = builds;
+        this.confidence = confidence;
+        this.window = null;
+    }
+
+    public SignificanceThreshold(Integer builds, Double confidence) throws ValidationException{
+        super(ThresholdTypes.tt_significance);
+        if (confidence == null){
+            throw new ValidationException(Messages.SignificanceThreshold_MissingConfidenceValue());
+        }
+        this.builds = (builds == null) ? 1 : builds;
+        this.confidence = confidence;
+        this.window = null;
+    }
+
+    // Functions
+    public boolean evaluate(List<? extends Run<?, ?>> builds) throws IllegalArgumentException, IllegalAccessException, InvocationTargetException, AbortException, ParseException {
+        return true;
+    }
+
+    @Override
+    public boolean isValid(int value) throws NullPointerException, ValidationException {
+        return isValid((double) value, Integer.toString(value));
+    }
+
+    @Override
+    public boolean isValid(double value) throws NullPointerException, ValidationException {
+        return isValid(value, Double.toString(value));
+    }
+
+    private boolean isValid(double value, String text) throws ValidationException {
+        if (window == null || confidence == null)
+            return true;
+
+        // Builds compared, raised until the smallest p-value of the test is below the significance level
+        double level = 1.0 - confidence / 100.0;
+        int total = window.getSize() + 1;
+        int compared = (builds == null) ? 1 : Math.max(1, builds);
+        while (total - compared >= MINIMUM_BASELINE && RankTest.getMinimumPValue(compared, total - compared) >= level) {
+            compared++;
+        }
+        int baselineSize = total - compared;
+        if (baselineSize < MINIMUM_BASELINE)
+            return true;
+
+        // Previous builds moved from the baseline to the sample
+        double[] recent = window.getRecent(compared - 1);
+        double[] sample = new double[recent.length + 1];
+        System.arraycopy(recent, 0, sample, 0, recent.length);
+        sample[recent.length] = value;
+
+        double u = 0.0;
+        for (double x : sample) {
+            u += window.getRank(x);
+            for (double moved : recent) {
+                if (moved < x) {
+                    u -= 1.0;
+                } else if (moved == x) {
+                    u -= 0.5;
+                }
+            }
+        }
+        double pValue = RankTest.getMannWhitneyPValue(u, sample.length, baselineSize);
+        if (pValue < level) {
+            String probability = String.format("%.2g", pValue);
+            if (u > sample.length * (double) baselineSize / 2.0) {
+                throw new ValidationException(Messages.SignificanceThreshold_SignificantlyAbove(text, Integer.toString(baselineSize), probability));
+            } else {
+                throw new ValidationException(Messages.SignificanceThreshold_SignificantlyBelow(text, Integer.toString(baselineSize), probability));
+            }
+        }
+        return true;
+    }
+
+    // Setter
+    @Override
+    public void setBaseline(NumeralValue baseline){
+        this.window = (baseline == null) ? null : baseline.getRollingBaseline();
+    }
+
+    // Getter
+    public Integer getBuilds() { return builds; }
+    public Double getConfidence() { return confidence; }
+
+    // Descriptor (active interactor)
+    @Extension
+    public static class DescriptorImpl extends ThresholdDescriptor {
+
+        @Override
+        public String getDisplayName() {return Messages.SignificanceThreshold_SignificantChange();}
+
+        public FormValidation doCheckBuilds(@QueryParameter Integer builds) {
+            if (builds != null && (builds < 1 || RollingBaseline.CAPACITY - MINIMUM_BASELINE < builds)){
+                return FormValidation.error(Messages.SignificanceThreshold_BuildsBetween1AndMaximum(Integer.toString(RollingBaseline.CAPACITY - MINIMUM_BASELINE)));
+            }
+            return FormValidation.ok();
+        }
+
+        public FormValidation doCheckConfidence(@QueryParameter Double confidence) {
+            if (confidence == null) {
+                return FormValidation.error(Messages.SignificanceThreshold_ConfidenceCannotBeEmpty());
+            }
+            if (100 <= confidence || confidence < 50){
+                return FormValidation.error(Messages.SignificanceThreshold_ConfidenceBetween50And100());
+            }
+            return FormValidation.ok();
+        }
+    }
+}
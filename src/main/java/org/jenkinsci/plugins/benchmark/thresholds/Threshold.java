@@ -24,6 +24,7 @@ import hudson.model.AbstractDescribableImpl;
 import hudson.model.Run;
 import jenkins.model.Jenkins;
 import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
 
 import java.lang.reflect.InvocationTargetException;
 import java.text.ParseException;
@@ -45,7 +46,11 @@ public abstract class Threshold extends AbstractDescribableImpl<Threshold> {
         tt_percentage,
         tt_percentageAverage,
         tt_delta,
-        tt_deltaAverage
+        tt_deltaAverage,
+        tt_percentile,
+        tt_rollingAverage,
+        tt_ewma,
+        tt_significance
     }
 
     // Variables
@@ -96,6 +101,7 @@ public abstract class Threshold extends AbstractDescribableImpl<Threshold> {
     // Setter
     public void setAverageValue(Double average){}
     public void setPreviousValue(Double average){}
+    public void setBaseline(NumeralValue baseline){}
 
     // Getters
 
@@ -111,6 +117,14 @@ public abstract class Threshold extends AbstractDescribableImpl<Threshold> {
                 return Messages.Threshold_DeltaFromLastThreshold();
             case tt_deltaAverage:
                 return Messages.Threshold_DeltaFromAverageThreshold();
+            case tt_percentile:
+                return Messages.Threshold_PercentileThreshold();
+            case tt_rollingAverage:
+                return Messages.Threshold_RollingAverageThreshold();
+            case tt_ewma:
+                return Messages.Threshold_EwmaThreshold();
+            case tt_significance:
+                return Messages.Threshold_SignificanceThreshold();
             default:
                 return Messages.Threshold_UnknownThreshold();
         }
@@ -0,0 +1,358 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Online change-point detection over the values of a result
+ * Two-sided CUSUM (E. S. Page, 1954): the deviations of each new value from the mean of the current regime, in
+ * standard deviations and less an allowed drift, are accumulated upwards and downwards. A sum above the decision
+ * interval marks a change point at the build where it started to grow, and a new regime starts with the values since.
+ * The mean and standard deviation of a regime are estimated from its values with Welford updates, after a few builds,
+ * and the mean after the last change point follows its regime. While a sum builds up, the new values are held out of
+ * the reference and only added once both sums fall back, so that a slow drift cannot move the reference along with it.
+ * Step changes as well as gradual drifts are detected, each value costs O(1).
+ *
+ * <p>
+ * The detector records the last build it covers, so that the condensed file only adds the builds published since.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class ChangeDetector {
+
+    /**
+     * Detected change of regime
+     */
+    public static class ChangePoint {
+
+        private final int build;
+        private final double before;
+        private final double after;
+
+        public ChangePoint(int build, double before, double after) {
+            this.build = build;
+            this.before = before;
+            this.after = after;
+        }
+
+        /**
+         * Relative change of the mean
+         * @return Percentage, null if the mean before is 0
+         */
+        public Double getPercentage() {
+            if (before == 0.0) {
+                return null;
+            }
+            return (after - before) / Math.abs(before) * 100.0;
+        }
+
+        public int getBuild() { return build; }
+        public double getBefore() { return before; }
+        public double getAfter() { return after; }
+    }
+
+    // Variables
+
+    public static final int WARMUP = 10;            // Builds of a regime before detection
+    public static final double DRIFT = 0.5;         // Allowed drift, in standard deviations
+    public static final double DECISION = 8.0;      // Decision interval, in standard deviations
+    public static final double HOLD = DECISION / 2; // Sum above which the values are held out of the reference
+    public static final double NOISE = 0.001;       // Minimum standard deviation, relative to the mean
+    public static final int MAX_CHANGES = 20;       // Change points kept, the most recent
+
+    // Reference of the current regime
+    private int count = 0;
+    private double mean = 0.0;
+    private double m2 = 0.0;
+
+    // Values held out of the reference while a sum is above the hold level, added to it once both sums are back below
+    private int heldCount = 0;
+    private double heldMean = 0.0;
+    private double heldM2 = 0.0;
+
+    // Cumulative sums with the build and the mean and squared deviations of the values since they started to grow
+    private double upper = 0.0;
+    private int upperStart = 0;
+    private double upperMean = 0.0;
+    private double upperM2 = 0.0;
+    private int upperCount = 0;
+    private double lower = 0.0;
+    private int lowerStart = 0;
+    private double lowerMean = 0.0;
+    private double lowerM2 = 0.0;
+    private int lowerCount = 0;
+
+    private final List<ChangePoint> changes = new ArrayList<ChangePoint>();
+    private int build = 0;
+
+    // Functions
+
+    /**
+     * Add the value of the next build
+     * @param number Build number
+     * @param value Value, NaN is ignored
+     * @return Change point detected with this value, null if none
+     */
+    public synchronized ChangePoint add(int number, double value) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        if (count < WARMUP) {
+            addToRegime(value);
+            return null;
+        }
+        double deviation = Math.sqrt(m2 / (count - 1));
+        deviation = Math.max(deviation, Math.max(NOISE * Math.abs(mean), Double.MIN_NORMAL));
+        // Prediction error of the reference, a Student t converted to a standard normal (Wallace, 1959) so that a
+        // reference estimated from few builds does not raise false alarms
+        double t = (value - mean) / (deviation * Math.sqrt(1.0 + 1.0 / count));
+        double nu = count - 1;
+        double z = Math.signum(t) * (8.0 * nu + 1.0) / (8.0 * nu + 3.0) * Math.sqrt(nu * Math.log1p(t * t / nu));
+
+        // Welford updates of the values since each sum started to grow
+        if (upper == 0.0) {
+            upperStart = number;
+            upperMean = 0.0;
+            upperM2 = 0.0;
+            upperCount = 0;
+        }
+        upper = Math.max(0.0, upper + z - DRIFT);
+        upperCount++;
+        double upperDelta = value - upperMean;
+        upperMean += upperDelta / upperCount;
+        upperM2 += upperDelta * (value - upperMean);
+
+        if (lower == 0.0) {
+            lowerStart = number;
+            lowerMean = 0.0;
+            lowerM2 = 0.0;
+            lowerCount = 0;
+        }
+        lower = Math.max(0.0, lower - z - DRIFT);
+        lowerCount++;
+        double lowerDelta = value - lowerMean;
+        lowerMean += lowerDelta / lowerCount;
+        lowerM2 += lowerDelta * (value - lowerMean);
+
+        ChangePoint change = null;
+        if (upper > DECISION) {
+            change = startRegime(upperStart, upperMean, upperM2, upperCount);
+        } else if (lower > DECISION) {
+            change = startRegime(lowerStart, lowerMean, lowerM2, lowerCount);
+        } else {
+            // The reference is frozen while a sum is building up, so that a gradual shift does not pull it along
+            heldCount++;
+            double heldDelta = value - heldMean;
+            heldMean += heldDelta / heldCount;
+            heldM2 += heldDelta * (value - heldMean);
+            if (upper <= HOLD && lower <= HOLD) {
+                releaseHeld();
+            }
+        }
+        return change;
+    }
+
+    /**
+     * Get a copy of the detector
+     * @return Copy
+     */
+    public synchronized ChangeDetector copy() {
+        ChangeDetector copy = new ChangeDetector();
+        copy.count = count;
+        copy.mean = mean;
+        copy.m2 = m2;
+        copy.heldCount = heldCount;
+        copy.heldMean = heldMean;
+        copy.heldM2 = heldM2;
+        copy.upper = upper;
+        copy.upperStart = upperStart;
+        copy.upperMean = upperMean;
+        copy.upperM2 = upperM2;
+        copy.upperCount = upperCount;
+        copy.lower = lower;
+        copy.lowerStart = lowerStart;
+        copy.lowerMean = lowerMean;
+        copy.lowerM2 = lowerM2;
+        copy.lowerCount = lowerCount;
+        copy.changes.addAll(changes);
+        copy.build = build;
+        return copy;
+    }
+
+    /**
+     * Create a JSON object of the detector [EXPORT CONDENSED]
+     * @return JSON object with the change points as a flat array of build, mean before, mean after
+     */
+    public synchronized JsonObject getJsonObject() {
+        JsonObject object = new JsonObject();
+        object.addProperty("build", build);
+        object.addProperty("count", count);
+        object.addProperty("mean", mean);
+        object.addProperty("m2", m2);
+        object.addProperty("held_count", heldCount);
+        object.addProperty("held_mean", heldMean);
+        object.addProperty("held_m2", heldM2);
+        object.addProperty("upper", upper);
+        object.addProperty("upper_start", upperStart);
+        object.addProperty("upper_mean", upperMean);
+        object.addProperty("upper_m2", upperM2);
+        object.addProperty("upper_count", upperCount);
+        object.addProperty("lower", lower);
+        object.addProperty("lower_start", lowerStart);
+        object.addProperty("lower_mean", lowerMean);
+        object.addProperty("lower_m2", lowerM2);
+        object.addProperty("lower_count", lowerCount);
+        JsonArray points = new JsonArray();
+        for (ChangePoint change : changes) {
+            points.add(change.build);
+            points.add(change.before);
+            points.add(change.after);
+        }
+        object.add("changes", points);
+        return object;
+    }
+
+    /**
+     * Read a detector from its JSON object [DISPLAY LOAD]
+     * @param object JSON object
+     * @return Detector, null if the object is not a valid detector
+     */
+    public static ChangeDetector fromJsonObject(JsonObject object) {
+        try {
+            ChangeDetector detector = new ChangeDetector();
+            detector.build = object.get("build").getAsInt();
+            detector.count = object.get("count").getAsInt();
+            detector.mean = object.get("mean").getAsDouble();
+            detector.m2 = object.get("m2").getAsDouble();
+            detector.upper = object.get("upper").getAsDouble();
+            detector.upperStart = object.get("upper_start").getAsInt();
+            detector.upperCount = object.get("upper_count").getAsInt();
+            detector.lower = object.get("lower").getAsDouble();
+            detector.lowerStart = object.get("lower_start").getAsInt();
+            detector.lowerCount = object.get("lower_count").getAsInt();
+            if (object.has("held_count")) {
+                detector.heldCount = object.get("held_count").getAsInt();
+                detector.heldMean = object.get("held_mean").getAsDouble();
+                detector.heldM2 = object.get("held_m2").getAsDouble();
+            }
+            if (object.has("upper_m2")) {
+                detector.upperMean = object.get("upper_mean").getAsDouble();
+                detector.upperM2 = object.get("upper_m2").getAsDouble();
+                detector.lowerMean = object.get("lower_mean").getAsDouble();
+                detector.lowerM2 = object.get("lower_m2").getAsDouble();
+            } else {
+                // Sums and sums of squares of the first condensed files
+                detector.upperMean = getMean(object.get("upper_sum").getAsDouble(), detector.upperCount);
+                detector.upperM2 = getM2(object.get("upper_sum").getAsDouble(), object.get("upper_squares").getAsDouble(), detector.upperCount);
+                detector.lowerMean = getMean(object.get("lower_sum").getAsDouble(), detector.lowerCount);
+                detector.lowerM2 = getM2(object.get("lower_sum").getAsDouble(), object.get("lower_squares").getAsDouble(), detector.lowerCount);
+            }
+            JsonArray points = object.getAsJsonArray("changes");
+            for (int i = 0; i + 2 < points.size(); i += 3) {
+                detector.changes.add(new ChangePoint(points.get(i).getAsInt(), points.get(i + 1).getAsDouble(), points.get(i + 2).getAsDouble()));
+            }
+            return detector;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static double getMean(double sum, int length) {
+        return (length == 0) ? 0.0 : sum / length;
+    }
+
+    private static double getM2(double sum, double squares, int length) {
+        return (length == 0) ? 0.0 : Math.max(0.0, squares - sum * sum / length);
+    }
+
+    private ChangePoint startRegime(int start, double regimeMean, double regimeM2, int length) {
+        double before = mean;
+        count = length;
+        mean = regimeMean;
+        m2 = regimeM2;
+        upper = 0.0;
+        lower = 0.0;
+        heldCount = 0;
+        heldMean = 0.0;
+        heldM2 = 0.0;
+        ChangePoint change = new ChangePoint(start, before, mean);
+        changes.add(change);
+        if (changes.size() > MAX_CHANGES) {
+            changes.remove(0);
+        }
+        return change;
+    }
+
+    private void addToRegime(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        updateLastChange();
+    }
+
+    /**
+     * Add the held values to the reference, combining the two sets of statistics (Chan et al.)
+     */
+    private void releaseHeld() {
+        int total = count + heldCount;
+        double delta = heldMean - mean;
+        mean += delta * heldCount / total;
+        m2 += heldM2 + delta * delta * ((double) count * heldCount / total);
+        count = total;
+        heldCount = 0;
+        heldMean = 0.0;
+        heldM2 = 0.0;
+        updateLastChange();
+    }
+
+    private void updateLastChange() {
+        if (!changes.isEmpty()) {
+            // The current regime starts at the last change point
+            ChangePoint last = changes.get(changes.size() - 1);
+            changes.set(changes.size() - 1, new ChangePoint(last.build, last.before, mean));
+        }
+    }
+
+    /**
+     * Estimate the heap footprint, see {@link HeapFootprint}
+     * @return Size in bytes
+     */
+    public synchronized long getFootprint() {
+        return HeapFootprint.align(128) + HeapFootprint.LIST + changes.size() * (HeapFootprint.REFERENCE + HeapFootprint.align(32));
+    }
+
+    // Setter
+
+    public synchronized void setBuild(int build) { this.build = build; }
+
+    // Getters
+
+    public synchronized int getBuild() { return build; }
+    public synchronized List<ChangePoint> getChanges() { return Collections.unmodifiableList(new ArrayList<ChangePoint>(changes)); }
+    public synchronized ChangePoint getLastChange() { return changes.isEmpty() ? null : changes.get(changes.size() - 1); }
+}
@@ -0,0 +1,99 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+/**
+ * Reduce a series of points to the number that a chart can actually display
+ * Uses the Largest-Triangle-Three-Buckets algorithm (S. Steinarsson, 2013) that keeps the visual shape of the series.
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class ChartDownsampler {
+
+    // Functions
+
+    /**
+     * Select the points to keep with the Largest-Triangle-Three-Buckets algorithm
+     * The first and last points are always kept.
+     * @param x Abscissas sorted in ascending order
+     * @param y Ordinates
+     * @param threshold Maximum number of points to keep
+     * @return Indices of the points to keep, in ascending order
+     */
+    public static int[] largestTriangleThreeBuckets(double[] x, double[] y, int threshold) {
+        int length = x.length;
+        if (threshold >= length || threshold <= 0) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        if (threshold < 3) {
+            threshold = 3;
+        }
+
+        int[] sampled = new int[threshold];
+        int sampledIndex = 0;
+
+        // Bucket size, the first and last points are buckets of their own
+        double every = (double) (length - 2) / (threshold - 2);
+
+        int a = 0;
+        sampled[sampledIndex++] = a;
+        for (int i = 0; i < threshold - 2; i++) {
+
+            // Average point of the next bucket
+            int avgRangeStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgRangeEnd = Math.min((int) Math.floor((i + 2) * every) + 1, length);
+            double avgX = 0.0;
+            double avgY = 0.0;
+            for (int j = avgRangeStart; j < avgRangeEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            int avgRangeLength = avgRangeEnd - avgRangeStart;
+            if (avgRangeLength > 0) {
+                avgX /= avgRangeLength;
+                avgY /= avgRangeLength;
+            } else {
+                avgX = x[length - 1];
+                avgY = y[length - 1];
+            }
+
+            // Point of the current bucket forming the largest triangle with the previous selected point and the average
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double maxArea = -1.0;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((x[a] - avgX) * (y[j] - y[a]) - (x[a] - x[j]) * (avgY - y[a]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled[sampledIndex++] = next;
+            a = next;
+        }
+        sampled[sampledIndex] = length - 1;
+        return sampled;
+    }
+}
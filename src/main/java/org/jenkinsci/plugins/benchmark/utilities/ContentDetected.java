@@ -42,6 +42,20 @@ public class ContentDetected {
         this.unitsDetected = false;
     }
 
+    // Functions
+
+    /**
+     * Number of row heads in the raw table (location, group, result and unit)
+     * @return Number of row heads
+     */
+    public int getNumberOfHeads() {
+        int heads = 1;
+        if (fileDetected) heads++;
+        if (groupDetected) heads++;
+        if (unitsDetected) heads++;
+        return heads;
+    }
+
     // Setter
 
     public void setFileDetected(Boolean fileDetected) { this.fileDetected = fileDetected; }
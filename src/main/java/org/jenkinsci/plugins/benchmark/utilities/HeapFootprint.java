@@ -0,0 +1,156 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approximate heap footprint of a history loaded in memory, checked against a memory budget
+ *
+ * <p>
+ * Sizes are estimated for a 64-bit JVM with compressed references, without walking the heap. The structure of the
+ * history (groups, files and results) is accounted apart from the content of each build (values and properties),
+ * so that dropping details or builds updates the total. Over budget, a history first drops the messages and
+ * parameters of its builds, then, if allowed, skips the builds that are still to load.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class HeapFootprint {
+
+    // Variables
+
+    // Estimated sizes in bytes
+    public static final long REFERENCE = 4;
+    public static final long BOXED = 16;
+    public static final long MAP_ENTRY = 40;
+    public static final long SORTED_ENTRY = 48;
+    public static final long MAP = 64;
+    public static final long LIST = 24;
+    public static final long PROPERTY = 112;
+    public static final long GROUP = 120;
+    public static final long RESULT = 280;
+
+    private final long budget;
+    private final boolean dropBuilds;
+
+    private final AtomicLong structureBytes = new AtomicLong();
+    private final AtomicLong buildBytes = new AtomicLong();
+    private final Map<Integer, Long> builds = new ConcurrentHashMap<Integer, Long>();
+    private final NavigableSet<Integer> skippedBuilds = new ConcurrentSkipListSet<Integer>();
+    private volatile boolean detailsDropped = false;
+
+    // Constructor
+
+    /**
+     * @param budget Memory budget in bytes, 0 for none
+     * @param dropBuilds Whether builds may be skipped over budget, once details are dropped
+     */
+    public HeapFootprint(long budget, boolean dropBuilds) {
+        this.budget = budget;
+        this.dropBuilds = dropBuilds;
+    }
+
+    // Functions
+
+    /**
+     * Estimate the size of a string with its character array
+     * @param text String, may be null
+     * @return Size in bytes
+     */
+    public static long ofString(String text) {
+        if (text == null) {
+            return 0;
+        }
+        return align(24) + align(16 + text.length());
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Account the footprint of a build, replacing any previous estimate of the same build
+     * @param build Build number
+     * @param bytes Estimated size in bytes
+     */
+    public void addBuild(int build, long bytes) {
+        Long previous = builds.put(build, bytes);
+        buildBytes.addAndGet(previous == null ? bytes : bytes - previous);
+    }
+
+    /**
+     * Remove the footprint of a build released from the history
+     * @param build Build number
+     */
+    public void removeBuild(int build) {
+        Long previous = builds.remove(build);
+        if (previous != null) {
+            buildBytes.addAndGet(-previous);
+        }
+    }
+
+    /**
+     * Mark the details of the builds as dropped
+     * @return Whether the caller is the first to do so and has to drop them
+     */
+    public synchronized boolean dropDetails() {
+        if (detailsDropped) {
+            return false;
+        }
+        detailsDropped = true;
+        return true;
+    }
+
+    /**
+     * Check whether a build should be skipped instead of loaded, and record it if so
+     * @param build Build number
+     * @return Whether the build is skipped
+     */
+    public boolean skipBuild(int build) {
+        if (dropBuilds && detailsDropped && isOverBudget()) {
+            skippedBuilds.add(build);
+            return true;
+        }
+        return false;
+    }
+
+    // Setters
+
+    public void setStructure(long bytes) { structureBytes.set(bytes); }
+
+    // Getters
+
+    public long getBudget() { return budget; }
+    public long getTotal() { return structureBytes.get() + buildBytes.get(); }
+    public long getStructure() { return structureBytes.get(); }
+    public Set<Integer> getBuilds() { return builds.keySet(); }
+    public int getNumberOfBuilds() { return builds.size(); }
+    public boolean isOverBudget() { return budget > 0 && getTotal() > budget; }
+    public boolean isDetailsDropped() { return detailsDropped; }
+    public boolean isDegraded() { return detailsDropped || !skippedBuilds.isEmpty(); }
+    public int getNumberOfSkippedBuilds() { return skippedBuilds.size(); }
+    public Integer getLastSkippedBuild() { return skippedBuilds.isEmpty() ? null : skippedBuilds.last(); }
+}
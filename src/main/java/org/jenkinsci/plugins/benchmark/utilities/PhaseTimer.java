@@ -0,0 +1,314 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the phases of a publish: wall time, CPU time, allocated bytes, files and bytes read
+ *
+ * <p>
+ * A timer is attached to the publishing thread and inherited by the threads it creates, so that code shared with
+ * the pages, like the history loading, is measured only when called from a publish. CPU time and allocated bytes are
+ * those of the publishing thread, plus the work reported by the parallel readers it starts.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class PhaseTimer {
+
+    // Public enumeration
+
+    public enum Phase {
+        TOTAL("Total"),
+        SCHEMA("Schema loading"),
+        IDENTIFY_FILES("Identify files"),
+        MAPPING("Mapping"),
+        HISTORY("History loading"),
+        HISTORY_CONDENSED("- condensed file"),
+        HISTORY_RECENT("- recent builds"),
+        HISTORY_PARALLEL("- older builds"),
+        THRESHOLDS("Threshold checks"),
+        EXPORT("Build file export"),
+        MERGE("Merge with history"),
+        CONDENSED_EXPORT("Condensed file export");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    /**
+     * Measure of one phase
+     */
+    public static class Measure {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong wallNanos = new AtomicLong();
+        private final AtomicLong cpuNanos = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+        private final AtomicLong filesRead = new AtomicLong();
+        private final AtomicLong bytesRead = new AtomicLong();
+
+        private long startWall;
+        private long startCpu;
+        private long startAllocated;
+
+        public long getCount() { return count.get(); }
+        public long getWallNanos() { return wallNanos.get(); }
+        public long getCpuNanos() { return cpuNanos.get(); }
+        public long getAllocatedBytes() { return allocatedBytes.get(); }
+        public long getFilesRead() { return filesRead.get(); }
+        public long getBytesRead() { return bytesRead.get(); }
+    }
+
+    // Variables
+
+    private static final InheritableThreadLocal<PhaseTimer> current = new InheritableThreadLocal<PhaseTimer>();
+
+    private final Map<Phase, Measure> measures = new EnumMap<Phase, Measure>(Phase.class);
+    private final List<Measure> open = new CopyOnWriteArrayList<Measure>();
+    private volatile boolean stopped = false;
+
+    // Constructor
+
+    private PhaseTimer() {
+        for (Phase phase : Phase.values()) {
+            measures.put(phase, new Measure());
+        }
+    }
+
+    // Functions
+
+    /**
+     * Attach a new timer to the current thread and start the total measure
+     * @return Timer
+     */
+    public static PhaseTimer start() {
+        PhaseTimer timer = new PhaseTimer();
+        current.set(timer);
+        timer.open(Phase.TOTAL);
+        return timer;
+    }
+
+    /**
+     * Close all measures and detach the timer from the current thread
+     */
+    public void stop() {
+        for (Phase phase : Phase.values()) {
+            close(phase);
+        }
+        stopped = true;
+        if (current.get() == this) {
+            current.remove();
+        }
+    }
+
+    /**
+     * Start measuring a phase on the current thread, no effect outside of a publish
+     * @param phase Phase
+     */
+    public static void begin(Phase phase) {
+        PhaseTimer timer = getCurrent();
+        if (timer != null) {
+            timer.open(phase);
+        }
+    }
+
+    /**
+     * Stop measuring a phase on the current thread, no effect outside of a publish
+     * @param phase Phase
+     */
+    public static void end(Phase phase) {
+        PhaseTimer timer = getCurrent();
+        if (timer != null) {
+            timer.close(phase);
+        }
+    }
+
+    /**
+     * Account a file read by the current publish in all the open phases
+     * @param bytes Size of the file, 0 if unknown
+     */
+    public static void recordFile(long bytes) {
+        PhaseTimer timer = getCurrent();
+        if (timer != null) {
+            for (Measure measure : timer.open) {
+                measure.filesRead.incrementAndGet();
+                measure.bytesRead.addAndGet(bytes);
+            }
+        }
+    }
+
+    /**
+     * Wrap a stream so that the file and the bytes read from it are accounted once it is closed
+     * @param stream Stream of the file
+     * @return Counting stream
+     */
+    public static InputStream countFile(InputStream stream) {
+        return new FilterInputStream(stream) {
+
+            private long bytes = 0;
+            private boolean closed = false;
+
+            @Override
+            public int read() throws IOException {
+                int value = super.read();
+                if (value >= 0) bytes++;
+                return value;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int count = super.read(buffer, offset, length);
+                if (count > 0) bytes += count;
+                return count;
+            }
+
+            @Override
+            public long skip(long length) throws IOException {
+                long count = super.skip(length);
+                bytes += count;
+                return count;
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    recordFile(bytes);
+                }
+                super.close();
+            }
+        };
+    }
+
+    /**
+     * Account the work of a thread started by the current publish in all the open phases
+     * @param cpuNanos CPU time of the thread
+     * @param allocatedBytes Bytes allocated by the thread
+     */
+    public static void recordWork(long cpuNanos, long allocatedBytes) {
+        PhaseTimer timer = getCurrent();
+        if (timer != null) {
+            for (Measure measure : timer.open) {
+                measure.cpuNanos.addAndGet(cpuNanos);
+                measure.allocatedBytes.addAndGet(allocatedBytes);
+            }
+        }
+    }
+
+    /**
+     * Get the CPU time of the current thread
+     * @return CPU time in nanoseconds, 0 if not supported
+     */
+    public static long getThreadCpuNanos() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean.isCurrentThreadCpuTimeSupported()) {
+            return bean.getCurrentThreadCpuTime();
+        }
+        return 0L;
+    }
+
+    /**
+     * Get the bytes allocated by the current thread
+     * @return Allocated bytes, 0 if not supported
+     */
+    public static long getThreadAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * Print the measured phases
+     * @param logger Build log
+     * @param title Localized title
+     */
+    public void printSummary(PrintStream logger, String title) {
+        logger.println(title);
+        logger.println(String.format(Locale.ROOT, "  %-24s %10s %10s %12s %8s %12s", "", "wall ms", "cpu ms", "alloc MB", "files", "read KB"));
+        for (Map.Entry<Phase, Measure> entry : measures.entrySet()) {
+            Measure measure = entry.getValue();
+            if (measure.getCount() == 0) {
+                continue;
+            }
+            logger.println(String.format(Locale.ROOT, "  %-24s %10d %10d %12.1f %8d %12.1f",
+                    entry.getKey().getLabel(),
+                    measure.getWallNanos() / 1000000L,
+                    measure.getCpuNanos() / 1000000L,
+                    measure.getAllocatedBytes() / (1024.0 * 1024.0),
+                    measure.getFilesRead(),
+                    measure.getBytesRead() / 1024.0));
+        }
+    }
+
+    private static PhaseTimer getCurrent() {
+        // Pooled threads created during a publish keep the timer after it is stopped
+        PhaseTimer timer = current.get();
+        return (timer == null || timer.stopped) ? null : timer;
+    }
+
+    private void open(Phase phase) {
+        Measure measure = measures.get(phase);
+        if (open.contains(measure)) {
+            return;
+        }
+        measure.startWall = System.nanoTime();
+        measure.startCpu = getThreadCpuNanos();
+        measure.startAllocated = getThreadAllocatedBytes();
+        open.add(measure);
+    }
+
+    private void close(Phase phase) {
+        Measure measure = measures.get(phase);
+        if (!open.remove(measure)) {
+            return;
+        }
+        measure.count.incrementAndGet();
+        measure.wallNanos.addAndGet(System.nanoTime() - measure.startWall);
+        measure.cpuNanos.addAndGet(getThreadCpuNanos() - measure.startCpu);
+        measure.allocatedBytes.addAndGet(getThreadAllocatedBytes() - measure.startAllocated);
+    }
+
+    // Getter
+
+    public Map<Phase, Measure> getMeasures() { return measures; }
+}
@@ -0,0 +1,324 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch of the values of a result over its history
+ * Merging t-digest (T. Dunning, 2019) with the arcsine scale function: values are grouped into weighted centroids,
+ * small at both ends of the distribution and larger in the middle, so that the size of the sketch is bounded by the
+ * compression whatever the number of values, and the extreme percentiles remain accurate. Values are buffered and
+ * merged into the centroids in one pass.
+ *
+ * <p>
+ * The sketch records the last build it covers, so that the condensed file only adds the builds published since.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class QuantileSketch {
+
+    // Variables
+
+    public static final double COMPRESSION = 50.0;
+    private static final int BUFFER = 5 * (int) COMPRESSION;
+
+    private double[] means = new double[0];
+    private long[] weights = new long[0];
+    private int size = 0;
+
+    // Values not merged yet, allocated on demand so that loaded sketches stay small
+    private double[] buffer = null;
+    private int buffered = 0;
+
+    private long count = 0;
+    private double minimum = Double.NaN;
+    private double maximum = Double.NaN;
+    private int build = 0;
+
+    // Functions
+
+    /**
+     * Add a value
+     * @param value Value, NaN is ignored
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (buffered == BUFFER) {
+            compress();
+        }
+        if (buffer == null) {
+            buffer = new double[BUFFER];
+        }
+        buffer[buffered++] = value;
+        if (count == 0 || value < minimum) {
+            minimum = value;
+        }
+        if (count == 0 || value > maximum) {
+            maximum = value;
+        }
+        count++;
+    }
+
+    /**
+     * Add the values of another sketch
+     * @param other Sketch to add
+     */
+    public void merge(QuantileSketch other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        other.compress();
+        compress();
+        if (count == 0 || other.minimum < minimum) {
+            minimum = other.minimum;
+        }
+        if (count == 0 || other.maximum > maximum) {
+            maximum = other.maximum;
+        }
+        count += other.count;
+        if (other.build > build) {
+            build = other.build;
+        }
+
+        // Both centroid lists are sorted, merge them then compress
+        double[] allMeans = new double[size + other.size];
+        long[] allWeights = new long[size + other.size];
+        int i = 0, j = 0, k = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && means[i] <= other.means[j])) {
+                allMeans[k] = means[i];
+                allWeights[k++] = weights[i++];
+            } else {
+                allMeans[k] = other.means[j];
+                allWeights[k++] = other.weights[j++];
+            }
+        }
+        collapse(allMeans, allWeights, k);
+    }
+
+    /**
+     * Estimate a quantile
+     * @param q Quantile between 0 and 1
+     * @return Estimated value, null if the sketch is empty
+     */
+    public Double quantile(double q) {
+        compress();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return means[0];
+        }
+        if (q <= 0.0) {
+            return minimum;
+        }
+        if (q >= 1.0) {
+            return maximum;
+        }
+
+        // Interpolate between the centers of the centroids, and from the extremes to the first and last centers
+        double target = q * count;
+        double center = weights[0] / 2.0;
+        if (target <= center) {
+            if (weights[0] == 1) {
+                return means[0];
+            }
+            return minimum + (means[0] - minimum) * target / center;
+        }
+        double cumulated = weights[0];
+        for (int i = 0; i < size - 1; i++) {
+            double next = cumulated + weights[i + 1] / 2.0;
+            if (target <= next) {
+                double ratio = (target - center) / (next - center);
+                return means[i] + ratio * (means[i + 1] - means[i]);
+            }
+            cumulated += weights[i + 1];
+            center = next;
+        }
+        if (weights[size - 1] == 1) {
+            return means[size - 1];
+        }
+        return means[size - 1] + (maximum - means[size - 1]) * (target - center) / (count - center);
+    }
+
+    /**
+     * Get a copy of the sketch
+     * @return Copy
+     */
+    public QuantileSketch copy() {
+        compress();
+        QuantileSketch copy = new QuantileSketch();
+        copy.means = Arrays.copyOf(means, size);
+        copy.weights = Arrays.copyOf(weights, size);
+        copy.size = size;
+        copy.count = count;
+        copy.minimum = minimum;
+        copy.maximum = maximum;
+        copy.build = build;
+        return copy;
+    }
+
+    /**
+     * Create a JSON object of the sketch [EXPORT CONDENSED]
+     * @return JSON object with the centroids as a flat array of mean, weight pairs
+     */
+    public JsonObject getJsonObject() {
+        compress();
+        JsonObject object = new JsonObject();
+        object.addProperty("build", build);
+        object.addProperty("count", count);
+        if (count > 0) {
+            object.addProperty("minimum", minimum);
+            object.addProperty("maximum", maximum);
+        }
+        JsonArray centroids = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            centroids.add(means[i]);
+            centroids.add(weights[i]);
+        }
+        object.add("centroids", centroids);
+        return object;
+    }
+
+    /**
+     * Read a sketch from its JSON object [DISPLAY LOAD]
+     * @param object JSON object
+     * @return Sketch, null if the object is not a valid sketch
+     */
+    public static QuantileSketch fromJsonObject(JsonObject object) {
+        try {
+            QuantileSketch sketch = new QuantileSketch();
+            sketch.build = object.get("build").getAsInt();
+            JsonArray centroids = object.getAsJsonArray("centroids");
+            int length = centroids.size() / 2;
+            sketch.means = new double[length];
+            sketch.weights = new long[length];
+            long total = 0;
+            for (int i = 0; i < length; i++) {
+                sketch.means[i] = centroids.get(2 * i).getAsDouble();
+                sketch.weights[i] = centroids.get(2 * i + 1).getAsLong();
+                total += sketch.weights[i];
+            }
+            sketch.size = length;
+            sketch.count = total;
+            if (total > 0) {
+                JsonElement minimum = object.get("minimum");
+                JsonElement maximum = object.get("maximum");
+                sketch.minimum = (minimum == null) ? sketch.means[0] : minimum.getAsDouble();
+                sketch.maximum = (maximum == null) ? sketch.means[length - 1] : maximum.getAsDouble();
+            }
+            return sketch;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Estimate the heap footprint, see {@link HeapFootprint}
+     * @return Size in bytes
+     */
+    public long getFootprint() {
+        long bytes = HeapFootprint.align(64) + 2 * HeapFootprint.align(16 + 8L * means.length);
+        if (buffer != null) {
+            bytes += HeapFootprint.align(16 + 8L * buffer.length);
+        }
+        return bytes;
+    }
+
+    private void compress() {
+        if (buffered == 0) {
+            buffer = null;
+            return;
+        }
+        Arrays.sort(buffer, 0, buffered);
+        double[] allMeans = new double[size + buffered];
+        long[] allWeights = new long[size + buffered];
+        int i = 0, j = 0, k = 0;
+        while (i < size || j < buffered) {
+            if (j >= buffered || (i < size && means[i] <= buffer[j])) {
+                allMeans[k] = means[i];
+                allWeights[k++] = weights[i++];
+            } else {
+                allMeans[k] = buffer[j++];
+                allWeights[k++] = 1;
+            }
+        }
+        buffered = 0;
+        buffer = null;
+        collapse(allMeans, allWeights, k);
+    }
+
+    private void collapse(double[] allMeans, long[] allWeights, int length) {
+        double total = 0.0;
+        for (int i = 0; i < length; i++) {
+            total += allWeights[i];
+        }
+        double[] newMeans = new double[length];
+        long[] newWeights = new long[length];
+        int newSize = 0;
+
+        double mean = allMeans[0];
+        long weight = allWeights[0];
+        double before = 0.0;
+        double limit = scale(0.0);
+        for (int i = 1; i < length; i++) {
+            double proposed = (before + weight + allWeights[i]) / total;
+            if (scale(proposed) - limit <= 1.0) {
+                weight += allWeights[i];
+                mean += (allMeans[i] - mean) * allWeights[i] / weight;
+            } else {
+                newMeans[newSize] = mean;
+                newWeights[newSize++] = weight;
+                before += weight;
+                limit = scale(before / total);
+                mean = allMeans[i];
+                weight = allWeights[i];
+            }
+        }
+        newMeans[newSize] = mean;
+        newWeights[newSize++] = weight;
+
+        means = Arrays.copyOf(newMeans, newSize);
+        weights = Arrays.copyOf(newWeights, newSize);
+        size = newSize;
+    }
+
+    private static double scale(double q) {
+        return COMPRESSION / (2.0 * Math.PI) * Math.asin(2.0 * q - 1.0);
+    }
+
+    // Setter
+
+    public void setBuild(int build) { this.build = build; }
+
+    // Getters
+
+    public int getBuild() { return build; }
+    public long getCount() { return count; }
+    public int getNumberOfCentroids() { compress(); return size; }
+}
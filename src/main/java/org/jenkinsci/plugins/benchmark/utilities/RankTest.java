@@ -0,0 +1,129 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+/**
+ * Rank tests between a sample and a baseline
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class RankTest {
+
+    // Variables
+
+    public static final int EXACT_SIZE = 60;    // Total size up to which the exact distribution of U is used
+
+    // Functions
+
+    /**
+     * Two-sided p-value of the Mann-Whitney U statistic
+     * Exact distribution of U up to {@link #EXACT_SIZE} values, ties counted towards the center, and normal
+     * approximation with continuity correction above, without correction for ties.
+     * @param u Number of pairs where the sample is above the baseline, ties counted as half
+     * @param sampleSize Size of the sample
+     * @param baselineSize Size of the baseline
+     * @return p-value, 1 if either size is 0
+     */
+    public static double getMannWhitneyPValue(double u, int sampleSize, int baselineSize) {
+        if (sampleSize == 0 || baselineSize == 0) {
+            return 1.0;
+        }
+        if (sampleSize + baselineSize <= EXACT_SIZE) {
+            double[] counts = getMannWhitneyCounts(sampleSize, baselineSize);
+            double total = 0.0;
+            double lower = 0.0;
+            double upper = 0.0;
+            for (int i = 0; i < counts.length; i++) {
+                total += counts[i];
+                if (i <= Math.ceil(u)) {
+                    lower += counts[i];
+                }
+                if (i >= Math.floor(u)) {
+                    upper += counts[i];
+                }
+            }
+            return Math.min(1.0, 2.0 * Math.min(lower, upper) / total);
+        }
+        double n1 = sampleSize;
+        double n2 = baselineSize;
+        double mean = n1 * n2 / 2.0;
+        double deviation = Math.sqrt(n1 * n2 * (n1 + n2 + 1.0) / 12.0);
+        double z = Math.max(0.0, Math.abs(u - mean) - 0.5) / deviation;
+        return Math.min(1.0, 2.0 * getNormalTail(z));
+    }
+
+    /**
+     * Smallest two-sided p-value the Mann-Whitney U test can reach, the sample entirely above or below the baseline
+     * @param sampleSize Size of the sample
+     * @param baselineSize Size of the baseline
+     * @return p-value, 1 if either size is 0
+     */
+    public static double getMinimumPValue(int sampleSize, int baselineSize) {
+        if (sampleSize == 0 || baselineSize == 0) {
+            return 1.0;
+        }
+        // 2 / C(n1 + n2, n1)
+        double combinations = 1.0;
+        int k = Math.min(sampleSize, baselineSize);
+        for (int i = 1; i <= k; i++) {
+            combinations = combinations * (sampleSize + baselineSize - k + i) / i;
+        }
+        return Math.min(1.0, 2.0 / combinations);
+    }
+
+    /**
+     * Number of orderings of a sample and a baseline for each value of U, without ties
+     * Coefficients of the Gaussian binomial [n1 + n2, n1], built as the product of (1 - q^(n + i)) / (1 - q^i).
+     * @param sampleSize Size of the sample
+     * @param baselineSize Size of the baseline
+     * @return Counts indexed by U, from 0 to n1 * n2
+     */
+    static double[] getMannWhitneyCounts(int sampleSize, int baselineSize) {
+        int k = Math.min(sampleSize, baselineSize);
+        int n = Math.max(sampleSize, baselineSize);
+        double[] counts = new double[sampleSize * baselineSize + 1];
+        counts[0] = 1.0;
+        for (int i = 1; i <= k; i++) {
+            int shift = n + i;
+            for (int j = counts.length - 1; j >= shift; j--) {
+                counts[j] -= counts[j - shift];
+            }
+            for (int j = i; j < counts.length; j++) {
+                counts[j] += counts[j - i];
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Upper tail of the standard normal distribution
+     * Complementary error function of Numerical Recipes, fractional error below 1.2e-7.
+     * @param z Value
+     * @return Probability of a standard normal variable above z
+     */
+    public static double getNormalTail(double z) {
+        double x = Math.abs(z) / Math.sqrt(2.0);
+        double t = 1.0 / (1.0 + 0.5 * x);
+        double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return (z >= 0.0) ? erfc / 2.0 : 1.0 - erfc / 2.0;
+    }
+}
@@ -18,33 +18,28 @@
  */
 package org.jenkinsci.plugins.benchmark.utilities;
 
-import org.jenkinsci.plugins.benchmark.core.BenchmarkPublisher;
+import org.jenkinsci.plugins.benchmark.core.BenchmarkCache;
 
 import java.util.TimerTask;
 
 /**
- * Control Elapsed Clock that reset data loaded in the backend
+ * Periodic task that releases the histories loaded in the backend once their clock has elapsed
  *
  * @author Daniel Mercier
  * @since 5/10/2017
  */
 public class ResetMemoryTask extends TimerTask {
 
-    // Variables
-
-    private final BenchmarkPublisher core;
-
     // Constructor
 
-    public ResetMemoryTask(BenchmarkPublisher core){
+    public ResetMemoryTask(){
         super();
-        this.core = core;
     }
 
     // Functions
 
     @Override
     public void run() {
-        this.core.resetMemory();
+        BenchmarkCache.resetExpiredMemory();
     }
 }
@@ -0,0 +1,291 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Recent history of a result, kept incrementally in the condensed file
+ * The values of the last builds are kept in a ring buffer of fixed capacity. The sum of the last N values is cached
+ * and updated with each value added, so that the average of a window costs O(1) once requested. Exponentially
+ * weighted moving averages (EWMA) cannot be recalculated from the window alone, they are kept with the ring buffer.
+ *
+ * <p>
+ * A window or EWMA span is tracked from the first time it is requested: windows are summed from the ring buffer and
+ * EWMAs are seeded with its values, from the oldest. Likewise, the values are sorted the first time they are requested
+ * by a rank test, then each value added is inserted and the value pushed out removed by binary search.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class RollingBaseline {
+
+    // Variables
+
+    public static final int CAPACITY = 50;
+
+    private final double[] window = new double[CAPACITY];
+    private int start = 0;
+    private int size = 0;
+    private int build = 0;
+
+    // Cached sums of the last N values and EWMAs, by number of builds
+    private final Map<Integer, Double> sums = new TreeMap<Integer, Double>();
+    private final Map<Integer, Double> ewmas = new TreeMap<Integer, Double>();
+
+    // Values of the ring buffer in ascending order, once requested
+    private double[] sorted = null;
+
+    // Functions
+
+    /**
+     * Add the value of the next build
+     * @param value Value, NaN is ignored
+     */
+    public synchronized void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        for (Map.Entry<Integer, Double> sum : sums.entrySet()) {
+            int span = sum.getKey();
+            double leaving = (size >= span) ? get(size - span) : 0.0;
+            sum.setValue(sum.getValue() + value - leaving);
+        }
+        for (Map.Entry<Integer, Double> ewma : ewmas.entrySet()) {
+            double alpha = getAlpha(ewma.getKey());
+            ewma.setValue(ewma.getValue() + alpha * (value - ewma.getValue()));
+        }
+        if (sorted != null) {
+            int length = size;
+            if (size == CAPACITY) {
+                int index = Arrays.binarySearch(sorted, 0, length, window[start]);
+                System.arraycopy(sorted, index + 1, sorted, index, length - index - 1);
+                length--;
+            }
+            int index = Arrays.binarySearch(sorted, 0, length, value);
+            index = (index < 0) ? -index - 1 : index;
+            System.arraycopy(sorted, index, sorted, index + 1, length - index);
+            sorted[index] = value;
+        }
+        if (size == CAPACITY) {
+            window[start] = value;
+            start = (start + 1) % CAPACITY;
+        } else {
+            window[(start + size) % CAPACITY] = value;
+            size++;
+        }
+    }
+
+    /**
+     * Average of the last builds
+     * @param builds Number of builds, at most the capacity
+     * @return Average of the available values, null if none
+     */
+    public synchronized Double getAverage(int builds) {
+        int span = Math.max(1, Math.min(builds, CAPACITY));
+        if (size == 0) {
+            return null;
+        }
+        Double sum = sums.get(span);
+        if (sum == null) {
+            double total = 0.0;
+            for (int i = Math.max(0, size - span); i < size; i++) {
+                total += get(i);
+            }
+            sum = total;
+            sums.put(span, sum);
+        }
+        return sum / Math.min(span, size);
+    }
+
+    /**
+     * Exponentially weighted moving average with a smoothing factor of 2 / (builds + 1)
+     * @param builds Span in number of builds
+     * @return EWMA, null if no value
+     */
+    public synchronized Double getEwma(int builds) {
+        int span = Math.max(1, builds);
+        Double ewma = ewmas.get(span);
+        if (ewma == null) {
+            if (size == 0) {
+                return null;
+            }
+            double alpha = getAlpha(span);
+            double current = get(0);
+            for (int i = 1; i < size; i++) {
+                current += alpha * (get(i) - current);
+            }
+            ewma = current;
+            ewmas.put(span, ewma);
+        }
+        return ewma;
+    }
+
+    /**
+     * Rank of a value among the values of the ring buffer, by binary search [THRESHOLD]
+     * @param value Value
+     * @return Number of values below, plus half the number of equal values
+     */
+    public synchronized double getRank(double value) {
+        if (sorted == null) {
+            sorted = new double[CAPACITY];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = get(i);
+            }
+            Arrays.sort(sorted, 0, size);
+        }
+        int below = bound(value, false);
+        int belowOrEqual = bound(value, true);
+        return below + 0.5 * (belowOrEqual - below);
+    }
+
+    /**
+     * Values of the last builds
+     * @param builds Number of builds
+     * @return Values from the oldest, at most the number of available values
+     */
+    public synchronized double[] getRecent(int builds) {
+        int length = Math.max(0, Math.min(builds, size));
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = get(size - length + i);
+        }
+        return values;
+    }
+
+    /**
+     * Get a copy of the baseline
+     * @return Copy
+     */
+    public synchronized RollingBaseline copy() {
+        RollingBaseline copy = new RollingBaseline();
+        System.arraycopy(window, 0, copy.window, 0, CAPACITY);
+        copy.start = start;
+        copy.size = size;
+        copy.build = build;
+        copy.sums.putAll(sums);
+        copy.ewmas.putAll(ewmas);
+        copy.sorted = (sorted == null) ? null : Arrays.copyOf(sorted, CAPACITY);
+        return copy;
+    }
+
+    /**
+     * Create a JSON object of the baseline [EXPORT CONDENSED]
+     * @return JSON object with the window from the oldest value and the EWMAs as a flat array of span, value pairs
+     */
+    public synchronized JsonObject getJsonObject() {
+        JsonObject object = new JsonObject();
+        object.addProperty("build", build);
+        JsonArray values = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            values.add(get(i));
+        }
+        object.add("window", values);
+        JsonArray averages = new JsonArray();
+        for (Map.Entry<Integer, Double> ewma : ewmas.entrySet()) {
+            averages.add(ewma.getKey());
+            averages.add(ewma.getValue());
+        }
+        object.add("ewma", averages);
+        return object;
+    }
+
+    /**
+     * Read a baseline from its JSON object [DISPLAY LOAD]
+     * @param object JSON object
+     * @return Baseline, null if the object is not a valid baseline
+     */
+    public static RollingBaseline fromJsonObject(JsonObject object) {
+        try {
+            RollingBaseline baseline = new RollingBaseline();
+            baseline.build = object.get("build").getAsInt();
+            JsonArray values = object.getAsJsonArray("window");
+            int first = Math.max(0, values.size() - CAPACITY);
+            for (int i = first; i < values.size(); i++) {
+                baseline.window[baseline.size++] = values.get(i).getAsDouble();
+            }
+            JsonArray averages = object.getAsJsonArray("ewma");
+            if (averages != null) {
+                for (int i = 0; i + 1 < averages.size(); i += 2) {
+                    baseline.ewmas.put(averages.get(i).getAsInt(), averages.get(i + 1).getAsDouble());
+                }
+            }
+            return baseline;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Estimate the heap footprint, see {@link HeapFootprint}
+     * @return Size in bytes
+     */
+    public synchronized long getFootprint() {
+        return HeapFootprint.align(40) + HeapFootprint.align(16 + 8L * CAPACITY) + 2 * HeapFootprint.MAP
+                + (sums.size() + ewmas.size()) * (HeapFootprint.SORTED_ENTRY + 2 * HeapFootprint.BOXED)
+                + ((sorted == null) ? 0 : HeapFootprint.align(16 + 8L * CAPACITY));
+    }
+
+    private int bound(double value, boolean equal) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < value || (equal && sorted[middle] == value)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private double get(int index) {
+        return window[(start + index) % CAPACITY];
+    }
+
+    private static double getAlpha(int builds) {
+        return 2.0 / (builds + 1.0);
+    }
+
+    // Setter
+
+    public synchronized void setBuild(int build) { this.build = build; }
+
+    // Getters
+
+    public synchronized int getBuild() { return build; }
+    public synchronized int getSize() { return size; }
+    public synchronized Set<Integer> getEwmaSpans() { return new TreeSet<Integer>(ewmas.keySet()); }
+    public synchronized double[] getValues() {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = get(i);
+        }
+        return values;
+    }
+}
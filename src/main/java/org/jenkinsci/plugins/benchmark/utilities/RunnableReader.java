@@ -47,6 +47,8 @@ public class RunnableReader implements Runnable {
     @Override
     public void run() {
         Run run = this.startRun;
+        long startCpu = PhaseTimer.getThreadCpuNanos();
+        long startAllocated = PhaseTimer.getThreadAllocatedBytes();
         try {
             while (run != null && run != endRun) {
                 StringBuffer rawFilename = new StringBuffer();
@@ -58,6 +60,8 @@ public class RunnableReader implements Runnable {
             }
         } catch (Exception e){
             log.warning("Warning:" + Thread.currentThread().getName() + "- Build:" + run.getNumber()+ " - " + e.getCause());
+        } finally {
+            PhaseTimer.recordWork(PhaseTimer.getThreadCpuNanos() - startCpu, PhaseTimer.getThreadAllocatedBytes() - startAllocated);
         }
     }
 }
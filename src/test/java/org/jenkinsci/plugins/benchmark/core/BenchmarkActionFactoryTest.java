@@ -0,0 +1,126 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the pages contributed to the jobs that published results
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkActionFactoryTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void jobWithoutResultsHasNoPages() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        j.buildAndAssertSuccess(project);
+        assertTrue(new BenchmarkActionFactory().createFor(project).isEmpty());
+        assertNull(BenchmarkActionFactory.getLastSummary(project));
+    }
+
+    @Test
+    public void recordKeptInTheJob() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        FreeStyleBuild run = j.buildAndAssertSuccess(project);
+        for (int i = 0; i < BenchmarkProjectAction.TREND_BUILDS; i++) {
+            j.buildAndAssertSuccess(project);
+        }
+
+        // Pages of a build older than the builds of the trend
+        BenchmarkPublisher core = new BenchmarkPublisher("results.json", null, true, null, null);
+        BenchmarkBuildAction summary = new BenchmarkBuildAction(core, null, 0, null, BenchmarkBuildAction.Verdict.PASSED);
+        run.addAction(summary);
+        BenchmarkActionFactory.record(run, core, summary);
+        assertEquals(2, new BenchmarkActionFactory().createFor(project).size());
+        assertSame(summary, BenchmarkActionFactory.getLastSummary(project));
+        assertTrue(new BenchmarkProjectAction(project, core).getContentAvailable());
+
+        BenchmarkActionFactory.Record record = BenchmarkActionFactory.readRecord(project);
+        assertEquals(run.getNumber(), record.getBuild());
+        assertEquals("results.json", record.getCore().getInputLocation());
+        assertTrue(record.getCore().getTruncateStrings());
+    }
+
+    @Test
+    public void recordOnlyMovesForward() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        FreeStyleBuild older = j.buildAndAssertSuccess(project);
+        FreeStyleBuild newer = j.buildAndAssertSuccess(project);
+        FreeStyleBuild failed = j.buildAndAssertSuccess(project);
+        BenchmarkPublisher core = new BenchmarkPublisher("results.json", null, false, null, null);
+
+        // Builds that ended in error are not recorded
+        BenchmarkActionFactory.record(failed, core, new BenchmarkBuildAction(core, null, 0, null, BenchmarkBuildAction.Verdict.ERROR));
+        assertNull(BenchmarkActionFactory.getRecord(project));
+
+        // Builds finishing out of order keep the most recent one
+        BenchmarkActionFactory.record(newer, core, new BenchmarkBuildAction(core, null, 0, null, BenchmarkBuildAction.Verdict.PASSED));
+        BenchmarkActionFactory.record(older, core, new BenchmarkBuildAction(core, null, 0, null, BenchmarkBuildAction.Verdict.FAILED));
+        assertEquals(newer.getNumber(), BenchmarkActionFactory.readRecord(project).getBuild());
+        BenchmarkActionFactory.record(failed, core, new BenchmarkBuildAction(core, null, 0, null, BenchmarkBuildAction.Verdict.ERROR));
+        assertEquals(newer.getNumber(), BenchmarkActionFactory.readRecord(project).getBuild());
+    }
+
+    @Test
+    public void olderVersionFoundByItsCondensedFile() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        project.getPublishersList().add(new BenchmarkPublisher("results.json", null, false, null, null));
+        j.buildAndAssertSuccess(project);
+        assertFalse(new File(project.getRootDir(), BenchmarkActionFactory.RECORD_FILENAME).exists());
+        FileUtils.writeStringToFile(new File(project.getRootDir(), BenchmarkCondensedCoordinator.CONDENSED_FILENAME), "{}", StandardCharsets.UTF_8);
+
+        BenchmarkActionFactory.Record record = BenchmarkActionFactory.readRecord(project);
+        assertNotNull(record);
+        assertEquals("results.json", record.getCore().getInputLocation());
+    }
+
+    @Test
+    public void oldBuildActionsDroppedOnLoad() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        FreeStyleBuild run = j.buildAndAssertSuccess(project);
+        BenchmarkPublisher core = new BenchmarkPublisher("results.json", null, false, null, null);
+        run.addAction(new BenchmarkProjectAction(project, core));
+        run.addAction(new BenchmarkResultAction(project, core));
+        run.save();
+
+        run.reload();
+        assertNull(run.getAction(BenchmarkProjectAction.class));
+        assertNull(run.getAction(BenchmarkResultAction.class));
+    }
+}
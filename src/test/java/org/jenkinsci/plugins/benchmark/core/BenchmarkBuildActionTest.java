@@ -0,0 +1,122 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the summary of the results published by a build
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkBuildActionTest {
+
+    private static final int RESULTS = 40;
+    private static final int BUILDS = 6;
+
+    private static File root;
+    private static HistoryGenerator generator;
+
+    @BeforeClass
+    public static void generate() throws Exception {
+        root = Files.createTempDirectory("benchmark-summary").toFile();
+        generator = new HistoryGenerator(root, RESULTS, BUILDS);
+        generator.setKind(HistoryGenerator.ValueKind.DOUBLE);
+        generator.setFailureRatio(0.3);
+        generator.generate();
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Test
+    public void summary_countsAndRegressions() throws Exception {
+        MapperBase history = generator.loadHistory(BUILDS);
+        MapperBase base = new MapperBase(BUILDS, false);
+        base.importCondensedFromFile(generator.getCondensedFile().getAbsolutePath());
+        BenchmarkPublisher core = new BenchmarkPublisher("result.json", "defaultSchema", true, "", "");
+        BenchmarkBuildAction summary = new BenchmarkBuildAction(core, history, BUILDS, base, BenchmarkBuildAction.Verdict.FAILED);
+
+        int results = 0;
+        int passed = 0;
+        int failed = 0;
+        for (TestValue result : history.getResults().values()) {
+            if (result.getValueAsString(BUILDS).isEmpty()) {
+                continue;
+            }
+            results++;
+            Boolean state = result.getFailedState(BUILDS);
+            if (state != null) {
+                if (state) {
+                    failed++;
+                } else {
+                    passed++;
+                }
+            }
+        }
+        assertTrue(failed > 0);
+        assertEquals(Integer.valueOf(results), summary.getNumberOfResults());
+        assertEquals(Integer.valueOf(passed), summary.getNumberOfPassed());
+        assertEquals(Integer.valueOf(failed), summary.getNumberOfFailed());
+        assertEquals(100, summary.getPassedPercentage() + summary.getFailedPercentage());
+        assertEquals(Math.round(100.0 * passed / (passed + failed)), summary.getPassedPercentage());
+
+        // Largest changes first, at most the maximum kept
+        List<BenchmarkBuildAction.Regression> regressions = summary.getRegressions();
+        assertEquals(Math.min(failed, BenchmarkBuildAction.MAX_REGRESSIONS), regressions.size());
+        double previous = Double.MAX_VALUE;
+        for (BenchmarkBuildAction.Regression regression : regressions) {
+            double change = (regression.getChange() == null) ? -1.0 : Math.abs(regression.getChange());
+            assertTrue(change <= previous);
+            previous = change;
+            assertTrue(history.getResults().get(regression.getKey()).getFailedState(BUILDS));
+        }
+
+        // Settings to read the history back
+        assertEquals("result.json", summary.getCore().getInputLocation());
+        assertTrue(summary.getCore().getTruncateStrings());
+    }
+
+    @Test
+    public void summary_withoutResults() {
+        BenchmarkPublisher core = new BenchmarkPublisher("result.json", "defaultSchema", false, "", "");
+        BenchmarkBuildAction summary = new BenchmarkBuildAction(core, null, 0, null, BenchmarkBuildAction.Verdict.ERROR);
+        assertEquals(BenchmarkBuildAction.Verdict.ERROR, summary.getVerdict());
+        assertNull(summary.getNumberOfResults());
+        assertEquals(0, summary.getPassedPercentage());
+        assertEquals(0, summary.getFailedPercentage());
+        assertTrue(summary.getRegressions().isEmpty());
+    }
+}
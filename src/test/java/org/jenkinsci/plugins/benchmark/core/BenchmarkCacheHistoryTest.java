@@ -0,0 +1,121 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test of the histories and rendered fragments kept in memory per job
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkCacheHistoryTest {
+
+    private static final int RESULTS = 10;
+    private static final int BUILDS = 4;
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    private FreeStyleProject project;
+
+    @After
+    public void release() {
+        if (project != null) {
+            BenchmarkCache.resetMemory(project);
+        }
+    }
+
+    private List<FreeStyleBuild> generate() throws Exception {
+        project = j.createFreeStyleProject();
+        List<FreeStyleBuild> runs = new ArrayList<FreeStyleBuild>();
+        for (int i = 0; i < BUILDS; i++) {
+            runs.add(j.buildAndAssertSuccess(project));
+        }
+        HistoryGenerator generator = new HistoryGenerator(project.getRootDir(), RESULTS, BUILDS);
+        generator.setFailureRatio(0.0);
+        generator.generate();
+        return runs;
+    }
+
+    @Test
+    public void historyLoadedOncePerBuild() throws Exception {
+        List<FreeStyleBuild> runs = generate();
+        BenchmarkPublisher core = new BenchmarkPublisher("result.json", "defaultSchema", false, "", "");
+        assertNull(BenchmarkCache.getLoadedMapper(project));
+
+        MapperBase mapper = BenchmarkCache.getMapper(core, runs.get(BUILDS - 1));
+        assertNotNull(mapper);
+        assertSame(mapper, BenchmarkCache.getMapper(core, runs.get(BUILDS - 1)));
+        assertSame(mapper, BenchmarkCache.getLoadedMapper(project));
+
+        // A new build reloads the history
+        FreeStyleBuild next = j.buildAndAssertSuccess(project);
+        MapperBase reloaded = BenchmarkCache.getMapper(core, next);
+        assertNotSame(mapper, reloaded);
+
+        BenchmarkCache.resetMemory(project);
+        assertNull(BenchmarkCache.getLoadedMapper(project));
+    }
+
+    @Test
+    public void fragmentsFollowTheHistory() throws Exception {
+        List<FreeStyleBuild> runs = generate();
+        BenchmarkPublisher core = new BenchmarkPublisher("result.json", "defaultSchema", false, "", "");
+        MapperBase mapper = BenchmarkCache.getMapper(core, runs.get(BUILDS - 1));
+        BenchmarkCache.putFragment(project, mapper, "table", "content");
+        assertEquals("content", BenchmarkCache.getFragment(project, mapper, "table"));
+        assertNull(BenchmarkCache.getFragment(project, mapper, "other"));
+
+        // Rendered from another history
+        BenchmarkCache.putFragment(project, new MapperBase(BUILDS, false), "stale", "content");
+        assertNull(BenchmarkCache.getFragment(project, mapper, "stale"));
+        assertNull(BenchmarkCache.getFragment(project, new MapperBase(BUILDS, false), "table"));
+
+        // Least recently used fragments are dropped
+        for (int i = 0; i < BenchmarkCache.MAX_FRAGMENTS; i++) {
+            BenchmarkCache.putFragment(project, mapper, "view" + i, "content" + i);
+        }
+        assertNull(BenchmarkCache.getFragment(project, mapper, "table"));
+        assertEquals("content" + (BenchmarkCache.MAX_FRAGMENTS - 1), BenchmarkCache.getFragment(project, mapper, "view" + (BenchmarkCache.MAX_FRAGMENTS - 1)));
+
+        // A new build drops the fragments of the previous history
+        FreeStyleBuild next = j.buildAndAssertSuccess(project);
+        MapperBase reloaded = BenchmarkCache.getMapper(core, next);
+        assertNull(BenchmarkCache.getFragment(project, mapper, "view1"));
+        assertNull(BenchmarkCache.getFragment(project, reloaded, "view1"));
+    }
+}
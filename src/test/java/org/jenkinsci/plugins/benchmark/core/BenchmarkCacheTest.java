@@ -0,0 +1,76 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the conditional request handling of the history cache
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkCacheTest {
+
+    private static final String ETAG = "\"1a2b3c\"";
+    private static final long MODIFIED = 1700000000000L;
+
+    @Test
+    public void ifNoneMatchTakesPrecedence() {
+        assertTrue(BenchmarkCache.isNotModified(ETAG, MODIFIED, ETAG, -1));
+        assertTrue(BenchmarkCache.isNotModified(ETAG, MODIFIED, "\"other\", " + ETAG, -1));
+        assertTrue(BenchmarkCache.isNotModified(ETAG, MODIFIED, "W/" + ETAG, -1));
+        assertTrue(BenchmarkCache.isNotModified(ETAG, MODIFIED, "*", -1));
+        // A new build changes the ETag, the date alone must not answer 304
+        assertFalse(BenchmarkCache.isNotModified(ETAG, MODIFIED, "\"other\"", MODIFIED));
+        assertFalse(BenchmarkCache.isNotModified(ETAG, MODIFIED, "\"other\"", MODIFIED + 1000));
+    }
+
+    @Test
+    public void ifModifiedSinceWithoutETag() {
+        assertTrue(BenchmarkCache.isNotModified(ETAG, MODIFIED, null, MODIFIED));
+        assertTrue(BenchmarkCache.isNotModified(ETAG, MODIFIED, null, MODIFIED + 1000));
+        assertFalse(BenchmarkCache.isNotModified(ETAG, MODIFIED, null, MODIFIED - 1000));
+        assertFalse(BenchmarkCache.isNotModified(ETAG, MODIFIED, null, -1));
+    }
+
+    @Test
+    public void drawCounterIsNotPartOfTheTag() {
+        Map<String, String[]> first = new HashMap<String, String[]>();
+        first.put("start", new String[]{"10"});
+        first.put("orderDir", new String[]{"asc"});
+        first.put("draw", new String[]{"1"});
+        Map<String, String[]> second = new HashMap<String, String[]>();
+        second.put("draw", new String[]{"7"});
+        second.put("_", new String[]{"1700000000123"});
+        second.put("orderDir", new String[]{"asc"});
+        second.put("start", new String[]{"10"});
+        assertEquals(BenchmarkCache.getParameters(first), BenchmarkCache.getParameters(second));
+
+        second.put("start", new String[]{"20"});
+        assertFalse(BenchmarkCache.getParameters(first).equals(BenchmarkCache.getParameters(second)));
+    }
+}
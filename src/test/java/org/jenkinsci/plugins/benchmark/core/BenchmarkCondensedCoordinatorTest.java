@@ -0,0 +1,158 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import org.apache.commons.io.FileUtils;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the journal, stamp and compaction of the condensed file of a job
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkCondensedCoordinatorTest {
+
+    private static final int RESULTS = 10;
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void journalKeepsConcurrentRecords() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        final List<FreeStyleBuild> runs = new ArrayList<FreeStyleBuild>();
+        for (int i = 0; i < 8; i++) {
+            runs.add(j.buildAndAssertSuccess(project));
+        }
+        List<Thread> threads = new ArrayList<Thread>();
+        for (final FreeStyleBuild run : runs) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        BenchmarkCondensedCoordinator.record(run);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        TreeSet<Integer> journal = BenchmarkCondensedCoordinator.readJournal(project);
+        assertEquals(runs.size(), journal.size());
+        for (FreeStyleBuild run : runs) {
+            assertTrue(journal.contains(run.getNumber()));
+        }
+    }
+
+    @Test
+    public void stampFollowsTheCondensedFile() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        assertEquals(0L, BenchmarkCondensedCoordinator.getStamp(project));
+        File condensedFile = new File(project.getRootDir(), BenchmarkCondensedCoordinator.CONDENSED_FILENAME);
+        HistoryGenerator.write(condensedFile, "{}");
+        long stamp = BenchmarkCondensedCoordinator.getStamp(project);
+        assertNotEquals(0L, stamp);
+        HistoryGenerator.write(condensedFile, "{ \"results\": [] }");
+        assertNotEquals(stamp, BenchmarkCondensedCoordinator.getStamp(project));
+    }
+
+    @Test
+    public void compactionCoversLateBuilds() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        List<FreeStyleBuild> runs = new ArrayList<FreeStyleBuild>();
+        for (int i = 0; i < 4; i++) {
+            runs.add(j.buildAndAssertSuccess(project));
+        }
+
+        // Build files of the 4 builds, condensed file of the first 2
+        HistoryGenerator generator = new HistoryGenerator(project.getRootDir(), RESULTS, 4);
+        generator.setFailureRatio(0.0);
+        generator.generate();
+        File scratch = Files.createTempDirectory("benchmark-coordinator").toFile();
+        HistoryGenerator condensed = new HistoryGenerator(scratch, RESULTS, 2);
+        condensed.setFailureRatio(0.0);
+        condensed.generate();
+        FileUtils.copyFile(condensed.getCondensedFile(), generator.getCondensedFile());
+        HistoryGenerator.delete(scratch);
+
+        BenchmarkPublisher core = new BenchmarkPublisher("result.json", "defaultSchema", false, "", "");
+
+        // Build 4 compacts while build 3 is still publishing
+        File late = generator.getResultFile(3);
+        File aside = new File(project.getRootDir(), "aside.json");
+        FileUtils.moveFile(late, aside);
+        long stamp = BenchmarkCondensedCoordinator.getStamp(project);
+        BenchmarkCondensedCoordinator.record(runs.get(3));
+        BenchmarkCondensedCoordinator.compact(core, project);
+        assertTrue(BenchmarkCondensedCoordinator.readJournal(project).isEmpty());
+        assertNotEquals(stamp, BenchmarkCondensedCoordinator.getStamp(project));
+        assertCounts(core, runs.get(3), 4, 3);
+
+        // Build 3 publishes afterwards, it goes to compaction and the condensed file stays on build 4
+        FileUtils.moveFile(aside, late);
+        stamp = BenchmarkCondensedCoordinator.getStamp(project);
+        MapperBase merged = core.getRawResults(runs.get(2));
+        assertEquals(Integer.valueOf(4), merged.getCondensedBuild());
+        BenchmarkCondensedCoordinator.publish(core, runs.get(2), merged, stamp);
+        assertTrue(BenchmarkQueue.await(project, 60000));
+        assertTrue(BenchmarkCondensedCoordinator.readJournal(project).isEmpty());
+        assertCounts(core, runs.get(3), 4, 4);
+    }
+
+    private static void assertCounts(BenchmarkPublisher core, FreeStyleBuild last, int build, long count) throws Exception {
+        MapperBase condensed = core.getCondensedResults(last);
+        assertNotNull(condensed);
+        assertEquals(Integer.valueOf(build), condensed.getCondensedBuild());
+        boolean numeral = false;
+        for (TestValue result : condensed.getResults().values()) {
+            if (result instanceof NumeralValue) {
+                assertEquals(count, ((NumeralValue) result).calculateSketch().getCount());
+                numeral = true;
+            }
+        }
+        assertTrue(numeral);
+        assertFalse(condensed.getResults().isEmpty());
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.core;
+
+import hudson.model.FreeStyleProject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the background tasks of a job
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class BenchmarkQueueTest {
+
+    @Rule
+    public JenkinsRule j = new JenkinsRule();
+
+    @Test
+    public void tasksRunInOrder() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        for (int i = 0; i < 20; i++) {
+            final int task = i;
+            BenchmarkQueue.submit(project, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep((task % 3) * 5L);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    order.add(task);
+                }
+            });
+        }
+        assertTrue(BenchmarkQueue.await(project, 10000L));
+        assertEquals(20, order.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Integer.valueOf(i), order.get(i));
+        }
+    }
+
+    @Test
+    public void failedTaskDoesNotStopTheQueue() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        final AtomicBoolean ran = new AtomicBoolean(false);
+        BenchmarkQueue.submit(project, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("failure");
+            }
+        });
+        BenchmarkQueue.submit(project, new Runnable() {
+            @Override
+            public void run() {
+                ran.set(true);
+            }
+        });
+        assertTrue(BenchmarkQueue.await(project, 10000L));
+        assertTrue(ran.get());
+    }
+
+    @Test
+    public void awaitIsBounded() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        assertTrue(BenchmarkQueue.await(project, 0L));
+
+        final CountDownLatch release = new CountDownLatch(1);
+        BenchmarkQueue.submit(project, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        long start = System.nanoTime();
+        assertFalse(BenchmarkQueue.await(project, 200L));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000L);
+        release.countDown();
+        assertTrue(BenchmarkQueue.await(project, 10000L));
+    }
+
+    @Test
+    public void runAfterWaitsWithoutBeingWaitedFor() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch reader = new CountDownLatch(1);
+        final AtomicBoolean ran = new AtomicBoolean(false);
+        BenchmarkQueue.submit(project, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        CompletableFuture<Void> after = BenchmarkQueue.runAfter(project, new Runnable() {
+            @Override
+            public void run() {
+                ran.set(true);
+                try {
+                    reader.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        Thread.sleep(100L);
+        assertFalse(ran.get());
+
+        // The queue is done while the read-only task still runs
+        release.countDown();
+        assertTrue(BenchmarkQueue.await(project, 10000L));
+        reader.countDown();
+        after.get(10L, TimeUnit.SECONDS);
+        assertTrue(ran.get());
+    }
+
+    @Test
+    public void tasksRunOnThePluginPool() throws Exception {
+        FreeStyleProject project = j.createFreeStyleProject();
+        final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                threads.add(Thread.currentThread().getName());
+            }
+        };
+        BenchmarkQueue.submit(project, task);
+        assertTrue(BenchmarkQueue.await(project, 10000L));
+
+        // Started again after a shutdown
+        BenchmarkQueue.shutdown();
+        BenchmarkQueue.submit(project, task);
+        assertTrue(BenchmarkQueue.await(project, 10000L));
+        assertEquals(2, threads.size());
+        for (String thread : threads) {
+            assertTrue(thread.startsWith("BenchmarkQueue"));
+        }
+    }
+}
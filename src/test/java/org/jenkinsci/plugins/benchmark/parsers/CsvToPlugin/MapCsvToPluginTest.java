@@ -0,0 +1,118 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers.CsvToPlugin;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.DoubleValue;
+import org.jenkinsci.plugins.benchmark.results.IntegerValue;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the CSV mapper
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapCsvToPluginTest {
+
+    @Test
+    public void csv_defaultSchema() throws ValidationException, IOException {
+        System.out.println("Starting CSV mapping for '1-defaultSchema {header, quotes, types, thresholds}'.");
+
+        // Load schema
+        ClassLoader classLoader = MapCsvToPlugin.class.getClassLoader();
+        File csvSFile = new File(classLoader.getResource("schemas/csv.json").getFile());
+        JsonElement csvSchema;
+        try (InputStreamReader reader = new InputStreamReader(new FileInputStream(csvSFile), StandardCharsets.UTF_8)) {
+            csvSchema = new JsonParser().parse(reader);
+        }
+        assertTrue(MapCsvToPlugin.isCsvSchema(csvSchema));
+
+        // Launch mapper
+        File csvCFile = new File(getClass().getClassLoader().getResource("csv/results.csv").getFile());
+        MapCsvToPlugin mapper = new MapCsvToPlugin(0, csvCFile, csvSchema, false);
+        assertEquals(5, mapper.getNumberOfResults());
+
+        TestValue requests = mapper.getResults().get("GET /items, cached.requests".hashCode());
+        assertEquals(120000, ((IntegerValue) requests).getValue().intValue());
+        assertEquals(1, requests.getNumberOfThresholds());
+        assertEquals(TestValue.ValueType.rt_double, mapper.getResults().get("GET /items, cached.latency_p99".hashCode()).getType());
+        assertEquals(TestValue.ValueType.rt_double, mapper.getResults().get("POST /items.errors".hashCode()).getType());
+
+        // Last row of a result wins
+        assertEquals(3.5, ((DoubleValue) mapper.getResults().get("POST /items.latency_p50".hashCode())).getValue(), 1e-9);
+
+        System.out.println("Mapping CSV completed for '1-defaultSchema {header, quotes, types, thresholds}'.");
+    }
+
+    @Test
+    public void tsv_positions() throws ValidationException, IOException {
+        System.out.println("Starting CSV mapping for '2-positions {tab separator, no header}'.");
+
+        JsonElement csvSchema = new JsonParser().parse("{\"format\": \"csv\", \"header\": false, \"columns\": {\"value\": 1, \"unit\": 2, \"group\": 3, \"name\": 4}}");
+        File tsvCFile = new File(getClass().getClassLoader().getResource("csv/results.tsv").getFile());
+        MapCsvToPlugin mapper = new MapCsvToPlugin(0, tsvCFile, csvSchema, false);
+        assertEquals(2, mapper.getNumberOfResults());
+        assertEquals(12.5, ((DoubleValue) mapper.getResults().get("parse.small".hashCode())).getValue(), 1e-9);
+        assertEquals("ms", mapper.getResults().get("parse.large".hashCode()).getUnit());
+
+        System.out.println("Mapping CSV completed for '2-positions {tab separator, no header}'.");
+    }
+
+    @Test
+    public void csv_types() throws ValidationException, IOException {
+        System.out.println("Starting CSV mapping for '3-types {long, NaN, Infinity, default decimal}'.");
+
+        JsonElement csvSchema = new JsonParser().parse("{\"format\": \"csv\", \"columns\": {\"name\": \"name\", \"value\": \"value\", \"type\": \"type\"}}");
+        File csvCFile = Files.createTempFile("benchmark-types", ".csv").toFile();
+        String content = "name,value,type\n"
+                + "elapsed_ns,5000000000,long\n"
+                + "count,42,\n"
+                + "threads,8,int\n"
+                + "large,3000000000,\n"
+                + "missing,NaN,\n"
+                + "unbounded,-Infinity,\n";
+        Files.write(csvCFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        MapCsvToPlugin mapper = new MapCsvToPlugin(0, csvCFile, csvSchema, false);
+        assertTrue(csvCFile.delete());
+        assertEquals(6, mapper.getNumberOfResults());
+
+        assertEquals(5.0e9, ((DoubleValue) mapper.getResults().get("elapsed_ns".hashCode())).getValue(), 1e-3);
+        assertEquals(42.0, ((DoubleValue) mapper.getResults().get("count".hashCode())).getValue(), 0.0);
+        assertEquals(TestValue.ValueType.rt_integer, mapper.getResults().get("threads".hashCode()).getType());
+        assertEquals(3.0e9, ((DoubleValue) mapper.getResults().get("large".hashCode())).getValue(), 1e-3);
+        assertTrue(((DoubleValue) mapper.getResults().get("missing".hashCode())).getValue().isNaN());
+        assertEquals(Double.NEGATIVE_INFINITY, ((DoubleValue) mapper.getResults().get("unbounded".hashCode())).getValue(), 0.0);
+
+        System.out.println("Mapping CSV completed for '3-types {long, NaN, Infinity, default decimal}'.");
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers.FormatToPlugin;
+
+import hudson.FilePath;
+import hudson.util.StreamTaskListener;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.ResultFormat;
+import org.jenkinsci.plugins.benchmark.parsers.ResultSink;
+import org.jenkinsci.plugins.benchmark.results.DoubleValue;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test of the mapper of result formats
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapFormatToPluginTest {
+
+    /**
+     * Lines of 'kind;groups;name;unit;value' with groups separated by '/'
+     */
+    private static class LineFormat extends ResultFormat {
+
+        @Override
+        public void read(InputStream stream, String fileName, ResultSink sink) throws IOException {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            sink.beginFile(fileName);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(";", -1);
+                String[] groups = fields[1].isEmpty() ? new String[0] : fields[1].split("/");
+                if (fields[0].equals("parameter")) {
+                    sink.parameter(groups, fields[2], fields[3]);
+                } else if (fields[0].equals("result")) {
+                    String unit = fields[3].isEmpty() ? null : fields[3];
+                    if (fields[4].equals("true") || fields[4].equals("false")) {
+                        sink.result(groups, fields[2], unit, Boolean.valueOf(fields[4]));
+                    } else if (fields[4].contains(".")) {
+                        sink.result(groups, fields[2], unit, Double.valueOf(fields[4]));
+                    } else {
+                        sink.result(groups, fields[2], unit, Integer.valueOf(fields[4]));
+                    }
+                } else if (fields[0].equals("message")) {
+                    sink.message(groups, fields[2], fields[3], fields[4]);
+                } else if (fields[0].equals("failed")) {
+                    sink.failed(groups, fields[2]);
+                }
+            }
+            sink.endFile();
+        }
+
+        @Override
+        public String getId() { return "lines"; }
+        @Override
+        public String getDisplayName() { return "Lines"; }
+        @Override
+        public String getExtension() { return "txt"; }
+    }
+
+    @Test
+    public void format_readAndReplay() throws ValidationException, IOException, ClassNotFoundException {
+        System.out.println("Starting format mapping for '1-readAndReplay {typed results, parameter, message, failure}'.");
+
+        ClassLoader testClassLoader = getClass().getClassLoader();
+        File file = new File(testClassLoader.getResource("format/results.txt").getFile());
+
+        // Read on the controller
+        MapFormatToPlugin mapper = new MapFormatToPlugin(0, new LineFormat(), file, false);
+        assertEquals(4, mapper.getNumberOfResults());
+        assertEquals(1, mapper.getParameters().size());
+
+        TestValue time = mapper.getResults().get("parser.large.time".hashCode());
+        assertEquals(250.0, ((DoubleValue) time).getValue(), 1e-9);
+        assertEquals("slow disk", time.getMessages().get("note"));
+        assertEquals(TestValue.ValueType.rt_integer, mapper.getResults().get("parser.small.allocations".hashCode()).getType());
+        assertTrue(mapper.getResults().get("parser.large.valid".hashCode()).getFailedState());
+
+        // Record as on an agent, send and replay
+        MapFormatToPlugin.RecordingSink recording = new MapFormatToPlugin.RecordingSink(file.length());
+        try (InputStream stream = new FileInputStream(file)) {
+            new LineFormat().read(stream, file.getName(), recording);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(recording);
+        }
+        MapFormatToPlugin.RecordingSink received;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            received = (MapFormatToPlugin.RecordingSink) input.readObject();
+        }
+        assertEquals(9, received.getNumberOfEvents());
+
+        MapFormatToPlugin replayed = new MapFormatToPlugin(0, received, false);
+        assertEquals(mapper.getNumberOfResults(), replayed.getNumberOfResults());
+        assertEquals(mapper.getParameters().size(), replayed.getParameters().size());
+        assertEquals("slow disk", replayed.getResults().get("parser.large.time".hashCode()).getMessages().get("note"));
+
+        System.out.println("Format mapping completed for '1-readAndReplay {typed results, parameter, message, failure}'.");
+    }
+
+    @Test
+    public void format_integerRange() throws ValidationException, IOException {
+        System.out.println("Starting format mapping for '2-integerRange {long values in and out of the integer range}'.");
+
+        MapFormatToPlugin.RecordingSink recording = new MapFormatToPlugin.RecordingSink(0);
+        recording.result(null, "small", null, Long.valueOf(Integer.MAX_VALUE));
+        MapFormatToPlugin mapper = new MapFormatToPlugin(0, recording, false);
+        assertEquals(TestValue.ValueType.rt_integer, mapper.getResults().get("small".hashCode()).getType());
+
+        recording = new MapFormatToPlugin.RecordingSink(0);
+        recording.result(null, "large", null, Long.valueOf(Integer.MAX_VALUE + 1L));
+        try {
+            new MapFormatToPlugin(0, recording, false);
+            fail("A long value out of the integer range must be rejected");
+        } catch (IOException e) {
+            // Rejected
+        }
+
+        System.out.println("Format mapping completed for '2-integerRange {long values in and out of the integer range}'.");
+    }
+
+    @Test
+    public void format_failedFileLeavesNoResult() throws ValidationException, IOException {
+        System.out.println("Starting format mapping for '3-failedFile {partial content of a failed file}'.");
+
+        File folder = Files.createTempDirectory("benchmark-format").toFile();
+        File good = new File(folder, "good.txt");
+        Files.write(good.toPath(), "result;parser;time;ms;12.5\n".getBytes(StandardCharsets.UTF_8));
+        File bad = new File(folder, "bad.txt");
+        Files.write(bad.toPath(), ("result;loader;time;ms;3.5\nparameter;loader;threads;4\nmessage;loader;missing;note;lost\n").getBytes(StandardCharsets.UTF_8));
+
+        Map<String, FilePath> content = new LinkedHashMap<String, FilePath>();
+        content.put("good.txt", new FilePath(good));
+        content.put("bad.txt", new FilePath(bad));
+        MapFormatToPlugin mapper = new MapFormatToPlugin(0, new LineFormat(), content, false, new StreamTaskListener(new ByteArrayOutputStream()));
+
+        assertEquals(1, mapper.getNumberOfResults());
+        assertEquals(0, mapper.getParameters().size());
+        assertEquals(1, mapper.getFiles().size());
+        for (TestValue result : mapper.getResults().values()) {
+            assertFalse(result.getFullName().contains("loader"));
+        }
+        for (File file : new File[]{good, bad, folder}) {
+            assertTrue(file.delete());
+        }
+
+        System.out.println("Format mapping completed for '3-failedFile {partial content of a failed file}'.");
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers.JmhToPlugin;
+
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.DoubleValue;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the JMH mapper
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapJmhToPluginTest {
+
+    @Test
+    public void jmh_resultFile() throws ValidationException, IOException {
+        System.out.println("Starting JMH mapping for '1-resultFile {params, percentiles, secondary metrics, NaN error, modes}'.");
+
+        ClassLoader testClassLoader = getClass().getClassLoader();
+        File jmhFile = new File(testClassLoader.getResource("jmh/result.json").getFile());
+        MapJmhToPlugin mapper = new MapJmhToPlugin(0, jmhFile, false);
+
+        // 15 + 7 + 4 + 4 results, mode, threads, forks and params per parameter combination and mode
+        assertEquals(30, mapper.getNumberOfResults());
+        assertEquals(16, mapper.getParameters().size());
+
+        String base = "org.sample.MapperBenchmark.mergeWith (avgt).builds=10, results=1000.";
+        DoubleValue score = (DoubleValue) getResult(mapper, base + "score");
+        assertNotNull(score);
+        assertEquals(7.2501, score.getValue(), 1e-9);
+        assertEquals("ms/op", score.getUnit());
+        assertTrue(score.getMessages().get(MapJmhToPlugin.RAW_DATA).startsWith("Fork 1: 6.9011, 7.2214, 7.1122\nFork 2: "));
+        assertEquals(6, score.getSamples(0).getCount());
+        assertEquals(7.6624, ((DoubleValue) getResult(mapper, base + "score_upper")).getValue(), 1e-9);
+        assertEquals(7.6012, ((DoubleValue) getResult(mapper, base + "p99.9")).getValue(), 1e-9);
+
+        DoubleValue allocation = (DoubleValue) getResult(mapper, base + "gc.alloc.rate.norm.score");
+        assertNotNull(allocation);
+        assertEquals(3895412.0, allocation.getValue(), 1e-9);
+        assertEquals("B/op", allocation.getUnit());
+
+        // Undefined error of a single iteration
+        assertNotNull(getResult(mapper, "org.sample.ParserBenchmark.parse (thrpt).score"));
+        assertNull(getResult(mapper, "org.sample.ParserBenchmark.parse (thrpt).score_error"));
+
+        // Modes of the same benchmark kept apart
+        assertEquals(1520.5, ((DoubleValue) getResult(mapper, "org.sample.ParserBenchmark.parse (thrpt).score")).getValue(), 1e-9);
+        assertEquals(2.631, ((DoubleValue) getResult(mapper, "org.sample.ParserBenchmark.parse (avgt).score")).getValue(), 1e-9);
+        assertEquals("ms/op", ((DoubleValue) getResult(mapper, "org.sample.ParserBenchmark.parse (avgt).score")).getUnit());
+
+        System.out.println("Mapping JMH completed for '1-resultFile {params, percentiles, secondary metrics, NaN error, modes}'.");
+    }
+
+    private TestValue getResult(MapJmhToPlugin mapper, String fullName) {
+        return mapper.getResults().get(fullName.hashCode());
+    }
+}
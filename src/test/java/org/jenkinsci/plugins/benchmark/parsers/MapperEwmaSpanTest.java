@@ -0,0 +1,114 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jenkinsci.plugins.benchmark.results.NumeralValue;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.jenkinsci.plugins.benchmark.utilities.RollingBaseline;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the EWMA spans requested on a copy of the condensed file, as in asynchronous mode
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapperEwmaSpanTest {
+
+    private static final int RESULTS = 10;
+    private static final int BUILDS = 8;
+    private static final int SPAN = 30;
+
+    private static File root;
+    private static HistoryGenerator generator;
+
+    @BeforeClass
+    public static void generate() throws Exception {
+        root = Files.createTempDirectory("benchmark-ewma").toFile();
+        generator = new HistoryGenerator(root, RESULTS, BUILDS);
+        generator.setKind(HistoryGenerator.ValueKind.DOUBLE);
+        generator.setFailureRatio(0.0);
+        generator.generate();
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Test
+    public void spansOfTheCondensedCopyAreExported() throws Exception {
+        File first = new File(root, "first.json");
+        assertTrue(generator.loadHistory(BUILDS).exportCondensedToFile(first.getAbsolutePath(), HistoryGenerator.JOB_NAME, BUILDS));
+
+        // Thresholds checked against a copy of the condensed file
+        MapperBase condensed = new MapperBase(BUILDS, false);
+        condensed.importCondensedFromFile(first.getAbsolutePath());
+        int requested = 0;
+        for (TestValue result : condensed.getResults().values()) {
+            if (result instanceof NumeralValue) {
+                ((NumeralValue) result).getRollingBaseline().getEwma(SPAN);
+                requested++;
+            }
+        }
+        assertTrue(requested > 0);
+        Map<Integer, Set<Integer>> spans = condensed.getEwmaSpans();
+        assertEquals(requested, spans.size());
+
+        // Compaction of the history, the spans are exported and updated from then on
+        MapperBase history = new MapperBase(BUILDS, false);
+        history.importCondensedFromFile(first.getAbsolutePath());
+        history.requestEwmaSpans(spans);
+        File second = new File(root, "second.json");
+        assertTrue(history.exportCondensedToFile(second.getAbsolutePath(), HistoryGenerator.JOB_NAME, BUILDS));
+
+        int exported = 0;
+        try (Reader reader = new InputStreamReader(new FileInputStream(second), StandardCharsets.UTF_8)) {
+            JsonArray results = new JsonParser().parse(reader).getAsJsonObject().getAsJsonArray("results");
+            for (JsonElement element : results) {
+                JsonObject result = element.getAsJsonObject();
+                if (result.has("rolling")) {
+                    RollingBaseline rolling = RollingBaseline.fromJsonObject(result.getAsJsonObject("rolling"));
+                    assertTrue(rolling.getEwmaSpans().contains(SPAN));
+                    exported++;
+                }
+            }
+        }
+        assertEquals(requested, exported);
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers;
+
+import org.jenkinsci.plugins.benchmark.utilities.HeapFootprint;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the footprint accounting and of the memory budget of a loaded history
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapperFootprintTest {
+
+    private static final int RESULTS = 1000;
+    private static final int BUILDS = 20;
+
+    private static File root;
+    private static HistoryGenerator generator;
+
+    @BeforeClass
+    public static void generate() throws Exception {
+        root = Files.createTempDirectory("benchmark-footprint").toFile();
+        generator = new HistoryGenerator(root, RESULTS, BUILDS);
+        generator.setKind(HistoryGenerator.ValueKind.MIXED);
+        generator.generate();
+    }
+
+    @AfterClass
+    public static void delete() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Test
+    public void MapperFootprint_unlimited() throws Exception {
+        MapperBase history = load(new HeapFootprint(0, true));
+        HeapFootprint footprint = history.getFootprint();
+
+        assertEquals(BUILDS, history.getBuilds().size());
+        assertEquals(BUILDS, footprint.getNumberOfBuilds());
+        assertFalse(footprint.isDegraded());
+        assertTrue(footprint.getStructure() > RESULTS * HeapFootprint.RESULT);
+        assertTrue(footprint.getTotal() > footprint.getStructure() + BUILDS * RESULTS * HeapFootprint.PROPERTY);
+    }
+
+    @Test
+    public void MapperFootprint_dropBuilds() throws Exception {
+        long total = load(new HeapFootprint(0, true)).getFootprint().getTotal();
+        MapperBase history = load(new HeapFootprint(total / 2, true));
+        HeapFootprint footprint = history.getFootprint();
+
+        assertTrue(footprint.isDetailsDropped());
+        assertNotNull(footprint.getLastSkippedBuild());
+        assertTrue(history.getBuilds().size() < BUILDS);
+        assertTrue(footprint.getTotal() < total / 2 + total / BUILDS);
+
+        // The most recent builds are kept without gap
+        assertEquals(BUILDS, history.getBuilds().last().intValue());
+        assertEquals(footprint.getLastSkippedBuild() + 1, history.getBuilds().first().intValue());
+        assertEquals(history.getBuilds().size(), footprint.getNumberOfBuilds());
+    }
+
+    @Test
+    public void MapperFootprint_keepBuilds() throws Exception {
+        long total = load(new HeapFootprint(0, false)).getFootprint().getTotal();
+        MapperBase history = load(new HeapFootprint(total / 2, false));
+        HeapFootprint footprint = history.getFootprint();
+
+        // Histories used for the condensed statistics only drop details
+        assertTrue(footprint.isDetailsDropped());
+        assertEquals(0, footprint.getNumberOfSkippedBuilds());
+        assertEquals(BUILDS, history.getBuilds().size());
+    }
+
+    private MapperBase load(HeapFootprint footprint) throws Exception {
+        MapperBase history = new MapperBase(BUILDS, false);
+        history.setFootprint(footprint);
+        history.importCondensedFromFile(generator.getCondensedFile().getAbsolutePath());
+        for (int build = BUILDS; build > 0; build--) {
+            history.importFromFile(generator.getResultFile(build).getAbsolutePath());
+        }
+        history.trimSkippedBuilds();
+        return history;
+    }
+}
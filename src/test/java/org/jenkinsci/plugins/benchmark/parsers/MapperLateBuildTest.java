@@ -0,0 +1,145 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.jenkinsci.plugins.benchmark.utilities.QuantileSketch;
+import org.jenkinsci.plugins.benchmark.utilities.RollingBaseline;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the condensed statistics when a build is condensed after a later one
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapperLateBuildTest {
+
+    private static final int RESULTS = 20;
+    private static final int BUILDS = 12;
+    private static final int LATE = 11;
+
+    private static File root;
+    private static HistoryGenerator generator;
+
+    @BeforeClass
+    public static void generate() throws Exception {
+        root = Files.createTempDirectory("benchmark-late").toFile();
+        generator = new HistoryGenerator(root, RESULTS, BUILDS);
+        generator.setKind(HistoryGenerator.ValueKind.DOUBLE);
+        generator.setFailureRatio(0.0);
+        generator.generate();
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Test
+    public void lateBuildIsPartOfTheStatistics() throws Exception {
+        // All builds condensed in order
+        File reference = new File(root, "reference.json");
+        MapperBase history = load(generator.getCondensedFile(), 0);
+        assertTrue(history.exportCondensedToFile(reference.getAbsolutePath(), HistoryGenerator.JOB_NAME, BUILDS));
+
+        // Last build condensed while the late one is still publishing
+        File early = new File(root, "early.json");
+        history = load(generator.getCondensedFile(), LATE);
+        assertTrue(history.exportCondensedToFile(early.getAbsolutePath(), HistoryGenerator.JOB_NAME, BUILDS));
+
+        // Late build compacted afterwards
+        TreeSet<Integer> late = new TreeSet<Integer>();
+        late.add(LATE);
+        File compacted = new File(root, "compacted.json");
+        history = load(early, 0);
+        history.includeLateBuilds(late);
+        assertTrue(history.exportCondensedToFile(compacted.getAbsolutePath(), HistoryGenerator.JOB_NAME, BUILDS));
+
+        File stale = new File(root, "stale.json");
+        history = load(early, 0);
+        assertTrue(history.exportCondensedToFile(stale.getAbsolutePath(), HistoryGenerator.JOB_NAME, BUILDS));
+
+        Map<Integer, JsonObject> expected = read(reference);
+        Map<Integer, JsonObject> actual = read(compacted);
+        Map<Integer, JsonObject> missing = read(stale);
+        assertEquals(RESULTS, expected.size());
+        for (Map.Entry<Integer, JsonObject> entry : expected.entrySet()) {
+            JsonObject result = actual.get(entry.getKey());
+
+            QuantileSketch expectedSketch = QuantileSketch.fromJsonObject(entry.getValue().getAsJsonObject("sketch"));
+            QuantileSketch actualSketch = QuantileSketch.fromJsonObject(result.getAsJsonObject("sketch"));
+            assertEquals(BUILDS, expectedSketch.getCount());
+            assertEquals(BUILDS, actualSketch.getCount());
+            assertEquals(expectedSketch.quantile(0.5), actualSketch.quantile(0.5), 1e-9);
+            assertEquals(BUILDS - 1, QuantileSketch.fromJsonObject(missing.get(entry.getKey()).getAsJsonObject("sketch")).getCount());
+
+            RollingBaseline expectedRolling = RollingBaseline.fromJsonObject(entry.getValue().getAsJsonObject("rolling"));
+            RollingBaseline actualRolling = RollingBaseline.fromJsonObject(result.getAsJsonObject("rolling"));
+            assertArrayEquals(expectedRolling.getValues(), actualRolling.getValues(), 1e-9);
+
+            assertEquals(entry.getValue().get("change_points"), result.get("change_points"));
+        }
+    }
+
+    private static MapperBase load(File condensed, int skipped) throws Exception {
+        MapperBase history = new MapperBase(BUILDS, false);
+        history.importCondensedFromFile(condensed.getAbsolutePath());
+        for (int build = 1; build <= BUILDS; build++) {
+            if (build != skipped) {
+                history.importFromFile(generator.getResultFile(build).getAbsolutePath());
+            }
+        }
+        return history;
+    }
+
+    private static Map<Integer, JsonObject> read(File condensed) throws Exception {
+        Map<Integer, JsonObject> results = new HashMap<Integer, JsonObject>();
+        try (Reader reader = new InputStreamReader(new FileInputStream(condensed), StandardCharsets.UTF_8)) {
+            JsonArray array = new JsonParser().parse(reader).getAsJsonObject().getAsJsonArray("results");
+            for (JsonElement element : array) {
+                JsonObject result = element.getAsJsonObject();
+                if (result.has("sketch")) {
+                    results.put(result.get("hash").getAsInt(), result);
+                }
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers;
+
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.jenkinsci.plugins.benchmark.utilities.PhaseTimer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the scaling of the mapper operations with the number of results
+ *
+ * <p>
+ * Each operation runs on generated histories of 2000 and 20000 results and keeps the best of a few runs. A linear
+ * cost gives a ratio of about 10 between the two times, a quadratic one a ratio of about 100. Times are the CPU time
+ * of the test thread, so that garbage collections and other jobs of a shared build machine are left out. The
+ * absolute slack covers the noise on the small history.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapperScalingTest {
+
+    private static final int SMALL = 2000;
+    private static final int LARGE = 20000;
+    private static final int BUILDS = 5;
+    private static final int RUNS = 3;
+    private static final double MAXIMUM_RATIO = 12.0;
+    private static final long SLACK_NANOS = 100000000L;
+
+    private static File root;
+    private static HistoryGenerator small;
+    private static HistoryGenerator large;
+
+    /**
+     * Operation to time, prepared outside of the measure
+     */
+    private static abstract class Operation {
+        abstract void prepare(HistoryGenerator generator) throws Exception;
+        abstract void run() throws Exception;
+    }
+
+    @BeforeClass
+    public static void generate() throws Exception {
+        root = Files.createTempDirectory("benchmark-scaling").toFile();
+        small = new HistoryGenerator(new File(root, "small"), SMALL, BUILDS);
+        small.setKind(HistoryGenerator.ValueKind.MIXED);
+        small.generate();
+        large = new HistoryGenerator(new File(root, "large"), LARGE, BUILDS);
+        large.setKind(HistoryGenerator.ValueKind.MIXED);
+        large.generate();
+    }
+
+    @AfterClass
+    public static void delete() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Test
+    public void MapperScaling_loadHistory() throws Exception {
+        checkScaling("history loading", new Operation() {
+            private HistoryGenerator generator;
+            private MapperBase history;
+            void prepare(HistoryGenerator generator) { this.generator = generator; }
+            void run() throws Exception { history = generator.loadHistory(BUILDS); }
+        });
+    }
+
+    @Test
+    public void MapperScaling_mergeWith() throws Exception {
+        checkScaling("merge with history", new Operation() {
+            private MapperBase history;
+            private MapperBase current;
+            void prepare(HistoryGenerator generator) throws Exception {
+                history = generator.loadHistory(BUILDS);
+                current = generator.mapBuild(BUILDS + 1);
+            }
+            void run() throws Exception { current.mergeWith(history); }
+        });
+    }
+
+    @Test
+    public void MapperScaling_checkThresholds() throws Exception {
+        checkScaling("threshold checks", new Operation() {
+            private MapperBase base;
+            private MapperBase current;
+            void prepare(HistoryGenerator generator) throws Exception {
+                base = new MapperBase(BUILDS + 1, false);
+                base.importCondensedFromFile(generator.getCondensedFile().getAbsolutePath());
+                current = generator.mapBuild(BUILDS + 1);
+            }
+            void run() { current.checkThresholds(base); }
+        });
+    }
+
+    @Test
+    public void MapperScaling_getHTMLTable() throws Exception {
+        checkScaling("table rendering", new Operation() {
+            private MapperBase history;
+            void prepare(HistoryGenerator generator) throws Exception { history = generator.loadHistory(BUILDS); }
+            void run() { history.getHTMLTable(); }
+        });
+    }
+
+    private static void checkScaling(String name, Operation operation) throws Exception {
+        System.out.println("Starting scaling of " + name + ".");
+
+        // Warm up on both histories, compilation must not be part of the measure
+        measure(small, operation);
+        measure(large, operation);
+        long smallNanos = measure(small, operation);
+        long largeNanos = measure(large, operation);
+        double ratio = (double) largeNanos / Math.max(1L, smallNanos);
+        System.out.println(String.format(Locale.ROOT, "  %d results: %.1f ms, %d results: %.1f ms, ratio %.1f",
+                SMALL, smallNanos / 1e6, LARGE, largeNanos / 1e6, ratio));
+        assertTrue("Non linear scaling of " + name + ": ratio " + ratio,
+                largeNanos <= smallNanos * MAXIMUM_RATIO + SLACK_NANOS);
+
+        System.out.println("Completed scaling of " + name + ".");
+    }
+
+    private static long measure(HistoryGenerator generator, Operation operation) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            operation.prepare(generator);
+            // Collections left by the previous run are not part of the measure
+            System.gc();
+            long start = PhaseTimer.getThreadCpuNanos();
+            operation.run();
+            best = Math.min(best, PhaseTimer.getThreadCpuNanos() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.parsers;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.jenkinsci.plugins.benchmark.utilities.HistoryGenerator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the raw table header counts and of the sorted table pages
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class MapperTableTest {
+
+    private static final int RESULTS = 300;
+    private static final int BUILDS = 6;
+
+    private static File root;
+    private static HistoryGenerator generator;
+
+    @BeforeClass
+    public static void generate() throws Exception {
+        root = Files.createTempDirectory("benchmark-table").toFile();
+        generator = new HistoryGenerator(root, RESULTS, BUILDS);
+        generator.setKind(HistoryGenerator.ValueKind.MIXED);
+        generator.setFailureRatio(0.2);
+        generator.generate();
+    }
+
+    @AfterClass
+    public static void delete() {
+        HistoryGenerator.delete(root);
+    }
+
+    @Test
+    public void header_countsFollowLoadedBuilds() throws Exception {
+        MapperBase history = new MapperBase(BUILDS, false);
+        history.importCondensedFromFile(generator.getCondensedFile().getAbsolutePath());
+        for (int build = 1; build < BUILDS; build++) {
+            history.importFromFile(generator.getResultFile(build).getAbsolutePath());
+        }
+        assertEquals(getCounts(history, TestValue.PASSED_STATE_COLOR), countStates(history, false));
+        assertEquals(getCounts(history, TestValue.FAILED_STATE_COLOR), countStates(history, true));
+
+        // Counts are kept with the history and recounted once a build is added
+        history.importFromFile(generator.getResultFile(BUILDS).getAbsolutePath());
+        List<Integer> failed = getCounts(history, TestValue.FAILED_STATE_COLOR);
+        assertEquals(BUILDS, failed.size());
+        assertTrue(failed.get(0) > 0);
+        assertEquals(countStates(history, true), failed);
+        assertEquals(countStates(history, false), getCounts(history, TestValue.PASSED_STATE_COLOR));
+    }
+
+    @Test
+    public void tableData_sortedByHead() throws Exception {
+        MapperBase history = generator.loadHistory(BUILDS);
+        int column = history.getDetected().getNumberOfHeads() - 1;
+        JsonObject page = history.getTableData(1, 0, -1, null, column, true, history.getBuilds());
+        JsonArray data = page.getAsJsonArray("data");
+        assertEquals(history.getNumberOfResults(), data.size());
+        for (int i = 1; i < data.size(); i++) {
+            String previous = data.get(i - 1).getAsJsonArray().get(column).getAsString();
+            String current = data.get(i).getAsJsonArray().get(column).getAsString();
+            assertTrue(previous.compareToIgnoreCase(current) <= 0);
+        }
+    }
+
+    private static List<Integer> getCounts(MapperBase history, String color) {
+        List<Integer> counts = new ArrayList<Integer>();
+        Matcher matcher = Pattern.compile("<thead>.*</thead>").matcher(history.getHTMLTableHeader(history.getBuilds()));
+        assertTrue(matcher.find());
+        Matcher cells = Pattern.compile(Pattern.quote("background-color:" + color + ";\">") + "(\\d+)").matcher(matcher.group());
+        while (cells.find()) {
+            counts.add(Integer.valueOf(cells.group(1)));
+        }
+        return counts;
+    }
+
+    private static List<Integer> countStates(MapperBase history, boolean failed) {
+        List<Integer> counts = new ArrayList<Integer>();
+        for (int build : history.getBuilds().descendingSet()) {
+            int count = 0;
+            for (TestValue result : history.getResults().values()) {
+                Boolean state = result.getFailedState(build);
+                if (state != null && state == failed && !result.getValueAsString(build).isEmpty()) {
+                    count++;
+                }
+            }
+            counts.add(count);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.results;
+
+import com.google.gson.JsonObject;
+import org.jenkinsci.plugins.benchmark.thresholds.AbsoluteThreshold;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the results with repeated measurements
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class DoubleValueSamplesTest {
+
+    @Test
+    public void samples_statistics() {
+        Samples samples = new Samples(new double[] {9.0, 10.0, 11.0, 10.0});
+        assertEquals(4, samples.getCount());
+        assertEquals(10.0, samples.getMean(), 1e-9);
+        assertEquals(Math.sqrt(2.0 / 3.0), samples.getStdDeviation(), 1e-9);
+        assertEquals(3.182 * Math.sqrt(2.0 / 3.0) / 2.0, samples.getConfidence(), 1e-9);
+
+        Samples statistics = samples.withoutValues();
+        assertNull(statistics.getValues());
+        assertEquals(samples.getConfidence(), statistics.getConfidence(), 1e-9);
+    }
+
+    @Test
+    public void samples_studentQuantile() {
+        // Exact quantiles above the table
+        assertEquals(2.039513, Samples.getStudentQuantile(31), 1e-5);
+        assertEquals(2.021075, Samples.getStudentQuantile(40), 1e-5);
+        assertEquals(2.000298, Samples.getStudentQuantile(60), 1e-5);
+        assertEquals(1.979930, Samples.getStudentQuantile(120), 1e-5);
+
+        // No jump at the end of the table, decreasing towards the normal quantile
+        assertEquals(2.042, Samples.getStudentQuantile(30), 1e-3);
+        double previous = Samples.getStudentQuantile(30);
+        for (int degrees = 31; degrees <= 10000; degrees++) {
+            double quantile = Samples.getStudentQuantile(degrees);
+            assertTrue(quantile < previous);
+            assertTrue(quantile > 1.959963);
+            previous = quantile;
+        }
+    }
+
+    @Test
+    public void threshold_failsOnlyOutsideConfidence() throws Exception {
+        TestGroup root = new TestGroup(null, "__root__", "");
+
+        // Mean above the maximum, but within the noise of the samples
+        DoubleValue noisy = new DoubleValue(root, null, "noisy");
+        Samples wide = new Samples(new double[] {8.0, 13.0, 9.0, 12.0});
+        noisy.setValue(wide.getMean());
+        noisy.setSamples(wide);
+        noisy.addThreshold(new AbsoluteThreshold(0.0, 10.0));
+        noisy.checkThresholdStatus(null, null);
+        assertFalse(noisy.getFailedState());
+
+        // Same mean with tight samples
+        DoubleValue tight = new DoubleValue(root, null, "tight");
+        Samples narrow = new Samples(new double[] {10.49, 10.51, 10.5, 10.5});
+        tight.setValue(narrow.getMean());
+        tight.setSamples(narrow);
+        tight.addThreshold(new AbsoluteThreshold(0.0, 10.0));
+        tight.checkThresholdStatus(null, null);
+        assertTrue(tight.getFailedState());
+    }
+
+    @Test
+    public void samples_exportAndImport() {
+        TestGroup root = new TestGroup(null, "__root__", "");
+        DoubleValue result = new DoubleValue(root, null, "time", "ms");
+        result.setValue(2.0);
+        result.setSamples(new Samples(new double[] {1.0, 2.0, 3.0}));
+        JsonObject object = result.getJsonObject(result.getGroupHash());
+        assertTrue(object.has("samples"));
+        assertEquals(3, object.getAsJsonArray("samples").size());
+
+        // Results of a build file are known from the condensed file
+        TestGroup history = new TestGroup(null, "__root__", "");
+        DoubleValue loaded = new DoubleValue(history, null, "time", "ms");
+        Map<Integer, TestGroup> files = new HashMap<Integer, TestGroup>();
+        Map<Integer, TestValue> entities = new HashMap<Integer, TestValue>();
+        Map<Integer, TestValue> parameters = new HashMap<Integer, TestValue>();
+        entities.put(result.getGroupHash(), loaded);
+        TestValue.convertResultJsonObject(7, object, history, files, entities, parameters);
+        assertEquals(2.0, loaded.getValue(7), 1e-9);
+        assertNotNull(loaded.getSamples(7));
+        assertEquals(3, loaded.getSamples(7).getCount());
+        assertEquals(1.0, loaded.getSamples(7).getStdDeviation(), 1e-9);
+
+        // Statistics remain once the details are released
+        loaded.removeDetails(7);
+        assertNull(loaded.getSamples(7).getValues());
+        assertNotNull(loaded.calculateSampleStdDeviation());
+    }
+}
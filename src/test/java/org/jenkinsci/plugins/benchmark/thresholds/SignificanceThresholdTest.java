@@ -0,0 +1,107 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.thresholds;
+
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.results.DoubleValue;
+import org.jenkinsci.plugins.benchmark.results.TestGroup;
+import org.jenkinsci.plugins.benchmark.utilities.RollingBaseline;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Test of the threshold of statistical significance
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class SignificanceThresholdTest {
+
+    private static DoubleValue getBaseline(int builds) {
+        RollingBaseline rolling = new RollingBaseline();
+        for (int i = 0; i < builds; i++) {
+            rolling.add(100.0 + ((i % 5) - 2));
+        }
+        DoubleValue baseline = new DoubleValue(new TestGroup(null, "__root__", ""), null, "baseline");
+        baseline.setRolling(rolling);
+        return baseline;
+    }
+
+    @Test
+    public void singleBuild_reachesTheConfidence() throws Exception {
+        // One build against 50 reaches 95%
+        SignificanceThreshold threshold = new SignificanceThreshold(1, 95.0);
+        threshold.setBaseline(getBaseline(RollingBaseline.CAPACITY));
+        assertTrue(threshold.isValid(100.0));
+        try {
+            threshold.isValid(200.0);
+            fail("Significant change not detected");
+        } catch (ValidationException e) {
+            // Expected
+        }
+
+        // One build alone cannot reach 99%, it is compared with the previous build
+        DoubleValue baseline = getBaseline(RollingBaseline.CAPACITY - 1);
+        baseline.getRolling().add(190.0);
+        threshold = new SignificanceThreshold(1, 99.0);
+        threshold.setBaseline(baseline);
+        try {
+            threshold.isValid(200.0);
+            fail("Significant change not detected");
+        } catch (ValidationException e) {
+            // Expected
+        }
+        threshold.setBaseline(getBaseline(RollingBaseline.CAPACITY));
+        assertTrue(threshold.isValid(200.0));
+    }
+
+    @Test
+    public void builds_comparedAgainstBuilds() throws Exception {
+        // The last 3 builds are high, the current value is compared with them
+        RollingBaseline rolling = new RollingBaseline();
+        for (int i = 0; i < 20; i++) {
+            rolling.add(100.0 + ((i % 5) - 2));
+        }
+        for (int i = 0; i < 3; i++) {
+            rolling.add(150.0 + i);
+        }
+        DoubleValue baseline = new DoubleValue(new TestGroup(null, "__root__", ""), null, "baseline");
+        baseline.setRolling(rolling);
+
+        SignificanceThreshold threshold = new SignificanceThreshold(4, 95.0);
+        threshold.setBaseline(baseline);
+        try {
+            threshold.isValid(160);
+            fail("Significant change not detected");
+        } catch (ValidationException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shortHistory_neverFails() throws Exception {
+        SignificanceThreshold threshold = new SignificanceThreshold(1, 99.0);
+        threshold.setBaseline(getBaseline(SignificanceThreshold.MINIMUM_BASELINE));
+        assertTrue(threshold.isValid(1000.0));
+        threshold.setBaseline(null);
+        assertTrue(threshold.isValid(1000.0));
+    }
+}
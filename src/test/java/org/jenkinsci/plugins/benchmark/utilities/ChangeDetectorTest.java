@@ -0,0 +1,146 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import com.google.gson.JsonObject;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the change-point detection
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class ChangeDetectorTest {
+
+    @Test
+    public void step_detectedAtItsBuild() {
+        Random random = new Random(7);
+        ChangeDetector detector = new ChangeDetector();
+        for (int build = 1; build <= 60; build++) {
+            detector.add(build, 100.0 + random.nextGaussian());
+        }
+        assertNull(detector.getLastChange());
+
+        // Regression of 5% from build 61
+        for (int build = 61; build <= 80; build++) {
+            detector.add(build, 105.0 + random.nextGaussian());
+        }
+        ChangeDetector.ChangePoint change = detector.getLastChange();
+        assertNotNull(change);
+        assertEquals(61, change.getBuild(), 4);
+        assertEquals(5.0, change.getPercentage(), 1.0);
+        assertEquals(1, detector.getChanges().size());
+    }
+
+    @Test
+    public void drift_detectedAndKeptAcrossExport() {
+        ChangeDetector detector = new ChangeDetector();
+        for (int build = 1; build <= 20; build++) {
+            detector.add(build, 10.0 + ((build % 2 == 0) ? 0.1 : -0.1));
+        }
+        detector.setBuild(20);
+        ChangeDetector loaded = ChangeDetector.fromJsonObject(detector.getJsonObject());
+        assertNotNull(loaded);
+        assertEquals(20, loaded.getBuild());
+
+        // Slow drift of 0.02 per build, a fifth of the noise
+        for (int build = 21; build <= 80; build++) {
+            loaded.add(build, 10.0 + 0.02 * (build - 20) + ((build % 2 == 0) ? 0.1 : -0.1));
+        }
+        assertNotNull(loaded.getLastChange());
+        assertTrue(loaded.getLastChange().getAfter() > loaded.getLastChange().getBefore());
+    }
+
+    @Test
+    public void drift_referenceFrozenWhileSumBuilds() {
+        ChangeDetector detector = new ChangeDetector();
+        for (int build = 1; build <= 10; build++) {
+            detector.add(build, 10.0 + ((build % 2 == 0) ? 0.1 : -0.1));
+        }
+        // Drift of half the noise per build, the mean before the change stays within the noise of the warmup mean
+        int build = 11;
+        while (detector.getLastChange() == null && build <= 100) {
+            detector.add(build, 10.0 + 0.05 * (build - 10) + ((build % 2 == 0) ? 0.1 : -0.1));
+            build++;
+        }
+        assertNotNull(detector.getLastChange());
+        assertEquals(10.0, detector.getLastChange().getBefore(), 0.1);
+        assertTrue(detector.getLastChange().getAfter() > detector.getLastChange().getBefore() + 0.1);
+    }
+
+    @Test
+    public void regime_precisionOnLargeValues() {
+        ChangeDetector detector = new ChangeDetector();
+        for (int build = 1; build <= 10; build++) {
+            detector.add(build, 1.0 + ((build % 2 == 0) ? 0.001 : -0.001));
+        }
+        // Jump to 1e8 with a variation of 1e-3, sums of squares would lose it entirely
+        double[] values = new double[30];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1.0e8 + ((i % 2 == 0) ? 0.001 : -0.001);
+            detector.add(11 + i, values[i]);
+        }
+        assertNotNull(detector.getLastChange());
+        int start = detector.getLastChange().getBuild() - 11;
+        double mean = 0.0;
+        for (int i = start; i < values.length; i++) {
+            mean += values[i];
+        }
+        mean /= values.length - start;
+        double m2 = 0.0;
+        for (int i = start; i < values.length; i++) {
+            m2 += (values[i] - mean) * (values[i] - mean);
+        }
+        double exported = detector.getJsonObject().get("m2").getAsDouble();
+        assertEquals(m2, exported, m2 * 0.01);
+    }
+
+    @Test
+    public void export_readsFirstFormat() {
+        ChangeDetector detector = new ChangeDetector();
+        for (int build = 1; build <= 12; build++) {
+            detector.add(build, 10.0 + ((build % 2 == 0) ? 0.1 : -0.1));
+        }
+        JsonObject object = detector.getJsonObject();
+        int upperCount = object.get("upper_count").getAsInt();
+        double upperMean = object.get("upper_mean").getAsDouble();
+        object.remove("upper_mean");
+        object.remove("upper_m2");
+        object.remove("lower_mean");
+        object.remove("lower_m2");
+        object.remove("held_count");
+        object.remove("held_mean");
+        object.remove("held_m2");
+        object.addProperty("upper_sum", upperMean * upperCount);
+        object.addProperty("upper_squares", upperMean * upperMean * upperCount);
+        object.addProperty("lower_sum", 0.0);
+        object.addProperty("lower_squares", 0.0);
+        ChangeDetector loaded = ChangeDetector.fromJsonObject(object);
+        assertNotNull(loaded);
+        assertEquals(upperMean, loaded.getJsonObject().get("upper_mean").getAsDouble(), 1e-9);
+    }
+}
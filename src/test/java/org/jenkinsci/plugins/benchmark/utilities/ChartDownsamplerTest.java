@@ -0,0 +1,68 @@
+/**
+ * MIT LICENSE.txt
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the chart downsampler
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class ChartDownsamplerTest {
+    @Test
+    public void lttb_keepsShapeOfSeries() {
+        System.out.println("Starting LTTB downsampling of 15000 points to 1000." );
+
+        int length = 15000;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i + 1;
+            y[i] = Math.sin(i / 500.0);
+        }
+        y[7321] = 25.0; // Isolated spike
+
+        int[] indices = ChartDownsampler.largestTriangleThreeBuckets(x, y, 1000);
+        assertTrue(indices.length == 1000);
+        assertTrue(indices[0] == 0);
+        assertTrue(indices[indices.length - 1] == length - 1);
+        boolean spikeKept = false;
+        for (int i = 1; i < indices.length; i++) {
+            assertTrue(indices[i] > indices[i - 1]);
+            if (indices[i] == 7321) {
+                spikeKept = true;
+            }
+        }
+        assertTrue(spikeKept);
+
+        System.out.println("LTTB downsampling completed." );
+    }
+
+    @Test
+    public void lttb_smallSeriesUnchanged() {
+        double[] x = {1.0, 2.0, 3.0};
+        double[] y = {1.0, 5.0, 2.0};
+        int[] indices = ChartDownsampler.largestTriangleThreeBuckets(x, y, 1000);
+        assertTrue(indices.length == 3);
+    }
+}
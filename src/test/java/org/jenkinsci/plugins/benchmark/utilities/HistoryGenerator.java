@@ -0,0 +1,522 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonWriter;
+import org.jenkinsci.plugins.benchmark.exceptions.ValidationException;
+import org.jenkinsci.plugins.benchmark.parsers.JsonToPlugin.MapJsonToPlugin;
+import org.jenkinsci.plugins.benchmark.parsers.MapperBase;
+import org.jenkinsci.plugins.benchmark.results.TestValue;
+import org.w3c.dom.Document;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generator of synthetic job histories, laid out like a Jenkins job folder
+ *
+ * <p>
+ * The job folder gets 'BenchmarkCondensed.json' and, for each build, 'builds/[number]/BenchmarkResult.json' plus
+ * 'builds/[number]/junitResult.xml' when jUnit files are requested. Results are spread over groups of 10 tests with
+ * 10 results each and over a number of file groups. Values and failures are drawn from a seeded generator, build by
+ * build, so that the same settings always produce the same files and the input of any later build can be produced
+ * to map against the history. Numeral results carry a 'percentageaverage' threshold.
+ * <p>
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class HistoryGenerator {
+
+    // Public enumeration
+
+    public enum ValueKind { DOUBLE, INTEGER, BOOLEAN, MIXED }
+
+    // Variables
+
+    public static final String JOB_NAME = "generated";
+    public static final String CONDENSED_FILENAME = "BenchmarkCondensed.json";
+    public static final String RESULT_FILENAME = "BenchmarkResult.json";
+    public static final String JUNIT_FILENAME = "junitResult.xml";
+
+    private static final int RESULTS_PER_TEST = 10;
+    private static final int TESTS_PER_GROUP = 10;
+
+    private final File root;
+    private final int results;
+    private final int builds;
+
+    private ValueKind kind = ValueKind.DOUBLE;
+    private int fileGroups = 1;
+    private double failureRatio = 0.05;
+    private long seed = 0;
+    private boolean junit = false;
+
+    // Constructor
+
+    public HistoryGenerator(File root, int results, int builds) {
+        this.root = root;
+        this.results = results;
+        this.builds = builds;
+    }
+
+    // Functions
+
+    /**
+     * Write a history to a folder, for example to copy it in place of a Jenkins job folder
+     * Arguments: folder, results, builds, then optionally kind, file groups, failure ratio and jUnit files.
+     * @param args Command line arguments
+     * @throws Exception If the history cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        HistoryGenerator generator = new HistoryGenerator(new File(args[0]), Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        if (args.length > 3) generator.setKind(ValueKind.valueOf(args[3].toUpperCase(Locale.ROOT)));
+        if (args.length > 4) generator.setFileGroups(Integer.parseInt(args[4]));
+        if (args.length > 5) generator.setFailureRatio(Double.parseDouble(args[5]));
+        if (args.length > 6) generator.setJUnit(Boolean.parseBoolean(args[6]));
+        generator.generate();
+    }
+
+    /**
+     * Write the files of the history, builds 1 to the number of builds
+     * @throws IOException If a file cannot be written
+     * @throws ValidationException If the generated input cannot be mapped
+     */
+    public void generate() throws IOException, ValidationException {
+        List<Result> structure = getStructure();
+        int size = structure.size();
+        double[] sum = new double[size];
+        double[] squares = new double[size];
+        double[] minimum = new double[size];
+        double[] maximum = new double[size];
+        double[] previous = new double[size];
+        int[] counted = new int[size];
+        int[] passed = new int[size];
+        int[] failed = new int[size];
+
+        for (int build = 1; build <= builds; build++) {
+            File buildFolder = getBuildFolder(build);
+            if (!buildFolder.isDirectory() && !buildFolder.mkdirs()) {
+                throw new IOException(buildFolder.getAbsolutePath());
+            }
+            Random random = getRandom(build);
+            try (JsonWriter writer = new JsonWriter(open(new File(buildFolder, RESULT_FILENAME)))) {
+                writer.setIndent("  ");
+                writer.beginObject();
+                writer.name("job").value(JOB_NAME);
+                writer.name("build").value(build);
+                writer.name("results").beginArray();
+                for (int i = 0; i < size; i++) {
+                    Result result = structure.get(i);
+                    double value = getValue(random, i);
+                    boolean failure = random.nextDouble() < failureRatio;
+                    writer.beginObject();
+                    writer.name("hash").value(result.hash);
+                    switch (result.type) {
+                        case rt_double:
+                            writer.name("value").value(value);
+                            break;
+                        case rt_integer:
+                            writer.name("value").value((long) value);
+                            break;
+                        default:
+                            writer.name("value").value(!failure);
+                            break;
+                    }
+                    writer.name("failedstate").value(failure);
+                    writer.endObject();
+
+                    if (failure) {
+                        failed[i]++;
+                    } else {
+                        passed[i]++;
+                        if (result.type == TestValue.ValueType.rt_integer) {
+                            value = (long) value;
+                        }
+                        if (counted[i] == 0 || value < minimum[i]) minimum[i] = value;
+                        if (counted[i] == 0 || value > maximum[i]) maximum[i] = value;
+                        sum[i] += value;
+                        squares[i] += value * value;
+                        counted[i]++;
+                    }
+                    previous[i] = value;
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            if (junit) {
+                write(new File(buildFolder, JUNIT_FILENAME), getJUnitContent(build));
+            }
+        }
+
+        // Condensed statistics over all the builds, as a compaction would write them
+        try (JsonWriter writer = new JsonWriter(open(getCondensedFile()))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("job").value(JOB_NAME);
+            writer.name("build").value(builds);
+            writer.name("files").beginArray();
+            for (int file = 0; file < fileGroups; file++) {
+                writer.beginObject();
+                writer.name("hash").value(getFileName(file).hashCode());
+                writer.name("name").value(getFileName(file));
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.name("results").beginArray();
+            for (int i = 0; i < size; i++) {
+                Result result = structure.get(i);
+                writer.beginObject();
+                writer.name("hash").value(result.hash);
+                writer.name("file").value(getFileName(i % fileGroups).hashCode());
+                if (result.group != null) {
+                    writer.name("group").value(result.group);
+                }
+                writer.name("name").value(result.name);
+                writer.name("unit").value("ms");
+                // Type names of the condensed file: rt_double is written double
+                writer.name("type").value(result.type.name().substring(3));
+                if (result.type != TestValue.ValueType.rt_boolean && counted[i] > 0) {
+                    double average = sum[i] / counted[i];
+                    writer.name("previous").value(previous[i]);
+                    writer.name("average").value(average);
+                    writer.name("std_deviation").value(Math.sqrt(Math.max(0.0, squares[i] / counted[i] - average * average)));
+                    if (result.type == TestValue.ValueType.rt_integer) {
+                        writer.name("minimum").value((long) minimum[i]);
+                        writer.name("maximum").value((long) maximum[i]);
+                    } else {
+                        writer.name("minimum").value(minimum[i]);
+                        writer.name("maximum").value(maximum[i]);
+                    }
+                }
+                writer.name("failed").value(failed[i]);
+                writer.name("passed").value(passed[i]);
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+
+    /**
+     * Load the history the way the plugin does, the condensed file first then the build files
+     * @param build Build number of the mapper
+     * @return History
+     * @throws IOException If a file cannot be read
+     * @throws ValidationException If the condensed file is invalid
+     */
+    public MapperBase loadHistory(int build) throws IOException, ValidationException {
+        MapperBase history = new MapperBase(build, false);
+        history.importCondensedFromFile(getCondensedFile().getAbsolutePath());
+        for (File file : getResultFiles()) {
+            history.importFromFile(file.getAbsolutePath());
+        }
+        return history;
+    }
+
+    /**
+     * Map the workspace input of a build with the default JSON schema
+     * @param build Build number, later than the history for a new build
+     * @return Mapped build
+     * @throws IOException If the input cannot be written
+     * @throws ValidationException If the input cannot be mapped
+     */
+    public MapperBase mapBuild(int build) throws IOException, ValidationException {
+        File input = write(new File(root, "input-" + build + ".json"), getJsonContent(build));
+        return new MapJsonToPlugin(build, input, getJsonSchema(), false);
+    }
+
+    /**
+     * Build the workspace input of a build in the default JSON format
+     * @param build Build number, seeds the values
+     * @return JSON content
+     */
+    public String getJsonContent(int build) {
+        Random random = getRandom(build);
+        StringBuffer content = new StringBuffer("{\"groups\":[");
+        for (int i = 0; i < results; i++) {
+            if (i % (RESULTS_PER_TEST * TESTS_PER_GROUP) == 0) {
+                if (i > 0) {
+                    content.append("]}]},");
+                }
+                content.append("{\"name\":\"group ").append(i / (RESULTS_PER_TEST * TESTS_PER_GROUP)).append("\",\"tests\":[");
+            }
+            if (i % RESULTS_PER_TEST == 0) {
+                if (i % (RESULTS_PER_TEST * TESTS_PER_GROUP) != 0) {
+                    content.append("]},");
+                }
+                content.append("{\"name\":\"test ").append(i / RESULTS_PER_TEST).append("\",\"results\":[");
+            } else {
+                content.append(',');
+            }
+            double value = getValue(random, i);
+            boolean failure = random.nextDouble() < failureRatio;
+            content.append("{\"name\":\"result ").append(i).append("\",\"unit\":\"ms\",");
+            switch (getKind(i)) {
+                case DOUBLE:
+                    content.append("\"dblValue\":").append(String.format(Locale.ROOT, "%.3f", value));
+                    break;
+                case INTEGER:
+                    content.append("\"intValue\":").append((long) value);
+                    break;
+                default:
+                    content.append("\"boolValue\":").append(!failure);
+                    break;
+            }
+            if (getKind(i) != ValueKind.BOOLEAN) {
+                content.append(",\"thresholds\":[{\"method\":\"percentageaverage\",\"percentage\":50}]");
+            }
+            content.append('}');
+        }
+        if (results > 0) {
+            content.append("]}]}");
+        }
+        content.append("]}");
+        return content.toString();
+    }
+
+    /**
+     * Build the workspace input of a build in the default XML format, a single group
+     * @param build Build number, seeds the values
+     * @return XML content
+     */
+    public String getXmlContent(int build) {
+        Random random = getRandom(build);
+        StringBuffer content = new StringBuffer("<?xml version=\"1.0\"?>\n<group name=\"group 0\">\n");
+        for (int i = 0; i < results; i++) {
+            if (i % RESULTS_PER_TEST == 0) {
+                if (i > 0) {
+                    content.append("</test>\n");
+                }
+                content.append("<test name=\"test ").append(i / RESULTS_PER_TEST).append("\">\n");
+            }
+            double value = getValue(random, i);
+            boolean failure = random.nextDouble() < failureRatio;
+            content.append("<result name=\"result ").append(i).append("\"><unit>ms</unit>");
+            switch (getKind(i)) {
+                case DOUBLE:
+                    content.append("<dblValue>").append(String.format(Locale.ROOT, "%.3f", value)).append("</dblValue>");
+                    break;
+                case INTEGER:
+                    content.append("<intValue>").append((long) value).append("</intValue>");
+                    break;
+                default:
+                    content.append("<boolValue>").append(!failure).append("</boolValue>");
+                    break;
+            }
+            if (getKind(i) != ValueKind.BOOLEAN) {
+                content.append("<threshold method=\"percentageaverage\"><percentage>50</percentage></threshold>");
+            }
+            content.append("</result>\n");
+        }
+        if (results > 0) {
+            content.append("</test>\n");
+        }
+        content.append("</group>\n");
+        return content.toString();
+    }
+
+    /**
+     * Build the results of a build in the format stored by the Jenkins jUnit plugin, one suite per file group
+     * @param build Build number, seeds the durations and failures
+     * @return XML content
+     */
+    public String getJUnitContent(int build) {
+        Random random = getRandom(build);
+        StringBuffer content = new StringBuffer("<?xml version='1.0' encoding='UTF-8'?>\n<result plugin=\"junit@1.20\">\n<suites>\n");
+        for (int file = 0; file < fileGroups; file++) {
+            content.append("<suite>\n<file>/workspace/").append(JOB_NAME).append('/').append(getFileName(file)).append("/TEST.xml</file>\n");
+            content.append("<name>").append(getFileName(file)).append("</name>\n<cases>\n");
+            for (int i = file; i < results; i += fileGroups) {
+                double duration = getValue(random, i) / 1000.0;
+                boolean failure = random.nextDouble() < failureRatio;
+                content.append("<case><duration>").append(String.format(Locale.ROOT, "%.4f", duration));
+                content.append("</duration><className>generated.test").append(i / RESULTS_PER_TEST);
+                content.append("</className><testName>result").append(i).append("</testName><skipped>false</skipped>");
+                content.append("<failedSince>").append(failure ? build : 0).append("</failedSince></case>\n");
+            }
+            content.append("</cases>\n</suite>\n");
+        }
+        content.append("</suites>\n<duration>1.0</duration>\n<keepLongStdio>false</keepLongStdio>\n</result>\n");
+        return content.toString();
+    }
+
+    /**
+     * Write a text file in UTF-8
+     * @param file File
+     * @param content Content
+     * @return File
+     * @throws IOException If the file cannot be written
+     */
+    public static File write(File file, String content) throws IOException {
+        try (Writer writer = open(file)) {
+            writer.write(content);
+        }
+        return file;
+    }
+
+    /**
+     * Delete a folder and its content
+     * @param file Folder or file
+     */
+    public static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    public static JsonElement getJsonSchema() throws IOException {
+        try (InputStream stream = MapperBase.class.getClassLoader().getResourceAsStream("schemas/default.json")) {
+            return new JsonParser().parse(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+    }
+
+    public static Document getXmlSchema() throws IOException {
+        try (InputStream stream = MapperBase.class.getClassLoader().getResourceAsStream("schemas/default.xml")) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setNamespaceAware(true);
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document schema = builder.parse(stream);
+            schema.getDocumentElement().normalize();
+            return schema;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Map one input to get the keys, names and types the plugin gives to the generated results
+     */
+    private List<Result> getStructure() throws IOException, ValidationException {
+        if (!root.isDirectory() && !root.mkdirs()) {
+            throw new IOException(root.getAbsolutePath());
+        }
+        File input = write(new File(root, "structure.json"), getJsonContent(0));
+        MapperBase mapper = new MapJsonToPlugin(0, input, getJsonSchema(), false);
+        input.delete();
+        List<Result> structure = new ArrayList<Result>(mapper.getNumberOfResults());
+        for (Map.Entry<Integer, TestValue> entry : mapper.getResults().entrySet()) {
+            TestValue value = entry.getValue();
+            structure.add(new Result(entry.getKey(), value.getGroup(), value.getName(), value.getType()));
+        }
+        // Values are drawn in the order of the input, by result name
+        structure.sort(new java.util.Comparator<Result>() {
+            @Override
+            public int compare(Result first, Result second) {
+                return Integer.compare(first.getIndex(), second.getIndex());
+            }
+        });
+        return structure;
+    }
+
+    private ValueKind getKind(int index) {
+        if (kind == ValueKind.MIXED) {
+            return ValueKind.values()[index % 3];
+        }
+        return kind;
+    }
+
+    private double getValue(Random random, int index) {
+        double value = 100.0 + index % 17 + random.nextGaussian() * 5.0;
+        if (getKind(index) == ValueKind.INTEGER) {
+            return Math.round(value * 10.0);
+        }
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+
+    private Random getRandom(int build) {
+        return new Random(seed * 1000003L + build);
+    }
+
+    private static String getFileName(int file) {
+        return "file_" + file;
+    }
+
+    private static Writer open(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Key, names and type of a generated result
+     */
+    private static class Result {
+
+        private final int hash;
+        private final String group;
+        private final String name;
+        private final TestValue.ValueType type;
+
+        private Result(int hash, String group, String name, TestValue.ValueType type) {
+            this.hash = hash;
+            this.group = group;
+            this.name = name;
+            this.type = type;
+        }
+
+        private int getIndex() {
+            return Integer.parseInt(name.substring(Math.max(name.lastIndexOf(' '), name.lastIndexOf('_')) + 1));
+        }
+    }
+
+    // Setters
+
+    public void setKind(ValueKind kind) { this.kind = kind; }
+    public void setFileGroups(int fileGroups) { this.fileGroups = Math.max(1, fileGroups); }
+    public void setFailureRatio(double failureRatio) { this.failureRatio = failureRatio; }
+    public void setSeed(long seed) { this.seed = seed; }
+    public void setJUnit(boolean junit) { this.junit = junit; }
+
+    // Getters
+
+    public File getRoot() { return root; }
+    public File getCondensedFile() { return new File(root, CONDENSED_FILENAME); }
+    public File getBuildFolder(int build) { return new File(new File(root, "builds"), Integer.toString(build)); }
+    public File getResultFile(int build) { return new File(getBuildFolder(build), RESULT_FILENAME); }
+    public File getJUnitFile(int build) { return new File(getBuildFolder(build), JUNIT_FILENAME); }
+
+    public File[] getResultFiles() {
+        File[] files = new File[builds];
+        for (int build = 1; build <= builds; build++) {
+            files[build - 1] = getResultFile(build);
+        }
+        return files;
+    }
+}
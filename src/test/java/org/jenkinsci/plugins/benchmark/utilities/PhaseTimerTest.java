@@ -0,0 +1,150 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the timing of the phases of a publish
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class PhaseTimerTest {
+
+    private PhaseTimer timer;
+
+    @After
+    public void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    @Test
+    public void phases_measuredWhenClosed() throws Exception {
+        timer = PhaseTimer.start();
+        PhaseTimer.begin(PhaseTimer.Phase.HISTORY);
+        PhaseTimer.begin(PhaseTimer.Phase.HISTORY);
+        Thread.sleep(20L);
+        PhaseTimer.end(PhaseTimer.Phase.HISTORY);
+        PhaseTimer.end(PhaseTimer.Phase.HISTORY);
+
+        // Opened twice counts once, closed only once
+        PhaseTimer.Measure history = timer.getMeasures().get(PhaseTimer.Phase.HISTORY);
+        assertEquals(1, history.getCount());
+        assertTrue(history.getWallNanos() >= 20000000L);
+        assertEquals(0, timer.getMeasures().get(PhaseTimer.Phase.TOTAL).getCount());
+        timer.stop();
+        assertEquals(1, timer.getMeasures().get(PhaseTimer.Phase.TOTAL).getCount());
+        assertTrue(timer.getMeasures().get(PhaseTimer.Phase.TOTAL).getWallNanos() >= history.getWallNanos());
+    }
+
+    @Test
+    public void files_countedInOpenPhases() throws Exception {
+        timer = PhaseTimer.start();
+        PhaseTimer.begin(PhaseTimer.Phase.HISTORY);
+        PhaseTimer.begin(PhaseTimer.Phase.HISTORY_RECENT);
+        InputStream stream = PhaseTimer.countFile(new ByteArrayInputStream(new byte[1000]));
+        byte[] buffer = new byte[300];
+        while (stream.read(buffer) > 0) {
+            // Read to the end
+        }
+        stream.close();
+        stream.close();
+        PhaseTimer.end(PhaseTimer.Phase.HISTORY_RECENT);
+        PhaseTimer.recordFile(24L);
+        PhaseTimer.end(PhaseTimer.Phase.HISTORY);
+
+        PhaseTimer.Measure recent = timer.getMeasures().get(PhaseTimer.Phase.HISTORY_RECENT);
+        PhaseTimer.Measure history = timer.getMeasures().get(PhaseTimer.Phase.HISTORY);
+        assertEquals(1, recent.getFilesRead());
+        assertEquals(1000, recent.getBytesRead());
+        assertEquals(2, history.getFilesRead());
+        assertEquals(1024, history.getBytesRead());
+        assertEquals(0, timer.getMeasures().get(PhaseTimer.Phase.MAPPING).getFilesRead());
+    }
+
+    @Test
+    public void threads_inheritTheTimerUntilStopped() throws Exception {
+        timer = PhaseTimer.start();
+        PhaseTimer.begin(PhaseTimer.Phase.HISTORY_PARALLEL);
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                PhaseTimer.recordFile(10L);
+                PhaseTimer.recordWork(5L, 7L);
+            }
+        });
+        worker.start();
+        worker.join();
+        PhaseTimer.end(PhaseTimer.Phase.HISTORY_PARALLEL);
+        PhaseTimer.Measure parallel = timer.getMeasures().get(PhaseTimer.Phase.HISTORY_PARALLEL);
+        assertEquals(1, parallel.getFilesRead());
+        assertTrue(parallel.getCpuNanos() >= 5L);
+
+        // Threads created during the publish no longer account once it is stopped
+        final PhaseTimer stopped = timer;
+        Thread late = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50L);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                PhaseTimer.begin(PhaseTimer.Phase.MAPPING);
+                PhaseTimer.recordFile(10L);
+                PhaseTimer.end(PhaseTimer.Phase.MAPPING);
+            }
+        });
+        late.start();
+        stopped.stop();
+        late.join();
+        assertEquals(0, stopped.getMeasures().get(PhaseTimer.Phase.MAPPING).getCount());
+        assertEquals(1, stopped.getMeasures().get(PhaseTimer.Phase.TOTAL).getFilesRead());
+    }
+
+    @Test
+    public void outsideOfPublish_noEffect() {
+        PhaseTimer.begin(PhaseTimer.Phase.MAPPING);
+        PhaseTimer.recordFile(10L);
+        PhaseTimer.end(PhaseTimer.Phase.MAPPING);
+
+        timer = PhaseTimer.start();
+        timer.stop();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        timer.printSummary(new PrintStream(output, true), "Phases");
+        String summary = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(summary.startsWith("Phases"));
+        assertTrue(summary.contains("Total"));
+        assertFalse(summary.contains("Mapping"));
+    }
+}
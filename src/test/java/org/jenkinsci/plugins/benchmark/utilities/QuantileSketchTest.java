@@ -0,0 +1,85 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the quantile sketch
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class QuantileSketchTest {
+
+    @Test
+    public void quantiles_closeToExact() {
+        Random random = new Random(42);
+        int length = 20000;
+        double[] values = new double[length];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < length; i++) {
+            values[i] = Math.exp(random.nextGaussian());
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        // Error measured in rank, tighter at the tails
+        for (double q : new double[] {0.01, 0.1, 0.5, 0.9, 0.99}) {
+            double estimate = sketch.quantile(q);
+            int rank = Arrays.binarySearch(values, estimate);
+            rank = (rank < 0) ? -rank - 1 : rank;
+            assertEquals(q, rank / (double) length, 0.01);
+        }
+        assertEquals(values[0], sketch.quantile(0.0), 0.0);
+        assertEquals(values[length - 1], sketch.quantile(1.0), 0.0);
+        assertEquals(length, sketch.getCount());
+        assertTrue(sketch.getNumberOfCentroids() <= 2 * QuantileSketch.COMPRESSION);
+    }
+
+    @Test
+    public void merge_andJsonRoundTrip() {
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            first.add(i);
+            second.add(1000 + i);
+        }
+        assertNull(new QuantileSketch().quantile(0.5));
+
+        first.merge(second);
+        first.setBuild(12);
+        assertEquals(2000, first.getCount());
+        assertEquals(1000.0, first.quantile(0.5), 20.0);
+
+        QuantileSketch copy = QuantileSketch.fromJsonObject(first.getJsonObject());
+        assertNotNull(copy);
+        assertEquals(12, copy.getBuild());
+        assertEquals(first.getCount(), copy.getCount());
+        assertEquals(first.quantile(0.9), copy.quantile(0.9), 1e-9);
+    }
+}
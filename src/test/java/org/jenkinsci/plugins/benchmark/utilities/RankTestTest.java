@@ -0,0 +1,76 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the rank tests
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class RankTestTest {
+
+    @Test
+    public void counts_ofAllOrderings() {
+        // Sample of 2 against 3: 10 orderings, U from 0 to 6
+        double[] counts = RankTest.getMannWhitneyCounts(2, 3);
+        assertEquals(7, counts.length);
+        double[] expected = new double[] {1.0, 1.0, 2.0, 2.0, 2.0, 1.0, 1.0};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], counts[i], 1e-9);
+        }
+
+        // Symmetric and summing to C(n1 + n2, n1)
+        counts = RankTest.getMannWhitneyCounts(7, 13);
+        double total = 0.0;
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals(counts[i], counts[counts.length - 1 - i], 1e-6);
+            total += counts[i];
+        }
+        assertEquals(77520.0, total, 1e-6);
+    }
+
+    @Test
+    public void pValue_exactForSmallSamples() {
+        // A single value above 50 builds: 2 / 51, the normal approximation would give 0.096
+        assertEquals(2.0 / 51.0, RankTest.getMannWhitneyPValue(50.0, 1, 50), 1e-12);
+        assertEquals(2.0 / 51.0, RankTest.getMinimumPValue(1, 50), 1e-12);
+        assertEquals(2.0 / 1275.0, RankTest.getMannWhitneyPValue(0.0, 2, 49), 1e-12);
+        assertEquals(2.0 / 1275.0, RankTest.getMinimumPValue(2, 49), 1e-12);
+
+        // Centered statistic and ties counted towards the center
+        assertEquals(1.0, RankTest.getMannWhitneyPValue(3.0, 2, 3), 1e-12);
+        assertEquals(2.0 * 2.0 / 10.0, RankTest.getMannWhitneyPValue(0.5, 2, 3), 1e-12);
+    }
+
+    @Test
+    public void pValue_normalForLargeSamples() {
+        // Exact and normal approximation agree around the limit
+        double exact = RankTest.getMannWhitneyPValue(700.0, 30, 30);
+        double normal = RankTest.getMannWhitneyPValue(1200.0, 40, 40);
+        assertTrue(exact < 0.01);
+        assertEquals(2.0 * RankTest.getNormalTail((1200.0 - 800.0 - 0.5) / Math.sqrt(40.0 * 40.0 * 81.0 / 12.0)), normal, 1e-12);
+        assertEquals(1.0, RankTest.getMannWhitneyPValue(0.0, 0, 10), 0.0);
+    }
+}
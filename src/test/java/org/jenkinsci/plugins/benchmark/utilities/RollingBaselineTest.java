@@ -0,0 +1,90 @@
+/**
+ * MIT license
+ * Copyright 2017 Autodesk, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software,
+ * and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions
+ * of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED
+ * TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL
+ * THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.benchmark.utilities;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the recent history of results
+ *
+ * @author Daniel Mercier
+ * @since 10/19/2026
+ */
+public class RollingBaselineTest {
+
+    @Test
+    public void average_ofLastBuilds() {
+        RollingBaseline baseline = new RollingBaseline();
+        assertNull(baseline.getAverage(10));
+        baseline.add(1.0);
+        baseline.add(2.0);
+        assertEquals(1.5, baseline.getAverage(10), 1e-9);
+
+        // Cached sums follow the values pushed out of the window and of the ring buffer
+        for (int i = 3; i <= 200; i++) {
+            baseline.add(i);
+            if (i % 37 == 0) {
+                assertEquals(i - 4.5, baseline.getAverage(10), 1e-9);
+            }
+        }
+        assertEquals(195.5, baseline.getAverage(10), 1e-9);
+        assertEquals(200.0 - (RollingBaseline.CAPACITY - 1) / 2.0, baseline.getAverage(500), 1e-9);
+        assertEquals(RollingBaseline.CAPACITY, baseline.getSize());
+    }
+
+    @Test
+    public void ewma_keptAcrossExport() {
+        RollingBaseline baseline = new RollingBaseline();
+        baseline.add(10.0);
+        baseline.add(20.0);
+        assertEquals(10.0 + 2.0 / 4.0 * 10.0, baseline.getEwma(3), 1e-9);
+        baseline.setBuild(2);
+
+        RollingBaseline loaded = RollingBaseline.fromJsonObject(baseline.getJsonObject());
+        assertNotNull(loaded);
+        assertEquals(2, loaded.getBuild());
+        loaded.add(30.0);
+        baseline.add(30.0);
+        assertEquals(baseline.getEwma(3), loaded.getEwma(3), 1e-9);
+        assertEquals(20.0, loaded.getAverage(3), 1e-9);
+    }
+
+    @Test
+    public void rank_keptSortedAcrossEvictions() {
+        RollingBaseline baseline = new RollingBaseline();
+        for (int i = 1; i <= 120; i++) {
+            baseline.add(i % 7);
+        }
+        // Last 50 values are 71..120 modulo 7: 7 times 0, 8 times 1
+        assertEquals(7.0 + 4.0, baseline.getRank(1.0), 1e-9);
+        assertEquals(0.0, baseline.getRank(-1.0), 1e-9);
+        assertEquals(50.0, baseline.getRank(10.0), 1e-9);
+        assertEquals(3, baseline.getRecent(3).length);
+        assertEquals(120 % 7, baseline.getRecent(1)[0], 1e-9);
+
+        // Stationary values are not significant, a clear shift is
+        assertTrue(RankTest.getMannWhitneyPValue(25.0 * 5.0, 5, 50) > 0.5);
+        assertTrue(RankTest.getMannWhitneyPValue(50.0 * 5.0, 5, 50) < 0.001);
+    }
+}